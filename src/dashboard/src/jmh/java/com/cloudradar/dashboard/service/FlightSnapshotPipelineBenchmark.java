@@ -0,0 +1,173 @@
+package com.cloudradar.dashboard.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cloudradar.dashboard.config.DashboardProperties;
+import com.cloudradar.dashboard.model.FlightMapItem;
+import com.cloudradar.dashboard.model.FlightsMetricsResponse;
+import com.cloudradar.dashboard.model.PositionEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Per-stage cost of the snapshot pipeline behind the map, metrics, density and tile endpoints.
+ *
+ * <p>Each operation processes the whole synthetic fleet once, so scores read as "time to serve one
+ * snapshot load of this size". Stage inputs are precomputed from the previous stage so a regression
+ * shows up in the stage that introduced it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightSnapshotPipelineBenchmark {
+  private static final List<String> FLEET_ORDER =
+      List.of("commercial", "military", "rescue", "private", "unknown");
+
+  @Param({"1000", "10000", "100000"})
+  public int aircraft;
+
+  private List<String> payloads;
+  private FlightEventParser eventParser;
+  private FlightSnapshotCandidateCollector candidateCollector;
+  private FlightSnapshotDeduplicator deduplicator;
+  private FlightSnapshotEnricher enricher;
+  private FlightListQueryHandler listQueryHandler;
+  private FlightMetricsSupport metricsSupport;
+  private FlightTaxonomy taxonomy;
+  private List<Map.Entry<String, PositionEvent>> candidates;
+  private Map<String, PositionEvent> latestByIcao;
+  private List<FlightSnapshot> snapshots;
+  private int limit;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SyntheticFleet fleet = SyntheticFleet.generate(aircraft);
+    DashboardProperties properties = new DashboardProperties();
+    StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+    when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    when(hashOperations.scan(anyString(), any()))
+        .thenAnswer(invocation -> new ListBackedCursor(fleet.hashEntries()));
+
+    payloads = fleet.payloads();
+    taxonomy = new FlightTaxonomy();
+    eventParser = new FlightEventParser(new ObjectMapper());
+    candidateCollector = new FlightSnapshotCandidateCollector(redisTemplate, properties, eventParser);
+    deduplicator = new FlightSnapshotDeduplicator();
+    enricher = new FlightSnapshotEnricher(Optional.of(fleet.metadataRepository()), taxonomy);
+    listQueryHandler = new FlightListQueryHandler(properties, null, taxonomy);
+    metricsSupport = new FlightMetricsSupport(null);
+    limit = properties.getApi().getMaxLimit();
+
+    candidates = candidateCollector.collect(SyntheticFleet.QUERY_BBOX, null);
+    latestByIcao = deduplicator.deduplicate(candidates);
+    snapshots = enricher.enrich(latestByIcao, true, true);
+  }
+
+  @Benchmark
+  public void parse(Blackhole blackhole) {
+    for (String payload : payloads) {
+      blackhole.consume(eventParser.parse(payload));
+    }
+  }
+
+  /** HSCAN replay, parse and bbox/ICAO24 eligibility filtering. */
+  @Benchmark
+  public List<Map.Entry<String, PositionEvent>> collect() {
+    return candidateCollector.collect(SyntheticFleet.QUERY_BBOX, null);
+  }
+
+  @Benchmark
+  public Map<String, PositionEvent> deduplicate() {
+    return deduplicator.deduplicate(candidates);
+  }
+
+  @Benchmark
+  public List<FlightSnapshot> enrich() {
+    return enricher.enrich(latestByIcao, true, true);
+  }
+
+  /** Default map ordering at the maximum page size. */
+  @Benchmark
+  public List<FlightMapItem> sortAndLimit() {
+    return listQueryHandler.page(snapshots, "lastSeen", "desc", limit);
+  }
+
+  @Benchmark
+  public List<FlightsMetricsResponse.TypeBreakdownItem> breakdown() {
+    return metricsSupport.breakdown(snapshots, taxonomy::fleetType, FLEET_ORDER);
+  }
+
+  private static final class ListBackedCursor implements Cursor<Map.Entry<Object, Object>> {
+    private final Iterator<Map.Entry<Object, Object>> iterator;
+    private long position;
+    private boolean closed;
+
+    private ListBackedCursor(List<Map.Entry<Object, Object>> entries) {
+      this.iterator = entries.iterator();
+    }
+
+    @Override
+    public long getPosition() {
+      return position;
+    }
+
+    @Override
+    public CursorId getId() {
+      return CursorId.of(0L);
+    }
+
+    @Override
+    public long getCursorId() {
+      return 0L;
+    }
+
+    @Override
+    public boolean isClosed() {
+      return closed;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return iterator.hasNext();
+    }
+
+    @Override
+    public Map.Entry<Object, Object> next() {
+      position++;
+      return iterator.next();
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.aircraft.AircraftMetadata;
+import com.cloudradar.dashboard.aircraft.AircraftMetadataRepository;
+import com.cloudradar.dashboard.model.Bbox;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic content of the last-positions hash for benchmarks.
+ *
+ * <p>Shaped like production: OpenSky batches every 10 seconds, most aircraft in the latest batch,
+ * a tail lagging one to three batches behind, a few stale entries outside the continuity window,
+ * about 1% duplicated under a non-normalized ICAO24 and 15% outside the query bbox.
+ */
+final class SyntheticFleet {
+  static final Bbox QUERY_BBOX = new Bbox(-10.0, 40.0, 15.0, 55.0);
+  static final long LATEST_BATCH_EPOCH = 1_760_000_000L;
+
+  private static final long BATCH_INTERVAL_SECONDS = 10L;
+  private static final String[][] AIRFRAMES = {
+    {"A320", "Large (75000 to 300000 lbs)", "L2J"},
+    {"B738", "Large (75000 to 300000 lbs)", "L2J"},
+    {"A21N", "Large (75000 to 300000 lbs)", "L2J"},
+    {"B77W", "Heavy (> 300000 lbs)", "L2J"},
+    {"E190", "Large (75000 to 300000 lbs)", "L2J"},
+    {"C172", "Light (< 15500 lbs)", "L1P"},
+    {"PC12", "Small (15500 to 75000 lbs)", "L1T"},
+    {"H145", "Rotorcraft", "H2T"},
+    {"A400", "Heavy (> 300000 lbs)", "L4T"},
+  };
+  private static final String[] COUNTRIES = {"France", "Germany", "Spain", "Italy", "United Kingdom"};
+
+  private final List<Map.Entry<Object, Object>> hashEntries;
+  private final Map<String, AircraftMetadata> metadataByIcao;
+
+  private SyntheticFleet(
+      List<Map.Entry<Object, Object>> hashEntries, Map<String, AircraftMetadata> metadataByIcao) {
+    this.hashEntries = hashEntries;
+    this.metadataByIcao = metadataByIcao;
+  }
+
+  static SyntheticFleet generate(int aircraft) {
+    SplittableRandom random = new SplittableRandom(aircraft);
+    List<Map.Entry<Object, Object>> entries = new ArrayList<>(aircraft + aircraft / 100);
+    Map<String, AircraftMetadata> metadata = new HashMap<>();
+    for (int i = 0; i < aircraft; i++) {
+      String icao24 = String.format(Locale.ROOT, "%06x", 0x300000 + i);
+      long batchEpoch = LATEST_BATCH_EPOCH - batchLag(random) * BATCH_INTERVAL_SECONDS;
+      boolean inside = random.nextInt(100) >= 15;
+      entries.add(Map.entry(icao24, payload(random, icao24, batchEpoch, inside)));
+      if (random.nextInt(100) == 0) {
+        String variant = icao24.toUpperCase(Locale.ROOT) + " ";
+        entries.add(Map.entry(variant, payload(random, variant, batchEpoch - BATCH_INTERVAL_SECONDS, inside)));
+      }
+      if (random.nextInt(100) < 85) {
+        metadata.put(icao24, metadata(random, icao24));
+      }
+    }
+    return new SyntheticFleet(List.copyOf(entries), Map.copyOf(metadata));
+  }
+
+  /** Field/value pairs as returned by {@code HSCAN} on the last-positions hash. */
+  List<Map.Entry<Object, Object>> hashEntries() {
+    return hashEntries;
+  }
+
+  List<String> payloads() {
+    return hashEntries.stream().map(entry -> entry.getValue().toString()).toList();
+  }
+
+  /** In-memory stand-in for the SQLite aircraft database. */
+  AircraftMetadataRepository metadataRepository() {
+    return icao24 -> Optional.ofNullable(metadataByIcao.get(icao24));
+  }
+
+  private static long batchLag(SplittableRandom random) {
+    int roll = random.nextInt(100);
+    if (roll < 70) {
+      return 0;
+    }
+    if (roll < 90) {
+      return 1;
+    }
+    if (roll < 97) {
+      return 2;
+    }
+    return 3 + random.nextInt(30);
+  }
+
+  private static String payload(SplittableRandom random, String icao24, long batchEpoch, boolean inside) {
+    double lat = inside
+        ? QUERY_BBOX.minLat() + random.nextDouble() * (QUERY_BBOX.maxLat() - QUERY_BBOX.minLat())
+        : 60.0 + random.nextDouble() * 10.0;
+    double lon = QUERY_BBOX.minLon() + random.nextDouble() * (QUERY_BBOX.maxLon() - QUERY_BBOX.minLon());
+    boolean onGround = random.nextInt(100) < 8;
+    double altitude = onGround ? 0.0 : 300.0 + random.nextDouble() * 12_000.0;
+    double velocity = onGround ? random.nextDouble() * 15.0 : 60.0 + random.nextDouble() * 200.0;
+    long lastContact = batchEpoch - random.nextInt(15);
+    return String.format(
+        Locale.ROOT,
+        "{\"icao24\":\"%s\",\"callsign\":\"CRD%04d\",\"lat\":%.5f,\"lon\":%.5f,\"heading\":%.1f,"
+            + "\"velocity\":%.2f,\"geo_altitude\":%.1f,\"baro_altitude\":%.1f,\"vertical_rate\":%.2f,"
+            + "\"on_ground\":%s,\"time_position\":%d,\"last_contact\":%d,"
+            + "\"ingested_at\":\"2025-10-09T08:53:20Z\",\"opensky_fetch_epoch\":%d,"
+            + "\"prev_lat\":%.5f,\"prev_lon\":%.5f,\"prev_heading\":%.1f,\"prev_velocity\":%.2f,"
+            + "\"prev_altitude\":%.1f,\"prev_last_contact\":%d}",
+        icao24.trim(),
+        random.nextInt(10_000),
+        lat,
+        lon,
+        random.nextDouble() * 360.0,
+        velocity,
+        altitude,
+        altitude - 50.0,
+        random.nextDouble() * 20.0 - 10.0,
+        onGround,
+        lastContact,
+        lastContact,
+        batchEpoch,
+        lat - 0.01,
+        lon - 0.01,
+        random.nextDouble() * 360.0,
+        velocity,
+        altitude,
+        lastContact - BATCH_INTERVAL_SECONDS);
+  }
+
+  private static AircraftMetadata metadata(SplittableRandom random, String icao24) {
+    String[] airframe = AIRFRAMES[random.nextInt(AIRFRAMES.length)];
+    boolean military = "A400".equals(airframe[0]) || random.nextInt(100) < 2;
+    return new AircraftMetadata(
+        icao24,
+        COUNTRIES[random.nextInt(COUNTRIES.length)],
+        airframe[1],
+        airframe[2],
+        null,
+        null,
+        null,
+        "F-" + icao24.toUpperCase(Locale.ROOT),
+        airframe[0],
+        military,
+        1990 + random.nextInt(35),
+        military ? "Air Force" : "Operator " + random.nextInt(200));
+  }
+}
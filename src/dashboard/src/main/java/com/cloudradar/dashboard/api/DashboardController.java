@@ -1,10 +1,14 @@
 package com.cloudradar.dashboard.api;
 
+import com.cloudradar.dashboard.model.FlightColumnarResponse;
+import com.cloudradar.dashboard.model.FlightDensityResponse;
 import com.cloudradar.dashboard.model.FlightDetailResponse;
 import com.cloudradar.dashboard.model.FlightListResponse;
+import com.cloudradar.dashboard.model.FlightPhoto;
 import com.cloudradar.dashboard.model.FlightsMetricsResponse;
 import com.cloudradar.dashboard.model.BboxBoostStatusResponse;
 import com.cloudradar.dashboard.service.BboxBoostService;
+import com.cloudradar.dashboard.service.FlightPhotoQueryService;
 import com.cloudradar.dashboard.service.FlightQueryService;
 import com.cloudradar.dashboard.service.FlightUpdateStreamService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,19 +27,28 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
  *
  * <p>Route design:
  * <ul>
- *   <li>{@code GET /api/flights}: lightweight map payload</li>
+ *   <li>{@code GET /api/flights}: lightweight map payload (columnar JSON/CBOR via {@code Accept})</li>
  *   <li>{@code GET /api/flights/stream}: SSE updates when a new OpenSky batch is available</li>
  *   <li>{@code GET /api/flights/{icao24}}: enriched detail payload</li>
+ *   <li>{@code GET /api/flights/{icao24}/photo}: photo lookup outcome after a {@code pending} detail</li>
  *   <li>{@code GET /api/flights/metrics}: aggregated KPI payload</li>
+ *   <li>{@code GET /api/flights/density}: aircraft counts per geohash cell for zoomed-out views</li>
+ *   <li>{@code GET /api/flights/tiles/{z}/{x}/{y}}: per-tile map payload ({@link FlightTileController})</li>
  *   <li>{@code GET/POST /api/flights/bbox/boost}: temporary OpenSky bbox boost status/trigger</li>
  * </ul>
  */
 @RestController
 @RequestMapping("/api/flights")
 public class DashboardController {
+  /** Vendor media type selecting the columnar JSON representation of {@code /api/flights}. */
+  public static final String COLUMNAR_JSON_VALUE = "application/vnd.cloudradar.flights.columnar+json";
+  /** Binary (CBOR) encoding of the columnar representation. */
+  public static final String COLUMNAR_CBOR_VALUE = "application/cbor";
+
   private final FlightQueryService flightQueryService;
   private final FlightUpdateStreamService flightUpdateStreamService;
   private final BboxBoostService bboxBoostService;
+  private final FlightPhotoQueryService flightPhotoQueryService;
 
   /**
    * Creates the controller with the query service dependency.
@@ -43,14 +56,17 @@ public class DashboardController {
    * @param flightQueryService business service used by query endpoints
    * @param flightUpdateStreamService SSE broadcaster for frontend refresh signals
    * @param bboxBoostService OpenSky bbox boost status/trigger service
+   * @param flightPhotoQueryService photo follow-up lookups
    */
   public DashboardController(
       FlightQueryService flightQueryService,
       FlightUpdateStreamService flightUpdateStreamService,
-      BboxBoostService bboxBoostService) {
+      BboxBoostService bboxBoostService,
+      FlightPhotoQueryService flightPhotoQueryService) {
     this.flightQueryService = flightQueryService;
     this.flightUpdateStreamService = flightUpdateStreamService;
     this.bboxBoostService = bboxBoostService;
+    this.flightPhotoQueryService = flightPhotoQueryService;
   }
 
   /**
@@ -93,6 +109,49 @@ public class DashboardController {
         typecode);
   }
 
+  /**
+   * Returns the {@link #listFlights} selection as quantized, dictionary-encoded columns.
+   *
+   * <p>Selected when the client sends {@code Accept: application/vnd.cloudradar.flights.columnar+json}
+   * or {@code Accept: application/cbor}.
+   *
+   * @param bbox optional bounding box in {@code minLon,minLat,maxLon,maxLat} format
+   * @param since optional lower bound on {@code lastSeen} (epoch or ISO-8601)
+   * @param limit optional max number of returned items
+   * @param sort optional sort field ({@code lastSeen|speed|altitude})
+   * @param order optional sort order ({@code asc|desc})
+   * @param militaryHint optional military hint filter
+   * @param airframeType optional airframe type filter
+   * @param category optional category filter
+   * @param country optional country filter
+   * @param typecode optional typecode filter
+   * @return columnar map payload
+   */
+  @GetMapping(produces = {COLUMNAR_JSON_VALUE, COLUMNAR_CBOR_VALUE})
+  public FlightColumnarResponse listFlightsColumnar(
+      @RequestParam(value = "bbox", required = false) String bbox,
+      @RequestParam(value = "since", required = false) String since,
+      @RequestParam(value = "limit", required = false) String limit,
+      @RequestParam(value = "sort", required = false) String sort,
+      @RequestParam(value = "order", required = false) String order,
+      @RequestParam(value = "militaryHint", required = false) String militaryHint,
+      @RequestParam(value = "airframeType", required = false) String airframeType,
+      @RequestParam(value = "category", required = false) String category,
+      @RequestParam(value = "country", required = false) String country,
+      @RequestParam(value = "typecode", required = false) String typecode) {
+    return flightQueryService.listFlightsColumnar(
+        bbox,
+        since,
+        limit,
+        sort,
+        order,
+        militaryHint,
+        airframeType,
+        category,
+        country,
+        typecode);
+  }
+
   /**
    * Opens an SSE stream used by frontend to refresh on new backend data.
    *
@@ -117,6 +176,20 @@ public class DashboardController {
     return flightQueryService.getFlightsMetrics(bbox, window);
   }
 
+  /**
+   * Returns live aircraft aggregated into geohash grid cells.
+   *
+   * @param bbox optional aggregation bounding box
+   * @param resolution optional geohash length ({@code 1..6}, default {@code 3})
+   * @return density grid with per-cell counts and fleet breakdown
+   */
+  @GetMapping("/density")
+  public FlightDensityResponse density(
+      @RequestParam(value = "bbox", required = false) String bbox,
+      @RequestParam(value = "resolution", required = false) String resolution) {
+    return flightQueryService.getFlightDensity(bbox, resolution);
+  }
+
   /**
    * Returns the detail view for a single aircraft.
    *
@@ -131,6 +204,20 @@ public class DashboardController {
     return flightQueryService.getFlightDetail(icao24, include);
   }
 
+  /**
+   * Returns the photo lookup outcome for one aircraft.
+   *
+   * <p>Detail responses report {@code photo.status=pending} while the upstream lookup runs in
+   * background; clients poll this endpoint until another status is returned.
+   *
+   * @param icao24 normalized hexadecimal aircraft identifier
+   * @return photo payload ({@code pending} while still resolving)
+   */
+  @GetMapping("/{icao24:[A-Fa-f0-9]{6}}/photo")
+  public FlightPhoto photo(@PathVariable("icao24") String icao24) {
+    return flightPhotoQueryService.getFlightPhoto(icao24);
+  }
+
   /**
    * Returns current bbox boost state for the caller.
    *
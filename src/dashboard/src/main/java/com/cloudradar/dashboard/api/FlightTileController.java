@@ -0,0 +1,99 @@
+package com.cloudradar.dashboard.api;
+
+import com.cloudradar.dashboard.model.FlightTile;
+import com.cloudradar.dashboard.service.FlightQueryService;
+import java.util.Locale;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Tile-addressed variant of {@code GET /api/flights}.
+ *
+ * <p>Viewport bboxes rarely repeat, so their responses cannot be cached; tiles do repeat across
+ * pans and clients. Bodies are returned pre-serialized, with an {@code ETag} per tile and batch.
+ */
+@RestController
+@RequestMapping("/api/flights")
+public class FlightTileController {
+  private final FlightQueryService flightQueryService;
+
+  /**
+   * Creates the controller with the query service dependency.
+   *
+   * @param flightQueryService business service owning the tile cache
+   */
+  public FlightTileController(FlightQueryService flightQueryService) {
+    this.flightQueryService = flightQueryService;
+  }
+
+  /**
+   * Returns the unfiltered map payload of one Web-Mercator tile.
+   *
+   * <p>Clients request the tiles covering their viewport; each tile body is built once per
+   * OpenSky batch and served gzip-encoded when the client accepts it.
+   *
+   * @param z zoom level
+   * @param x tile column
+   * @param y tile row
+   * @param acceptEncoding client {@code Accept-Encoding} header
+   * @param webRequest used to answer {@code If-None-Match} with 304
+   * @return JSON body of a {@link com.cloudradar.dashboard.model.FlightListResponse}, or
+   *     {@code null} when not modified
+   */
+  @GetMapping(path = "/tiles/{z}/{x}/{y}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<byte[]> tile(
+      @PathVariable("z") int z,
+      @PathVariable("x") int x,
+      @PathVariable("y") int y,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+      WebRequest webRequest) {
+    FlightTile tile = flightQueryService.getFlightTile(z, x, y, acceptsGzip(acceptEncoding));
+    if (tile.etag() != null && webRequest.checkNotModified(tile.etag())) {
+      return null;
+    }
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (tile.gzip()) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(tile.body());
+  }
+
+  /** Whether {@code Accept-Encoding} lists gzip with a non-zero quality value. */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String entry : acceptEncoding.split(",")) {
+      String[] parts = entry.split(";");
+      String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+      if (("gzip".equals(coding) || "x-gzip".equals(coding)) && quality(parts) > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static double quality(String[] parts) {
+    for (int i = 1; i < parts.length; i++) {
+      String param = parts[i].trim().toLowerCase(Locale.ROOT);
+      if (param.startsWith("q=")) {
+        try {
+          return Double.parseDouble(param.substring(2).trim());
+        } catch (NumberFormatException ex) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
@@ -19,6 +19,8 @@ public class DashboardProperties {
   private final Boost boost = new Boost();
   private final Prometheus prometheus = new Prometheus();
   private final Planespotters planespotters = new Planespotters();
+  private final Stream stream = new Stream();
+  private final Query query = new Query();
 
   public Redis getRedis() {
     return redis;
@@ -44,11 +46,26 @@ public class DashboardProperties {
     return planespotters;
   }
 
+  public Stream getStream() {
+    return stream;
+  }
+
+  public Query getQuery() {
+    return query;
+  }
+
   /** Redis key configuration used by dashboard read paths. */
   public static class Redis {
     private String lastPositionsKey = "cloudradar:aircraft:last";
+    private String lastContactKey = "cloudradar:aircraft:last_contact";
+    private String geoKey = "cloudradar:aircraft:geo";
+    private String batchSnapshotKey = "cloudradar:aircraft:snapshot:v1";
+    private long batchSnapshotMaxAgeSeconds = 120;
+    private String fleetMetricsKeyPrefix = "cloudradar:aircraft:fleet:";
     private String trackKeyPrefix = "cloudradar:aircraft:track:";
     private String activityBucketKeyPrefix = "cloudradar:activity:bucket:";
+    private String activityHourKeyPrefix = "cloudradar:activity:hour:";
+    private String activityDayKeyPrefix = "cloudradar:activity:day:";
 
     public String getLastPositionsKey() {
       return lastPositionsKey;
@@ -58,6 +75,46 @@ public class DashboardProperties {
       this.lastPositionsKey = lastPositionsKey;
     }
 
+    public String getLastContactKey() {
+      return lastContactKey;
+    }
+
+    public void setLastContactKey(String lastContactKey) {
+      this.lastContactKey = lastContactKey;
+    }
+
+    public String getGeoKey() {
+      return geoKey;
+    }
+
+    public void setGeoKey(String geoKey) {
+      this.geoKey = geoKey;
+    }
+
+    public String getBatchSnapshotKey() {
+      return batchSnapshotKey;
+    }
+
+    public void setBatchSnapshotKey(String batchSnapshotKey) {
+      this.batchSnapshotKey = batchSnapshotKey;
+    }
+
+    public long getBatchSnapshotMaxAgeSeconds() {
+      return batchSnapshotMaxAgeSeconds;
+    }
+
+    public void setBatchSnapshotMaxAgeSeconds(long batchSnapshotMaxAgeSeconds) {
+      this.batchSnapshotMaxAgeSeconds = batchSnapshotMaxAgeSeconds;
+    }
+
+    public String getFleetMetricsKeyPrefix() {
+      return fleetMetricsKeyPrefix;
+    }
+
+    public void setFleetMetricsKeyPrefix(String fleetMetricsKeyPrefix) {
+      this.fleetMetricsKeyPrefix = fleetMetricsKeyPrefix;
+    }
+
     public String getTrackKeyPrefix() {
       return trackKeyPrefix;
     }
@@ -73,6 +130,22 @@ public class DashboardProperties {
     public void setActivityBucketKeyPrefix(String activityBucketKeyPrefix) {
       this.activityBucketKeyPrefix = activityBucketKeyPrefix;
     }
+
+    public String getActivityHourKeyPrefix() {
+      return activityHourKeyPrefix;
+    }
+
+    public void setActivityHourKeyPrefix(String activityHourKeyPrefix) {
+      this.activityHourKeyPrefix = activityHourKeyPrefix;
+    }
+
+    public String getActivityDayKeyPrefix() {
+      return activityDayKeyPrefix;
+    }
+
+    public void setActivityDayKeyPrefix(String activityDayKeyPrefix) {
+      this.activityDayKeyPrefix = activityDayKeyPrefix;
+    }
   }
 
   /** API-level behavior configuration (limits, sort defaults, bbox, CORS, rate limits). */
@@ -87,6 +160,7 @@ public class DashboardProperties {
     private final Bbox bbox = new Bbox();
     private final Cors cors = new Cors();
     private final RateLimit rateLimit = new RateLimit();
+    private final Tiles tiles = new Tiles();
 
     public int getDefaultLimit() {
       return defaultLimit;
@@ -155,6 +229,41 @@ public class DashboardProperties {
     public RateLimit getRateLimit() {
       return rateLimit;
     }
+
+    public Tiles getTiles() {
+      return tiles;
+    }
+  }
+
+  /** Tile-addressed flight list ({@code /api/flights/tiles/{z}/{x}/{y}}) cache settings. */
+  public static class Tiles {
+    private int maxZoom = 14;
+    private int cacheMaxEntries = 1024;
+    private boolean precompress = true;
+
+    public int getMaxZoom() {
+      return maxZoom;
+    }
+
+    public void setMaxZoom(int maxZoom) {
+      this.maxZoom = maxZoom;
+    }
+
+    public int getCacheMaxEntries() {
+      return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+      this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public boolean isPrecompress() {
+      return precompress;
+    }
+
+    public void setPrecompress(boolean precompress) {
+      this.precompress = precompress;
+    }
   }
 
   /** Bounding-box constraints and defaults used to validate map queries. */
@@ -165,6 +274,8 @@ public class DashboardProperties {
     private double allowedLonMax = 180.0;
     private String defaultValue = "0.9823,47.9557,3.7221,49.7575";
     private double maxAreaDeg2 = 100.0;
+    private double geoSearchMaxAreaDeg2 = 25.0;
+    private double densityMaxAreaDeg2 = 3600.0;
 
     public double getAllowedLatMin() {
       return allowedLatMin;
@@ -213,6 +324,22 @@ public class DashboardProperties {
     public void setMaxAreaDeg2(double maxAreaDeg2) {
       this.maxAreaDeg2 = maxAreaDeg2;
     }
+
+    public double getGeoSearchMaxAreaDeg2() {
+      return geoSearchMaxAreaDeg2;
+    }
+
+    public void setGeoSearchMaxAreaDeg2(double geoSearchMaxAreaDeg2) {
+      this.geoSearchMaxAreaDeg2 = geoSearchMaxAreaDeg2;
+    }
+
+    public double getDensityMaxAreaDeg2() {
+      return densityMaxAreaDeg2;
+    }
+
+    public void setDensityMaxAreaDeg2(double densityMaxAreaDeg2) {
+      this.densityMaxAreaDeg2 = densityMaxAreaDeg2;
+    }
   }
 
   /** CORS allowlist configuration for frontend consumers. */
@@ -232,6 +359,9 @@ public class DashboardProperties {
   public static class RateLimit {
     private int windowSeconds = 60;
     private int maxRequests = 120;
+    private String backend = "memory";
+    private String redisKeyPrefix = "cloudradar:ratelimit:api:";
+    private int maxTrackedClients = 10000;
 
     public int getWindowSeconds() {
       return windowSeconds;
@@ -248,6 +378,30 @@ public class DashboardProperties {
     public void setMaxRequests(int maxRequests) {
       this.maxRequests = maxRequests;
     }
+
+    public String getBackend() {
+      return backend;
+    }
+
+    public void setBackend(String backend) {
+      this.backend = backend;
+    }
+
+    public String getRedisKeyPrefix() {
+      return redisKeyPrefix;
+    }
+
+    public void setRedisKeyPrefix(String redisKeyPrefix) {
+      this.redisKeyPrefix = redisKeyPrefix;
+    }
+
+    public int getMaxTrackedClients() {
+      return maxTrackedClients;
+    }
+
+    public void setMaxTrackedClients(int maxTrackedClients) {
+      this.maxTrackedClients = maxTrackedClients;
+    }
   }
 
   /** Optional local aircraft reference database configuration. */
@@ -380,6 +534,8 @@ public class DashboardProperties {
     private boolean enabled = true;
     private String baseUrl = "http://prometheus-prometheus-kube-prometheus-prometheus.monitoring.svc:9090";
     private int queryTimeoutMs = 1500;
+    private long refreshIntervalSeconds = 60;
+    private long maxStaleSeconds = 3600;
 
     public boolean isEnabled() {
       return enabled;
@@ -404,6 +560,22 @@ public class DashboardProperties {
     public void setQueryTimeoutMs(int queryTimeoutMs) {
       this.queryTimeoutMs = queryTimeoutMs;
     }
+
+    public long getRefreshIntervalSeconds() {
+      return refreshIntervalSeconds;
+    }
+
+    public void setRefreshIntervalSeconds(long refreshIntervalSeconds) {
+      this.refreshIntervalSeconds = refreshIntervalSeconds;
+    }
+
+    public long getMaxStaleSeconds() {
+      return maxStaleSeconds;
+    }
+
+    public void setMaxStaleSeconds(long maxStaleSeconds) {
+      this.maxStaleSeconds = maxStaleSeconds;
+    }
   }
 
   /** Planespotters external photo API integration configuration. */
@@ -412,11 +584,22 @@ public class DashboardProperties {
     private String baseUrl = "https://api.planespotters.net/pub/photos";
     private int timeoutMs = 1500;
     private int globalRps = 2;
+    private int globalBurst = 1;
     private String redisKeyPrefix = "cloudradar:photo:v1:";
     private long cacheTtlSeconds = 604800;
     private long negativeCacheTtlSeconds = 21600;
     private long errorCacheTtlSeconds = 120;
     private long rateLimitedCacheTtlSeconds = 5;
+    private int l1MaxEntries = 2000;
+    private long l1TtlSeconds = 300;
+    private int lookupThreads = 2;
+    private int lookupQueueCapacity = 64;
+    private boolean prefetchEnabled = true;
+    private long prefetchIntervalMs = 1000;
+    private int prefetchReservedRps = 1;
+    private long prefetchUserPauseMs = 5000;
+    private long prefetchRefreshSeconds = 30;
+    private int prefetchMaxCandidates = 200;
 
     public boolean isEnabled() {
       return enabled;
@@ -450,6 +633,14 @@ public class DashboardProperties {
       this.globalRps = globalRps;
     }
 
+    public int getGlobalBurst() {
+      return globalBurst;
+    }
+
+    public void setGlobalBurst(int globalBurst) {
+      this.globalBurst = globalBurst;
+    }
+
     public String getRedisKeyPrefix() {
       return redisKeyPrefix;
     }
@@ -489,5 +680,147 @@ public class DashboardProperties {
     public void setRateLimitedCacheTtlSeconds(long rateLimitedCacheTtlSeconds) {
       this.rateLimitedCacheTtlSeconds = rateLimitedCacheTtlSeconds;
     }
+
+    public int getL1MaxEntries() {
+      return l1MaxEntries;
+    }
+
+    public void setL1MaxEntries(int l1MaxEntries) {
+      this.l1MaxEntries = l1MaxEntries;
+    }
+
+    public long getL1TtlSeconds() {
+      return l1TtlSeconds;
+    }
+
+    public void setL1TtlSeconds(long l1TtlSeconds) {
+      this.l1TtlSeconds = l1TtlSeconds;
+    }
+
+    public int getLookupThreads() {
+      return lookupThreads;
+    }
+
+    public void setLookupThreads(int lookupThreads) {
+      this.lookupThreads = lookupThreads;
+    }
+
+    public int getLookupQueueCapacity() {
+      return lookupQueueCapacity;
+    }
+
+    public void setLookupQueueCapacity(int lookupQueueCapacity) {
+      this.lookupQueueCapacity = lookupQueueCapacity;
+    }
+
+    public boolean isPrefetchEnabled() {
+      return prefetchEnabled;
+    }
+
+    public void setPrefetchEnabled(boolean prefetchEnabled) {
+      this.prefetchEnabled = prefetchEnabled;
+    }
+
+    public long getPrefetchIntervalMs() {
+      return prefetchIntervalMs;
+    }
+
+    public void setPrefetchIntervalMs(long prefetchIntervalMs) {
+      this.prefetchIntervalMs = prefetchIntervalMs;
+    }
+
+    public int getPrefetchReservedRps() {
+      return prefetchReservedRps;
+    }
+
+    public void setPrefetchReservedRps(int prefetchReservedRps) {
+      this.prefetchReservedRps = prefetchReservedRps;
+    }
+
+    public long getPrefetchUserPauseMs() {
+      return prefetchUserPauseMs;
+    }
+
+    public void setPrefetchUserPauseMs(long prefetchUserPauseMs) {
+      this.prefetchUserPauseMs = prefetchUserPauseMs;
+    }
+
+    public long getPrefetchRefreshSeconds() {
+      return prefetchRefreshSeconds;
+    }
+
+    public void setPrefetchRefreshSeconds(long prefetchRefreshSeconds) {
+      this.prefetchRefreshSeconds = prefetchRefreshSeconds;
+    }
+
+    public int getPrefetchMaxCandidates() {
+      return prefetchMaxCandidates;
+    }
+
+    public void setPrefetchMaxCandidates(int prefetchMaxCandidates) {
+      this.prefetchMaxCandidates = prefetchMaxCandidates;
+    }
+  }
+
+  /** SSE fan-out settings for the {@code /api/flights/stream} refresh channel. */
+  public static class Stream {
+    private int outboxCapacity = 16;
+    private int fanoutThreads = 4;
+    private long writeTimeoutMs = 5000;
+
+    public int getOutboxCapacity() {
+      return outboxCapacity;
+    }
+
+    public void setOutboxCapacity(int outboxCapacity) {
+      this.outboxCapacity = outboxCapacity;
+    }
+
+    public int getFanoutThreads() {
+      return fanoutThreads;
+    }
+
+    public void setFanoutThreads(int fanoutThreads) {
+      this.fanoutThreads = fanoutThreads;
+    }
+
+    public long getWriteTimeoutMs() {
+      return writeTimeoutMs;
+    }
+
+    public void setWriteTimeoutMs(long writeTimeoutMs) {
+      this.writeTimeoutMs = writeTimeoutMs;
+    }
+  }
+
+  /** Parallel fan-out of independent reads inside the detail and metrics handlers. */
+  public static class Query {
+    private int fanoutThreads = 8;
+    private int fanoutQueueCapacity = 64;
+    private long branchTimeoutMs = 1000;
+
+    public int getFanoutThreads() {
+      return fanoutThreads;
+    }
+
+    public void setFanoutThreads(int fanoutThreads) {
+      this.fanoutThreads = fanoutThreads;
+    }
+
+    public int getFanoutQueueCapacity() {
+      return fanoutQueueCapacity;
+    }
+
+    public void setFanoutQueueCapacity(int fanoutQueueCapacity) {
+      this.fanoutQueueCapacity = fanoutQueueCapacity;
+    }
+
+    public long getBranchTimeoutMs() {
+      return branchTimeoutMs;
+    }
+
+    public void setBranchTimeoutMs(long branchTimeoutMs) {
+      this.branchTimeoutMs = branchTimeoutMs;
+    }
   }
 }
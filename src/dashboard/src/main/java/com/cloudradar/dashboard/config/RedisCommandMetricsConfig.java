@@ -0,0 +1,56 @@
+package com.cloudradar.dashboard.config;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+/**
+ * Registers {@link RedisCommandLatencyRecorder} on the Lettuce client behind the Redis connection
+ * factory, with the dashboard's key families.
+ *
+ * <p>The listener is attached right after the factory is initialized (the client exists by then,
+ * connections do not), so every connection opened afterwards is instrumented.
+ */
+@Configuration
+public class RedisCommandMetricsConfig {
+
+  @Bean
+  static BeanPostProcessor redisCommandLatencyPostProcessor(ObjectProvider<DashboardProperties> properties) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof LettuceConnectionFactory factory) {
+          AbstractRedisClient client = factory.getNativeClient();
+          if (client != null) {
+            client.addListener(new RedisCommandLatencyRecorder(
+                Metrics.globalRegistry, "dashboard.redis.command.duration", keyFamilies(properties.getObject())));
+          }
+        }
+        return bean;
+      }
+    };
+  }
+
+  static RedisKeyFamilies keyFamilies(DashboardProperties properties) {
+    DashboardProperties.Redis redis = properties.getRedis();
+    return RedisKeyFamilies.builder()
+        .key("last", redis.getLastPositionsKey())
+        .key("last_contact", redis.getLastContactKey())
+        .key("geo", redis.getGeoKey())
+        .key("batch_snapshot", redis.getBatchSnapshotKey())
+        .prefix("fleet_metrics", redis.getFleetMetricsKeyPrefix())
+        .prefix("track", redis.getTrackKeyPrefix())
+        .prefix("activity_bucket", redis.getActivityBucketKeyPrefix())
+        .prefix("activity_rollup", redis.getActivityHourKeyPrefix())
+        .prefix("activity_rollup", redis.getActivityDayKeyPrefix())
+        .prefix("photo", properties.getPlanespotters().getRedisKeyPrefix())
+        .prefix("rate_limit", properties.getApi().getRateLimit().getRedisKeyPrefix())
+        .key("bbox_boost", properties.getBoost().getActiveKey())
+        .prefix("bbox_boost", properties.getBoost().getCooldownPrefix())
+        .build();
+  }
+}
@@ -0,0 +1,103 @@
+package com.cloudradar.dashboard.config;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps Redis keys to the coarse key families used as metric tags ({@code last}, {@code track},
+ * {@code queue}...), so that per-key metrics stay low-cardinality.
+ *
+ * <p>Rules are checked in declaration order; keys matching no rule belong to {@link #OTHER}.
+ * Matching works on the encoded key bytes without decoding, since it runs for every Redis command.
+ */
+public final class RedisKeyFamilies {
+  public static final String OTHER = "other";
+
+  private final List<String> names;
+  private final List<Rule> rules;
+
+  private RedisKeyFamilies(List<String> names, List<Rule> rules) {
+    this.names = List.copyOf(names);
+    this.rules = List.copyOf(rules);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Distinct family names in declaration order, {@link #OTHER} last. */
+  public List<String> names() {
+    return names;
+  }
+
+  /** Index in {@link #names()} of the family of an encoded key ({@link #OTHER} for {@code null}). */
+  public int indexOf(ByteBuffer key) {
+    if (key != null) {
+      for (Rule rule : rules) {
+        if (rule.matches(key)) {
+          return rule.familyIndex();
+        }
+      }
+    }
+    return names.size() - 1;
+  }
+
+  /** Index in {@link #names()} of the family of a key. */
+  public int indexOf(String key) {
+    return indexOf(key == null ? null : ByteBuffer.wrap(key.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  /** Collects exact-key and key-prefix rules. */
+  public static final class Builder {
+    private final List<String> names = new ArrayList<>();
+    private final List<Rule> rules = new ArrayList<>();
+
+    private Builder() {
+    }
+
+    public Builder key(String family, String key) {
+      return add(family, key, true);
+    }
+
+    public Builder prefix(String family, String prefix) {
+      return add(family, prefix, false);
+    }
+
+    public RedisKeyFamilies build() {
+      List<String> allNames = new ArrayList<>(names);
+      allNames.add(OTHER);
+      return new RedisKeyFamilies(allNames, rules);
+    }
+
+    private Builder add(String family, String pattern, boolean exact) {
+      if (pattern == null || pattern.isBlank()) {
+        return this;
+      }
+      int index = names.indexOf(family);
+      if (index < 0) {
+        names.add(family);
+        index = names.size() - 1;
+      }
+      rules.add(new Rule(pattern.getBytes(StandardCharsets.UTF_8), exact, index));
+      return this;
+    }
+  }
+
+  private record Rule(byte[] pattern, boolean exact, int familyIndex) {
+    boolean matches(ByteBuffer key) {
+      int length = key.remaining();
+      if (exact ? length != pattern.length : length < pattern.length) {
+        return false;
+      }
+      int start = key.position();
+      for (int i = 0; i < pattern.length; i++) {
+        if (key.get(start + i) != pattern[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
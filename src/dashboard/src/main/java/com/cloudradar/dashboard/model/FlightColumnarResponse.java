@@ -0,0 +1,93 @@
+package com.cloudradar.dashboard.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar representation of {@code GET /api/flights}, selected through content negotiation.
+ *
+ * <p>Each column holds one value per aircraft at the same index. Numeric columns are quantized to
+ * integers (divide by the matching {@link Quantization} scale to decode) and categorical columns
+ * hold indexes into {@code dictionaries}. Missing values are {@code null}.
+ *
+ * @param format payload format identifier ({@code columnar-v1})
+ * @param count number of returned items
+ * @param totalMatched total items matching filters before limit
+ * @param limit applied response limit
+ * @param bbox effective bbox used for filtering
+ * @param latestOpenSkyBatchEpoch latest OpenSky batch epoch represented in this response
+ * @param timestamp response generation timestamp
+ * @param quantization scales and offsets used to decode numeric columns
+ * @param dictionaries lookup tables for {@code airframeType}, {@code fleetType} and {@code aircraftSize}
+ * @param columns per-field value arrays
+ */
+public record FlightColumnarResponse(
+    String format,
+    int count,
+    int totalMatched,
+    int limit,
+    Map<String, Double> bbox,
+    Long latestOpenSkyBatchEpoch,
+    String timestamp,
+    Quantization quantization,
+    Map<String, List<String>> dictionaries,
+    Columns columns) {
+
+  /**
+   * Decoding parameters for quantized columns.
+   *
+   * @param coordScale divisor for {@code lat/lon/prevLat/prevLon} (1e5, about 1.1 m)
+   * @param headingScale divisor for {@code heading/prevHeading} (0.1 degree)
+   * @param speedScale divisor for {@code speed/prevSpeed} (0.1 m/s)
+   * @param altitudeScale divisor for {@code altitude/prevAltitude} (1 m)
+   * @param lastSeenBase epoch added to {@code lastSeen/prevLastSeen} offsets
+   */
+  public record Quantization(
+      int coordScale,
+      int headingScale,
+      int speedScale,
+      int altitudeScale,
+      Long lastSeenBase) {}
+
+  /**
+   * Column arrays, all of length {@code count}.
+   *
+   * @param icao24 aircraft identifiers
+   * @param callsign callsigns
+   * @param lat quantized latitudes
+   * @param lon quantized longitudes
+   * @param heading quantized headings
+   * @param lastSeen last contact offsets from {@code lastSeenBase} (seconds)
+   * @param speed quantized ground speeds
+   * @param altitude quantized altitudes
+   * @param militaryHint military hint ({@code 1|0})
+   * @param airframeType indexes into {@code dictionaries.airframeType}
+   * @param fleetType indexes into {@code dictionaries.fleetType}
+   * @param aircraftSize indexes into {@code dictionaries.aircraftSize}
+   * @param prevLat quantized previous latitudes
+   * @param prevLon quantized previous longitudes
+   * @param prevHeading quantized previous headings
+   * @param prevSpeed quantized previous speeds
+   * @param prevAltitude quantized previous altitudes
+   * @param prevLastSeen previous last contact offsets from {@code lastSeenBase} (seconds)
+   */
+  public record Columns(
+      String[] icao24,
+      String[] callsign,
+      Integer[] lat,
+      Integer[] lon,
+      Integer[] heading,
+      Integer[] lastSeen,
+      Integer[] speed,
+      Integer[] altitude,
+      Integer[] militaryHint,
+      Integer[] airframeType,
+      Integer[] fleetType,
+      Integer[] aircraftSize,
+      Integer[] prevLat,
+      Integer[] prevLon,
+      Integer[] prevHeading,
+      Integer[] prevSpeed,
+      Integer[] prevAltitude,
+      Integer[] prevLastSeen) {}
+}
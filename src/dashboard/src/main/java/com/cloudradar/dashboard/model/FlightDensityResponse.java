@@ -0,0 +1,40 @@
+package com.cloudradar.dashboard.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response contract for {@code GET /api/flights/density}.
+ *
+ * @param resolution geohash length of the cells (1 = continent, 6 = ~1 km)
+ * @param cellLatDegrees latitude span of one cell
+ * @param cellLonDegrees longitude span of one cell
+ * @param totalAircraft aircraft aggregated over all cells
+ * @param cells non-empty cells, densest first
+ * @param bbox effective bbox used for aggregation
+ * @param latestOpenSkyBatchEpoch OpenSky batch epoch the grid was computed from
+ * @param timestamp grid computation timestamp
+ */
+public record FlightDensityResponse(
+    int resolution,
+    double cellLatDegrees,
+    double cellLonDegrees,
+    int totalAircraft,
+    List<Cell> cells,
+    Map<String, Double> bbox,
+    Long latestOpenSkyBatchEpoch,
+    String timestamp) {
+
+  /**
+   * One grid cell.
+   *
+   * @param geohash cell identifier
+   * @param lat cell center latitude
+   * @param lon cell center longitude
+   * @param count aircraft in the cell
+   * @param military military aircraft in the cell
+   * @param fleet non-zero counts per fleet type ({@code commercial|military|rescue|private|unknown})
+   */
+  public record Cell(
+      String geohash, double lat, double lon, int count, int military, Map<String, Integer> fleet) {}
+}
@@ -3,7 +3,7 @@ package com.cloudradar.dashboard.model;
 /**
  * Aircraft photo metadata returned in detailed flight responses.
  *
- * @param status resolution status ({@code available|not_found|rate_limited|error})
+ * @param status resolution status ({@code available|not_found|rate_limited|error|pending})
  * @param thumbnailSrc regular thumbnail URL
  * @param thumbnailWidth regular thumbnail width
  * @param thumbnailHeight regular thumbnail height
@@ -53,6 +53,11 @@ public record FlightPhoto(
     return new FlightPhoto("rate_limited", null, null, null, null, null, null, null, null);
   }
 
+  /** Lookup started in background; poll {@code /api/flights/{icao24}/photo} for the outcome. */
+  public static FlightPhoto pending() {
+    return new FlightPhoto("pending", null, null, null, null, null, null, null, null);
+  }
+
   public static FlightPhoto error() {
     return new FlightPhoto("error", null, null, null, null, null, null, null, null);
   }
@@ -0,0 +1,10 @@
+package com.cloudradar.dashboard.model;
+
+/**
+ * Pre-serialized {@link FlightListResponse} for one z/x/y tile.
+ *
+ * @param body JSON payload, gzip-compressed when {@code gzip} is set
+ * @param gzip whether {@code body} is gzip-encoded
+ * @param etag entity tag derived from the tile address and batch epoch, or {@code null}
+ */
+public record FlightTile(byte[] body, boolean gzip, String etag) {}
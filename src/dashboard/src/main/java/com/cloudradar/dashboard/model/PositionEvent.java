@@ -29,7 +29,8 @@ public record PositionEvent(
     @JsonProperty("prev_heading") Double prevHeading,
     @JsonProperty("prev_velocity") Double prevVelocity,
     @JsonProperty("prev_altitude") Double prevAltitude,
-    @JsonProperty("prev_last_contact") Long prevLastContact) {
+    @JsonProperty("prev_last_contact") Long prevLastContact,
+    @JsonProperty("processor_written_at_ms") Long processorWrittenAtMs) {
 
   /**
    * Returns the best-effort altitude field for UI usage.
@@ -1,35 +1,67 @@
 package com.cloudradar.dashboard.rate;
 
 import com.cloudradar.dashboard.config.DashboardProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
- * Servlet filter applying in-memory rate limiting to dashboard API routes.
+ * Servlet filter applying per-client rate limiting to dashboard API routes.
  *
  * <p>The filter only targets paths under {@code /api/} and returns HTTP 429 when limits are
- * exceeded.
+ * exceeded. The {@code memory} backend limits each replica on its own; the {@code redis} backend
+ * shares one GCRA budget per client across replicas and fails open when Redis is unavailable.
  */
 @Component
 public class ApiRateLimitFilter extends OncePerRequestFilter {
+  private static final Logger log = LoggerFactory.getLogger(ApiRateLimitFilter.class);
+  private static final String REDIS_BACKEND = "redis";
+
   private final DashboardProperties properties;
   private final InMemoryRateLimiter limiter;
+  private final RedisGcraRateLimiter redisLimiter;
+  private final Counter rejections;
 
   /**
    * Creates the filter with configuration and limiter dependencies.
    *
    * @param properties typed dashboard properties
-   * @param limiter sliding-window limiter implementation
+   * @param limiter in-memory token-bucket limiter used by the default backend
+   * @param redisLimiter distributed GCRA limiter used by the {@code redis} backend
    */
-  public ApiRateLimitFilter(DashboardProperties properties, InMemoryRateLimiter limiter) {
+  public ApiRateLimitFilter(
+      DashboardProperties properties,
+      InMemoryRateLimiter limiter,
+      RedisGcraRateLimiter redisLimiter) {
     this.properties = properties;
     this.limiter = limiter;
+    this.redisLimiter = redisLimiter;
+    this.rejections = Counter.builder("dashboard.api.ratelimit.rejected.total")
+        .description("API requests rejected with HTTP 429")
+        .register(Metrics.globalRegistry);
+    Gauge.builder("dashboard.api.ratelimit.clients.tracked", limiter, InMemoryRateLimiter::trackedClients)
+        .description("Clients holding an in-memory rate-limit bucket")
+        .register(Metrics.globalRegistry);
+    FunctionCounter.builder("dashboard.api.ratelimit.evictions.total", limiter, InMemoryRateLimiter::evictions)
+        .description("In-memory rate-limit buckets evicted after refilling")
+        .register(Metrics.globalRegistry);
+    FunctionCounter.builder(
+            "dashboard.api.ratelimit.untracked.total", limiter, InMemoryRateLimiter::untrackedAdmissions)
+        .description("Requests admitted untracked because the client cap was reached")
+        .register(Metrics.globalRegistry);
   }
 
   /**
@@ -45,7 +77,7 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
   }
 
   /**
-   * Enforces per-client request limits using a sliding window strategy.
+   * Enforces per-client request limits using the configured backend.
    *
    * @param request current HTTP request
    * @param response current HTTP response
@@ -60,13 +92,14 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
       FilterChain filterChain)
       throws ServletException, IOException {
     String client = extractClientKey(request);
-    boolean allowed = limiter.allow(
-        client,
-        properties.getApi().getRateLimit().getWindowSeconds(),
-        properties.getApi().getRateLimit().getMaxRequests());
+    RateLimitDecision decision = decide(client);
 
-    if (!allowed) {
+    if (!decision.allowed()) {
+      rejections.increment();
       response.setStatus(429);
+      if (decision.retryAfterMs() > 0) {
+        response.setHeader("Retry-After", Long.toString(decision.retryAfterSeconds()));
+      }
       response.setContentType(MediaType.APPLICATION_JSON_VALUE);
       response.getWriter().write("{\"error\":\"rate limit exceeded\"}");
       return;
@@ -75,6 +108,22 @@ public class ApiRateLimitFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  private RateLimitDecision decide(String client) {
+    DashboardProperties.RateLimit rateLimit = properties.getApi().getRateLimit();
+    if (!REDIS_BACKEND.equalsIgnoreCase(rateLimit.getBackend())) {
+      boolean allowed = limiter.allow(client, rateLimit.getWindowSeconds(), rateLimit.getMaxRequests());
+      return allowed ? RateLimitDecision.allow() : new RateLimitDecision(false, 0L);
+    }
+    try {
+      return redisLimiter.tryAcquire(
+          GcraLimit.perWindow("api", rateLimit.getMaxRequests(), rateLimit.getWindowSeconds()),
+          List.of(rateLimit.getRedisKeyPrefix() + client));
+    } catch (DataAccessException ex) {
+      log.warn("API rate limiter unavailable, allowing request: {}", ex.getMessage());
+      return RateLimitDecision.allow();
+    }
+  }
+
   private static String extractClientKey(HttpServletRequest request) {
     String forwardedFor = request.getHeader("X-Forwarded-For");
     if (forwardedFor != null && !forwardedFor.isBlank()) {
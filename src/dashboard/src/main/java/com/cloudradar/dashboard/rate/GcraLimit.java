@@ -0,0 +1,38 @@
+package com.cloudradar.dashboard.rate;
+
+import java.time.Duration;
+
+/**
+ * GCRA limit definition: one request every {@code emissionInterval}, bursts up to {@code burst}.
+ *
+ * @param name limiter name used as metric tag
+ * @param emissionInterval steady-state spacing between requests
+ * @param burst requests allowed back to back on an idle key
+ */
+public record GcraLimit(String name, Duration emissionInterval, int burst) {
+
+  public GcraLimit {
+    if (emissionInterval.toMillis() < 1) {
+      emissionInterval = Duration.ofMillis(1);
+    }
+    burst = Math.max(1, burst);
+  }
+
+  /** {@code rps} requests per second with a burst of the same size. */
+  public static GcraLimit perSecond(String name, int rps) {
+    int rate = Math.max(1, rps);
+    return new GcraLimit(name, Duration.ofMillis(Math.max(1, 1000 / rate)), rate);
+  }
+
+  /** {@code maxRequests} per {@code windowSeconds}, smoothed, with a burst of {@code maxRequests}. */
+  public static GcraLimit perWindow(String name, int maxRequests, int windowSeconds) {
+    int requests = Math.max(1, maxRequests);
+    long windowMs = Math.max(1, windowSeconds) * 1000L;
+    return new GcraLimit(name, Duration.ofMillis(Math.max(1, windowMs / requests)), requests);
+  }
+
+  /** One request, then nothing until {@code cooldown} has elapsed. */
+  public static GcraLimit cooldown(String name, Duration cooldown) {
+    return new GcraLimit(name, cooldown, 1);
+  }
+}
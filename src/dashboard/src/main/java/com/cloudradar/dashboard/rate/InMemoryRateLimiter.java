@@ -1,20 +1,47 @@
 package com.cloudradar.dashboard.rate;
 
-import java.time.Instant;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import com.cloudradar.dashboard.config.DashboardProperties;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
- * Thread-safe in-memory sliding-window rate limiter.
+ * Lock-free, memory-bounded in-memory token-bucket rate limiter.
  *
- * <p>This implementation is lightweight and intentionally local to one application instance.
+ * <p>Each client holds a single {@code long}: the time at which its bucket will be full again
+ * (virtual-scheduling form of the token bucket, same model as {@link RedisGcraRateLimiter}).
+ * Decisions are one CAS loop, without locks or per-request allocation. A bucket that has refilled
+ * carries no information, so such clients are evicted by a sweep that runs at most once per
+ * interval. When {@code maxTrackedClients} is reached, new clients are admitted untracked until the
+ * next sweep frees slots, rather than evicting throttled ones.
+ *
+ * <p>This implementation is intentionally local to one application instance.
  */
 @Component
 public class InMemoryRateLimiter {
-  private final Map<String, Deque<Long>> eventsByClient = new ConcurrentHashMap<>();
+  private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+  private final Map<String, AtomicLong> bucketFullAtByClient = new ConcurrentHashMap<>();
+  private final int maxTrackedClients;
+  private final LongSupplier nanoClock;
+  private final AtomicLong nextSweepNanos;
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong untracked = new AtomicLong();
+
+  @Autowired
+  public InMemoryRateLimiter(DashboardProperties properties) {
+    this(properties.getApi().getRateLimit().getMaxTrackedClients(), System::nanoTime);
+  }
+
+  InMemoryRateLimiter(int maxTrackedClients, LongSupplier nanoClock) {
+    this.maxTrackedClients = Math.max(1, maxTrackedClients);
+    this.nanoClock = nanoClock;
+    this.nextSweepNanos = new AtomicLong(nanoClock.getAsLong() + SWEEP_INTERVAL_NANOS);
+  }
 
   /**
    * Checks whether a request is allowed for a given client key.
@@ -25,19 +52,73 @@ public class InMemoryRateLimiter {
    * @return {@code true} when request can proceed, {@code false} otherwise
    */
   public boolean allow(String clientKey, int windowSeconds, int maxRequests) {
-    long now = Instant.now().getEpochSecond();
-    long cutoff = now - Math.max(1, windowSeconds);
+    long now = nanoClock.getAsLong();
+    sweepIfDue(now);
 
-    Deque<Long> deque = eventsByClient.computeIfAbsent(clientKey, ignored -> new ArrayDeque<>());
-    synchronized (deque) {
-      while (!deque.isEmpty() && deque.peekFirst() < cutoff) {
-        deque.pollFirst();
-      }
-      if (deque.size() >= Math.max(1, maxRequests)) {
+    int burst = Math.max(1, maxRequests);
+    long interval = Math.max(1L, TimeUnit.SECONDS.toNanos(Math.max(1, windowSeconds)) / burst);
+    long tolerance = interval * (burst - 1);
+
+    AtomicLong bucket = bucketFor(clientKey, now);
+    if (bucket == null) {
+      untracked.incrementAndGet();
+      return true;
+    }
+    while (true) {
+      long fullAt = bucket.get();
+      long start = fullAt - now > 0 ? fullAt : now;
+      if (start - now > tolerance) {
         return false;
       }
-      deque.addLast(now);
-      return true;
+      if (bucket.compareAndSet(fullAt, start + interval)) {
+        return true;
+      }
+    }
+  }
+
+  /** Number of clients currently holding a bucket. */
+  public int trackedClients() {
+    return bucketFullAtByClient.size();
+  }
+
+  /** Buckets removed because they had fully refilled. */
+  public long evictions() {
+    return evictions.get();
+  }
+
+  /** Requests admitted without a bucket because {@code maxTrackedClients} was reached. */
+  public long untrackedAdmissions() {
+    return untracked.get();
+  }
+
+  private AtomicLong bucketFor(String clientKey, long now) {
+    AtomicLong bucket = bucketFullAtByClient.get(clientKey);
+    if (bucket != null) {
+      return bucket;
     }
+    // Slots are only freed by the periodic sweep in allow(): forcing a full scan here would make
+    // every untracked request O(tracked clients) exactly when the limiter is under pressure.
+    if (bucketFullAtByClient.size() >= maxTrackedClients) {
+      return null;
+    }
+    return bucketFullAtByClient.computeIfAbsent(clientKey, ignored -> new AtomicLong(now));
+  }
+
+  private void sweepIfDue(long now) {
+    long due = nextSweepNanos.get();
+    if (now - due >= 0 && nextSweepNanos.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+      sweep(now);
+    }
+  }
+
+  // A request racing with the removal may lose its slot; the next one recreates a full bucket.
+  private void sweep(long now) {
+    bucketFullAtByClient.entrySet().removeIf(entry -> {
+      if (entry.getValue().get() - now <= 0) {
+        evictions.incrementAndGet();
+        return true;
+      }
+      return false;
+    });
   }
 }
@@ -0,0 +1,19 @@
+package com.cloudradar.dashboard.rate;
+
+/**
+ * Outcome of a rate-limit check.
+ *
+ * @param allowed whether the request may proceed
+ * @param retryAfterMs delay before the same request would be allowed ({@code 0} when allowed)
+ */
+public record RateLimitDecision(boolean allowed, long retryAfterMs) {
+
+  public static RateLimitDecision allow() {
+    return new RateLimitDecision(true, 0L);
+  }
+
+  /** Retry delay rounded up to whole seconds, as used by {@code Retry-After}. */
+  public long retryAfterSeconds() {
+    return (retryAfterMs + 999L) / 1000L;
+  }
+}
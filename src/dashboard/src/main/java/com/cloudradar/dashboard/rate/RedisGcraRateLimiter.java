@@ -0,0 +1,108 @@
+package com.cloudradar.dashboard.rate;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Distributed GCRA rate limiter: one Lua call per decision, shared by all dashboard replicas.
+ *
+ * <p>Each key stores its theoretical arrival time (epoch ms, Redis clock) and expires once the
+ * bucket is full again. Unlike fixed per-second windows there is no double burst at window
+ * boundaries, rejected calls write nothing, and the caller gets an exact retry-after delay.
+ *
+ * <p>Redis errors propagate; callers decide whether to fail open or closed. The decision timer of
+ * each (limiter, outcome) pair is registered once and then looked up without allocating.
+ */
+@Component
+public class RedisGcraRateLimiter {
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> SCRIPT =
+      RedisScript.of(new ClassPathResource("redis/gcra.lua"), List.class);
+  private static final String[] OUTCOMES = {"allowed", "rejected", "error"};
+  private static final int ALLOWED = 0;
+  private static final int REJECTED = 1;
+  private static final int ERROR = 2;
+
+  private final StringRedisTemplate redisTemplate;
+  private final ConcurrentHashMap<String, Timer[]> timers = new ConcurrentHashMap<>();
+
+  public RedisGcraRateLimiter(StringRedisTemplate redisTemplate) {
+    this.redisTemplate = redisTemplate;
+  }
+
+  /**
+   * Consumes one slot on every key if all of them admit the request.
+   *
+   * @param limit limit definition
+   * @param keys Redis keys checked together
+   * @return decision with retry-after when rejected
+   */
+  public RateLimitDecision tryAcquire(GcraLimit limit, List<String> keys) {
+    return evaluate(limit, keys, 0, false);
+  }
+
+  /**
+   * Consumes one slot only if {@code reserve} further slots would still be available afterwards.
+   *
+   * <p>Lets background work use spare capacity without taking what foreground callers need.
+   */
+  public RateLimitDecision tryAcquireSpare(GcraLimit limit, List<String> keys, int reserve) {
+    return evaluate(limit, keys, Math.max(0, reserve), false);
+  }
+
+  /** Evaluates the decision {@link #tryAcquire} would return without consuming anything. */
+  public RateLimitDecision peek(GcraLimit limit, List<String> keys) {
+    return evaluate(limit, keys, 0, true);
+  }
+
+  private RateLimitDecision evaluate(GcraLimit limit, List<String> keys, int reserve, boolean peek) {
+    long startNanos = System.nanoTime();
+    int outcome = ERROR;
+    try {
+      List<?> result =
+          redisTemplate.execute(
+              SCRIPT,
+              keys,
+              Long.toString(limit.emissionInterval().toMillis()),
+              Integer.toString(limit.burst()),
+              Integer.toString(reserve),
+              peek ? "1" : "0");
+      RateLimitDecision decision = toDecision(result);
+      outcome = decision.allowed() ? ALLOWED : REJECTED;
+      return decision;
+    } finally {
+      timer(limit.name(), outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  private Timer timer(String limiterName, int outcome) {
+    Timer[] byOutcome = timers.computeIfAbsent(limiterName, ignored -> new Timer[OUTCOMES.length]);
+    Timer timer = byOutcome[outcome];
+    if (timer == null) {
+      timer =
+          Timer.builder("dashboard.ratelimit.decision.duration")
+              .description("Latency of distributed rate-limit decisions (one Redis script call)")
+              .tag("limiter", limiterName)
+              .tag("outcome", OUTCOMES[outcome])
+              .register(Metrics.globalRegistry);
+      byOutcome[outcome] = timer;
+    }
+    return timer;
+  }
+
+  private static RateLimitDecision toDecision(List<?> result) {
+    if (result == null || result.size() < 2) {
+      throw new IllegalStateException("unexpected rate limiter script result: " + result);
+    }
+    boolean allowed = ((Number) result.get(0)).longValue() == 1L;
+    long retryAfterMs = ((Number) result.get(1)).longValue();
+    return new RateLimitDecision(allowed, allowed ? 0L : Math.max(1L, retryAfterMs));
+  }
+}
@@ -0,0 +1,152 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.config.DashboardProperties;
+import com.cloudradar.dashboard.service.ActivityPeriodCache.PeriodCounts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Loads activity counters and unique-aircraft unions for a set of display buckets.
+ *
+ * <p>Unique aircraft are counted with one multi-key PFCOUNT per display bucket, which unions the
+ * period HyperLogLogs. Rollup HLLs are merged by the processor when a period ends, so periods that
+ * ended less than {@link #ROLLUP_SETTLE_SECONDS} ago are unioned together with their finer-level
+ * keys. All reads of one request go through a single pipeline; counters of closed periods never
+ * change and are cached in memory up to {@code metrics-window-max}.
+ */
+final class ActivityBucketLoader {
+  private static final String AIRCRAFT_HLL_SUFFIX = ":aircraft_hll";
+  private static final String AIRCRAFT_MILITARY_HLL_SUFFIX = ":aircraft_military_hll";
+  private static final long CLOSED_BUCKET_GRACE_SECONDS = 10L;
+  private static final long ROLLUP_SETTLE_SECONDS = 120L;
+
+  private final StringRedisTemplate redisTemplate;
+  private final DashboardProperties properties;
+  private final ActivityPeriodCache closedPeriods = new ActivityPeriodCache();
+  private final Counter activitySeriesRedisReadsCounter;
+  private final Counter activitySeriesCacheHitsCounter;
+
+  ActivityBucketLoader(StringRedisTemplate redisTemplate, DashboardProperties properties) {
+    this.redisTemplate = redisTemplate;
+    this.properties = properties;
+    this.activitySeriesRedisReadsCounter = Counter.builder("dashboard.activity.series.redis.reads.total")
+        .description("Number of Redis reads (bucket hashes and unique-count unions) during activity series aggregation")
+        .register(Metrics.globalRegistry);
+    this.activitySeriesCacheHitsCounter = Counter.builder("dashboard.activity.series.cache.hits.total")
+        .description("Number of closed activity buckets served from memory during activity series aggregation")
+        .register(Metrics.globalRegistry);
+  }
+
+  /**
+   * Reads counters of uncached periods and the unique-aircraft unions of every display bucket in a
+   * single pipeline, then caches the counters of periods that are closed.
+   */
+  BucketReads load(ActivityGranularity granularity, List<List<Long>> periodsByBucket, long now) {
+    String prefix = granularity.keyPrefix(properties.getRedis());
+    Map<Long, PeriodCounts> counters = new HashMap<>();
+    List<Long> missing = new ArrayList<>();
+    List<List<String>> hllGroups = new ArrayList<>();
+    List<List<String>> militaryHllGroups = new ArrayList<>();
+
+    for (List<Long> periods : periodsByBucket) {
+      List<String> hllKeys = new ArrayList<>();
+      List<String> militaryHllKeys = new ArrayList<>();
+      for (long period : periods) {
+        PeriodCounts cached = closedPeriods.get(granularity, period);
+        if (cached == null) {
+          missing.add(period);
+        } else {
+          counters.put(period, cached);
+        }
+        collectHllKeys(granularity, period, now, AIRCRAFT_HLL_SUFFIX, hllKeys);
+        collectHllKeys(granularity, period, now, AIRCRAFT_MILITARY_HLL_SUFFIX, militaryHllKeys);
+      }
+      hllGroups.add(hllKeys);
+      militaryHllGroups.add(militaryHllKeys);
+    }
+    activitySeriesCacheHitsCounter.increment(counters.size());
+
+    List<String> hashKeys = missing.stream().map(period -> prefix + period).toList();
+    List<Object> results = redisTemplate.executePipelined(
+        new ActivityReadPipeline(hashKeys, hllGroups, militaryHllGroups));
+    long unionReads = hllGroups.stream().filter(keys -> !keys.isEmpty()).count();
+    activitySeriesRedisReadsCounter.increment(hashKeys.size() + 2.0 * unionReads);
+
+    for (int i = 0; i < missing.size(); i++) {
+      long period = missing.get(i);
+      PeriodCounts counts = toPeriodCounts(resultAt(results, i));
+      counters.put(period, counts);
+      if (period + granularity.seconds() + CLOSED_BUCKET_GRACE_SECONDS <= now) {
+        closedPeriods.put(granularity, period, counts);
+      }
+    }
+    closedPeriods.pruneBefore(
+        granularity, now - properties.getApi().getMetricsWindowMax().getSeconds() - granularity.seconds());
+
+    int bucketCount = periodsByBucket.size();
+    int[] aircraftTotal = new int[bucketCount];
+    int[] aircraftMilitary = new int[bucketCount];
+    int offset = missing.size();
+    for (int i = 0; i < bucketCount; i++) {
+      if (hllGroups.get(i).isEmpty()) {
+        continue;
+      }
+      aircraftTotal[i] = toInt(resultAt(results, offset));
+      aircraftMilitary[i] = toInt(resultAt(results, offset + 1));
+      offset += 2;
+    }
+    return new BucketReads(counters, aircraftTotal, aircraftMilitary);
+  }
+
+  /**
+   * Adds the HLL key of {@code period}; when its rollup may not be merged yet, also adds the keys
+   * of the finer periods it is built from.
+   */
+  private void collectHllKeys(
+      ActivityGranularity granularity, long period, long now, String suffix, List<String> keys) {
+    keys.add(granularity.keyPrefix(properties.getRedis()) + period + suffix);
+    ActivityGranularity finer = granularity.finer();
+    if (finer == null || period + granularity.seconds() + ROLLUP_SETTLE_SECONDS <= now) {
+      return;
+    }
+    long end = Math.min(period + granularity.seconds(), now + 1);
+    for (long child = period; child < end; child += finer.seconds()) {
+      collectHllKeys(finer, child, now, suffix, keys);
+    }
+  }
+
+  private PeriodCounts toPeriodCounts(Object hash) {
+    Map<?, ?> raw = hash instanceof Map<?, ?> map ? map : Map.of();
+    return new PeriodCounts(parseBucketCount(raw.get("events_total")), parseBucketCount(raw.get("events_military")));
+  }
+
+  private static Object resultAt(List<Object> results, int index) {
+    return results != null && index < results.size() ? results.get(index) : null;
+  }
+
+  private int parseBucketCount(Object value) {
+    if (value == null) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(value.toString());
+    } catch (NumberFormatException ex) {
+      return 0;
+    }
+  }
+
+  private int toInt(Object value) {
+    if (!(value instanceof Long count) || count <= 0) {
+      return 0;
+    }
+    return Math.toIntExact(count);
+  }
+
+  /** Counters by period epoch plus unique-aircraft counts by display bucket index. */
+  record BucketReads(Map<Long, PeriodCounts> counters, int[] aircraftTotal, int[] aircraftMilitary) {}
+}
@@ -0,0 +1,52 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.config.DashboardProperties;
+
+/** Activity bucket levels written by the processor: per-minute buckets plus hour/day rollups. */
+enum ActivityGranularity {
+  MINUTE(60L),
+  HOUR(3600L),
+  DAY(86400L);
+
+  private final long seconds;
+
+  ActivityGranularity(long seconds) {
+    this.seconds = seconds;
+  }
+
+  long seconds() {
+    return seconds;
+  }
+
+  long align(long epochSeconds) {
+    return Math.floorDiv(epochSeconds, seconds) * seconds;
+  }
+
+  String keyPrefix(DashboardProperties.Redis redis) {
+    return switch (this) {
+      case MINUTE -> redis.getActivityBucketKeyPrefix();
+      case HOUR -> redis.getActivityHourKeyPrefix();
+      case DAY -> redis.getActivityDayKeyPrefix();
+    };
+  }
+
+  /** Next finer level, or {@code null} for minutes. */
+  ActivityGranularity finer() {
+    return switch (this) {
+      case MINUTE -> null;
+      case HOUR -> MINUTE;
+      case DAY -> HOUR;
+    };
+  }
+
+  /** Coarsest level whose buckets are not wider than the requested display bucket. */
+  static ActivityGranularity coarsestFitting(long bucketWidthSeconds) {
+    if (bucketWidthSeconds >= DAY.seconds) {
+      return DAY;
+    }
+    if (bucketWidthSeconds >= HOUR.seconds) {
+      return HOUR;
+    }
+    return MINUTE;
+  }
+}
@@ -0,0 +1,43 @@
+package com.cloudradar.dashboard.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory event counters of closed activity periods, one ordered map per granularity.
+ *
+ * <p>The processor keys buckets by wall-clock time, so a period's counters never change once it has
+ * ended; entries older than the configured horizon are pruned on write.
+ */
+final class ActivityPeriodCache {
+
+  /** Event counters of one activity period. */
+  record PeriodCounts(int total, int military) {
+    boolean isEmpty() {
+      return total <= 0 && military <= 0;
+    }
+  }
+
+  private final Map<ActivityGranularity, NavigableMap<Long, PeriodCounts>> periods =
+      new EnumMap<>(ActivityGranularity.class);
+
+  ActivityPeriodCache() {
+    for (ActivityGranularity granularity : ActivityGranularity.values()) {
+      periods.put(granularity, new ConcurrentSkipListMap<>());
+    }
+  }
+
+  PeriodCounts get(ActivityGranularity granularity, long periodEpoch) {
+    return periods.get(granularity).get(periodEpoch);
+  }
+
+  void put(ActivityGranularity granularity, long periodEpoch, PeriodCounts counts) {
+    periods.get(granularity).put(periodEpoch, counts);
+  }
+
+  void pruneBefore(ActivityGranularity granularity, long epochSeconds) {
+    periods.get(granularity).headMap(epochSeconds).clear();
+  }
+}
@@ -0,0 +1,39 @@
+package com.cloudradar.dashboard.service;
+
+import java.util.List;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+
+/**
+ * Queues HGETALL for each uncached period, then PFCOUNT (all, military) over the keys of each
+ * non-empty display bucket; results come back in the same order.
+ */
+final class ActivityReadPipeline implements SessionCallback<Object> {
+  private final List<String> hashKeys;
+  private final List<List<String>> hllGroups;
+  private final List<List<String>> militaryHllGroups;
+
+  ActivityReadPipeline(
+      List<String> hashKeys, List<List<String>> hllGroups, List<List<String>> militaryHllGroups) {
+    this.hashKeys = hashKeys;
+    this.hllGroups = hllGroups;
+    this.militaryHllGroups = militaryHllGroups;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <K, V> Object execute(RedisOperations<K, V> operations) {
+    RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+    for (String hashKey : hashKeys) {
+      stringOperations.opsForHash().entries(hashKey);
+    }
+    for (int i = 0; i < hllGroups.size(); i++) {
+      if (hllGroups.get(i).isEmpty()) {
+        continue;
+      }
+      stringOperations.opsForHyperLogLog().size(hllGroups.get(i).toArray(String[]::new));
+      stringOperations.opsForHyperLogLog().size(militaryHllGroups.get(i).toArray(String[]::new));
+    }
+    return null;
+  }
+}
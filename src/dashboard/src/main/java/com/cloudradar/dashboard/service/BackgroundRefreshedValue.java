@@ -0,0 +1,83 @@
+package com.cloudradar.dashboard.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Last known value of a slow upstream query, refreshed off the request path.
+ *
+ * <p>Readers never block: {@link #get()} returns the last successful value. A failed or empty
+ * refresh keeps the previous value (stale-on-error) until it is older than {@code maxStaleMs}.
+ */
+final class BackgroundRefreshedValue<T> {
+  private static final Logger log = LoggerFactory.getLogger(BackgroundRefreshedValue.class);
+
+  private final String name;
+  private final Supplier<Optional<T>> loader;
+  private final long maxStaleMs;
+  private final LongSupplier clock;
+  private final Counter successCounter;
+  private final Counter failureCounter;
+  private volatile Snapshot<T> snapshot;
+
+  BackgroundRefreshedValue(
+      String name, Supplier<Optional<T>> loader, long maxStaleMs, LongSupplier clock) {
+    this.name = name;
+    this.loader = loader;
+    this.maxStaleMs = Math.max(0L, maxStaleMs);
+    this.clock = clock;
+    this.successCounter = refreshCounter(name, "success");
+    this.failureCounter = refreshCounter(name, "failure");
+    Gauge.builder("dashboard.prometheus.cache.age.seconds", this, BackgroundRefreshedValue::ageSeconds)
+        .description("Age of the cached Prometheus-derived value (-1 when never loaded)")
+        .tag("value", name)
+        .register(Metrics.globalRegistry);
+  }
+
+  /** Loads a fresh value; keeps the previous one when the loader fails or returns nothing. */
+  void refresh() {
+    Optional<T> loaded;
+    try {
+      loaded = loader.get();
+    } catch (RuntimeException ex) {
+      log.debug("Background refresh of {} failed", name, ex);
+      loaded = Optional.empty();
+    }
+    if (loaded.isPresent()) {
+      snapshot = new Snapshot<>(loaded.get(), clock.getAsLong());
+      successCounter.increment();
+    } else {
+      failureCounter.increment();
+    }
+  }
+
+  /** Last successful value, or empty when never loaded or older than the staleness bound. */
+  Optional<T> get() {
+    Snapshot<T> current = snapshot;
+    if (current == null || clock.getAsLong() - current.loadedAtMs() > maxStaleMs) {
+      return Optional.empty();
+    }
+    return Optional.of(current.value());
+  }
+
+  private double ageSeconds() {
+    Snapshot<T> current = snapshot;
+    return current == null ? -1d : (clock.getAsLong() - current.loadedAtMs()) / 1000d;
+  }
+
+  private static Counter refreshCounter(String name, String outcome) {
+    return Counter.builder("dashboard.prometheus.cache.refresh.total")
+        .description("Background refreshes of Prometheus-derived values")
+        .tag("value", name)
+        .tag("outcome", outcome)
+        .register(Metrics.globalRegistry);
+  }
+
+  private record Snapshot<T>(T value, long loadedAtMs) {}
+}
@@ -5,6 +5,9 @@ import com.cloudradar.dashboard.api.TooManyRequestsException;
 import com.cloudradar.dashboard.config.DashboardProperties;
 import com.cloudradar.dashboard.model.Bbox;
 import com.cloudradar.dashboard.model.BboxBoostStatusResponse;
+import com.cloudradar.dashboard.rate.GcraLimit;
+import com.cloudradar.dashboard.rate.RateLimitDecision;
+import com.cloudradar.dashboard.rate.RedisGcraRateLimiter;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -13,6 +16,7 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
@@ -26,7 +30,8 @@ import org.springframework.data.redis.core.StringRedisTemplate;
  * Controls temporary OpenSky bbox boost with per-client cooldown persisted in Redis.
  *
  * <p>Client identity combines a stable anonymous cookie and source IP to reduce private-mode
- * bypass while keeping implementation lightweight.
+ * bypass while keeping implementation lightweight. The cooldown is a burst-1 GCRA limit checked
+ * atomically on both identities, so two concurrent triggers cannot both pass.
  */
 @Service
 public class BboxBoostService {
@@ -36,11 +41,16 @@ public class BboxBoostService {
 
   private final StringRedisTemplate redisTemplate;
   private final DashboardProperties properties;
+  private final RedisGcraRateLimiter rateLimiter;
   private final Bbox baseBbox;
 
-  public BboxBoostService(StringRedisTemplate redisTemplate, DashboardProperties properties) {
+  public BboxBoostService(
+      StringRedisTemplate redisTemplate,
+      DashboardProperties properties,
+      RedisGcraRateLimiter rateLimiter) {
     this.redisTemplate = redisTemplate;
     this.properties = properties;
+    this.rateLimiter = rateLimiter;
     this.baseBbox = QueryParser.parseBbox(properties.getApi().getBbox().getDefaultValue());
   }
 
@@ -72,9 +82,9 @@ public class BboxBoostService {
 
     String clientId = resolveOrSetClientIdCookie(request, response);
     String clientIp = extractClientIp(request);
-    long cooldownRemaining = cooldownRemainingSeconds(clientId, clientIp);
-    if (cooldownRemaining > 0) {
-      throw new TooManyRequestsException("bbox boost is in cooldown", cooldownRemaining);
+    RateLimitDecision cooldown = rateLimiter.tryAcquire(cooldownLimit(), cooldownKeys(clientId, clientIp));
+    if (!cooldown.allowed()) {
+      throw new TooManyRequestsException("bbox boost is in cooldown", cooldown.retryAfterSeconds());
     }
 
     redisTemplate.opsForValue().set(
@@ -82,15 +92,6 @@ public class BboxBoostService {
         "1",
         Duration.ofSeconds(Math.max(1, boost.getDurationSeconds())));
 
-    redisTemplate.opsForValue().set(
-        cooldownKey(COOLDOWN_COOKIE_NAMESPACE, clientId),
-        "1",
-        Duration.ofSeconds(Math.max(1, boost.getCooldownSeconds())));
-    redisTemplate.opsForValue().set(
-        cooldownKey(COOLDOWN_IP_NAMESPACE, clientIp),
-        "1",
-        Duration.ofSeconds(Math.max(1, boost.getCooldownSeconds())));
-
     return statusFor(clientId, clientIp);
   }
 
@@ -119,9 +120,18 @@ public class BboxBoostService {
   }
 
   private long cooldownRemainingSeconds(String clientId, String clientIp) {
-    long cookieTtl = ttlSeconds(cooldownKey(COOLDOWN_COOKIE_NAMESPACE, clientId));
-    long ipTtl = ttlSeconds(cooldownKey(COOLDOWN_IP_NAMESPACE, clientIp));
-    return Math.max(cookieTtl, ipTtl);
+    return rateLimiter.peek(cooldownLimit(), cooldownKeys(clientId, clientIp)).retryAfterSeconds();
+  }
+
+  private GcraLimit cooldownLimit() {
+    return GcraLimit.cooldown(
+        "bbox-boost", Duration.ofSeconds(Math.max(1, properties.getBoost().getCooldownSeconds())));
+  }
+
+  private List<String> cooldownKeys(String clientId, String clientIp) {
+    return List.of(
+        cooldownKey(COOLDOWN_COOKIE_NAMESPACE, clientId),
+        cooldownKey(COOLDOWN_IP_NAMESPACE, clientIp));
   }
 
   private String resolveOrSetClientIdCookie(HttpServletRequest request, HttpServletResponse response) {
@@ -0,0 +1,39 @@
+package com.cloudradar.dashboard.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aircraft counts behind the metrics fleet breakdowns.
+ *
+ * @param active aircraft counted
+ * @param military aircraft with a positive military hint
+ * @param fleetTypes count per {@link FlightTaxonomy#fleetType} value
+ * @param sizes count per {@link FlightTaxonomy#aircraftSize} value
+ * @param types count per {@link FlightTaxonomy#aircraftTypeLabel} value (possibly only the top ones)
+ */
+record FleetCounts(
+    int active,
+    long military,
+    Map<String, Integer> fleetTypes,
+    Map<String, Integer> sizes,
+    Map<String, Integer> types) {
+
+  /** Counts a snapshot load, one pass over the aircraft. */
+  static FleetCounts of(List<FlightSnapshot> snapshots, FlightTaxonomy taxonomy) {
+    Map<String, Integer> fleetTypes = new HashMap<>();
+    Map<String, Integer> sizes = new HashMap<>();
+    Map<String, Integer> types = new HashMap<>();
+    long military = 0;
+    for (FlightSnapshot snapshot : snapshots) {
+      fleetTypes.merge(taxonomy.fleetType(snapshot), 1, Integer::sum);
+      sizes.merge(taxonomy.aircraftSize(snapshot), 1, Integer::sum);
+      types.merge(taxonomy.aircraftTypeLabel(snapshot), 1, Integer::sum);
+      if (Boolean.TRUE.equals(snapshot.militaryHint())) {
+        military++;
+      }
+    }
+    return new FleetCounts(snapshots.size(), military, fleetTypes, sizes, types);
+  }
+}
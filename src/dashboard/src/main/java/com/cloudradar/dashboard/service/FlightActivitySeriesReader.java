@@ -2,6 +2,7 @@ package com.cloudradar.dashboard.service;
 
 import com.cloudradar.dashboard.config.DashboardProperties;
 import com.cloudradar.dashboard.model.FlightsMetricsResponse;
+import com.cloudradar.dashboard.service.ActivityPeriodCache.PeriodCounts;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Metrics;
 import io.micrometer.core.instrument.Timer;
@@ -9,29 +10,25 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+/**
+ * Aggregates processor activity buckets into display buckets.
+ *
+ * <p>The coarsest level (minute, hour or day rollup) not wider than the display bucket is read.
+ * Event counters are summed per period; unique aircraft come from one union count per display
+ * bucket (see {@link ActivityBucketLoader}) instead of summing per-period estimates.
+ */
 final class FlightActivitySeriesReader {
-  private static final String AIRCRAFT_HLL_SUFFIX = ":aircraft_hll";
-  private static final String AIRCRAFT_MILITARY_HLL_SUFFIX = ":aircraft_military_hll";
-
-  private final StringRedisTemplate redisTemplate;
-  private final DashboardProperties properties;
+  private final ActivityBucketLoader loader;
   private final Timer activitySeriesReadTimer;
-  private final Counter activitySeriesRedisReadsCounter;
   private final Counter activitySeriesEmptyBucketsCounter;
 
   FlightActivitySeriesReader(StringRedisTemplate redisTemplate, DashboardProperties properties) {
-    this.redisTemplate = redisTemplate;
-    this.properties = properties;
+    this.loader = new ActivityBucketLoader(redisTemplate, properties);
     this.activitySeriesReadTimer = Timer.builder("dashboard.activity.series.read.duration")
         .description("Time spent aggregating activity bucket series from Redis")
         .register(Metrics.globalRegistry);
-    this.activitySeriesRedisReadsCounter = Counter.builder("dashboard.activity.series.redis.reads.total")
-        .description("Number of Redis hash reads during activity series aggregation")
-        .register(Metrics.globalRegistry);
     this.activitySeriesEmptyBucketsCounter = Counter.builder("dashboard.activity.series.empty.buckets.total")
         .description("Number of empty activity buckets seen during aggregation")
         .register(Metrics.globalRegistry);
@@ -39,85 +36,59 @@ final class FlightActivitySeriesReader {
 
   List<FlightsMetricsResponse.TimeBucket> read(Duration window, int bucketCount) {
     Timer.Sample readSample = Timer.start(Metrics.globalRegistry);
-    int redisReads = 0;
-    int emptyBuckets = 0;
 
     long now = Instant.now().getEpochSecond();
     long windowSeconds = Math.max(1, window.getSeconds());
     long bucketWidth = Math.max(1, windowSeconds / bucketCount);
     long start = now - windowSeconds;
-    long minuteWidth = 60L;
-    long minuteStart = (start / minuteWidth) * minuteWidth;
-
-    int[] totalByBucket = new int[bucketCount];
-    int[] militaryByBucket = new int[bucketCount];
-    int[] aircraftByBucket = new int[bucketCount];
-    int[] aircraftMilitaryByBucket = new int[bucketCount];
-    int[] observedByBucket = new int[bucketCount];
-
-    HashOperations<String, Object, Object> hashOps = redisTemplate.opsForHash();
-    for (long minuteEpoch = minuteStart; minuteEpoch <= now; minuteEpoch += minuteWidth) {
-      String keyPrefix = properties.getRedis().getActivityBucketKeyPrefix() + minuteEpoch;
-      redisReads++;
-      Map<Object, Object> raw = hashOps.entries(keyPrefix);
-
-      int total = parseBucketCount(raw == null ? null : raw.get("events_total"));
-      int military = parseBucketCount(raw == null ? null : raw.get("events_military"));
-      int aircraftTotal = toInt(redisTemplate.opsForHyperLogLog().size(keyPrefix + AIRCRAFT_HLL_SUFFIX));
-      int aircraftMilitary = toInt(redisTemplate.opsForHyperLogLog().size(keyPrefix + AIRCRAFT_MILITARY_HLL_SUFFIX));
+    ActivityGranularity granularity = ActivityGranularity.coarsestFitting(bucketWidth);
 
-      if (total <= 0 && military <= 0 && aircraftTotal <= 0 && aircraftMilitary <= 0) {
-        emptyBuckets++;
-        continue;
-      }
-
-      long offset = minuteEpoch - start;
-      int index = (int) Math.min(bucketCount - 1L, Math.max(0L, offset / bucketWidth));
-      totalByBucket[index] += total;
-      militaryByBucket[index] += military;
-      aircraftByBucket[index] += aircraftTotal;
-      aircraftMilitaryByBucket[index] += aircraftMilitary;
-      observedByBucket[index] += 1;
+    List<List<Long>> periodsByBucket = new ArrayList<>(bucketCount);
+    for (int i = 0; i < bucketCount; i++) {
+      periodsByBucket.add(new ArrayList<>());
+    }
+    long firstPeriod = granularity.align(start);
+    if (firstPeriod + (granularity.seconds() / 2) < start) {
+      // Skip a leading period that lies mostly before the window.
+      firstPeriod += granularity.seconds();
+    }
+    for (long period = firstPeriod; period <= now; period += granularity.seconds()) {
+      int index = (int) Math.min(bucketCount - 1L, Math.max(0L, (period - start) / bucketWidth));
+      periodsByBucket.get(index).add(period);
     }
 
+    ActivityBucketLoader.BucketReads reads = loader.load(granularity, periodsByBucket, now);
+
+    int emptyPeriods = 0;
     List<FlightsMetricsResponse.TimeBucket> series = new ArrayList<>(bucketCount);
     for (int i = 0; i < bucketCount; i++) {
-      long bucketStart = start + (i * bucketWidth);
-      int total = totalByBucket[i];
-      int military = militaryByBucket[i];
-      int aircraftTotal = aircraftByBucket[i];
-      int aircraftMilitary = aircraftMilitaryByBucket[i];
+      int total = 0;
+      int military = 0;
+      boolean observed = false;
+      for (long period : periodsByBucket.get(i)) {
+        PeriodCounts counts = reads.counters().get(period);
+        if (counts == null || counts.isEmpty()) {
+          emptyPeriods++;
+          continue;
+        }
+        total += counts.total();
+        military += counts.military();
+        observed = true;
+      }
+      int aircraftTotal = reads.aircraftTotal()[i];
+      int aircraftMilitary = reads.aircraftMilitary()[i];
       series.add(new FlightsMetricsResponse.TimeBucket(
-          bucketStart,
+          start + (i * bucketWidth),
           total,
           military,
           aircraftTotal,
           aircraftMilitary,
           FlightMetricsSupport.round2(FlightMetricsSupport.pct(aircraftMilitary, aircraftTotal)),
-          observedByBucket[i] > 0));
+          observed || aircraftTotal > 0));
     }
 
-    activitySeriesRedisReadsCounter.increment(redisReads);
-    activitySeriesEmptyBucketsCounter.increment(emptyBuckets);
+    activitySeriesEmptyBucketsCounter.increment(emptyPeriods);
     readSample.stop(activitySeriesReadTimer);
     return series;
   }
-
-  private int parseBucketCount(Object value) {
-    if (value == null) {
-      return 0;
-    }
-    try {
-      return Integer.parseInt(value.toString());
-    } catch (NumberFormatException ex) {
-      return 0;
-    }
-  }
-
-  private int toInt(Long value) {
-    if (value == null || value <= 0) {
-      return 0;
-    }
-    return Math.toIntExact(value);
-  }
 }
@@ -0,0 +1,64 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.config.DashboardProperties;
+import com.cloudradar.dashboard.model.PositionEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/** Resolves the most recent OpenSky batch epoch present in the last-positions hash. */
+final class FlightBatchEpochReader {
+  private static final int REDIS_SCAN_COUNT = 512;
+
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final DashboardProperties properties;
+
+  FlightBatchEpochReader(
+      StringRedisTemplate redisTemplate,
+      ObjectMapper objectMapper,
+      DashboardProperties properties) {
+    this.redisTemplate = redisTemplate;
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+  }
+
+  Long latestBatchEpoch() {
+    HashOperations<String, Object, Object> hashOps = redisTemplate.opsForHash();
+    ScanOptions scanOptions = ScanOptions.scanOptions().count(REDIS_SCAN_COUNT).build();
+    Long latest = null;
+
+    try (Cursor<Map.Entry<Object, Object>> cursor = hashOps.scan(properties.getRedis().getLastPositionsKey(), scanOptions)) {
+      while (cursor.hasNext()) {
+        Map.Entry<Object, Object> entry = cursor.next();
+        Object payloadObj = entry.getValue();
+        if (payloadObj == null) {
+          continue;
+        }
+
+        PositionEvent event = parseEvent(payloadObj.toString());
+        if (event == null || event.openskyFetchEpoch() == null) {
+          continue;
+        }
+
+        long epoch = event.openskyFetchEpoch();
+        if (latest == null || epoch > latest) {
+          latest = epoch;
+        }
+      }
+    }
+
+    return latest;
+  }
+
+  private PositionEvent parseEvent(String payload) {
+    try {
+      return objectMapper.readValue(payload, PositionEvent.class);
+    } catch (Exception ex) {
+      return null;
+    }
+  }
+}
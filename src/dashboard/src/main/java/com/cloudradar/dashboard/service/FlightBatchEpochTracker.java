@@ -0,0 +1,39 @@
+package com.cloudradar.dashboard.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * Latest OpenSky batch epoch known to this instance.
+ *
+ * <p>Fed by the SSE poller and by snapshot reads; the value only moves forward. Snapshot
+ * coalescing includes it in its key so a request issued after a new batch never joins a
+ * computation that started on the previous one.
+ */
+@Component
+public class FlightBatchEpochTracker {
+  private static final long UNKNOWN = Long.MIN_VALUE;
+
+  private final AtomicLong latest = new AtomicLong(UNKNOWN);
+
+  /**
+   * Records an observed batch epoch; older values are ignored.
+   *
+   * @param batchEpoch observed epoch, may be {@code null}
+   */
+  public void observe(Long batchEpoch) {
+    if (batchEpoch != null) {
+      latest.accumulateAndGet(batchEpoch, Math::max);
+    }
+  }
+
+  /**
+   * Returns the latest observed batch epoch.
+   *
+   * @return epoch seconds, or {@code null} before the first observation
+   */
+  public Long latest() {
+    long value = latest.get();
+    return value == UNKNOWN ? null : value;
+  }
+}
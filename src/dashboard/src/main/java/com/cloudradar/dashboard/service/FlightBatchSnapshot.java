@@ -0,0 +1,98 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.aircraft.AircraftMetadata;
+import com.cloudradar.dashboard.model.Bbox;
+import com.cloudradar.dashboard.model.PositionEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+
+/**
+ * One decoded per-batch aircraft snapshot (see {@link FlightBatchSnapshotReader}).
+ *
+ * @param batchEpoch most recent {@code opensky_fetch_epoch} in the document
+ * @param generatedAtMs processor publish time
+ * @param hasMetadata whether the processor resolved aircraft metadata
+ * @param events every row, keyed by normalized {@code icao24}, not yet deduplicated
+ * @param metadataByIcao resolved metadata of the aircraft found in the processor's aircraft DB
+ */
+record FlightBatchSnapshot(
+    Long batchEpoch,
+    long generatedAtMs,
+    boolean hasMetadata,
+    List<Entry<String, PositionEvent>> events,
+    Map<String, AircraftMetadata> metadataByIcao) {
+
+  /** Rows inside {@code bbox} and seen since the cutoff, like the live hash read. */
+  List<Entry<String, PositionEvent>> collect(Bbox bbox, Long since) {
+    List<Entry<String, PositionEvent>> candidates = new ArrayList<>();
+    for (Entry<String, PositionEvent> entry : events) {
+      if (FlightSnapshotCandidateCollector.isEligible(entry.getKey(), entry.getValue(), bbox, since)) {
+        candidates.add(entry);
+      }
+    }
+    return candidates;
+  }
+
+  Optional<AircraftMetadata> metadata(String icao24) {
+    return Optional.ofNullable(metadataByIcao.get(icao24));
+  }
+
+  /** Decodes the processor's {@code fields}/{@code rows} document into events and metadata. */
+  static FlightBatchSnapshot decode(JsonNode document, ObjectMapper objectMapper) throws JsonProcessingException {
+    List<String> fields = new ArrayList<>();
+    document.path("fields").forEach(field -> fields.add(field.asText()));
+    boolean hasMetadata = document.path("metadata").asBoolean(false);
+    JsonNode rows = document.path("rows");
+    List<Entry<String, PositionEvent>> events = new ArrayList<>(rows.size());
+    Map<String, AircraftMetadata> metadataByIcao = new HashMap<>();
+    for (JsonNode row : rows) {
+      ObjectNode values = objectMapper.createObjectNode();
+      for (int i = 0; i < fields.size() && i < row.size(); i++) {
+        values.set(fields.get(i), row.get(i));
+      }
+      PositionEvent event = objectMapper.treeToValue(values, PositionEvent.class);
+      String icao24 = FlightQueryValues.normalizeOptional(event.icao24(), true, false);
+      if (icao24 == null) {
+        continue;
+      }
+      events.add(Map.entry(icao24, event));
+      if (hasMetadata) {
+        metadata(icao24, values).ifPresent(metadata -> metadataByIcao.put(icao24, metadata));
+      }
+    }
+    JsonNode batchEpoch = document.path("batch_epoch");
+    return new FlightBatchSnapshot(
+        batchEpoch.isNumber() ? batchEpoch.asLong() : null,
+        document.path("generated_at_ms").asLong(),
+        hasMetadata,
+        events,
+        metadataByIcao);
+  }
+
+  private static Optional<AircraftMetadata> metadata(String icao24, JsonNode values) {
+    String category = text(values, "category");
+    String country = text(values, "country");
+    String typecode = text(values, "typecode");
+    JsonNode military = values.path("military_hint");
+    Boolean militaryHint = military.isBoolean() ? military.asBoolean() : null;
+    String ownerOperator = text(values, "owner_operator");
+    if (category == null && country == null && typecode == null && militaryHint == null && ownerOperator == null) {
+      return Optional.empty();
+    }
+    return Optional.of(new AircraftMetadata(
+        icao24, country, category, null, null, null, null, null, typecode, militaryHint, null, ownerOperator));
+  }
+
+  private static String text(JsonNode values, String field) {
+    JsonNode value = values.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+}
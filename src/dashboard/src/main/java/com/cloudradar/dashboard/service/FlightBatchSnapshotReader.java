@@ -0,0 +1,84 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.config.DashboardProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Reads the per-batch aircraft snapshot published by the processor (one GET instead of a hash
+ * scan) and keeps it decoded in memory.
+ *
+ * <p>The document is fetched again only when the batch epoch tracker reports a newer batch than
+ * the cached one, or when the cached one is older than {@code batch-snapshot-max-age-seconds},
+ * and at most once per second. Callers fall back to the live hash when {@link #current()} returns
+ * {@code null}: snapshot reads disabled, document missing or unreadable, or too old.
+ */
+final class FlightBatchSnapshotReader {
+  private static final Logger log = LoggerFactory.getLogger(FlightBatchSnapshotReader.class);
+  private static final long REFRESH_INTERVAL_MS = 1000L;
+
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final DashboardProperties.Redis settings;
+  private final FlightBatchEpochTracker batchEpochTracker;
+  private final LongSupplier clock;
+  private volatile FlightBatchSnapshot cached;
+  private long lastFetchMs = Long.MIN_VALUE / 2;
+
+  FlightBatchSnapshotReader(
+      StringRedisTemplate redisTemplate,
+      ObjectMapper objectMapper,
+      DashboardProperties properties,
+      FlightBatchEpochTracker batchEpochTracker,
+      LongSupplier clock) {
+    this.redisTemplate = redisTemplate;
+    this.objectMapper = objectMapper;
+    this.settings = properties.getRedis();
+    this.batchEpochTracker = batchEpochTracker;
+    this.clock = clock;
+  }
+
+  /** Latest usable batch, or {@code null} when the live hash must be read. */
+  FlightBatchSnapshot current() {
+    long maxAgeMs = settings.getBatchSnapshotMaxAgeSeconds() * 1000L;
+    if (maxAgeMs <= 0) {
+      return null;
+    }
+    long now = clock.getAsLong();
+    FlightBatchSnapshot batch = cached;
+    if (batch == null || now - batch.generatedAtMs() > maxAgeMs || isBehindTracker(batch)) {
+      batch = refresh(now);
+    }
+    return batch != null && now - batch.generatedAtMs() <= maxAgeMs ? batch : null;
+  }
+
+  private boolean isBehindTracker(FlightBatchSnapshot batch) {
+    Long latest = batchEpochTracker.latest();
+    return latest != null && (batch.batchEpoch() == null || latest > batch.batchEpoch());
+  }
+
+  private synchronized FlightBatchSnapshot refresh(long now) {
+    if (now - lastFetchMs < REFRESH_INTERVAL_MS) {
+      return cached;
+    }
+    lastFetchMs = now;
+    try {
+      String json = redisTemplate.opsForValue().get(settings.getBatchSnapshotKey());
+      if (json != null) {
+        JsonNode document = objectMapper.readTree(json);
+        FlightBatchSnapshot previous = cached;
+        if (previous == null || previous.generatedAtMs() != document.path("generated_at_ms").asLong()) {
+          cached = FlightBatchSnapshot.decode(document, objectMapper);
+        }
+      }
+    } catch (JsonProcessingException | RuntimeException ex) {
+      log.debug("Failed to read batch snapshot {}", settings.getBatchSnapshotKey(), ex);
+    }
+    return cached;
+  }
+}
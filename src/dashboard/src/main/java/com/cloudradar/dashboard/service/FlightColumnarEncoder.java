@@ -0,0 +1,131 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.model.FlightColumnarResponse;
+import com.cloudradar.dashboard.model.FlightColumnarResponse.Columns;
+import com.cloudradar.dashboard.model.FlightColumnarResponse.Quantization;
+import com.cloudradar.dashboard.model.FlightListResponse;
+import com.cloudradar.dashboard.model.FlightMapItem;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transposes a map payload into the columnar {@code /api/flights} representation.
+ *
+ * <p>Field names are written once per column instead of once per aircraft, numbers are quantized to
+ * integers and categorical values are dictionary-encoded. Dictionaries are seeded with the known
+ * taxonomy labels so indexes stay stable across responses.
+ */
+final class FlightColumnarEncoder {
+  static final String FORMAT = "columnar-v1";
+  static final int COORD_SCALE = 100_000;
+  static final int HEADING_SCALE = 10;
+  static final int SPEED_SCALE = 10;
+  static final int ALTITUDE_SCALE = 1;
+
+  private static final List<String> AIRFRAME_TYPES = List.of("airplane", "helicopter", "unknown");
+  private static final List<String> FLEET_TYPES =
+      List.of("commercial", "military", "rescue", "private", "unknown");
+  private static final List<String> AIRCRAFT_SIZES =
+      List.of("small", "medium", "large", "heavy", "unknown");
+
+  FlightColumnarResponse encode(FlightListResponse response) {
+    List<FlightMapItem> items = response.items();
+    int size = items.size();
+    Long lastSeenBase = lastSeenBase(items);
+    Dictionary airframeTypes = new Dictionary(AIRFRAME_TYPES);
+    Dictionary fleetTypes = new Dictionary(FLEET_TYPES);
+    Dictionary aircraftSizes = new Dictionary(AIRCRAFT_SIZES);
+    Columns columns = new Columns(
+        new String[size], new String[size],
+        new Integer[size], new Integer[size], new Integer[size], new Integer[size],
+        new Integer[size], new Integer[size], new Integer[size], new Integer[size],
+        new Integer[size], new Integer[size], new Integer[size], new Integer[size],
+        new Integer[size], new Integer[size], new Integer[size], new Integer[size]);
+
+    for (int i = 0; i < size; i++) {
+      FlightMapItem item = items.get(i);
+      columns.icao24()[i] = item.icao24();
+      columns.callsign()[i] = item.callsign();
+      columns.lat()[i] = quantize(item.lat(), COORD_SCALE);
+      columns.lon()[i] = quantize(item.lon(), COORD_SCALE);
+      columns.heading()[i] = quantize(item.heading(), HEADING_SCALE);
+      columns.lastSeen()[i] = offset(item.lastSeen(), lastSeenBase);
+      columns.speed()[i] = quantize(item.speed(), SPEED_SCALE);
+      columns.altitude()[i] = quantize(item.altitude(), ALTITUDE_SCALE);
+      columns.militaryHint()[i] = item.militaryHint() == null ? null : item.militaryHint() ? 1 : 0;
+      columns.airframeType()[i] = airframeTypes.indexOf(item.airframeType());
+      columns.fleetType()[i] = fleetTypes.indexOf(item.fleetType());
+      columns.aircraftSize()[i] = aircraftSizes.indexOf(item.aircraftSize());
+      columns.prevLat()[i] = quantize(item.prevLat(), COORD_SCALE);
+      columns.prevLon()[i] = quantize(item.prevLon(), COORD_SCALE);
+      columns.prevHeading()[i] = quantize(item.prevHeading(), HEADING_SCALE);
+      columns.prevSpeed()[i] = quantize(item.prevSpeed(), SPEED_SCALE);
+      columns.prevAltitude()[i] = quantize(item.prevAltitude(), ALTITUDE_SCALE);
+      columns.prevLastSeen()[i] = offset(item.prevLastSeen(), lastSeenBase);
+    }
+
+    Map<String, List<String>> dictionaries = new LinkedHashMap<>();
+    dictionaries.put("airframeType", airframeTypes.values());
+    dictionaries.put("fleetType", fleetTypes.values());
+    dictionaries.put("aircraftSize", aircraftSizes.values());
+
+    return new FlightColumnarResponse(
+        FORMAT,
+        response.count(),
+        response.totalMatched(),
+        response.limit(),
+        response.bbox(),
+        response.latestOpenSkyBatchEpoch(),
+        response.timestamp(),
+        new Quantization(COORD_SCALE, HEADING_SCALE, SPEED_SCALE, ALTITUDE_SCALE, lastSeenBase),
+        dictionaries,
+        columns);
+  }
+
+  private static Long lastSeenBase(List<FlightMapItem> items) {
+    Long base = null;
+    for (FlightMapItem item : items) {
+      Long lastSeen = item.lastSeen();
+      if (lastSeen != null && (base == null || lastSeen < base)) {
+        base = lastSeen;
+      }
+    }
+    return base;
+  }
+
+  private static Integer quantize(Double value, int scale) {
+    if (value == null || !Double.isFinite(value)) {
+      return null;
+    }
+    return (int) Math.round(value * scale);
+  }
+
+  private static Integer offset(Long epoch, Long base) {
+    if (epoch == null || base == null) {
+      return null;
+    }
+    return Math.toIntExact(epoch - base);
+  }
+
+  /** Insertion-ordered label table; unknown labels are appended after the seeded ones. */
+  private static final class Dictionary {
+    private final Map<String, Integer> indexes = new LinkedHashMap<>();
+
+    Dictionary(List<String> seed) {
+      seed.forEach(this::indexOf);
+    }
+
+    Integer indexOf(String value) {
+      if (value == null) {
+        return null;
+      }
+      return indexes.computeIfAbsent(value, key -> indexes.size());
+    }
+
+    List<String> values() {
+      return new ArrayList<>(indexes.keySet());
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.model.Bbox;
+import com.cloudradar.dashboard.model.FlightDensityResponse;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/** Buckets snapshots into geohash cells with per-cell fleet-type counts. */
+final class FlightDensityAggregator {
+  private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_INSTANT.withZone(ZoneOffset.UTC);
+  private static final List<String> FLEET_TYPES =
+      List.of("commercial", "military", "rescue", "private", "unknown");
+
+  private final FlightTaxonomy taxonomy;
+
+  FlightDensityAggregator(FlightTaxonomy taxonomy) {
+    this.taxonomy = taxonomy;
+  }
+
+  FlightDensityResponse aggregate(List<FlightSnapshot> snapshots, Bbox bbox, int resolution) {
+    Map<String, CellAccumulator> cells = new HashMap<>();
+    for (FlightSnapshot snapshot : snapshots) {
+      Double lat = snapshot.event().lat();
+      Double lon = snapshot.event().lon();
+      if (lat == null || lon == null) {
+        continue;
+      }
+      String geohash = GeohashGrid.encode(lat, lon, resolution);
+      cells.computeIfAbsent(geohash, ignored -> new CellAccumulator(lat, lon, resolution))
+          .add(taxonomy.fleetType(snapshot));
+    }
+
+    List<FlightDensityResponse.Cell> payload =
+        cells.entrySet().stream()
+            .map(entry -> entry.getValue().toCell(entry.getKey()))
+            .sorted(
+                Comparator.comparingInt(FlightDensityResponse.Cell::count)
+                    .reversed()
+                    .thenComparing(FlightDensityResponse.Cell::geohash))
+            .toList();
+    Long latestBatchEpoch =
+        snapshots.stream()
+            .map(snapshot -> snapshot.event().openskyFetchEpoch())
+            .filter(Objects::nonNull)
+            .max(Long::compareTo)
+            .orElse(null);
+
+    return new FlightDensityResponse(
+        resolution,
+        GeohashGrid.cellLatDegrees(resolution),
+        GeohashGrid.cellLonDegrees(resolution),
+        payload.stream().mapToInt(FlightDensityResponse.Cell::count).sum(),
+        payload,
+        Map.of(
+            "minLon", bbox.minLon(),
+            "minLat", bbox.minLat(),
+            "maxLon", bbox.maxLon(),
+            "maxLat", bbox.maxLat()),
+        latestBatchEpoch,
+        ISO.format(Instant.now()));
+  }
+
+  private static final class CellAccumulator {
+    private final double[] center;
+    private final Map<String, Integer> fleet = new LinkedHashMap<>();
+    private int count;
+
+    CellAccumulator(double lat, double lon, int resolution) {
+      this.center = GeohashGrid.cellCenter(lat, lon, resolution);
+      FLEET_TYPES.forEach(type -> fleet.put(type, 0));
+    }
+
+    void add(String fleetType) {
+      count++;
+      fleet.merge(fleetType, 1, Integer::sum);
+    }
+
+    FlightDensityResponse.Cell toCell(String geohash) {
+      Map<String, Integer> nonZero = new LinkedHashMap<>();
+      fleet.forEach(
+          (type, value) -> {
+            if (value > 0) {
+              nonZero.put(type, value);
+            }
+          });
+      return new FlightDensityResponse.Cell(
+          geohash,
+          center[0],
+          center[1],
+          count,
+          fleet.getOrDefault("military", 0),
+          nonZero);
+    }
+  }
+}
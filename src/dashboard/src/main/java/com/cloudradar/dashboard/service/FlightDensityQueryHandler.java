@@ -0,0 +1,128 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.api.BadRequestException;
+import com.cloudradar.dashboard.config.DashboardProperties;
+import com.cloudradar.dashboard.model.Bbox;
+import com.cloudradar.dashboard.model.FlightDensityResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Aggregates live aircraft into geohash cells for zoomed-out map views.
+ *
+ * <p>A grid only changes when a new OpenSky batch lands, so each (bbox, resolution) grid is
+ * computed once per batch epoch known to {@link FlightBatchEpochTracker} and served from a small
+ * LRU until the next batch is observed. Zoomed-out views are the point of this endpoint, so the
+ * bbox is bounded by its own {@code density-max-area-deg2} instead of the flight list cap.
+ */
+final class FlightDensityQueryHandler {
+  private static final int DEFAULT_RESOLUTION = 3;
+  private static final int MAX_CACHED_GRIDS = 64;
+
+  private final DashboardProperties properties;
+  private final FlightSnapshotReader snapshotReader;
+  private final FlightDensityAggregator aggregator;
+  private final FlightBatchEpochTracker batchEpochTracker;
+  private final SingleFlight<ComputeKey, FlightDensityResponse> singleFlight = new SingleFlight<>();
+  private final Map<GridKey, VersionedGrid> grids =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<GridKey, VersionedGrid> eldest) {
+          return size() > MAX_CACHED_GRIDS;
+        }
+      };
+  private final Counter hitCounter;
+  private final Counter computeCounter;
+  private final Counter coalescedCounter;
+
+  FlightDensityQueryHandler(
+      DashboardProperties properties,
+      FlightSnapshotReader snapshotReader,
+      FlightTaxonomy taxonomy,
+      FlightBatchEpochTracker batchEpochTracker) {
+    this.properties = properties;
+    this.snapshotReader = snapshotReader;
+    this.aggregator = new FlightDensityAggregator(taxonomy);
+    this.batchEpochTracker = batchEpochTracker;
+    this.hitCounter = Counter.builder("dashboard.density.cache.hits.total")
+        .description("Density grids served from the per-batch cache")
+        .register(Metrics.globalRegistry);
+    this.computeCounter = Counter.builder("dashboard.density.computations.total")
+        .description("Density grids computed from a snapshot load")
+        .register(Metrics.globalRegistry);
+    this.coalescedCounter = Counter.builder("dashboard.density.coalesced.total")
+        .description("Density requests that joined an in-flight computation")
+        .register(Metrics.globalRegistry);
+  }
+
+  FlightDensityResponse getDensity(String bboxRaw, String resolutionRaw) {
+    Bbox bbox =
+        QueryParser.parseBboxOrDefault(
+            bboxRaw, properties, properties.getApi().getBbox().getDensityMaxAreaDeg2());
+    int resolution = parseResolution(resolutionRaw);
+    GridKey key = new GridKey(bbox, resolution);
+
+    // Versioned by the epoch known before loading, so empty or lagging grids are cached too.
+    Long version = batchEpochTracker.latest();
+    VersionedGrid cached = cached(key);
+    if (version != null && cached != null && cached.version() == version) {
+      hitCounter.increment();
+      return cached.grid();
+    }
+
+    AtomicBoolean coalesced = new AtomicBoolean();
+    FlightDensityResponse computed =
+        singleFlight.execute(
+            new ComputeKey(key, version), () -> compute(bbox, resolution), () -> coalesced.set(true));
+    if (coalesced.get()) {
+      coalescedCounter.increment();
+    } else if (version != null) {
+      store(key, new VersionedGrid(version, computed));
+    }
+    return computed;
+  }
+
+  private FlightDensityResponse compute(Bbox bbox, int resolution) {
+    computeCounter.increment();
+    return aggregator.aggregate(snapshotReader.loadSnapshots(bbox, null, true, true), bbox, resolution);
+  }
+
+  private synchronized VersionedGrid cached(GridKey key) {
+    return grids.get(key);
+  }
+
+  private synchronized void store(GridKey key, VersionedGrid grid) {
+    VersionedGrid current = grids.get(key);
+    if (current == null || current.version() <= grid.version()) {
+      grids.put(key, grid);
+    }
+  }
+
+  private static int parseResolution(String raw) {
+    if (raw == null || raw.isBlank()) {
+      return DEFAULT_RESOLUTION;
+    }
+    try {
+      int resolution = Integer.parseInt(raw.trim());
+      if (resolution >= GeohashGrid.MIN_RESOLUTION && resolution <= GeohashGrid.MAX_RESOLUTION) {
+        return resolution;
+      }
+    } catch (NumberFormatException ignored) {
+      // Reported below with the accepted range.
+    }
+    throw new BadRequestException(
+        "resolution must be an integer between "
+            + GeohashGrid.MIN_RESOLUTION
+            + " and "
+            + GeohashGrid.MAX_RESOLUTION);
+  }
+
+  private record GridKey(Bbox bbox, int resolution) {}
+
+  private record ComputeKey(GridKey grid, Long batchEpoch) {}
+
+  private record VersionedGrid(long version, FlightDensityResponse grid) {}
+}
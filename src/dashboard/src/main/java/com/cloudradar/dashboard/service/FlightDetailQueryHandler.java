@@ -14,6 +14,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 final class FlightDetailQueryHandler {
   private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_INSTANT.withZone(ZoneOffset.UTC);
@@ -22,14 +23,17 @@ final class FlightDetailQueryHandler {
   private final FlightSnapshotReader snapshotReader;
   private final FlightSnapshotEnricher snapshotEnricher;
   private final Optional<PlanespottersPhotoService> planespottersPhotoService;
+  private final QueryFanOut fanOut;
 
   FlightDetailQueryHandler(
       FlightSnapshotReader snapshotReader,
       FlightSnapshotEnricher snapshotEnricher,
-      Optional<PlanespottersPhotoService> planespottersPhotoService) {
+      Optional<PlanespottersPhotoService> planespottersPhotoService,
+      QueryFanOut fanOut) {
     this.snapshotReader = snapshotReader;
     this.snapshotEnricher = snapshotEnricher;
     this.planespottersPhotoService = planespottersPhotoService;
+    this.fanOut = fanOut;
   }
 
   FlightDetailResponse getFlightDetail(String icao24Raw, String includeRaw) {
@@ -39,21 +43,31 @@ final class FlightDetailQueryHandler {
     }
 
     Set<String> include = FlightDetailIncludeParser.parse(includeRaw, SUPPORTED_INCLUDES);
+    // Latest event, metadata and track are independent reads; the photo needs the registration.
+    long deadline = fanOut.deadline();
+    CompletableFuture<Optional<PositionEvent>> eventBranch =
+        fanOut.fork(() -> snapshotReader.loadLatestEvent(icao24));
+    CompletableFuture<Optional<AircraftMetadata>> metadataBranch =
+        fanOut.fork(() -> snapshotEnricher.resolveMetadata(icao24));
+    CompletableFuture<List<FlightTrackPoint>> trackBranch =
+        include.contains("track")
+            ? fanOut.fork(() -> snapshotReader.loadTrack(icao24))
+            : CompletableFuture.completedFuture(Collections.emptyList());
+    CompletableFuture<FlightPhoto> photoBranch =
+        fanOut.combine(
+            eventBranch,
+            metadataBranch,
+            (found, resolved) -> found.isPresent() ? lookupPhoto(icao24, resolved) : null);
+
     PositionEvent event =
-        snapshotReader
-            .loadLatestEvent(icao24)
+        fanOut
+            .required(eventBranch)
             .orElseThrow(() -> new NotFoundException("flight not found for icao24=" + icao24));
-
-    Optional<AircraftMetadata> metadata = snapshotEnricher.resolveMetadata(icao24);
+    Optional<AircraftMetadata> metadata =
+        fanOut.optional("detail.metadata", metadataBranch, Optional.empty(), deadline);
     List<FlightTrackPoint> track =
-        include.contains("track") ? snapshotReader.loadTrack(icao24) : Collections.emptyList();
-    FlightPhoto photo =
-        planespottersPhotoService
-            .map(
-                service ->
-                    service.resolvePhoto(
-                        icao24, metadata.map(AircraftMetadata::registration).orElse(null)))
-            .orElse(null);
+        fanOut.optional("detail.track", trackBranch, Collections.emptyList(), deadline);
+    FlightPhoto photo = fanOut.optional("detail.photo", photoBranch, null, deadline);
 
     return new FlightDetailResponse(
         icao24,
@@ -88,4 +102,15 @@ final class FlightDetailQueryHandler {
         track,
         ISO.format(Instant.now()));
   }
+
+  private FlightPhoto lookupPhoto(String icao24, Optional<AircraftMetadata> metadata) {
+    return planespottersPhotoService
+        .map(
+            service -> {
+              service.recordDetailView(icao24);
+              return service.lookupPhoto(
+                  icao24, metadata.map(AircraftMetadata::registration).orElse(null));
+            })
+        .orElse(null);
+  }
 }
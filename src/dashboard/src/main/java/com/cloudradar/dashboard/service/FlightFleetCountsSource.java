@@ -0,0 +1,126 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.config.DashboardProperties;
+import com.cloudradar.dashboard.model.Bbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Fleet counts for the metrics endpoint.
+ *
+ * <p>The processor precomputes them on each batch for its configured bbox and windows
+ * ({@code <fleet-metrics-key-prefix><window seconds>} hashes). A request for that bbox and window
+ * reads one small hash (one {@code HGETALL}) instead of counting every aircraft of a snapshot
+ * load. Any other bbox or window, a hash older than {@code batch-snapshot-max-age-seconds}, or one
+ * computed without the aircraft DB when this instance has it, falls back to the snapshot load.
+ */
+final class FlightFleetCountsSource {
+  private final StringRedisTemplate redisTemplate;
+  private final DashboardProperties properties;
+  private final FlightSnapshotReader snapshotReader;
+  private final FlightTaxonomy taxonomy;
+  private final LongSupplier clock;
+  private final Counter aggregateCounter;
+  private final Counter snapshotCounter;
+
+  FlightFleetCountsSource(
+      StringRedisTemplate redisTemplate,
+      DashboardProperties properties,
+      FlightSnapshotReader snapshotReader,
+      FlightTaxonomy taxonomy,
+      LongSupplier clock) {
+    this.redisTemplate = redisTemplate;
+    this.properties = properties;
+    this.snapshotReader = snapshotReader;
+    this.taxonomy = taxonomy;
+    this.clock = clock;
+    this.aggregateCounter = sourceCounter("aggregate");
+    this.snapshotCounter = sourceCounter("snapshot");
+  }
+
+  FleetCounts load(Bbox bbox, Duration window, long cutoff) {
+    FleetCounts precomputed = readAggregate(bbox, window);
+    if (precomputed != null) {
+      aggregateCounter.increment();
+      return precomputed;
+    }
+    snapshotCounter.increment();
+    return FleetCounts.of(snapshotReader.loadSnapshots(bbox, cutoff, true, true), taxonomy);
+  }
+
+  private FleetCounts readAggregate(Bbox bbox, Duration window) {
+    long maxAgeMs = properties.getRedis().getBatchSnapshotMaxAgeSeconds() * 1000L;
+    if (maxAgeMs <= 0) {
+      return null;
+    }
+    Map<Object, Object> hash =
+        redisTemplate.opsForHash().entries(properties.getRedis().getFleetMetricsKeyPrefix() + window.getSeconds());
+    if (hash == null || hash.isEmpty() || !sameBbox(bbox, hash.get("bbox"))) {
+      return null;
+    }
+    long generatedAtMs = parseLong(hash.get("generated_at_ms"));
+    if (clock.getAsLong() - generatedAtMs > maxAgeMs) {
+      return null;
+    }
+    if (properties.getAircraftDb().isEnabled() && !"true".equals(hash.get("metadata"))) {
+      return null;
+    }
+    Map<String, Integer> fleetTypes = new HashMap<>();
+    Map<String, Integer> sizes = new HashMap<>();
+    Map<String, Integer> types = new HashMap<>();
+    hash.forEach((field, value) -> {
+      String name = field.toString();
+      int count = (int) parseLong(value);
+      if (name.startsWith("fleet:")) {
+        fleetTypes.put(name.substring("fleet:".length()), count);
+      } else if (name.startsWith("size:")) {
+        sizes.put(name.substring("size:".length()), count);
+      } else if (name.startsWith("type:")) {
+        types.put(name.substring("type:".length()), count);
+      }
+    });
+    return new FleetCounts(
+        (int) parseLong(hash.get("active")), parseLong(hash.get("military")), fleetTypes, sizes, types);
+  }
+
+  private static boolean sameBbox(Bbox bbox, Object raw) {
+    if (raw == null) {
+      return false;
+    }
+    String[] parts = raw.toString().split(",");
+    if (parts.length != 4) {
+      return false;
+    }
+    try {
+      return Double.parseDouble(parts[0].trim()) == bbox.minLon()
+          && Double.parseDouble(parts[1].trim()) == bbox.minLat()
+          && Double.parseDouble(parts[2].trim()) == bbox.maxLon()
+          && Double.parseDouble(parts[3].trim()) == bbox.maxLat();
+    } catch (NumberFormatException ex) {
+      return false;
+    }
+  }
+
+  private static long parseLong(Object raw) {
+    if (raw == null) {
+      return 0L;
+    }
+    try {
+      return Long.parseLong(raw.toString());
+    } catch (NumberFormatException ex) {
+      return 0L;
+    }
+  }
+
+  private static Counter sourceCounter(String source) {
+    return Counter.builder("dashboard.metrics.fleet.source.total")
+        .description("Metrics fleet breakdowns served from processor aggregates or from a snapshot load")
+        .tag("source", source)
+        .register(Metrics.globalRegistry);
+  }
+}
@@ -3,6 +3,7 @@ package com.cloudradar.dashboard.service;
 import com.cloudradar.dashboard.api.BadRequestException;
 import com.cloudradar.dashboard.config.DashboardProperties;
 import com.cloudradar.dashboard.model.Bbox;
+import com.cloudradar.dashboard.model.FlightColumnarResponse;
 import com.cloudradar.dashboard.model.FlightListResponse;
 import com.cloudradar.dashboard.model.FlightMapItem;
 import java.time.Instant;
@@ -20,6 +21,7 @@ final class FlightListQueryHandler {
   private final DashboardProperties properties;
   private final FlightSnapshotReader snapshotReader;
   private final FlightTaxonomy taxonomy;
+  private final FlightColumnarEncoder columnarEncoder = new FlightColumnarEncoder();
 
   FlightListQueryHandler(
       DashboardProperties properties,
@@ -65,13 +67,7 @@ final class FlightListQueryHandler {
             .filter(snapshot -> taxonomy.matchesString(snapshot.typecode(), typecode, false))
             .toList();
 
-    Comparator<FlightSnapshot> comparator = comparatorForSort(sort);
-    if ("desc".equals(order)) {
-      comparator = comparator.reversed();
-    }
-
-    List<FlightMapItem> items =
-        filtered.stream().sorted(comparator).limit(limit).map(taxonomy::toMapItem).toList();
+    List<FlightMapItem> items = page(filtered, sort, order, limit);
 
     Long latestOpenSkyBatchEpoch =
         filtered.stream()
@@ -97,6 +93,34 @@ final class FlightListQueryHandler {
         ISO.format(Instant.now()));
   }
 
+  /** Unfiltered selection of {@code bboxRaw} with default ordering and the maximum limit. */
+  FlightListResponse listAll(String bboxRaw) {
+    return listFlights(
+        bboxRaw,
+        null,
+        Integer.toString(properties.getApi().getMaxLimit()),
+        null,
+        null,
+        null,
+        null,
+        null,
+        null,
+        null);
+  }
+
+  /** Orders {@code filtered} by {@code sort}/{@code order} and maps the first {@code limit} items. */
+  List<FlightMapItem> page(List<FlightSnapshot> filtered, String sort, String order, int limit) {
+    Comparator<FlightSnapshot> comparator = comparatorForSort(sort);
+    if ("desc".equals(order)) {
+      comparator = comparator.reversed();
+    }
+    return filtered.stream().sorted(comparator).limit(limit).map(taxonomy::toMapItem).toList();
+  }
+
+  FlightColumnarResponse toColumnar(FlightListResponse response) {
+    return columnarEncoder.encode(response);
+  }
+
   private static Comparator<FlightSnapshot> comparatorForSort(String sort) {
     return switch (sort) {
       case "speed" -> Comparator.comparing(snapshot -> FlightMetricsSupport.nullSafeDouble(snapshot.event().velocity()));
@@ -10,27 +10,32 @@ import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 final class FlightMetricsQueryHandler {
   private static final DateTimeFormatter ISO = DateTimeFormatter.ISO_INSTANT.withZone(ZoneOffset.UTC);
+  private static final long CUTOFF_GRANULARITY_SECONDS = 10L;
+  private static final List<String> FLEET_TYPES = List.of("commercial", "military", "rescue", "private", "unknown");
+  private static final List<String> AIRCRAFT_SIZES = List.of("small", "medium", "large", "heavy", "unknown");
+  private static final int TOP_AIRCRAFT_TYPES = 8;
 
   private final DashboardProperties properties;
-  private final FlightSnapshotReader snapshotReader;
-  private final FlightTaxonomy taxonomy;
+  private final FlightFleetCountsSource fleetCountsSource;
   private final FlightMetricsSupport metricsSupport;
   private final Optional<PrometheusMetricsService> prometheusMetricsService;
+  private final QueryFanOut fanOut;
 
   FlightMetricsQueryHandler(
       DashboardProperties properties,
-      FlightSnapshotReader snapshotReader,
-      FlightTaxonomy taxonomy,
+      FlightFleetCountsSource fleetCountsSource,
       FlightMetricsSupport metricsSupport,
-      Optional<PrometheusMetricsService> prometheusMetricsService) {
+      Optional<PrometheusMetricsService> prometheusMetricsService,
+      QueryFanOut fanOut) {
     this.properties = properties;
-    this.snapshotReader = snapshotReader;
-    this.taxonomy = taxonomy;
+    this.fleetCountsSource = fleetCountsSource;
     this.metricsSupport = metricsSupport;
     this.prometheusMetricsService = prometheusMetricsService;
+    this.fanOut = fanOut;
   }
 
   FlightsMetricsResponse getFlightsMetrics(String bboxRaw, String windowRaw) {
@@ -40,13 +45,19 @@ final class FlightMetricsQueryHandler {
             windowRaw,
             properties.getApi().getMetricsWindowDefault(),
             properties.getApi().getMetricsWindowMax());
-    long cutoff = QueryParser.cutoffEpoch(window);
+    // Floor to the coalescing granularity so concurrent identical requests share one snapshot load.
+    long cutoff = QueryParser.cutoffEpoch(window) / CUTOFF_GRANULARITY_SECONDS * CUTOFF_GRANULARITY_SECONDS;
 
-    List<FlightSnapshot> snapshots = snapshotReader.loadSnapshots(bbox, cutoff, true, true);
-    int active = snapshots.size();
+    int bucketCount = Math.max(12, properties.getApi().getMetricsBucketCount());
+
+    // Snapshot load and activity buckets are independent Redis reads: issue them in parallel.
+    long deadline = fanOut.deadline();
+    CompletableFuture<List<FlightsMetricsResponse.TimeBucket>> activityBranch =
+        fanOut.fork(() -> metricsSupport.activitySeriesFromEventBuckets(window, bucketCount));
+    FleetCounts fleet = fleetCountsSource.load(bbox, window, cutoff);
+    int active = fleet.active();
 
-    long militaryCount = snapshots.stream().filter(s -> Boolean.TRUE.equals(s.militaryHint())).count();
-    double militaryShare = FlightMetricsSupport.pct(militaryCount, active);
+    double militaryShare = FlightMetricsSupport.pct(fleet.military(), active);
 
     double density = 0.0;
     double areaKm2 = bbox.areaKm2();
@@ -55,23 +66,16 @@ final class FlightMetricsQueryHandler {
     }
 
     List<FlightsMetricsResponse.TypeBreakdownItem> fleetBreakdown =
-        metricsSupport.breakdown(
-            snapshots,
-            taxonomy::fleetType,
-            List.of("commercial", "military", "rescue", "private", "unknown"));
+        metricsSupport.breakdown(fleet.fleetTypes(), FLEET_TYPES, active);
 
     List<FlightsMetricsResponse.TypeBreakdownItem> aircraftSizes =
-        metricsSupport.breakdown(
-            snapshots,
-            taxonomy::aircraftSize,
-            List.of("small", "medium", "large", "heavy", "unknown"));
+        metricsSupport.breakdown(fleet.sizes(), AIRCRAFT_SIZES, active);
 
     List<FlightsMetricsResponse.TypeBreakdownItem> aircraftTypes =
-        metricsSupport.topBreakdown(snapshots, taxonomy::aircraftTypeLabel, 8);
+        metricsSupport.topBreakdown(fleet.types(), TOP_AIRCRAFT_TYPES, active);
 
-    int bucketCount = Math.max(12, properties.getApi().getMetricsBucketCount());
     List<FlightsMetricsResponse.TimeBucket> activitySeries =
-        metricsSupport.activitySeriesFromEventBuckets(window, bucketCount);
+        fanOut.optional("metrics.activity", activityBranch, List.of(), deadline);
     int activityBucketSeconds =
         activitySeries.size() < 2
             ? (int) Math.max(1L, window.getSeconds() / Math.max(1, bucketCount))
@@ -90,7 +94,7 @@ final class FlightMetricsQueryHandler {
 
     Double openSkyCreditsPerRequest24h =
         prometheusMetricsService
-            .flatMap(PrometheusMetricsService::queryOpenSkyCreditsPerRequest24h)
+            .flatMap(PrometheusMetricsService::cachedOpenSkyCreditsPerRequest24h)
             .map(FlightMetricsSupport::round2)
             .orElse(null);
 
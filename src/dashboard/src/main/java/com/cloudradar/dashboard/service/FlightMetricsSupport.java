@@ -21,14 +21,19 @@ final class FlightMetricsSupport {
       Function<FlightSnapshot, String> keyFn,
       List<String> canonicalOrder) {
     Map<String, Integer> counts = new LinkedHashMap<>();
-    canonicalOrder.forEach(key -> counts.put(key, 0));
-
     for (FlightSnapshot snapshot : snapshots) {
-      String key = keyFn.apply(snapshot);
-      counts.compute(key, (ignored, old) -> (old == null ? 0 : old) + 1);
+      counts.merge(keyFn.apply(snapshot), 1, Integer::sum);
     }
+    return breakdown(counts, canonicalOrder, snapshots.size());
+  }
+
+  /** Breakdown of precomputed counts: canonical keys first (zero when absent), then the others. */
+  List<FlightsMetricsResponse.TypeBreakdownItem> breakdown(
+      Map<String, Integer> keyCounts, List<String> canonicalOrder, int total) {
+    Map<String, Integer> counts = new LinkedHashMap<>();
+    canonicalOrder.forEach(key -> counts.put(key, 0));
+    keyCounts.forEach((key, count) -> counts.merge(key, count, Integer::sum));
 
-    int total = snapshots.size();
     List<FlightsMetricsResponse.TypeBreakdownItem> items = new ArrayList<>(counts.size());
     for (Map.Entry<String, Integer> entry : counts.entrySet()) {
       items.add(new FlightsMetricsResponse.TypeBreakdownItem(
@@ -45,11 +50,14 @@ final class FlightMetricsSupport {
       int topN) {
     Map<String, Integer> counts = new HashMap<>();
     for (FlightSnapshot snapshot : snapshots) {
-      String key = keyFn.apply(snapshot);
-      counts.compute(key, (ignored, old) -> (old == null ? 0 : old) + 1);
+      counts.merge(keyFn.apply(snapshot), 1, Integer::sum);
     }
+    return topBreakdown(counts, topN, snapshots.size());
+  }
 
-    int total = snapshots.size();
+  /** The {@code topN} largest precomputed counts, largest first. */
+  List<FlightsMetricsResponse.TypeBreakdownItem> topBreakdown(
+      Map<String, Integer> counts, int topN, int total) {
     return counts.entrySet().stream()
         .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
         .limit(topN)
@@ -0,0 +1,51 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.aircraft.AircraftMetadata;
+import com.cloudradar.dashboard.aircraft.AircraftMetadataRepository;
+import com.cloudradar.dashboard.api.BadRequestException;
+import com.cloudradar.dashboard.api.NotFoundException;
+import com.cloudradar.dashboard.model.FlightPhoto;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves the photo follow-up endpoint used after a detail response reported {@code pending}.
+ *
+ * <p>Reads only caches and the in-flight lookup; it never touches aircraft positions.
+ */
+@Service
+public class FlightPhotoQueryService {
+  private final Optional<AircraftMetadataRepository> aircraftRepo;
+  private final Optional<PlanespottersPhotoService> planespottersPhotoService;
+
+  public FlightPhotoQueryService(
+      Optional<AircraftMetadataRepository> aircraftRepo,
+      Optional<PlanespottersPhotoService> planespottersPhotoService) {
+    this.aircraftRepo = aircraftRepo;
+    this.planespottersPhotoService = planespottersPhotoService;
+  }
+
+  /**
+   * Returns the current photo lookup state for one aircraft.
+   *
+   * @param icao24Raw aircraft identifier
+   * @return photo, or {@code pending} while the background lookup runs
+   */
+  public FlightPhoto getFlightPhoto(String icao24Raw) {
+    String icao24 = FlightQueryValues.normalizeOptional(icao24Raw, true, false);
+    if (icao24 == null || !icao24.matches("^[a-f0-9]{6}$")) {
+      throw new BadRequestException("icao24 must be a 6-char hexadecimal identifier");
+    }
+    String registration =
+        aircraftRepo
+            .flatMap(repo -> repo.findByIcao24(icao24))
+            .map(AircraftMetadata::registration)
+            .orElse(null);
+    FlightPhoto photo =
+        planespottersPhotoService.map(service -> service.lookupPhoto(icao24, registration)).orElse(null);
+    if (photo == null) {
+      throw new NotFoundException("photo lookup disabled");
+    }
+    return photo;
+  }
+}
@@ -10,14 +10,20 @@ final class FlightQueryHandlers {
   private final FlightListQueryHandler listQueryHandler;
   private final FlightDetailQueryHandler detailQueryHandler;
   private final FlightMetricsQueryHandler metricsQueryHandler;
+  private final FlightDensityQueryHandler densityQueryHandler;
+  private final FlightTileQueryHandler tileQueryHandler;
 
   private FlightQueryHandlers(
       FlightListQueryHandler listQueryHandler,
       FlightDetailQueryHandler detailQueryHandler,
-      FlightMetricsQueryHandler metricsQueryHandler) {
+      FlightMetricsQueryHandler metricsQueryHandler,
+      FlightDensityQueryHandler densityQueryHandler,
+      FlightTileQueryHandler tileQueryHandler) {
     this.listQueryHandler = listQueryHandler;
     this.detailQueryHandler = detailQueryHandler;
     this.metricsQueryHandler = metricsQueryHandler;
+    this.densityQueryHandler = densityQueryHandler;
+    this.tileQueryHandler = tileQueryHandler;
   }
 
   static FlightQueryHandlers build(
@@ -26,24 +32,50 @@ final class FlightQueryHandlers {
       DashboardProperties properties,
       Optional<AircraftMetadataRepository> aircraftRepo,
       Optional<PrometheusMetricsService> prometheusMetricsService,
-      Optional<PlanespottersPhotoService> planespottersPhotoService) {
+      Optional<PlanespottersPhotoService> planespottersPhotoService,
+      FlightBatchEpochTracker batchEpochTracker) {
     FlightSnapshotComponents components =
-        FlightSnapshotComponents.build(redisTemplate, objectMapper, properties, aircraftRepo);
+        FlightSnapshotComponents.build(
+            redisTemplate, objectMapper, properties, aircraftRepo, batchEpochTracker);
+    DashboardProperties.Query query = properties.getQuery();
+    QueryFanOut fanOut =
+        QueryFanOut.create(
+            query.getFanoutThreads(), query.getFanoutQueueCapacity(), query.getBranchTimeoutMs());
 
     FlightListQueryHandler listQueryHandler =
         new FlightListQueryHandler(properties, components.snapshotReader(), components.taxonomy());
     FlightDetailQueryHandler detailQueryHandler =
         new FlightDetailQueryHandler(
-            components.snapshotReader(), components.snapshotEnricher(), planespottersPhotoService);
+            components.snapshotReader(),
+            components.snapshotEnricher(),
+            planespottersPhotoService,
+            fanOut);
     FlightMetricsQueryHandler metricsQueryHandler =
         new FlightMetricsQueryHandler(
             properties,
-            components.snapshotReader(),
-            components.taxonomy(),
+            new FlightFleetCountsSource(
+                redisTemplate,
+                properties,
+                components.snapshotReader(),
+                components.taxonomy(),
+                System::currentTimeMillis),
             components.metricsSupport(),
-            prometheusMetricsService);
+            prometheusMetricsService,
+            fanOut);
+
+    FlightDensityQueryHandler densityQueryHandler =
+        new FlightDensityQueryHandler(
+            properties, components.snapshotReader(), components.taxonomy(), batchEpochTracker);
+
+    FlightTileQueryHandler tileQueryHandler =
+        new FlightTileQueryHandler(
+            properties,
+            listQueryHandler,
+            batchEpochTracker,
+            new FlightTileEncoder(objectMapper, properties.getApi().getTiles().isPrecompress()));
 
-    return new FlightQueryHandlers(listQueryHandler, detailQueryHandler, metricsQueryHandler);
+    return new FlightQueryHandlers(
+        listQueryHandler, detailQueryHandler, metricsQueryHandler, densityQueryHandler, tileQueryHandler);
   }
 
   FlightListQueryHandler listQueryHandler() {
@@ -57,4 +89,12 @@ final class FlightQueryHandlers {
   FlightMetricsQueryHandler metricsQueryHandler() {
     return metricsQueryHandler;
   }
+
+  FlightDensityQueryHandler densityQueryHandler() {
+    return densityQueryHandler;
+  }
+
+  FlightTileQueryHandler tileQueryHandler() {
+    return tileQueryHandler;
+  }
 }
@@ -2,8 +2,11 @@ package com.cloudradar.dashboard.service;
 
 import com.cloudradar.dashboard.aircraft.AircraftMetadataRepository;
 import com.cloudradar.dashboard.config.DashboardProperties;
+import com.cloudradar.dashboard.model.FlightColumnarResponse;
+import com.cloudradar.dashboard.model.FlightDensityResponse;
 import com.cloudradar.dashboard.model.FlightDetailResponse;
 import com.cloudradar.dashboard.model.FlightListResponse;
+import com.cloudradar.dashboard.model.FlightTile;
 import com.cloudradar.dashboard.model.FlightsMetricsResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Optional;
@@ -13,9 +16,7 @@ import org.springframework.stereotype.Service;
 
 @Service
 public class FlightQueryService {
-  private final FlightListQueryHandler listQueryHandler;
-  private final FlightDetailQueryHandler detailQueryHandler;
-  private final FlightMetricsQueryHandler metricsQueryHandler;
+  private final FlightQueryHandlers handlers;
 
   @Autowired
   public FlightQueryService(
@@ -24,7 +25,8 @@ public class FlightQueryService {
       DashboardProperties properties,
       Optional<AircraftMetadataRepository> aircraftRepo,
       Optional<PrometheusMetricsService> prometheusMetricsService,
-      Optional<PlanespottersPhotoService> planespottersPhotoService) {
+      Optional<PlanespottersPhotoService> planespottersPhotoService,
+      FlightBatchEpochTracker batchEpochTracker) {
     this(
         FlightQueryHandlers.build(
             redisTemplate,
@@ -32,13 +34,12 @@ public class FlightQueryService {
             properties,
             aircraftRepo,
             prometheusMetricsService,
-            planespottersPhotoService));
+            planespottersPhotoService,
+            batchEpochTracker));
   }
 
   FlightQueryService(FlightQueryHandlers handlers) {
-    this.listQueryHandler = handlers.listQueryHandler();
-    this.detailQueryHandler = handlers.detailQueryHandler();
-    this.metricsQueryHandler = handlers.metricsQueryHandler();
+    this.handlers = handlers;
   }
 
   public FlightListResponse listFlights(
@@ -52,7 +53,7 @@ public class FlightQueryService {
       String categoryRaw,
       String countryRaw,
       String typecodeRaw) {
-    return listQueryHandler.listFlights(
+    return handlers.listQueryHandler().listFlights(
         bboxRaw,
         sinceRaw,
         limitRaw,
@@ -65,11 +66,54 @@ public class FlightQueryService {
         typecodeRaw);
   }
 
+  /**
+   * Same selection as {@link #listFlights}, transposed into the compact columnar representation.
+   */
+  public FlightColumnarResponse listFlightsColumnar(
+      String bboxRaw,
+      String sinceRaw,
+      String limitRaw,
+      String sortRaw,
+      String orderRaw,
+      String militaryHintRaw,
+      String airframeTypeRaw,
+      String categoryRaw,
+      String countryRaw,
+      String typecodeRaw) {
+    return handlers.listQueryHandler().toColumnar(listFlights(
+        bboxRaw,
+        sinceRaw,
+        limitRaw,
+        sortRaw,
+        orderRaw,
+        militaryHintRaw,
+        airframeTypeRaw,
+        categoryRaw,
+        countryRaw,
+        typecodeRaw));
+  }
+
   public FlightDetailResponse getFlightDetail(String icao24Raw, String includeRaw) {
-    return detailQueryHandler.getFlightDetail(icao24Raw, includeRaw);
+    return handlers.detailQueryHandler().getFlightDetail(icao24Raw, includeRaw);
   }
 
   public FlightsMetricsResponse getFlightsMetrics(String bboxRaw, String windowRaw) {
-    return metricsQueryHandler.getFlightsMetrics(bboxRaw, windowRaw);
+    return handlers.metricsQueryHandler().getFlightsMetrics(bboxRaw, windowRaw);
+  }
+
+  /**
+   * Aggregates live aircraft into geohash cells, computed once per batch epoch and resolution.
+   */
+  public FlightDensityResponse getFlightDensity(String bboxRaw, String resolutionRaw) {
+    return handlers.densityQueryHandler().getDensity(bboxRaw, resolutionRaw);
+  }
+
+  /**
+   * Unfiltered flight list of one z/x/y tile, serialized once per batch epoch.
+   *
+   * @param acceptGzip whether the client accepts a gzip-encoded body
+   */
+  public FlightTile getFlightTile(int z, int x, int y, boolean acceptGzip) {
+    return handlers.tileQueryHandler().getTile(z, x, y, acceptGzip);
   }
 }
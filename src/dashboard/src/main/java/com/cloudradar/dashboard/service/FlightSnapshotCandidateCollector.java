@@ -12,12 +12,21 @@ import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+/**
+ * Reads the last-position payloads matching a bbox and an optional {@code since} cutoff.
+ *
+ * <p>Bboxes up to {@code geo-search-max-area-deg2} read the aircraft found by GEOSEARCH on the
+ * processor's GEO index; other queries with a cutoff read those found in its last-contact sorted
+ * set. Either way only the matching payloads are fetched (see {@link LastPositionIndexReader}).
+ * Large bboxes without a cutoff, or a missing index, scan the whole hash.
+ */
 final class FlightSnapshotCandidateCollector {
   private static final long REDIS_SCAN_COUNT = 1000L;
 
   private final StringRedisTemplate redisTemplate;
   private final DashboardProperties properties;
   private final FlightEventParser eventParser;
+  private final LastPositionIndexReader indexReader;
 
   FlightSnapshotCandidateCollector(
       StringRedisTemplate redisTemplate,
@@ -26,34 +35,54 @@ final class FlightSnapshotCandidateCollector {
     this.redisTemplate = redisTemplate;
     this.properties = properties;
     this.eventParser = eventParser;
+    this.indexReader = new LastPositionIndexReader(redisTemplate, properties);
   }
 
   List<Entry<String, PositionEvent>> collect(Bbox bbox, Long since) {
-    HashOperations<String, Object, Object> hashOps = redisTemplate.opsForHash();
-    ScanOptions scanOptions = ScanOptions.scanOptions().count(REDIS_SCAN_COUNT).build();
     List<Entry<String, PositionEvent>> candidates = new ArrayList<>();
+    List<Object> payloads = readIndexed(bbox, since);
+    if (payloads != null) {
+      payloads.forEach(payload -> addIfEligible(candidates, payload, bbox, since));
+      return candidates;
+    }
 
+    HashOperations<String, Object, Object> hashOps = redisTemplate.opsForHash();
+    ScanOptions scanOptions = ScanOptions.scanOptions().count(REDIS_SCAN_COUNT).build();
     try (Cursor<Entry<Object, Object>> cursor = hashOps.scan(properties.getRedis().getLastPositionsKey(), scanOptions)) {
       while (cursor.hasNext()) {
-        Entry<Object, Object> entry = cursor.next();
-        Object payloadObj = entry.getValue();
-        if (payloadObj == null) {
-          continue;
-        }
-
-        eventParser.parse(payloadObj.toString()).ifPresent(event -> {
-          String icao24 = FlightQueryValues.normalizeOptional(event.icao24(), true, false);
-          if (isEligible(icao24, event, bbox, since)) {
-            candidates.add(Map.entry(icao24, event));
-          }
-        });
+        addIfEligible(candidates, cursor.next().getValue(), bbox, since);
       }
     }
 
     return candidates;
   }
 
-  private static boolean isEligible(String icao24, PositionEvent event, Bbox bbox, Long since) {
+  /** Payloads from the GEO or last-contact index, or null when the hash must be scanned. */
+  private List<Object> readIndexed(Bbox bbox, Long since) {
+    double geoSearchMaxArea = properties.getApi().getBbox().getGeoSearchMaxAreaDeg2();
+    if (geoSearchMaxArea > 0 && bbox.areaDeg2() <= geoSearchMaxArea) {
+      List<Object> payloads = indexReader.byBox(bbox);
+      if (payloads != null) {
+        return payloads;
+      }
+    }
+    return since == null ? null : indexReader.byLastContact(since);
+  }
+
+  private void addIfEligible(
+      List<Entry<String, PositionEvent>> candidates, Object payloadObj, Bbox bbox, Long since) {
+    if (payloadObj == null) {
+      return;
+    }
+    eventParser.parse(payloadObj.toString()).ifPresent(event -> {
+      String icao24 = FlightQueryValues.normalizeOptional(event.icao24(), true, false);
+      if (isEligible(icao24, event, bbox, since)) {
+        candidates.add(Map.entry(icao24, event));
+      }
+    });
+  }
+
+  static boolean isEligible(String icao24, PositionEvent event, Bbox bbox, Long since) {
     if (icao24 == null || event.lat() == null || event.lon() == null) {
       return false;
     }
@@ -27,7 +27,8 @@ final class FlightSnapshotComponents {
       StringRedisTemplate redisTemplate,
       ObjectMapper objectMapper,
       DashboardProperties properties,
-      Optional<AircraftMetadataRepository> aircraftRepo) {
+      Optional<AircraftMetadataRepository> aircraftRepo,
+      FlightBatchEpochTracker batchEpochTracker) {
     FlightTaxonomy taxonomy = new FlightTaxonomy();
     FlightEventParser eventParser = new FlightEventParser(objectMapper);
     FlightSnapshotCandidateCollector candidateCollector =
@@ -35,8 +36,11 @@ final class FlightSnapshotComponents {
     FlightSnapshotDeduplicator deduplicator = new FlightSnapshotDeduplicator();
     FlightSnapshotEnricher snapshotEnricher = new FlightSnapshotEnricher(aircraftRepo, taxonomy);
     FlightTrackReader trackReader = new FlightTrackReader(redisTemplate, properties, eventParser);
-    FlightSnapshotReader snapshotReader =
-        new FlightSnapshotReader(candidateCollector, deduplicator, snapshotEnricher, trackReader);
+    FlightBatchSnapshotReader batchSnapshotReader = new FlightBatchSnapshotReader(
+        redisTemplate, objectMapper, properties, batchEpochTracker, System::currentTimeMillis);
+    FlightSnapshotLoader loader =
+        new FlightSnapshotLoader(candidateCollector, batchSnapshotReader, deduplicator, snapshotEnricher);
+    FlightSnapshotReader snapshotReader = new FlightSnapshotReader(loader, trackReader, batchEpochTracker);
     FlightMetricsSupport metricsSupport =
         new FlightMetricsSupport(new FlightActivitySeriesReader(redisTemplate, properties));
     return new FlightSnapshotComponents(taxonomy, snapshotReader, snapshotEnricher, metricsSupport);
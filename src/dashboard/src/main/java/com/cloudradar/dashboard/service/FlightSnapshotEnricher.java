@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.function.Function;
 
 final class FlightSnapshotEnricher {
   private final Optional<AircraftMetadataRepository> aircraftRepo;
@@ -24,6 +25,15 @@ final class FlightSnapshotEnricher {
       Map<String, PositionEvent> latestByIcao,
       boolean includeMetadata,
       boolean includeOwnerOperator) {
+    return enrich(latestByIcao, includeMetadata, includeOwnerOperator, this::resolveMetadata);
+  }
+
+  /** Same as {@link #enrich(Map, boolean, boolean)} with metadata already resolved elsewhere. */
+  List<FlightSnapshot> enrich(
+      Map<String, PositionEvent> latestByIcao,
+      boolean includeMetadata,
+      boolean includeOwnerOperator,
+      Function<String, Optional<AircraftMetadata>> metadataResolver) {
     if (latestByIcao.isEmpty()) {
       return List.of();
     }
@@ -33,7 +43,7 @@ final class FlightSnapshotEnricher {
       String icao24 = latest.getKey();
       PositionEvent event = latest.getValue();
 
-      Optional<AircraftMetadata> metadata = includeMetadata ? resolveMetadata(icao24) : Optional.empty();
+      Optional<AircraftMetadata> metadata = includeMetadata ? metadataResolver.apply(icao24) : Optional.empty();
       String category = metadata.map(AircraftMetadata::categoryOrFallback).orElse(null);
       String country = metadata.map(AircraftMetadata::country).orElse(null);
       String typecode = metadata.map(AircraftMetadata::typecode)
@@ -0,0 +1,43 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.model.Bbox;
+import com.cloudradar.dashboard.model.PositionEvent;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One uncached snapshot load: collect candidates, keep the latest event per aircraft, enrich.
+ *
+ * <p>Candidates come from the processor's per-batch snapshot when a recent one is available (see
+ * {@link FlightBatchSnapshotReader}), with the metadata it resolved; otherwise from the live
+ * last-position hash, enriched from the local aircraft DB.
+ */
+final class FlightSnapshotLoader {
+  private final FlightSnapshotCandidateCollector candidateCollector;
+  private final FlightBatchSnapshotReader batchSnapshotReader;
+  private final FlightSnapshotDeduplicator deduplicator;
+  private final FlightSnapshotEnricher enricher;
+  private final PipelineLatencyRecorder latencyRecorder = new PipelineLatencyRecorder();
+
+  FlightSnapshotLoader(
+      FlightSnapshotCandidateCollector candidateCollector,
+      FlightBatchSnapshotReader batchSnapshotReader,
+      FlightSnapshotDeduplicator deduplicator,
+      FlightSnapshotEnricher enricher) {
+    this.candidateCollector = candidateCollector;
+    this.batchSnapshotReader = batchSnapshotReader;
+    this.deduplicator = deduplicator;
+    this.enricher = enricher;
+  }
+
+  List<FlightSnapshot> load(Bbox bbox, Long since, boolean includeMetadata, boolean includeOwnerOperator) {
+    FlightBatchSnapshot batch = batchSnapshotReader.current();
+    List<Map.Entry<String, PositionEvent>> candidates =
+        batch != null ? batch.collect(bbox, since) : candidateCollector.collect(bbox, since);
+    Map<String, PositionEvent> latestByIcao = deduplicator.deduplicate(candidates);
+    latencyRecorder.record(latestByIcao.values(), System.currentTimeMillis());
+    return batch != null && batch.hasMetadata()
+        ? enricher.enrich(latestByIcao, includeMetadata, includeOwnerOperator, batch::metadata)
+        : enricher.enrich(latestByIcao, includeMetadata, includeOwnerOperator);
+  }
+}
@@ -3,32 +3,55 @@ package com.cloudradar.dashboard.service;
 import com.cloudradar.dashboard.model.Bbox;
 import com.cloudradar.dashboard.model.FlightTrackPoint;
 import com.cloudradar.dashboard.model.PositionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
+/**
+ * Loads enriched flight snapshots (scan, dedup, enrich) for the query handlers.
+ *
+ * <p>Identical concurrent loads (same bbox, cutoff, enrichment flags and latest known batch epoch)
+ * share one computation, so a burst of browsers refreshing after a {@code batch-update} costs a
+ * single Redis scan. Shared results are read-only.
+ */
 final class FlightSnapshotReader {
-  private final FlightSnapshotCandidateCollector candidateCollector;
-  private final FlightSnapshotDeduplicator deduplicator;
-  private final FlightSnapshotEnricher enricher;
+  private final FlightSnapshotLoader loader;
   private final FlightTrackReader trackReader;
+  private final FlightBatchEpochTracker batchEpochTracker;
+  private final SingleFlight<SnapshotQueryKey, List<FlightSnapshot>> singleFlight = new SingleFlight<>();
+  private final Counter loadsCounter;
+  private final Counter coalescedCounter;
 
   FlightSnapshotReader(
-      FlightSnapshotCandidateCollector candidateCollector,
-      FlightSnapshotDeduplicator deduplicator,
-      FlightSnapshotEnricher enricher,
-      FlightTrackReader trackReader) {
-    this.candidateCollector = candidateCollector;
-    this.deduplicator = deduplicator;
-    this.enricher = enricher;
+      FlightSnapshotLoader loader,
+      FlightTrackReader trackReader,
+      FlightBatchEpochTracker batchEpochTracker) {
+    this.loader = loader;
     this.trackReader = trackReader;
+    this.batchEpochTracker = batchEpochTracker;
+    this.loadsCounter = Counter.builder("dashboard.snapshot.loads.total")
+        .description("Snapshot pipeline executions (scan, dedup, enrich)")
+        .register(Metrics.globalRegistry);
+    this.coalescedCounter = Counter.builder("dashboard.snapshot.coalesced.total")
+        .description("Snapshot loads served by joining an identical in-flight load")
+        .register(Metrics.globalRegistry);
+    Gauge.builder("dashboard.snapshot.coalesced.waiters", singleFlight, SingleFlight::waiting)
+        .description("Requests currently waiting on an identical in-flight snapshot load")
+        .register(Metrics.globalRegistry);
   }
 
   List<FlightSnapshot> loadSnapshots(
       Bbox bbox, Long since, boolean includeMetadata, boolean includeOwnerOperator) {
-    List<Map.Entry<String, PositionEvent>> candidates = candidateCollector.collect(bbox, since);
-    Map<String, PositionEvent> latestByIcao = deduplicator.deduplicate(candidates);
-    return enricher.enrich(latestByIcao, includeMetadata, includeOwnerOperator);
+    SnapshotQueryKey key =
+        new SnapshotQueryKey(bbox, since, includeMetadata, includeOwnerOperator, batchEpochTracker.latest());
+    return singleFlight.execute(
+        key,
+        () -> load(bbox, since, includeMetadata, includeOwnerOperator),
+        coalescedCounter::increment);
   }
 
   Optional<PositionEvent> loadLatestEvent(String icao24) {
@@ -38,4 +61,21 @@ final class FlightSnapshotReader {
   List<FlightTrackPoint> loadTrack(String icao24) {
     return trackReader.loadTrack(icao24);
   }
+
+  private List<FlightSnapshot> load(
+      Bbox bbox, Long since, boolean includeMetadata, boolean includeOwnerOperator) {
+    loadsCounter.increment();
+    List<FlightSnapshot> snapshots = loader.load(bbox, since, includeMetadata, includeOwnerOperator);
+    batchEpochTracker.observe(
+        snapshots.stream()
+            .map(snapshot -> snapshot.event().openskyFetchEpoch())
+            .filter(Objects::nonNull)
+            .max(Long::compareTo)
+            .orElse(null));
+    return Collections.unmodifiableList(snapshots);
+  }
+
+  /** Normalized identity of a snapshot load. */
+  private record SnapshotQueryKey(
+      Bbox bbox, Long since, boolean includeMetadata, boolean includeOwnerOperator, Long batchEpoch) {}
 }
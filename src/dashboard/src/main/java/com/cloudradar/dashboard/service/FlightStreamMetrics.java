@@ -0,0 +1,85 @@
+package com.cloudradar.dashboard.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micrometer instruments for the SSE refresh stream fan-out.
+ *
+ * <p>Outbox depth gauges are refreshed on each broadcast so scrapes never walk the client set.
+ */
+final class FlightStreamMetrics {
+  private final Timer fanoutTimer;
+  private final Timer deliveryLagTimer;
+  private final Counter droppedOverflowCounter;
+  private final Counter droppedDisconnectCounter;
+  private final Counter droppedErrorCounter;
+  private final Counter droppedTimeoutCounter;
+  private final AtomicLong activeClients = new AtomicLong();
+  private final AtomicLong outboxDepthTotal = new AtomicLong();
+  private final AtomicLong outboxDepthMax = new AtomicLong();
+
+  FlightStreamMetrics() {
+    this.fanoutTimer = Timer.builder("dashboard.stream.fanout.duration")
+        .description("Time spent encoding one SSE event and enqueuing it for every client")
+        .register(Metrics.globalRegistry);
+    this.deliveryLagTimer = Timer.builder("dashboard.stream.delivery.lag")
+        .description("Delay between SSE event encoding and its write to a client")
+        .register(Metrics.globalRegistry);
+    this.droppedOverflowCounter = droppedCounter("overflow");
+    this.droppedDisconnectCounter = droppedCounter("disconnect");
+    this.droppedErrorCounter = droppedCounter("error");
+    this.droppedTimeoutCounter = droppedCounter("timeout");
+    Gauge.builder("dashboard.stream.clients.active", activeClients, AtomicLong::get)
+        .description("Connected SSE clients")
+        .register(Metrics.globalRegistry);
+    Gauge.builder("dashboard.stream.outbox.depth.total", outboxDepthTotal, AtomicLong::get)
+        .description("Frames queued across all SSE client outboxes after the last broadcast")
+        .register(Metrics.globalRegistry);
+    Gauge.builder("dashboard.stream.outbox.depth.max", outboxDepthMax, AtomicLong::get)
+        .description("Deepest SSE client outbox after the last broadcast")
+        .register(Metrics.globalRegistry);
+  }
+
+  void recordFanout(long startNanos, int clients, long depthTotal, long depthMax) {
+    fanoutTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    activeClients.set(clients);
+    outboxDepthTotal.set(depthTotal);
+    outboxDepthMax.set(depthMax);
+  }
+
+  void recordDelivery(SseFrame frame) {
+    deliveryLagTimer.record(System.nanoTime() - frame.encodedAtNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  void updateActiveClients(int clients) {
+    activeClients.set(clients);
+  }
+
+  void recordDroppedOverflow() {
+    droppedOverflowCounter.increment();
+  }
+
+  void recordDroppedDisconnect() {
+    droppedDisconnectCounter.increment();
+  }
+
+  void recordDroppedError() {
+    droppedErrorCounter.increment();
+  }
+
+  void recordDroppedTimeout() {
+    droppedTimeoutCounter.increment();
+  }
+
+  private static Counter droppedCounter(String reason) {
+    return Counter.builder("dashboard.stream.clients.dropped.total")
+        .description("SSE clients removed by the server")
+        .tag("reason", reason)
+        .register(Metrics.globalRegistry);
+  }
+}
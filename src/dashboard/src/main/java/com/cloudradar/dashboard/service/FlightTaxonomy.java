@@ -4,6 +4,13 @@ import com.cloudradar.dashboard.model.FlightMapItem;
 import com.cloudradar.dashboard.model.PositionEvent;
 import java.util.Objects;
 
+/**
+ * Classification rules shared by the map, list and metrics views.
+ *
+ * <p>The processor's {@code FleetTaxonomy} repeats {@link #fleetType}, {@link #aircraftSize} and
+ * {@link #aircraftTypeLabel} for its precomputed fleet metrics; change both together. Both
+ * run the cases of {@code tests/fixtures/fleet-taxonomy.csv}.
+ */
 final class FlightTaxonomy {
 
   boolean matchesMilitary(FlightSnapshot snapshot, String filter) {
@@ -100,13 +107,12 @@ final class FlightTaxonomy {
   }
 
   String aircraftTypeLabel(FlightSnapshot snapshot) {
-    if (snapshot.typecode() != null && !snapshot.typecode().isBlank()) {
-      return snapshot.typecode();
-    }
-    if (snapshot.category() != null && !snapshot.category().isBlank()) {
-      return snapshot.category();
+    String typecode = FlightQueryValues.normalizeOptional(snapshot.typecode(), false, true);
+    if (typecode != null) {
+      return typecode;
     }
-    return "unknown";
+    String category = FlightQueryValues.trimToNull(snapshot.category());
+    return category == null ? "unknown" : category;
   }
 
   String inferAirframeType(String category, String typecode) {
@@ -0,0 +1,48 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.model.FlightListResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/** Serializes a tile payload once, optionally keeping a gzip copy next to the plain JSON. */
+final class FlightTileEncoder {
+  private final ObjectMapper objectMapper;
+  private final boolean precompress;
+
+  FlightTileEncoder(ObjectMapper objectMapper, boolean precompress) {
+    this.objectMapper = objectMapper;
+    this.precompress = precompress;
+  }
+
+  EncodedTile encode(FlightListResponse response) {
+    byte[] json;
+    try {
+      json = objectMapper.writeValueAsBytes(response);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("unable to serialize flight tile", ex);
+    }
+    return new EncodedTile(json, precompress ? gzip(json) : null);
+  }
+
+  private static byte[] gzip(byte[] json) {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+    try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+      gzip.write(json);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return buffer.toByteArray();
+  }
+
+  /**
+   * Serialized tile.
+   *
+   * @param json plain JSON body
+   * @param gzip gzip-compressed body, {@code null} when pre-compression is disabled
+   */
+  record EncodedTile(byte[] json, byte[] gzip) {}
+}
@@ -0,0 +1,141 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.api.BadRequestException;
+import com.cloudradar.dashboard.config.DashboardProperties;
+import com.cloudradar.dashboard.model.Bbox;
+import com.cloudradar.dashboard.model.FlightTile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves the flight list per z/x/y tile so that panning reuses cached payloads.
+ *
+ * <p>Arbitrary viewport bboxes never repeat, tiles do: each tile is serialized (and optionally
+ * gzip-compressed) once per batch epoch known to {@link FlightBatchEpochTracker} and kept in a
+ * bounded LRU until a newer batch is observed. The same epoch versions the ETag.
+ */
+final class FlightTileQueryHandler {
+  private final DashboardProperties properties;
+  private final FlightListQueryHandler listQueryHandler;
+  private final FlightBatchEpochTracker batchEpochTracker;
+  private final FlightTileEncoder encoder;
+  private final SingleFlight<TileVersion, FlightTileEncoder.EncodedTile> singleFlight = new SingleFlight<>();
+  private final Map<TileAddress, VersionedTile> tiles;
+  private final Counter hitCounter;
+  private final Counter missCounter;
+  private final Counter coalescedCounter;
+  private final Counter gzipBytesCounter;
+  private final Counter identityBytesCounter;
+
+  FlightTileQueryHandler(
+      DashboardProperties properties,
+      FlightListQueryHandler listQueryHandler,
+      FlightBatchEpochTracker batchEpochTracker,
+      FlightTileEncoder encoder) {
+    this.properties = properties;
+    this.listQueryHandler = listQueryHandler;
+    this.batchEpochTracker = batchEpochTracker;
+    this.encoder = encoder;
+    this.hitCounter = requestCounter("hit");
+    this.missCounter = requestCounter("miss");
+    this.coalescedCounter = requestCounter("coalesced");
+    this.gzipBytesCounter = bytesCounter("gzip");
+    this.identityBytesCounter = bytesCounter("identity");
+    int maxEntries = Math.max(1, properties.getApi().getTiles().getCacheMaxEntries());
+    this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<TileAddress, VersionedTile> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  FlightTile getTile(int z, int x, int y, boolean acceptGzip) {
+    TileAddress address = TileAddress.of(z, x, y, properties.getApi().getTiles().getMaxZoom());
+    String bboxRaw = clippedBbox(address);
+
+    // The version is the epoch known before reading, so a tile whose own data lags (or is empty)
+    // is still cached and revalidated until the tracker moves on.
+    Long version = batchEpochTracker.latest();
+    VersionedTile cached = cached(address);
+    FlightTileEncoder.EncodedTile tile;
+    if (version != null && cached != null && cached.version() == version) {
+      tile = cached.tile();
+      hitCounter.increment();
+    } else {
+      tile = load(address, bboxRaw, version);
+    }
+
+    boolean gzip = acceptGzip && tile.gzip() != null;
+    byte[] body = gzip ? tile.gzip() : tile.json();
+    (gzip ? gzipBytesCounter : identityBytesCounter).increment(body.length);
+    String etag =
+        version == null ? null : "\"" + z + "-" + x + "-" + y + "-" + version + (gzip ? "-gz" : "") + "\"";
+    return new FlightTile(body, gzip, etag);
+  }
+
+  private FlightTileEncoder.EncodedTile load(TileAddress address, String bboxRaw, Long version) {
+    AtomicBoolean coalesced = new AtomicBoolean();
+    FlightTileEncoder.EncodedTile tile =
+        singleFlight.execute(
+            new TileVersion(address, version),
+            () -> encoder.encode(listQueryHandler.listAll(bboxRaw)),
+            () -> coalesced.set(true));
+    if (coalesced.get()) {
+      coalescedCounter.increment();
+    } else {
+      missCounter.increment();
+      if (version != null) {
+        store(address, new VersionedTile(version, tile));
+      }
+    }
+    return tile;
+  }
+
+  private String clippedBbox(TileAddress address) {
+    DashboardProperties.Bbox limits = properties.getApi().getBbox();
+    Bbox tile = address.bbox();
+    double minLon = Math.max(tile.minLon(), limits.getAllowedLonMin());
+    double minLat = Math.max(tile.minLat(), limits.getAllowedLatMin());
+    double maxLon = Math.min(tile.maxLon(), limits.getAllowedLonMax());
+    double maxLat = Math.min(tile.maxLat(), limits.getAllowedLatMax());
+    if (minLon >= maxLon || minLat >= maxLat) {
+      throw new BadRequestException("tile is outside allowed boundaries");
+    }
+    // Double.toString round-trips exactly, so the list handler sees the same bbox.
+    return minLon + "," + minLat + "," + maxLon + "," + maxLat;
+  }
+
+  private synchronized VersionedTile cached(TileAddress address) {
+    return tiles.get(address);
+  }
+
+  private synchronized void store(TileAddress address, VersionedTile tile) {
+    VersionedTile current = tiles.get(address);
+    if (current == null || current.version() <= tile.version()) {
+      tiles.put(address, tile);
+    }
+  }
+
+  private static Counter requestCounter(String cache) {
+    return Counter.builder("dashboard.tiles.requests.total")
+        .description("Flight tile requests by cache outcome")
+        .tag("cache", cache)
+        .register(Metrics.globalRegistry);
+  }
+
+  private static Counter bytesCounter(String encoding) {
+    return Counter.builder("dashboard.tiles.bytes.served.total")
+        .description("Flight tile body bytes served")
+        .baseUnit("bytes")
+        .tag("encoding", encoding)
+        .register(Metrics.globalRegistry);
+  }
+
+  private record TileVersion(TileAddress address, Long batchEpoch) {}
+
+  private record VersionedTile(long version, FlightTileEncoder.EncodedTile tile) {}
+}
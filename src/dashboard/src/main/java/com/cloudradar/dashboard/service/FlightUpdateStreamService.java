@@ -1,24 +1,22 @@
 package com.cloudradar.dashboard.service;
 
 import com.cloudradar.dashboard.config.DashboardProperties;
-import com.cloudradar.dashboard.model.PositionEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.redis.core.Cursor;
-import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -27,6 +25,12 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
  *
  * <p>Emits a {@code batch-update} event whenever the latest OpenSky batch epoch changes in Redis.
  * A lightweight heartbeat is also emitted periodically to keep connections active through proxies.
+ *
+ * <p>Each event is encoded once into a shared {@link SseFrame} and offered to per-client bounded
+ * {@link SseClientOutbox outboxes} drained on a small fan-out pool. Clients whose outbox overflows
+ * are dropped instead of stalling the broadcast, and so are clients whose socket write blocks past
+ * {@code write-timeout-ms}; the {@link SseFanoutPool} adds a thread for each such blocked write, so
+ * slow clients cannot take the drain threads of healthy ones.
  */
 @Service
 public class FlightUpdateStreamService {
@@ -34,18 +38,17 @@ public class FlightUpdateStreamService {
   private static final long STREAM_TIMEOUT_MS = 0L;
   private static final long POLL_INTERVAL_MS = 2_000L;
   private static final long HEARTBEAT_INTERVAL_MS = 15_000L;
-  private static final int REDIS_SCAN_COUNT = 512;
 
-  private final StringRedisTemplate redisTemplate;
   private final ObjectMapper objectMapper;
   private final DashboardProperties properties;
-  private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+  private final FlightBatchEpochReader batchEpochReader;
+  private final FlightBatchEpochTracker batchEpochTracker;
+  private final FlightStreamMetrics metrics = new FlightStreamMetrics();
+  private final Map<SseEmitter, SseClientOutbox> clients = new ConcurrentHashMap<>();
   private final ScheduledExecutorService scheduler =
-      Executors.newSingleThreadScheduledExecutor(runnable -> {
-        Thread thread = new Thread(runnable, "dashboard-flight-stream");
-        thread.setDaemon(true);
-        return thread;
-      });
+      Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("dashboard-flight-stream"));
+  private final SseFanoutPool fanoutPool;
+  private final long writeTimeoutNanos;
 
   private volatile Long lastBroadcastBatchEpoch = null;
   private volatile long lastHeartbeatAtMs = 0L;
@@ -54,10 +57,18 @@ public class FlightUpdateStreamService {
   public FlightUpdateStreamService(
       StringRedisTemplate redisTemplate,
       ObjectMapper objectMapper,
-      DashboardProperties properties) {
-    this.redisTemplate = redisTemplate;
+      DashboardProperties properties,
+      FlightBatchEpochTracker batchEpochTracker) {
     this.objectMapper = objectMapper;
     this.properties = properties;
+    this.batchEpochReader = new FlightBatchEpochReader(redisTemplate, objectMapper, properties);
+    this.batchEpochTracker = batchEpochTracker;
+    this.fanoutPool =
+        new SseFanoutPool(
+            properties.getStream().getFanoutThreads(),
+            daemonThreadFactory("dashboard-flight-stream-fanout"));
+    this.writeTimeoutNanos =
+        TimeUnit.MILLISECONDS.toNanos(Math.max(1L, properties.getStream().getWriteTimeoutMs()));
   }
 
   /**
@@ -69,17 +80,26 @@ public class FlightUpdateStreamService {
     startIfNeeded();
 
     SseEmitter emitter = createEmitter();
-    emitters.add(emitter);
+    SseClientOutbox outbox =
+        new SseClientOutbox(
+            emitter,
+            properties.getStream().getOutboxCapacity(),
+            fanoutPool,
+            metrics,
+            this::handleDeliveryFailure);
+    clients.put(emitter, outbox);
+    metrics.updateActiveClients(clients.size());
 
-    emitter.onCompletion(() -> emitters.remove(emitter));
-    emitter.onTimeout(() -> emitters.remove(emitter));
-    emitter.onError(ex -> emitters.remove(emitter));
+    emitter.onCompletion(() -> unregister(emitter));
+    emitter.onTimeout(() -> unregister(emitter));
+    emitter.onError(ex -> unregister(emitter));
 
-    Long latestBatchEpoch = latestBatchEpoch();
-    sendEvent(emitter, "connected", payload(latestBatchEpoch));
+    Long latestBatchEpoch = batchEpochReader.latestBatchEpoch();
+    offer(outbox, encode("connected", payload(latestBatchEpoch)));
     if (latestBatchEpoch != null) {
-      sendEvent(emitter, "batch-update", payload(latestBatchEpoch));
+      offer(outbox, encode("batch-update", payload(latestBatchEpoch)));
     }
+    outbox.drainNow();
 
     return emitter;
   }
@@ -88,6 +108,13 @@ public class FlightUpdateStreamService {
     return new SseEmitter(STREAM_TIMEOUT_MS);
   }
 
+  /** Stops background polling and fan-out workers on application shutdown. */
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+    fanoutPool.shutdownNow();
+  }
+
   private synchronized void startIfNeeded() {
     if (started) {
       return;
@@ -98,7 +125,15 @@ public class FlightUpdateStreamService {
 
   private void pollAndBroadcast() {
     try {
-      Long latestBatchEpoch = latestBatchEpoch();
+      for (SseClientOutbox blocked : fanoutPool.abortBlockedSends(clients.values(), writeTimeoutNanos)) {
+        if (clients.remove(blocked.emitter(), blocked)) {
+          metrics.recordDroppedTimeout();
+          metrics.updateActiveClients(clients.size());
+          log.debug("SSE client dropped: write blocked longer than {} ms", properties.getStream().getWriteTimeoutMs());
+        }
+      }
+      Long latestBatchEpoch = batchEpochReader.latestBatchEpoch();
+      batchEpochTracker.observe(latestBatchEpoch);
       if (latestBatchEpoch != null && !Objects.equals(latestBatchEpoch, lastBroadcastBatchEpoch)) {
         lastBroadcastBatchEpoch = latestBatchEpoch;
         broadcast("batch-update", payload(latestBatchEpoch));
@@ -115,24 +150,60 @@ public class FlightUpdateStreamService {
   }
 
   private void broadcast(String eventName, Map<String, Object> payload) {
-    for (SseEmitter emitter : emitters) {
-      sendEvent(emitter, eventName, payload);
+    long startNanos = System.nanoTime();
+    SseFrame frame = encode(eventName, payload);
+    long depthTotal = 0L;
+    long depthMax = 0L;
+    for (SseClientOutbox outbox : clients.values()) {
+      if (!offer(outbox, frame)) {
+        continue;
+      }
+      outbox.scheduleDrain();
+      int depth = outbox.depth();
+      depthTotal += depth;
+      depthMax = Math.max(depthMax, depth);
     }
+    metrics.recordFanout(startNanos, clients.size(), depthTotal, depthMax);
+  }
+
+  private boolean offer(SseClientOutbox outbox, SseFrame frame) {
+    if (outbox.offer(frame)) {
+      return true;
+    }
+    if (clients.remove(outbox.emitter(), outbox)) {
+      metrics.recordDroppedOverflow();
+      metrics.updateActiveClients(clients.size());
+      log.debug("SSE client dropped: outbox full during {} delivery", frame.eventName());
+    }
+    outbox.abandon();
+    return false;
   }
 
-  private void sendEvent(SseEmitter emitter, String eventName, Map<String, Object> payload) {
+  private void handleDeliveryFailure(SseClientOutbox outbox, String eventName, Exception ex) {
+    clients.remove(outbox.emitter(), outbox);
+    metrics.updateActiveClients(clients.size());
+    if (isExpectedClientDisconnect(ex)) {
+      metrics.recordDroppedDisconnect();
+      log.debug("SSE client disconnected during {} delivery: {}", eventName, rootCauseSummary(ex));
+      outbox.close();
+      return;
+    }
+    metrics.recordDroppedError();
+    log.warn("SSE event delivery failed for event={} cause={}", eventName, rootCauseSummary(ex));
+    log.debug("SSE unexpected delivery error details for event={}", eventName, ex);
+    outbox.closeWithError(ex);
+  }
+
+  private void unregister(SseEmitter emitter) {
+    clients.remove(emitter);
+    metrics.updateActiveClients(clients.size());
+  }
+
+  private SseFrame encode(String eventName, Map<String, Object> payload) {
     try {
-      emitter.send(SseEmitter.event().name(eventName).data(payload));
-    } catch (Exception ex) {
-      emitters.remove(emitter);
-      if (isExpectedClientDisconnect(ex)) {
-        log.debug("SSE client disconnected during {} delivery: {}", eventName, rootCauseSummary(ex));
-        completeSilently(emitter);
-        return;
-      }
-      log.warn("SSE event delivery failed for event={} cause={}", eventName, rootCauseSummary(ex));
-      log.debug("SSE unexpected delivery error details for event={}", eventName, ex);
-      completeWithErrorSilently(emitter, ex);
+      return SseFrame.encode(objectMapper, eventName, payload);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Unable to encode SSE " + eventName + " payload", ex);
     }
   }
 
@@ -176,20 +247,12 @@ public class FlightUpdateStreamService {
     return current.getClass().getSimpleName() + ": " + message;
   }
 
-  private static void completeSilently(SseEmitter emitter) {
-    try {
-      emitter.complete();
-    } catch (Exception ignore) {
-      // Emitter is already closed/broken; nothing else to do.
-    }
-  }
-
-  private static void completeWithErrorSilently(SseEmitter emitter, Exception error) {
-    try {
-      emitter.completeWithError(error);
-    } catch (Exception ignore) {
-      // Emitter is already closed/broken; nothing else to do.
-    }
+  private static ThreadFactory daemonThreadFactory(String name) {
+    return runnable -> {
+      Thread thread = new Thread(runnable, name);
+      thread.setDaemon(true);
+      return thread;
+    };
   }
 
   private Map<String, Object> payload(Long latestBatchEpoch) {
@@ -198,40 +261,4 @@ public class FlightUpdateStreamService {
     payload.put("timestamp", Instant.now().toString());
     return payload;
   }
-
-  private Long latestBatchEpoch() {
-    HashOperations<String, Object, Object> hashOps = redisTemplate.opsForHash();
-    ScanOptions scanOptions = ScanOptions.scanOptions().count(REDIS_SCAN_COUNT).build();
-    Long latest = null;
-
-    try (Cursor<Map.Entry<Object, Object>> cursor = hashOps.scan(properties.getRedis().getLastPositionsKey(), scanOptions)) {
-      while (cursor.hasNext()) {
-        Map.Entry<Object, Object> entry = cursor.next();
-        Object payloadObj = entry.getValue();
-        if (payloadObj == null) {
-          continue;
-        }
-
-        PositionEvent event = parseEvent(payloadObj.toString());
-        if (event == null || event.openskyFetchEpoch() == null) {
-          continue;
-        }
-
-        long epoch = event.openskyFetchEpoch();
-        if (latest == null || epoch > latest) {
-          latest = epoch;
-        }
-      }
-    }
-
-    return latest;
-  }
-
-  private PositionEvent parseEvent(String payload) {
-    try {
-      return objectMapper.readValue(payload, PositionEvent.class);
-    } catch (Exception ex) {
-      return null;
-    }
-  }
 }
@@ -0,0 +1,74 @@
+package com.cloudradar.dashboard.service;
+
+/**
+ * Geohash encoding used to bucket positions into fixed-size grid cells.
+ *
+ * <p>A geohash of length {@code n} alternates longitude/latitude bisections over
+ * {@code 5 * n} bits, so every cell of a given length has the same size in degrees.
+ */
+final class GeohashGrid {
+  static final int MIN_RESOLUTION = 1;
+  static final int MAX_RESOLUTION = 6;
+
+  private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+  private GeohashGrid() {}
+
+  static String encode(double lat, double lon, int resolution) {
+    double minLat = -90.0;
+    double maxLat = 90.0;
+    double minLon = -180.0;
+    double maxLon = 180.0;
+    StringBuilder hash = new StringBuilder(resolution);
+    boolean lonBit = true;
+    int bits = 0;
+    int value = 0;
+    while (hash.length() < resolution) {
+      if (lonBit) {
+        double mid = (minLon + maxLon) / 2.0;
+        value <<= 1;
+        if (lon >= mid) {
+          value |= 1;
+          minLon = mid;
+        } else {
+          maxLon = mid;
+        }
+      } else {
+        double mid = (minLat + maxLat) / 2.0;
+        value <<= 1;
+        if (lat >= mid) {
+          value |= 1;
+          minLat = mid;
+        } else {
+          maxLat = mid;
+        }
+      }
+      lonBit = !lonBit;
+      if (++bits == 5) {
+        hash.append(BASE32[value]);
+        bits = 0;
+        value = 0;
+      }
+    }
+    return hash.toString();
+  }
+
+  /** Latitude span of a cell: {@code 180 / 2^latBits}. */
+  static double cellLatDegrees(int resolution) {
+    return 180.0 / (1L << (5 * resolution / 2));
+  }
+
+  /** Longitude span of a cell: {@code 360 / 2^lonBits}. */
+  static double cellLonDegrees(int resolution) {
+    return 360.0 / (1L << ((5 * resolution + 1) / 2));
+  }
+
+  /** Center of the cell containing {@code (lat, lon)}, as {@code [lat, lon]}. */
+  static double[] cellCenter(double lat, double lon, int resolution) {
+    double latSpan = cellLatDegrees(resolution);
+    double lonSpan = cellLonDegrees(resolution);
+    double cellLat = Math.min(Math.floor((lat + 90.0) / latSpan), Math.ceil(180.0 / latSpan) - 1);
+    double cellLon = Math.min(Math.floor((lon + 180.0) / lonSpan), Math.ceil(360.0 / lonSpan) - 1);
+    return new double[] {-90.0 + (cellLat + 0.5) * latSpan, -180.0 + (cellLon + 0.5) * lonSpan};
+  }
+}
@@ -0,0 +1,77 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.config.DashboardProperties;
+import com.cloudradar.dashboard.model.Bbox;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.redis.connection.RedisGeoCommands.DistanceUnit;
+import org.springframework.data.redis.connection.RedisGeoCommands.GeoLocation;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.domain.geo.BoundingBox;
+import org.springframework.data.redis.domain.geo.GeoReference;
+
+/**
+ * Reads last-position payloads through the processor's indexes instead of scanning the hash.
+ *
+ * <p>Each lookup returns the payloads of the matching {@code icao24}s, fetched with pipelined HMGET
+ * chunks, or {@code null} when its index key does not exist yet so the caller can fall back to a
+ * scan. Results are a superset: callers still apply the bbox and cutoff to the parsed payloads.
+ */
+final class LastPositionIndexReader {
+  private static final int HMGET_CHUNK_SIZE = 500;
+  /** Kilometers per degree on the sphere Redis uses for GEO distances (radius 6372.797560856 km). */
+  private static final double KM_PER_DEGREE = Math.toRadians(6372.797560856);
+  private static final double BOX_MARGIN = 1.01;
+
+  private final StringRedisTemplate redisTemplate;
+  private final DashboardProperties.Redis keys;
+
+  LastPositionIndexReader(StringRedisTemplate redisTemplate, DashboardProperties properties) {
+    this.redisTemplate = redisTemplate;
+    this.keys = properties.getRedis();
+  }
+
+  /** Payloads of the aircraft whose {@code last_contact} is at or after {@code since}. */
+  List<Object> byLastContact(long since) {
+    Set<String> icao24s =
+        redisTemplate.opsForZSet().rangeByScore(keys.getLastContactKey(), since, Double.POSITIVE_INFINITY);
+    return payloads(keys.getLastContactKey(), icao24s);
+  }
+
+  /** Payloads of the aircraft inside {@code bbox}, from one GEOSEARCH BYBOX around its center. */
+  List<Object> byBox(Bbox bbox) {
+    double heightKm = (bbox.maxLat() - bbox.minLat()) * KM_PER_DEGREE * BOX_MARGIN;
+    double widestLatitude = bbox.minLat() <= 0 && bbox.maxLat() >= 0
+        ? 0.0
+        : Math.min(Math.abs(bbox.minLat()), Math.abs(bbox.maxLat()));
+    double widthKm = (bbox.maxLon() - bbox.minLon()) * KM_PER_DEGREE
+        * Math.cos(Math.toRadians(widestLatitude)) * BOX_MARGIN;
+    GeoResults<GeoLocation<String>> results = redisTemplate.opsForGeo().search(
+        keys.getGeoKey(),
+        GeoReference.fromCoordinate((bbox.minLon() + bbox.maxLon()) / 2.0, (bbox.minLat() + bbox.maxLat()) / 2.0),
+        new BoundingBox(widthKm, heightKm, DistanceUnit.KILOMETERS));
+    List<String> icao24s = results == null
+        ? List.of()
+        : results.getContent().stream().map(result -> result.getContent().getName()).toList();
+    return payloads(keys.getGeoKey(), icao24s);
+  }
+
+  private List<Object> payloads(String indexKey, Collection<String> icao24s) {
+    if (icao24s == null || icao24s.isEmpty()) {
+      return Boolean.TRUE.equals(redisTemplate.hasKey(indexKey)) ? List.of() : null;
+    }
+
+    List<Object> payloads = new ArrayList<>(icao24s.size());
+    List<Object> chunks = redisTemplate.executePipelined(new LastPositionsReadPipeline(
+        keys.getLastPositionsKey(), new ArrayList<>(icao24s), HMGET_CHUNK_SIZE));
+    for (Object chunk : chunks) {
+      if (chunk instanceof List<?> values) {
+        payloads.addAll(values);
+      }
+    }
+    return payloads;
+  }
+}
@@ -0,0 +1,33 @@
+package com.cloudradar.dashboard.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+
+/**
+ * Queues one HMGET on the last-positions hash per chunk of {@code icao24}s; each result is the
+ * list of payloads of its chunk, {@code null} for fields removed since they were indexed.
+ */
+final class LastPositionsReadPipeline implements SessionCallback<Object> {
+  private final String hashKey;
+  private final List<Object> icao24s;
+  private final int chunkSize;
+
+  LastPositionsReadPipeline(String hashKey, List<Object> icao24s, int chunkSize) {
+    this.hashKey = hashKey;
+    this.icao24s = icao24s;
+    this.chunkSize = chunkSize;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <K, V> Object execute(RedisOperations<K, V> operations) {
+    RedisOperations<String, String> stringOperations = (RedisOperations<String, String>) operations;
+    for (int from = 0; from < icao24s.size(); from += chunkSize) {
+      List<Object> chunk = new ArrayList<>(icao24s.subList(from, Math.min(from + chunkSize, icao24s.size())));
+      stringOperations.opsForHash().multiGet(hashKey, chunk);
+    }
+    return null;
+  }
+}
@@ -0,0 +1,42 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.model.PositionEvent;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the last hops of the pipeline latency trace when the dashboard reads a snapshot.
+ *
+ * <p>{@code write_to_read} uses the processor's {@code processor_written_at_ms} stamp and
+ * {@code source_to_read} the OpenSky {@code last_contact}; both are wall-clock times, so the
+ * histograms include clock skew between hosts.
+ */
+final class PipelineLatencyRecorder {
+  private final Timer writeToReadTimer = hopTimer("write_to_read");
+  private final Timer sourceToReadTimer = hopTimer("source_to_read");
+
+  void record(Collection<PositionEvent> events, long readAtMs) {
+    for (PositionEvent event : events) {
+      if (event.processorWrittenAtMs() != null) {
+        recordMillis(writeToReadTimer, readAtMs - event.processorWrittenAtMs());
+      }
+      if (event.lastContact() != null) {
+        recordMillis(sourceToReadTimer, readAtMs - event.lastContact() * 1000L);
+      }
+    }
+  }
+
+  private static void recordMillis(Timer timer, long millis) {
+    timer.record(Math.max(0L, millis), TimeUnit.MILLISECONDS);
+  }
+
+  private static Timer hopTimer(String hop) {
+    return Timer.builder("dashboard.pipeline.latency")
+        .description("Age of snapshot events when read by the dashboard, per pipeline hop (seconds)")
+        .tag("hop", hop)
+        .publishPercentileHistogram(true)
+        .register(Metrics.globalRegistry);
+  }
+}
@@ -1,28 +1,50 @@
 package com.cloudradar.dashboard.service;
 
+import com.cloudradar.dashboard.rate.GcraLimit;
+import com.cloudradar.dashboard.rate.RedisGcraRateLimiter;
 import java.time.Duration;
+import java.util.List;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
+/**
+ * Dashboard-wide Planespotters budget ({@code globalRps}) on a single GCRA key.
+ *
+ * <p>The burst defaults to 1 so requests are spaced evenly, as the upstream expects, rather than
+ * released {@code globalRps} at a time after an idle period.
+ */
 final class PlanespottersGlobalRateLimiter {
-  private final StringRedisTemplate redisTemplate;
-  private final String redisKeyPrefix;
+  private final RedisGcraRateLimiter limiter;
+  private final GcraLimit limit;
+  private final List<String> keys;
   private final int limitRps;
 
   PlanespottersGlobalRateLimiter(
-      StringRedisTemplate redisTemplate, String redisKeyPrefix, int limitRps) {
-    this.redisTemplate = redisTemplate;
-    this.redisKeyPrefix = redisKeyPrefix;
+      StringRedisTemplate redisTemplate, String redisKeyPrefix, int limitRps, int burst) {
+    this.limiter = new RedisGcraRateLimiter(redisTemplate);
     this.limitRps = Math.max(1, limitRps);
+    this.limit =
+        new GcraLimit(
+            "planespotters", Duration.ofMillis(Math.max(1, 1000 / this.limitRps)), burst);
+    this.keys = List.of(redisKeyPrefix + "ratelimit:gcra");
   }
 
   boolean tryAcquire() {
-    long epochSecond = java.time.Instant.now().getEpochSecond();
-    String key = redisKeyPrefix + "ratelimit:sec:" + epochSecond;
-    Long count = redisTemplate.opsForValue().increment(key);
-    if (count != null && count == 1L) {
-      redisTemplate.expire(key, Duration.ofSeconds(2));
+    return limiter.tryAcquire(limit, keys).allowed();
+  }
+
+  /**
+   * Acquires a slot only if {@code reserved} slots stay available afterwards.
+   *
+   * <p>Used by background work so it never takes budget a user-driven lookup could need: with a
+   * burst of 1 it only runs once the key has been idle for {@code reserved} intervals, which leaves
+   * background work {@code globalRps - reserved} requests per second. A rejected call consumes
+   * nothing.
+   */
+  boolean tryAcquireSpare(int reserved) {
+    if (reserved >= limitRps) {
+      return false;
     }
-    return count != null && count <= limitRps;
+    return limiter.tryAcquireSpare(limit, keys, reserved).allowed();
   }
 
   int limitRps() {
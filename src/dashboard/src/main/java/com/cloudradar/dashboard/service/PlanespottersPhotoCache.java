@@ -52,7 +52,7 @@ final class PlanespottersPhotoCache {
     }
   }
 
-  private long ttlForStatus(String status) {
+  long ttlForStatus(String status) {
     return switch (status) {
       case "available" -> Math.max(60L, properties.getCacheTtlSeconds());
       case "not_found" -> Math.max(30L, properties.getNegativeCacheTtlSeconds());
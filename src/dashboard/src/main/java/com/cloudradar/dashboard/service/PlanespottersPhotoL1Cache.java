@@ -0,0 +1,71 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.model.FlightPhoto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded in-process LRU cache in front of the Redis photo cache.
+ *
+ * <p>Entries expire after the shorter of the L1 TTL and the status TTL used in Redis, so a
+ * short-lived {@code rate_limited} or {@code error} outcome is never pinned in memory.
+ */
+final class PlanespottersPhotoL1Cache {
+  private final int maxEntries;
+  private final LongSupplier clockMs;
+  private final Map<String, Entry> entries;
+  private final Counter hitCounter;
+
+  PlanespottersPhotoL1Cache(int maxEntries, LongSupplier clockMs) {
+    this.maxEntries = Math.max(1, maxEntries);
+    this.clockMs = clockMs;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        return size() > PlanespottersPhotoL1Cache.this.maxEntries;
+      }
+    };
+    this.hitCounter = Counter.builder("dashboard.planespotters.l1.hit.total")
+        .description("Photo lookups served from the in-process cache")
+        .register(Metrics.globalRegistry);
+    Gauge.builder("dashboard.planespotters.l1.size", this, PlanespottersPhotoL1Cache::size)
+        .description("Entries held in the in-process photo cache")
+        .register(Metrics.globalRegistry);
+  }
+
+  synchronized FlightPhoto get(String key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.expiresAtMs() <= clockMs.getAsLong()) {
+      entries.remove(key);
+      return null;
+    }
+    hitCounter.increment();
+    return entry.photo();
+  }
+
+  /** Presence check that does not count as a hit (used by prefetch). */
+  synchronized boolean contains(String key) {
+    Entry entry = entries.get(key);
+    return entry != null && entry.expiresAtMs() > clockMs.getAsLong();
+  }
+
+  synchronized void put(String key, FlightPhoto photo, long ttlSeconds) {
+    if (photo == null || ttlSeconds <= 0) {
+      return;
+    }
+    entries.put(key, new Entry(photo, clockMs.getAsLong() + ttlSeconds * 1000L));
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  private record Entry(FlightPhoto photo, long expiresAtMs) {}
+}
@@ -0,0 +1,106 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.model.FlightPhoto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Background photo lookups, de-duplicated per {@code icao24}.
+ *
+ * <p>Upstream calls run on a small bounded pool instead of request threads. A second request for
+ * an aircraft whose lookup is still running shares the same future. When the queue is full the
+ * lookup completes immediately as {@code rate_limited}; the next detail open retries it.
+ */
+final class PlanespottersPhotoLookups {
+  private final Executor executor;
+  private final ConcurrentMap<String, CompletableFuture<FlightPhoto>> inFlight = new ConcurrentHashMap<>();
+  private final Counter coalescedCounter;
+  private final Counter rejectedCounter;
+
+  PlanespottersPhotoLookups(Executor executor) {
+    this.executor = executor;
+    this.coalescedCounter = Counter.builder("dashboard.planespotters.lookup.coalesced.total")
+        .description("Photo lookups joined to an in-flight lookup for the same aircraft")
+        .register(Metrics.globalRegistry);
+    this.rejectedCounter = Counter.builder("dashboard.planespotters.lookup.rejected.total")
+        .description("Photo lookups rejected because the lookup queue was full")
+        .register(Metrics.globalRegistry);
+    Gauge.builder("dashboard.planespotters.lookup.inflight", inFlight, ConcurrentMap::size)
+        .description("Photo lookups currently queued or running")
+        .register(Metrics.globalRegistry);
+  }
+
+  static ExecutorService newExecutor(int threads, int queueCapacity) {
+    int poolSize = Math.max(1, threads);
+    return new ThreadPoolExecutor(
+        poolSize,
+        poolSize,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+        runnable -> {
+          Thread thread = new Thread(runnable, "dashboard-planespotters-lookup");
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /** Starts or joins the lookup; returns its result if already complete, otherwise {@code null}. */
+  FlightPhoto submitAndPeek(String icao24, Supplier<FlightPhoto> resolver) {
+    CompletableFuture<FlightPhoto> lookup = submit(icao24, resolver);
+    return lookup.isDone() ? lookup.join() : null;
+  }
+
+  private CompletableFuture<FlightPhoto> submit(String icao24, Supplier<FlightPhoto> resolver) {
+    CompletableFuture<FlightPhoto> created = new CompletableFuture<>();
+    CompletableFuture<FlightPhoto> existing = inFlight.putIfAbsent(icao24, created);
+    if (existing != null) {
+      coalescedCounter.increment();
+      return existing;
+    }
+
+    try {
+      executor.execute(() -> run(icao24, created, resolver));
+    } catch (RejectedExecutionException ex) {
+      inFlight.remove(icao24, created);
+      rejectedCounter.increment();
+      created.complete(FlightPhoto.rateLimited());
+    }
+    return created;
+  }
+
+  boolean isInFlight(String icao24) {
+    return inFlight.containsKey(icao24);
+  }
+
+  int inFlightCount() {
+    return inFlight.size();
+  }
+
+  void shutdown() {
+    if (executor instanceof ExecutorService service) {
+      service.shutdownNow();
+    }
+  }
+
+  private void run(String icao24, CompletableFuture<FlightPhoto> future, Supplier<FlightPhoto> resolver) {
+    try {
+      future.complete(resolver.get());
+    } catch (RuntimeException ex) {
+      future.complete(FlightPhoto.error());
+    } finally {
+      inFlight.remove(icao24, future);
+    }
+  }
+}
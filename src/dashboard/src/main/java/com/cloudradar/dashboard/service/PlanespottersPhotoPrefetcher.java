@@ -0,0 +1,170 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.aircraft.AircraftMetadata;
+import com.cloudradar.dashboard.aircraft.AircraftMetadataRepository;
+import com.cloudradar.dashboard.config.DashboardProperties;
+import com.cloudradar.dashboard.model.FlightMapItem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms the Planespotters photo caches for aircraft in the default bbox with idle upstream budget.
+ *
+ * <p>Every cycle it takes the most interesting uncached aircraft (see {@link
+ * PlanespottersPrefetchInterest}) and fetches them through {@link
+ * PlanespottersGlobalRateLimiter#tryAcquireSpare}, which leaves {@code prefetch-reserved-rps} slots
+ * per second to user lookups. The cycle is skipped entirely while a user-driven lookup runs or
+ * started within {@code prefetch-user-pause-ms}.
+ */
+@Component
+public class PlanespottersPhotoPrefetcher {
+  private static final Logger log = LoggerFactory.getLogger(PlanespottersPhotoPrefetcher.class);
+  private static final int MAX_CACHE_CHECKS_PER_CYCLE = 50;
+
+  private final FlightQueryService flightQueryService;
+  private final PlanespottersPhotoService photoService;
+  private final Optional<AircraftMetadataRepository> aircraftRepo;
+  private final DashboardProperties.Planespotters properties;
+  private final ScheduledExecutorService scheduler;
+  private final Deque<String> queue = new ArrayDeque<>();
+  private final AtomicInteger queueSize = new AtomicInteger();
+  private final Counter fetchedCounter;
+  private final Counter pausedCounter;
+  private final Counter noBudgetCounter;
+  private long nextRefreshAtMs;
+
+  public PlanespottersPhotoPrefetcher(
+      FlightQueryService flightQueryService,
+      PlanespottersPhotoService photoService,
+      Optional<AircraftMetadataRepository> aircraftRepo,
+      DashboardProperties properties) {
+    this.flightQueryService = flightQueryService;
+    this.photoService = photoService;
+    this.aircraftRepo = aircraftRepo;
+    this.properties = properties.getPlanespotters();
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "dashboard-planespotters-prefetch");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.fetchedCounter = counter("dashboard.planespotters.prefetch.fetched.total", "Photos fetched by prefetch");
+    this.pausedCounter =
+        counter("dashboard.planespotters.prefetch.paused.total", "Prefetch cycles skipped for user demand");
+    this.noBudgetCounter =
+        counter("dashboard.planespotters.prefetch.no_budget.total", "Prefetch cycles stopped by the limiter");
+    Gauge.builder("dashboard.planespotters.prefetch.queue.size", queueSize, AtomicInteger::get)
+        .description("Aircraft waiting for photo prefetch")
+        .register(Metrics.globalRegistry);
+  }
+
+  /** Starts the prefetch loop when enabled. */
+  @PostConstruct
+  public void start() {
+    if (!properties.isEnabled() || !properties.isPrefetchEnabled()) {
+      return;
+    }
+    if (properties.getPrefetchReservedRps() >= properties.getGlobalRps()) {
+      log.info(
+          "Planespotters prefetch idle: reserved rps {} leaves no spare budget (global rps {})",
+          properties.getPrefetchReservedRps(),
+          properties.getGlobalRps());
+      return;
+    }
+    long intervalMs = Math.max(100L, properties.getPrefetchIntervalMs());
+    scheduler.scheduleWithFixedDelay(this::runSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  /** Stops the prefetch loop on application shutdown. */
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  void runCycle(long nowMs) {
+    if (photoService.userDemandWithin(properties.getPrefetchUserPauseMs())) {
+      pausedCounter.increment();
+      return;
+    }
+    if (queue.isEmpty() || nowMs >= nextRefreshAtMs) {
+      refill(nowMs);
+    }
+
+    int budget = Math.max(1, properties.getGlobalRps() - properties.getPrefetchReservedRps());
+    int cacheChecks = 0;
+    while (budget > 0 && cacheChecks < MAX_CACHE_CHECKS_PER_CYCLE && !queue.isEmpty()) {
+      String icao24 = queue.pollFirst();
+      PlanespottersPhotoService.PrefetchOutcome outcome =
+          photoService.prefetch(icao24, registration(icao24), properties.getPrefetchReservedRps());
+      if (outcome == PlanespottersPhotoService.PrefetchOutcome.NO_BUDGET) {
+        queue.addFirst(icao24);
+        noBudgetCounter.increment();
+        break;
+      }
+      if (outcome == PlanespottersPhotoService.PrefetchOutcome.FETCHED) {
+        fetchedCounter.increment();
+        budget--;
+      } else {
+        cacheChecks++;
+      }
+    }
+    queueSize.set(queue.size());
+  }
+
+  private void runSafely() {
+    try {
+      runCycle(System.currentTimeMillis());
+    } catch (RuntimeException ex) {
+      log.warn("Planespotters prefetch cycle failed", ex);
+    }
+  }
+
+  private void refill(long nowMs) {
+    List<String> inView =
+        flightQueryService
+            .listFlights(
+                null,
+                null,
+                String.valueOf(Math.max(1, properties.getPrefetchMaxCandidates())),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null)
+            .items()
+            .stream()
+            .map(FlightMapItem::icao24)
+            .toList();
+    queue.clear();
+    queue.addAll(photoService.prefetchInterest().rank(inView, nowMs));
+    nextRefreshAtMs = nowMs + Math.max(1L, properties.getPrefetchRefreshSeconds()) * 1000L;
+  }
+
+  private String registration(String icao24) {
+    return aircraftRepo
+        .flatMap(repo -> repo.findByIcao24(icao24))
+        .map(AircraftMetadata::registration)
+        .orElse(null);
+  }
+
+  private static Counter counter(String name, String description) {
+    return Counter.builder(name).description(description).register(Metrics.globalRegistry);
+  }
+}
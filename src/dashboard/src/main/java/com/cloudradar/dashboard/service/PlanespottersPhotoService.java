@@ -2,16 +2,13 @@ package com.cloudradar.dashboard.service;
 
 import com.cloudradar.dashboard.config.DashboardProperties;
 import com.cloudradar.dashboard.model.FlightPhoto;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Metrics;
-import java.io.IOException;
-import java.net.URI;
+import jakarta.annotation.PreDestroy;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,18 +20,13 @@ public class PlanespottersPhotoService {
   private static final Logger log = LoggerFactory.getLogger(PlanespottersPhotoService.class);
 
   private final DashboardProperties.Planespotters properties;
-  private final HttpClient httpClient;
-  private final PlanespottersEndpointBuilder endpointBuilder;
-  private final PlanespottersPhotoPayloadParser payloadParser;
   private final PlanespottersPhotoCache cache;
-  private final PlanespottersGlobalRateLimiter rateLimiter;
+  private final PlanespottersUpstreamClient upstreamClient;
+  private final PlanespottersPhotoL1Cache l1Cache;
+  private final PlanespottersPhotoLookups lookups;
+  private final PlanespottersPrefetchInterest prefetchInterest = new PlanespottersPrefetchInterest();
   private final Counter cacheHitCounter;
   private final Counter cacheMissCounter;
-  private final Counter limiterRejectCounter;
-  private final Counter upstreamSuccessCounter;
-  private final Counter upstreamNotFoundCounter;
-  private final Counter upstreamErrorCounter;
-  private final Counter upstreamRateLimitedCounter;
 
   @Autowired
   public PlanespottersPhotoService(
@@ -57,147 +49,165 @@ public class PlanespottersPhotoService {
       ObjectMapper objectMapper,
       DashboardProperties dashboardProperties,
       HttpClient httpClient) {
+    this(
+        redisTemplate,
+        objectMapper,
+        dashboardProperties,
+        httpClient,
+        PlanespottersPhotoLookups.newExecutor(
+            dashboardProperties.getPlanespotters().getLookupThreads(),
+            dashboardProperties.getPlanespotters().getLookupQueueCapacity()));
+  }
+
+  PlanespottersPhotoService(
+      StringRedisTemplate redisTemplate,
+      ObjectMapper objectMapper,
+      DashboardProperties dashboardProperties,
+      HttpClient httpClient,
+      Executor lookupExecutor) {
     this.properties = dashboardProperties.getPlanespotters();
-    this.httpClient = httpClient;
-    this.endpointBuilder = new PlanespottersEndpointBuilder(properties.getBaseUrl());
-    this.payloadParser = new PlanespottersPhotoPayloadParser(objectMapper);
     this.cache = new PlanespottersPhotoCache(redisTemplate, objectMapper, properties);
-    this.rateLimiter =
-        new PlanespottersGlobalRateLimiter(
-            redisTemplate, properties.getRedisKeyPrefix(), properties.getGlobalRps());
+    this.upstreamClient =
+        PlanespottersUpstreamClient.create(httpClient, redisTemplate, objectMapper, properties);
+    this.l1Cache = new PlanespottersPhotoL1Cache(properties.getL1MaxEntries(), System::currentTimeMillis);
+    this.lookups = new PlanespottersPhotoLookups(lookupExecutor);
     this.cacheHitCounter = counter("dashboard.planespotters.cache.hit.total", "Cache hits");
     this.cacheMissCounter = counter("dashboard.planespotters.cache.miss.total", "Cache misses");
-    this.limiterRejectCounter =
-        counter("dashboard.planespotters.limiter.reject.total", "Global limiter rejects");
-    this.upstreamSuccessCounter =
-        counter("dashboard.planespotters.upstream.success.total", "Upstream success");
-    this.upstreamNotFoundCounter =
-        counter("dashboard.planespotters.upstream.not_found.total", "Upstream not found");
-    this.upstreamErrorCounter =
-        counter("dashboard.planespotters.upstream.error.total", "Upstream errors");
-    this.upstreamRateLimitedCounter =
-        counter("dashboard.planespotters.upstream.rate_limited.total", "Upstream rate limited");
   }
 
-  public FlightPhoto resolvePhoto(String icao24, String registration) {
+  /**
+   * Returns the photo for an aircraft without waiting on the upstream API.
+   *
+   * <p>Served from the in-process cache or Redis when possible. Otherwise a background lookup is
+   * started (or joined) and {@code pending} is returned; clients fetch the outcome from {@code
+   * /api/flights/{icao24}/photo}.
+   *
+   * @param icao24 aircraft identifier
+   * @param registration optional registration used as fallback lookup key
+   * @return cached or freshly resolved photo, {@code pending}, or {@code null} when disabled
+   */
+  public FlightPhoto lookupPhoto(String icao24, String registration) {
     if (!properties.isEnabled()) {
       log.debug("Planespotters disabled, skipping photo lookup for icao24={}", icao24);
       return null;
     }
-
     String cacheKey = cache.cacheKeyForIcao(icao24);
-    FlightPhoto cached = cache.read(cacheKey);
+    FlightPhoto cached = readCached(cacheKey);
     if (cached != null) {
-      cacheHitCounter.increment();
-      log.debug("Planespotters cache hit key={} status={}", cacheKey, cached.status());
       return cached;
     }
+    prefetchInterest.recordUserLookup(System.currentTimeMillis());
+    FlightPhoto resolved =
+        lookups.submitAndPeek(icao24, () -> resolveAndStore(icao24, registration, cacheKey));
+    return resolved == null ? FlightPhoto.pending() : resolved;
+  }
 
-    cacheMissCounter.increment();
-    log.debug("Planespotters cache miss key={}", cacheKey);
+  /**
+   * Records that a user opened the detail of an aircraft; feeds prefetch ordering.
+   *
+   * @param icao24 aircraft identifier
+   */
+  public void recordDetailView(String icao24) {
+    prefetchInterest.recordDetailView(icao24, System.currentTimeMillis());
+  }
 
-    FlightPhoto resolved = fetchPhotoWithFallback(icao24, registration);
-    if (!cache.write(cacheKey, resolved)) {
-      log.warn("Failed to serialize Planespotters cache payload (key={})", cacheKey);
-    } else {
-      log.debug(
-          "Planespotters cache write key={} status={}",
-          cacheKey,
-          resolved == null ? null : resolved.status());
+  /**
+   * Warms the caches for one aircraft using only spare limiter capacity.
+   *
+   * <p>Runs on the caller thread. A {@code rate_limited} outcome is not cached, so a prefetch
+   * never hides a photo a user lookup could still get.
+   *
+   * @param icao24 aircraft identifier
+   * @param registration optional registration used as fallback lookup key
+   * @param reservedRps limiter slots per second left to user-driven lookups
+   * @return what happened
+   */
+  PrefetchOutcome prefetch(String icao24, String registration, int reservedRps) {
+    String cacheKey = cache.cacheKeyForIcao(icao24);
+    if (l1Cache.contains(cacheKey) || cache.read(cacheKey) != null) {
+      return PrefetchOutcome.CACHED;
     }
-    return resolved;
+    if (lookups.isInFlight(icao24)) {
+      return PrefetchOutcome.IN_FLIGHT;
+    }
+    FlightPhoto photo = upstreamClient.prefetchPhotoWithFallback(icao24, registration, reservedRps);
+    if ("rate_limited".equals(photo.status())) {
+      return PrefetchOutcome.NO_BUDGET;
+    }
+    store(cacheKey, photo);
+    return PrefetchOutcome.FETCHED;
   }
 
-  private FlightPhoto fetchPhotoWithFallback(String icao24, String registration) {
-    FlightPhoto fromHex = fetchFromEndpoint(endpointBuilder.byHexPath(icao24));
-    if (!"not_found".equals(fromHex.status())) {
-      return fromHex;
-    }
+  /**
+   * Tells background work whether user-driven lookups currently need the upstream budget.
+   *
+   * @param windowMs how long a user cache miss keeps the budget reserved
+   * @return {@code true} while a user lookup runs or one started within {@code windowMs}
+   */
+  boolean userDemandWithin(long windowMs) {
+    return lookups.inFlightCount() > 0
+        || System.currentTimeMillis() - prefetchInterest.lastUserLookupMs() < windowMs;
+  }
 
-    String normalizedRegistration = endpointBuilder.normalizeRegistration(registration);
-    if (normalizedRegistration == null) {
-      return fromHex;
-    }
+  PlanespottersPrefetchInterest prefetchInterest() {
+    return prefetchInterest;
+  }
 
-    return fetchFromEndpoint(endpointBuilder.byRegistrationPath(normalizedRegistration));
+  /** Stops background lookups on application shutdown. */
+  @PreDestroy
+  public void shutdown() {
+    lookups.shutdown();
   }
 
-  private FlightPhoto fetchFromEndpoint(String path) {
-    if (!rateLimiter.tryAcquire()) {
-      limiterRejectCounter.increment();
-      log.warn(
-          "Planespotters lookup rejected by global limiter (path={}, limitRps={})",
-          path,
-          rateLimiter.limitRps());
-      return FlightPhoto.rateLimited();
+  private FlightPhoto readCached(String cacheKey) {
+    FlightPhoto local = l1Cache.get(cacheKey);
+    if (local != null) {
+      return local;
     }
-
-    String url = endpointBuilder.buildUrl(path);
-    log.debug("Planespotters upstream request GET {}", url);
-
-    HttpRequest request =
-        HttpRequest.newBuilder()
-            .GET()
-            .uri(URI.create(url))
-            .timeout(Duration.ofMillis(Math.max(300, properties.getTimeoutMs())))
-            .header("Accept", "application/json")
-            .build();
-
-    try {
-      HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-      int status = response.statusCode();
-      log.debug("Planespotters upstream response status={} path={}", status, path);
-      if (status == 429) {
-        upstreamRateLimitedCounter.increment();
-        log.warn("Planespotters upstream rate-limited request (path={})", path);
-        return FlightPhoto.rateLimited();
-      }
-      if (status == 404) {
-        upstreamNotFoundCounter.increment();
-        log.debug("Planespotters upstream not found (path={})", path);
-        return FlightPhoto.notFound();
-      }
-      if (status < 200 || status >= 300) {
-        upstreamErrorCounter.increment();
-        log.warn("Planespotters upstream error status={} (path={})", status, path);
-        return FlightPhoto.error();
-      }
-
-      FlightPhoto photo = payloadParser.parse(response.body());
-      registerParsedPayloadOutcome(path, photo);
-      return photo;
-    } catch (InterruptedException ex) {
-      Thread.currentThread().interrupt();
-      upstreamErrorCounter.increment();
-      log.warn("Planespotters upstream request failed (path={})", path, ex);
-      return FlightPhoto.error();
-    } catch (IOException | RuntimeException ex) {
-      upstreamErrorCounter.increment();
-      if (ex instanceof JsonProcessingException) {
-        log.warn("Planespotters upstream response parse failed (path={})", path);
-        log.debug("Planespotters parse error details (path={})", path, ex);
-      } else {
-        log.warn("Planespotters upstream request failed (path={})", path, ex);
-      }
-      return FlightPhoto.error();
+    FlightPhoto cached = cache.read(cacheKey);
+    if (cached != null) {
+      cacheHitCounter.increment();
+      log.debug("Planespotters cache hit key={} status={}", cacheKey, cached.status());
+      l1Cache.put(cacheKey, cached, l1TtlSeconds(cached));
     }
+    return cached;
   }
 
-  private void registerParsedPayloadOutcome(String path, FlightPhoto photo) {
-    if ("available".equals(photo.status())) {
-      upstreamSuccessCounter.increment();
-      return;
-    }
-    if ("not_found".equals(photo.status())) {
-      upstreamNotFoundCounter.increment();
-      log.debug("Planespotters payload returned no photos (path={})", path);
-      return;
+  private FlightPhoto resolveAndStore(String icao24, String registration, String cacheKey) {
+    cacheMissCounter.increment();
+    log.debug("Planespotters cache miss key={}", cacheKey);
+
+    FlightPhoto resolved = upstreamClient.fetchPhotoWithFallback(icao24, registration);
+    store(cacheKey, resolved);
+    return resolved;
+  }
+
+  private void store(String cacheKey, FlightPhoto photo) {
+    l1Cache.put(cacheKey, photo, l1TtlSeconds(photo));
+    if (!cache.write(cacheKey, photo)) {
+      log.warn("Failed to serialize Planespotters cache payload (key={})", cacheKey);
+    } else {
+      log.debug("Planespotters cache write key={} status={}", cacheKey, photo.status());
     }
-    upstreamErrorCounter.increment();
-    log.warn("Planespotters payload rejected due to missing/untrusted thumbnail or source URL");
+  }
+
+  private long l1TtlSeconds(FlightPhoto photo) {
+    return Math.min(properties.getL1TtlSeconds(), cache.ttlForStatus(photo.status()));
   }
 
   private static Counter counter(String name, String description) {
     return Counter.builder(name).description(description).register(Metrics.globalRegistry);
   }
+
+  /** Result of a {@link #prefetch} attempt. */
+  enum PrefetchOutcome {
+    /** Upstream was queried and the outcome cached. */
+    FETCHED,
+    /** Already cached; no upstream call. */
+    CACHED,
+    /** A user-driven lookup for the same aircraft is running. */
+    IN_FLIGHT,
+    /** No spare limiter budget (or upstream throttled); try again later. */
+    NO_BUDGET
+  }
 }
@@ -0,0 +1,84 @@
+package com.cloudradar.dashboard.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Viewer-interest ranking for photo prefetch.
+ *
+ * <p>Also remembers when the last user-driven upstream lookup started, so prefetch can yield.
+ *
+ * <p>Score = decayed detail views (one view weighs as much as {@value #DETAIL_VIEW_WEIGHT_MINUTES}
+ * minutes in view, halving every hour) + minutes spent in the prefetch bbox. Both maps are bounded:
+ * views by an LRU cap, time in view by the current candidate set.
+ */
+final class PlanespottersPrefetchInterest {
+  static final double DETAIL_VIEW_WEIGHT_MINUTES = 30.0;
+  private static final double VIEW_HALF_LIFE_MS = 3_600_000.0;
+  private static final double MS_PER_MINUTE = 60_000.0;
+  private static final int MAX_TRACKED_VIEWS = 2000;
+
+  private final Map<String, Views> views =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Views> eldest) {
+          return size() > MAX_TRACKED_VIEWS;
+        }
+      };
+  private Map<String, Long> firstSeenInViewMs = new HashMap<>();
+  private volatile long lastUserLookupMs;
+
+  synchronized void recordDetailView(String icao24, long nowMs) {
+    Views current = views.get(icao24);
+    double score = current == null ? 0.0 : current.decayedAt(nowMs);
+    views.put(icao24, new Views(score + 1.0, nowMs));
+  }
+
+  void recordUserLookup(long nowMs) {
+    lastUserLookupMs = nowMs;
+  }
+
+  long lastUserLookupMs() {
+    return lastUserLookupMs;
+  }
+
+  /**
+   * Ranks aircraft currently in view, most interesting first.
+   *
+   * @param inView icao24 identifiers currently in the prefetch bbox
+   * @param nowMs current time
+   * @return identifiers ordered by descending interest
+   */
+  synchronized List<String> rank(Collection<String> inView, long nowMs) {
+    Set<String> unique = new HashSet<>(inView);
+    Map<String, Long> nextFirstSeen = new HashMap<>(unique.size() * 2);
+    Map<String, Double> scores = new HashMap<>(unique.size() * 2);
+    for (String icao24 : unique) {
+      long firstSeen = firstSeenInViewMs.getOrDefault(icao24, nowMs);
+      nextFirstSeen.put(icao24, firstSeen);
+      Views viewed = views.get(icao24);
+      double viewScore = viewed == null ? 0.0 : viewed.decayedAt(nowMs);
+      scores.put(icao24, viewScore * DETAIL_VIEW_WEIGHT_MINUTES + (nowMs - firstSeen) / MS_PER_MINUTE);
+    }
+    firstSeenInViewMs = nextFirstSeen;
+
+    List<String> ranked = new ArrayList<>(unique);
+    ranked.sort(Comparator.comparing((String icao24) -> scores.get(icao24)).reversed()
+        .thenComparing(Comparator.naturalOrder()));
+    return ranked;
+  }
+
+  private record Views(double score, long atMs) {
+    double decayedAt(long nowMs) {
+      long elapsed = Math.max(0L, nowMs - atMs);
+      return score * Math.pow(0.5, elapsed / VIEW_HALF_LIFE_MS);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.config.DashboardProperties;
+import com.cloudradar.dashboard.model.FlightPhoto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/** Planespotters HTTP calls (hex lookup, registration fallback) behind the global rate limiter. */
+final class PlanespottersUpstreamClient {
+  private static final Logger log = LoggerFactory.getLogger(PlanespottersUpstreamClient.class);
+
+  private final HttpClient httpClient;
+  private final DashboardProperties.Planespotters properties;
+  private final PlanespottersEndpointBuilder endpointBuilder;
+  private final PlanespottersGlobalRateLimiter rateLimiter;
+  private final PlanespottersPhotoPayloadParser payloadParser;
+  private final Counter limiterRejectCounter;
+  private final Counter upstreamSuccessCounter;
+  private final Counter upstreamNotFoundCounter;
+  private final Counter upstreamErrorCounter;
+  private final Counter upstreamRateLimitedCounter;
+
+  PlanespottersUpstreamClient(
+      HttpClient httpClient,
+      DashboardProperties.Planespotters properties,
+      PlanespottersGlobalRateLimiter rateLimiter,
+      PlanespottersPhotoPayloadParser payloadParser) {
+    this.httpClient = httpClient;
+    this.properties = properties;
+    this.endpointBuilder = new PlanespottersEndpointBuilder(properties.getBaseUrl());
+    this.rateLimiter = rateLimiter;
+    this.payloadParser = payloadParser;
+    this.limiterRejectCounter =
+        counter("dashboard.planespotters.limiter.reject.total", "Global limiter rejects");
+    this.upstreamSuccessCounter =
+        counter("dashboard.planespotters.upstream.success.total", "Upstream success");
+    this.upstreamNotFoundCounter =
+        counter("dashboard.planespotters.upstream.not_found.total", "Upstream not found");
+    this.upstreamErrorCounter =
+        counter("dashboard.planespotters.upstream.error.total", "Upstream errors");
+    this.upstreamRateLimitedCounter =
+        counter("dashboard.planespotters.upstream.rate_limited.total", "Upstream rate limited");
+  }
+
+  static PlanespottersUpstreamClient create(
+      HttpClient httpClient,
+      StringRedisTemplate redisTemplate,
+      ObjectMapper objectMapper,
+      DashboardProperties.Planespotters properties) {
+    return new PlanespottersUpstreamClient(
+        httpClient,
+        properties,
+        new PlanespottersGlobalRateLimiter(
+            redisTemplate,
+            properties.getRedisKeyPrefix(),
+            properties.getGlobalRps(),
+            properties.getGlobalBurst()),
+        new PlanespottersPhotoPayloadParser(objectMapper));
+  }
+
+  FlightPhoto fetchPhotoWithFallback(String icao24, String registration) {
+    return fetchPhotoWithFallback(icao24, registration, this::acquireForUser);
+  }
+
+  /**
+   * Same lookup for background prefetch: only spends limiter capacity beyond {@code reservedRps}.
+   * Returns {@code rate_limited} without logging when no spare budget is left.
+   */
+  FlightPhoto prefetchPhotoWithFallback(String icao24, String registration, int reservedRps) {
+    return fetchPhotoWithFallback(
+        icao24, registration, path -> rateLimiter.tryAcquireSpare(reservedRps));
+  }
+
+  private FlightPhoto fetchPhotoWithFallback(
+      String icao24, String registration, Predicate<String> permit) {
+    FlightPhoto fromHex = fetchFromEndpoint(endpointBuilder.byHexPath(icao24), permit);
+    if (!"not_found".equals(fromHex.status())) {
+      return fromHex;
+    }
+
+    String normalizedRegistration = endpointBuilder.normalizeRegistration(registration);
+    if (normalizedRegistration == null) {
+      return fromHex;
+    }
+
+    return fetchFromEndpoint(endpointBuilder.byRegistrationPath(normalizedRegistration), permit);
+  }
+
+  private boolean acquireForUser(String path) {
+    if (rateLimiter.tryAcquire()) {
+      return true;
+    }
+    limiterRejectCounter.increment();
+    log.warn(
+        "Planespotters lookup rejected by global limiter (path={}, limitRps={})",
+        path,
+        rateLimiter.limitRps());
+    return false;
+  }
+
+  private FlightPhoto fetchFromEndpoint(String path, Predicate<String> permit) {
+    if (!permit.test(path)) {
+      return FlightPhoto.rateLimited();
+    }
+
+    String url = endpointBuilder.buildUrl(path);
+    log.debug("Planespotters upstream request GET {}", url);
+
+    HttpRequest request =
+        HttpRequest.newBuilder()
+            .GET()
+            .uri(URI.create(url))
+            .timeout(Duration.ofMillis(Math.max(300, properties.getTimeoutMs())))
+            .header("Accept", "application/json")
+            .build();
+
+    try {
+      HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+      int status = response.statusCode();
+      log.debug("Planespotters upstream response status={} path={}", status, path);
+      if (status == 429) {
+        upstreamRateLimitedCounter.increment();
+        log.warn("Planespotters upstream rate-limited request (path={})", path);
+        return FlightPhoto.rateLimited();
+      }
+      if (status == 404) {
+        upstreamNotFoundCounter.increment();
+        log.debug("Planespotters upstream not found (path={})", path);
+        return FlightPhoto.notFound();
+      }
+      if (status < 200 || status >= 300) {
+        upstreamErrorCounter.increment();
+        log.warn("Planespotters upstream error status={} (path={})", status, path);
+        return FlightPhoto.error();
+      }
+
+      FlightPhoto photo = payloadParser.parse(response.body());
+      registerParsedPayloadOutcome(path, photo);
+      return photo;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      upstreamErrorCounter.increment();
+      log.warn("Planespotters upstream request failed (path={})", path, ex);
+      return FlightPhoto.error();
+    } catch (IOException | RuntimeException ex) {
+      upstreamErrorCounter.increment();
+      if (ex instanceof JsonProcessingException) {
+        log.warn("Planespotters upstream response parse failed (path={})", path);
+        log.debug("Planespotters parse error details (path={})", path, ex);
+      } else {
+        log.warn("Planespotters upstream request failed (path={})", path, ex);
+      }
+      return FlightPhoto.error();
+    }
+  }
+
+  private void registerParsedPayloadOutcome(String path, FlightPhoto photo) {
+    if ("available".equals(photo.status())) {
+      upstreamSuccessCounter.increment();
+      return;
+    }
+    if ("not_found".equals(photo.status())) {
+      upstreamNotFoundCounter.increment();
+      log.debug("Planespotters payload returned no photos (path={})", path);
+      return;
+    }
+    upstreamErrorCounter.increment();
+    log.warn("Planespotters payload rejected due to missing/untrusted thumbnail or source URL");
+  }
+
+  private static Counter counter(String name, String description) {
+    return Counter.builder(name).description(description).register(Metrics.globalRegistry);
+  }
+}
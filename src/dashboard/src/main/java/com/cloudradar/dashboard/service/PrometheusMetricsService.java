@@ -2,18 +2,29 @@ package com.cloudradar.dashboard.service;
 
 import com.cloudradar.dashboard.config.DashboardProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+/**
+ * Prometheus-derived KPIs for the metrics endpoint.
+ *
+ * <p>Queries run on a background schedule; request handlers read the cached values and never wait
+ * on Prometheus.
+ */
 @Service
 public class PrometheusMetricsService {
   private static final Logger log = LoggerFactory.getLogger(PrometheusMetricsService.class);
@@ -24,6 +35,8 @@ public class PrometheusMetricsService {
   private final DashboardProperties properties;
   private final HttpClient httpClient;
   private final PrometheusQueryResponseParser responseParser;
+  private final BackgroundRefreshedValue<Double> creditsPerRequest24h;
+  private final ScheduledExecutorService scheduler;
 
   @Autowired
   public PrometheusMetricsService(DashboardProperties properties, ObjectMapper objectMapper) {
@@ -35,6 +48,50 @@ public class PrometheusMetricsService {
     this.properties = properties;
     this.httpClient = httpClient;
     this.responseParser = new PrometheusQueryResponseParser(objectMapper);
+    this.creditsPerRequest24h =
+        new BackgroundRefreshedValue<>(
+            "opensky_credits_per_request_24h",
+            this::queryOpenSkyCreditsPerRequest24h,
+            Math.max(0L, properties.getPrometheus().getMaxStaleSeconds()) * 1000L,
+            System::currentTimeMillis);
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "dashboard-prometheus-refresh");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Starts background refresh of cached KPIs when Prometheus is configured. */
+  @PostConstruct
+  public void start() {
+    DashboardProperties.Prometheus prometheus = properties.getPrometheus();
+    if (!prometheus.isEnabled() || !StringUtils.hasText(prometheus.getBaseUrl())) {
+      return;
+    }
+    long intervalSeconds = Math.max(1L, prometheus.getRefreshIntervalSeconds());
+    scheduler.scheduleWithFixedDelay(
+        creditsPerRequest24h::refresh, 0L, intervalSeconds, TimeUnit.SECONDS);
+  }
+
+  /** Stops background refresh on application shutdown. */
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Returns the last successfully refreshed OpenSky credits/request ratio without blocking.
+   *
+   * @return cached ratio, or empty when not loaded yet or older than the staleness bound
+   */
+  public Optional<Double> cachedOpenSkyCreditsPerRequest24h() {
+    return creditsPerRequest24h.get();
+  }
+
+  void refreshNow() {
+    creditsPerRequest24h.refresh();
   }
 
   public Optional<Double> queryOpenSkyCreditsPerRequest24h() {
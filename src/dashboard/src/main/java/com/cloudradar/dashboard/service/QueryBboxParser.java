@@ -8,9 +8,13 @@ final class QueryBboxParser {
   private QueryBboxParser() {}
 
   static Bbox parseBboxOrDefault(String raw, DashboardProperties properties) {
+    return parseBboxOrDefault(raw, properties, properties.getApi().getBbox().getMaxAreaDeg2());
+  }
+
+  static Bbox parseBboxOrDefault(String raw, DashboardProperties properties, double maxAreaDeg2) {
     String candidate = raw == null || raw.isBlank() ? properties.getApi().getBbox().getDefaultValue() : raw;
     Bbox bbox = parseBbox(candidate);
-    validateBboxBoundaries(bbox, properties);
+    validateBboxBoundaries(bbox, properties, maxAreaDeg2);
     return bbox;
   }
 
@@ -32,6 +36,10 @@ final class QueryBboxParser {
   }
 
   static void validateBboxBoundaries(Bbox bbox, DashboardProperties properties) {
+    validateBboxBoundaries(bbox, properties, properties.getApi().getBbox().getMaxAreaDeg2());
+  }
+
+  static void validateBboxBoundaries(Bbox bbox, DashboardProperties properties, double maxAreaDeg2) {
     DashboardProperties.Bbox limits = properties.getApi().getBbox();
     if (bbox.minLat() < limits.getAllowedLatMin()
         || bbox.maxLat() > limits.getAllowedLatMax()
@@ -39,7 +47,7 @@ final class QueryBboxParser {
         || bbox.maxLon() > limits.getAllowedLonMax()) {
       throw new BadRequestException("bbox is outside allowed boundaries");
     }
-    if (bbox.areaDeg2() > limits.getMaxAreaDeg2()) {
+    if (bbox.areaDeg2() > maxAreaDeg2) {
       throw new BadRequestException("bbox area exceeds configured maximum");
     }
   }
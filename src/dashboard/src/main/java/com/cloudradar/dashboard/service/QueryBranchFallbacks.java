@@ -0,0 +1,35 @@
+package com.cloudradar.dashboard.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts optional {@link QueryFanOut} branches answered with their fallback value.
+ *
+ * <p>The counter of each (branch, reason) pair is registered on first use and then looked up
+ * without touching the meter registry.
+ */
+final class QueryBranchFallbacks {
+  static final int TIMEOUT = 0;
+  static final int ERROR = 1;
+  static final int INTERRUPTED = 2;
+  private static final String[] REASONS = {"timeout", "error", "interrupted"};
+
+  private final ConcurrentHashMap<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+  void record(String branch, int reason) {
+    Counter[] byReason = counters.computeIfAbsent(branch, ignored -> new Counter[REASONS.length]);
+    Counter counter = byReason[reason];
+    if (counter == null) {
+      counter =
+          Counter.builder("dashboard.query.branch.fallback.total")
+              .description("Optional query branches answered with their fallback value")
+              .tag("branch", branch)
+              .tag("reason", REASONS[reason])
+              .register(Metrics.globalRegistry);
+      byReason[reason] = counter;
+    }
+    counter.increment();
+  }
+}
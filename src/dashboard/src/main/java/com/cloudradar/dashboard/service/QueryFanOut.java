@@ -0,0 +1,101 @@
+package com.cloudradar.dashboard.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded executor used by query handlers to issue independent reads in parallel.
+ *
+ * <p>Required branches propagate their failure to the caller; optional branches fall back to a
+ * default value when they fail or exceed the per-branch timeout, so one slow dependency degrades a
+ * field instead of the whole response. When the pool and its queue are full, work runs on the
+ * calling thread, which degrades to the sequential behaviour rather than rejecting requests.
+ */
+final class QueryFanOut {
+  private static final Logger log = LoggerFactory.getLogger(QueryFanOut.class);
+
+  private final Executor executor;
+  private final long branchTimeoutMs;
+  private final QueryBranchFallbacks fallbacks = new QueryBranchFallbacks();
+
+  QueryFanOut(Executor executor, long branchTimeoutMs) {
+    this.executor = executor;
+    this.branchTimeoutMs = Math.max(1L, branchTimeoutMs);
+  }
+
+  static QueryFanOut create(int threads, int queueCapacity, long branchTimeoutMs) {
+    AtomicInteger sequence = new AtomicInteger();
+    int poolSize = Math.max(1, threads);
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(Math.max(1, queueCapacity)),
+            runnable -> {
+              Thread thread = new Thread(runnable, "dashboard-query-fanout-" + sequence.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return new QueryFanOut(executor, branchTimeoutMs);
+  }
+
+  /** Starts a branch on the fan-out pool. */
+  <T> CompletableFuture<T> fork(Supplier<T> branch) {
+    return CompletableFuture.supplyAsync(branch, executor);
+  }
+
+  /** Starts a branch once both inputs complete, on the fan-out pool. */
+  <A, B, T> CompletableFuture<T> combine(
+      CompletableFuture<A> first, CompletableFuture<B> second, BiFunction<A, B, T> branch) {
+    return first.thenCombineAsync(second, branch, executor);
+  }
+
+  /** Deadline shared by optional branches forked now, in {@link System#nanoTime()} units. */
+  long deadline() {
+    return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(branchTimeoutMs);
+  }
+
+  /** Waits for a branch the response cannot be built without, rethrowing its failure. */
+  <T> T required(CompletableFuture<T> branch) {
+    try {
+      return branch.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+
+  /** Waits until {@code deadline}; returns {@code fallback} on timeout or failure. */
+  <T> T optional(String name, CompletableFuture<T> branch, T fallback, long deadline) {
+    try {
+      return branch.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException ex) {
+      fallbacks.record(name, QueryBranchFallbacks.TIMEOUT);
+      log.debug("Query branch {} missed its {} ms deadline", name, branchTimeoutMs);
+    } catch (ExecutionException ex) {
+      fallbacks.record(name, QueryBranchFallbacks.ERROR);
+      log.debug("Query branch {} failed", name, ex.getCause());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      fallbacks.record(name, QueryBranchFallbacks.INTERRUPTED);
+    }
+    return fallback;
+  }
+}
@@ -11,6 +11,10 @@ public final class QueryParser {
     return QueryBboxParser.parseBboxOrDefault(raw, properties);
   }
 
+  public static Bbox parseBboxOrDefault(String raw, DashboardProperties properties, double maxAreaDeg2) {
+    return QueryBboxParser.parseBboxOrDefault(raw, properties, maxAreaDeg2);
+  }
+
   public static Bbox parseBbox(String raw) {
     return QueryBboxParser.parseBbox(raw);
   }
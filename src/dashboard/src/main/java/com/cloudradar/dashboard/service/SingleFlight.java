@@ -0,0 +1,73 @@
+package com.cloudradar.dashboard.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls with the same key into one computation.
+ *
+ * <p>The first caller computes on its own thread; callers arriving while it runs wait for and share
+ * its result (or exception). Nothing is cached once the computation completes.
+ *
+ * @param <K> key type (must implement value equality)
+ * @param <V> result type
+ */
+final class SingleFlight<K, V> {
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final AtomicInteger waiting = new AtomicInteger();
+
+  /**
+   * Runs {@code loader} for {@code key} unless an identical call is already in flight.
+   *
+   * @param key call identity
+   * @param loader computation run by the first caller
+   * @param onCoalesced invoked when this call joins an in-flight computation
+   * @return computed or shared result
+   */
+  V execute(K key, Supplier<V> loader, Runnable onCoalesced) {
+    CompletableFuture<V> own = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+    if (existing != null) {
+      onCoalesced.run();
+      return await(existing);
+    }
+
+    try {
+      V value = loader.get();
+      own.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      own.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, own);
+    }
+  }
+
+  /** Number of callers currently waiting on another caller's computation. */
+  int waiting() {
+    return waiting.get();
+  }
+
+  private V await(CompletableFuture<V> future) {
+    waiting.incrementAndGet();
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw ex;
+    } finally {
+      waiting.decrementAndGet();
+    }
+  }
+}
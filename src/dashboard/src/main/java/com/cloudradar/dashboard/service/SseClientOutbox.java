@@ -0,0 +1,207 @@
+package com.cloudradar.dashboard.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Bounded per-client queue of pre-encoded SSE frames.
+ *
+ * <p>Producers only enqueue; a single drain task per client (guarded by {@code draining}) writes
+ * frames to the emitter on the fan-out executor, so one slow socket never delays other clients.
+ * A send that blocks past the write timeout is aborted through {@link #abortBlockedSend}.
+ */
+final class SseClientOutbox {
+
+  /** Callback invoked once when a frame cannot be written to the client. */
+  interface DeliveryFailureHandler {
+    void onDeliveryFailure(SseClientOutbox outbox, String eventName, Exception error);
+  }
+
+  private final SseEmitter emitter;
+  private final BlockingQueue<SseFrame> frames;
+  private final Executor fanoutExecutor;
+  private final FlightStreamMetrics metrics;
+  private final DeliveryFailureHandler failureHandler;
+  private static final long NOT_SENDING = Long.MIN_VALUE;
+
+  private final AtomicBoolean draining = new AtomicBoolean(false);
+  private volatile boolean closed;
+  private volatile long sendStartedNanos = NOT_SENDING;
+  private Thread sender;
+  private Runnable onAbortedSendReturned;
+
+  SseClientOutbox(
+      SseEmitter emitter,
+      int capacity,
+      Executor fanoutExecutor,
+      FlightStreamMetrics metrics,
+      DeliveryFailureHandler failureHandler) {
+    this.emitter = emitter;
+    this.frames = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    this.fanoutExecutor = fanoutExecutor;
+    this.metrics = metrics;
+    this.failureHandler = failureHandler;
+  }
+
+  SseEmitter emitter() {
+    return emitter;
+  }
+
+  int depth() {
+    return frames.size();
+  }
+
+  /**
+   * Enqueues a frame without blocking.
+   *
+   * @return {@code false} when the outbox is closed or full (caller should drop the client)
+   */
+  boolean offer(SseFrame frame) {
+    return !closed && frames.offer(frame);
+  }
+
+  /** Schedules an asynchronous drain on the fan-out executor when none is running. */
+  void scheduleDrain() {
+    if (closed || frames.isEmpty() || !draining.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      fanoutExecutor.execute(this::drain);
+    } catch (RejectedExecutionException ex) {
+      draining.set(false);
+    }
+  }
+
+  /** Drains pending frames on the caller thread (used for the initial events of a new stream). */
+  void drainNow() {
+    if (draining.compareAndSet(false, true)) {
+      drain();
+    }
+  }
+
+  /** Stops delivery and completes the emitter on the caller thread. */
+  void close() {
+    closed = true;
+    frames.clear();
+    try {
+      emitter.complete();
+    } catch (Exception ignore) {
+      // Emitter is already closed/broken; nothing else to do.
+    }
+  }
+
+  /** Stops delivery and completes the emitter with an error on the caller thread. */
+  void closeWithError(Exception error) {
+    closed = true;
+    frames.clear();
+    try {
+      emitter.completeWithError(error);
+    } catch (Exception ignore) {
+      // Emitter is already closed/broken; nothing else to do.
+    }
+  }
+
+  /**
+   * Stops delivery and completes the emitter off the caller thread.
+   *
+   * <p>Completion contends for the emitter write lock, which a blocked send may hold; the poll
+   * thread must never wait on it.
+   */
+  void abandon() {
+    closed = true;
+    frames.clear();
+    try {
+      fanoutExecutor.execute(this::close);
+    } catch (RejectedExecutionException ex) {
+      // Executor is shutting down; the container will reclaim the connection.
+    }
+  }
+
+  /** Whether a send to this client started more than {@code timeoutNanos} before {@code nowNanos}. */
+  boolean sendBlockedLongerThan(long timeoutNanos, long nowNanos) {
+    long started = sendStartedNanos;
+    return started != NOT_SENDING && nowNanos - started > timeoutNanos;
+  }
+
+  /**
+   * Stops delivery to a client whose send is blocked and interrupts the sending thread.
+   *
+   * <p>The emitter is completed once the blocked send returns, since completing it earlier would
+   * wait on the write lock that send holds; {@code onReturned} runs at the same time.
+   *
+   * @return {@code false} when no send was in progress any more
+   */
+  synchronized boolean abortBlockedSend(Runnable onReturned) {
+    if (sender == null) {
+      return false;
+    }
+    closed = true;
+    frames.clear();
+    onAbortedSendReturned = onReturned;
+    sender.interrupt();
+    return true;
+  }
+
+  private synchronized void beginSend() {
+    sender = Thread.currentThread();
+    sendStartedNanos = System.nanoTime();
+  }
+
+  /** Clears the in-flight send; completes an aborted client and returns whether it was aborted. */
+  private boolean endSend() {
+    Runnable onReturned;
+    synchronized (this) {
+      sender = null;
+      sendStartedNanos = NOT_SENDING;
+      onReturned = onAbortedSendReturned;
+      onAbortedSendReturned = null;
+    }
+    if (onReturned == null) {
+      return false;
+    }
+    close();
+    onReturned.run();
+    return true;
+  }
+
+  private void drain() {
+    try {
+      SseFrame frame = frames.poll();
+      while (frame != null && !closed) {
+        if (!deliver(frame)) {
+          return;
+        }
+        frame = frames.poll();
+      }
+    } finally {
+      draining.set(false);
+    }
+    // A producer may have enqueued after the last poll but before the flag was released.
+    scheduleDrain();
+  }
+
+  private boolean deliver(SseFrame frame) {
+    beginSend();
+    Exception failure = null;
+    try {
+      emitter.send(frame.asEmitterData());
+    } catch (Exception ex) {
+      failure = ex;
+    }
+    if (endSend()) {
+      return false;
+    }
+    if (failure != null) {
+      closed = true;
+      frames.clear();
+      failureHandler.onDeliveryFailure(this, frame.eventName(), failure);
+      return false;
+    }
+    metrics.recordDelivery(frame);
+    return true;
+  }
+}
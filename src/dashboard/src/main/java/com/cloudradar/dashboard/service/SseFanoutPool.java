@@ -0,0 +1,81 @@
+package com.cloudradar.dashboard.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out pool that drains SSE client outboxes.
+ *
+ * <p>Sized to {@code fanout-threads}, plus one replacement thread for each send aborted after the
+ * write timeout: a socket write does not always return when its thread is interrupted, so the
+ * blocked thread is written off until the write returns (at the latest on the container's socket
+ * timeout) and healthy clients keep the configured number of drain threads.
+ */
+final class SseFanoutPool implements Executor {
+  private final ThreadPoolExecutor executor;
+  private final int baseThreads;
+  private int replacements;
+
+  SseFanoutPool(int threads, ThreadFactory threadFactory) {
+    this.baseThreads = Math.max(1, threads);
+    this.executor =
+        new ThreadPoolExecutor(
+            baseThreads, baseThreads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    executor.execute(command);
+  }
+
+  /**
+   * Aborts every send blocked longer than {@code timeoutNanos} and adds a replacement thread for
+   * each, released once that send returns.
+   *
+   * @return outboxes whose send was aborted
+   */
+  List<SseClientOutbox> abortBlockedSends(Collection<SseClientOutbox> outboxes, long timeoutNanos) {
+    long now = System.nanoTime();
+    List<SseClientOutbox> aborted = new ArrayList<>();
+    for (SseClientOutbox outbox : outboxes) {
+      if (!outbox.sendBlockedLongerThan(timeoutNanos, now)) {
+        continue;
+      }
+      addReplacement();
+      if (outbox.abortBlockedSend(this::removeReplacement)) {
+        aborted.add(outbox);
+      } else {
+        removeReplacement();
+      }
+    }
+    return aborted;
+  }
+
+  /** Adds a thread standing in for one blocked in an aborted send. */
+  synchronized void addReplacement() {
+    replacements++;
+    executor.setMaximumPoolSize(baseThreads + replacements);
+    executor.setCorePoolSize(baseThreads + replacements);
+  }
+
+  /** Removes a replacement once the aborted send it stood in for has returned. */
+  synchronized void removeReplacement() {
+    replacements = Math.max(0, replacements - 1);
+    executor.setCorePoolSize(baseThreads + replacements);
+    executor.setMaximumPoolSize(baseThreads + replacements);
+  }
+
+  synchronized int replacements() {
+    return replacements;
+  }
+
+  void shutdownNow() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,27 @@
+package com.cloudradar.dashboard.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+/**
+ * Pre-encoded Server-Sent Event shared by every subscriber of a broadcast.
+ *
+ * <p>The JSON payload and SSE framing are serialized once; per-client delivery only copies bytes.
+ */
+record SseFrame(String eventName, byte[] bytes, long encodedAtNanos) {
+
+  static SseFrame encode(ObjectMapper objectMapper, String eventName, Object payload)
+      throws JsonProcessingException {
+    String json = objectMapper.writeValueAsString(payload);
+    String frame = "event:" + eventName + "\ndata:" + json + "\n\n";
+    return new SseFrame(eventName, frame.getBytes(StandardCharsets.UTF_8), System.nanoTime());
+  }
+
+  Set<DataWithMediaType> asEmitterData() {
+    return Set.of(new DataWithMediaType(bytes, MediaType.TEXT_EVENT_STREAM));
+  }
+}
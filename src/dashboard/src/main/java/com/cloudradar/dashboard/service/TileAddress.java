@@ -0,0 +1,38 @@
+package com.cloudradar.dashboard.service;
+
+import com.cloudradar.dashboard.api.BadRequestException;
+import com.cloudradar.dashboard.model.Bbox;
+
+/**
+ * Web-Mercator (slippy map) tile address.
+ *
+ * @param z zoom level
+ * @param x column, {@code 0..2^z-1} from the antimeridian eastwards
+ * @param y row, {@code 0..2^z-1} from the north edge southwards
+ */
+record TileAddress(int z, int x, int y) {
+
+  static TileAddress of(int z, int x, int y, int maxZoom) {
+    if (z < 0 || z > maxZoom) {
+      throw new BadRequestException("tile zoom must be between 0 and " + maxZoom);
+    }
+    int tiles = 1 << z;
+    if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+      throw new BadRequestException("tile x/y must be between 0 and " + (tiles - 1) + " at zoom " + z);
+    }
+    return new TileAddress(z, x, y);
+  }
+
+  Bbox bbox() {
+    double tiles = 1 << z;
+    return new Bbox(lon(x, tiles), lat(y + 1, tiles), lon(x + 1, tiles), lat(y, tiles));
+  }
+
+  private static double lon(int x, double tiles) {
+    return x / tiles * 360.0 - 180.0;
+  }
+
+  private static double lat(int y, double tiles) {
+    return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1.0 - 2.0 * y / tiles))));
+  }
+}
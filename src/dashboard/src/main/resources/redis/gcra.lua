@@ -0,0 +1,34 @@
+-- GCRA (generic cell rate algorithm) check over one or more keys, all or nothing.
+-- KEYS: theoretical-arrival-time keys (epoch ms) that must all admit the request.
+-- ARGV[1]: emission interval (ms); ARGV[2]: burst; ARGV[3]: reserve (slots that must stay free,
+-- counting the last intervals the key sat idle, so it also works with a burst of 1);
+-- ARGV[4]: '1' to evaluate without recording.
+-- Returns {allowed (0|1), retry_after_ms}. Uses the Redis clock so replicas share one time base.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local interval = tonumber(ARGV[1])
+local burst = tonumber(ARGV[2])
+local reserve = tonumber(ARGV[3])
+local peek = ARGV[4] == '1'
+local tolerance = interval * burst
+
+local next_tats = {}
+local retry_after = 0
+for i, key in ipairs(KEYS) do
+  local stored = tonumber(redis.call('GET', key)) or 0
+  next_tats[i] = math.max(stored, now) + interval
+  local wait = math.max(stored, now - reserve * interval) + interval + reserve * interval - tolerance - now
+  if wait > retry_after then
+    retry_after = wait
+  end
+end
+
+if retry_after > 0 then
+  return {0, retry_after}
+end
+if not peek then
+  for i, key in ipairs(KEYS) do
+    redis.call('SET', key, next_tats[i], 'PX', next_tats[i] - now)
+  end
+end
+return {1, 0}
@@ -1,5 +1,6 @@
 package com.cloudradar.dashboard.api;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -9,15 +10,20 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.cloudradar.dashboard.model.BboxBoostStatusResponse;
+import com.cloudradar.dashboard.model.FlightColumnarResponse;
+import com.cloudradar.dashboard.model.FlightDensityResponse;
 import com.cloudradar.dashboard.model.FlightDetailResponse;
 import com.cloudradar.dashboard.model.FlightListResponse;
 import com.cloudradar.dashboard.model.FlightMapItem;
+import com.cloudradar.dashboard.model.FlightPhoto;
 import com.cloudradar.dashboard.model.FlightTrackPoint;
 import com.cloudradar.dashboard.model.FlightsMetricsResponse;
 import com.cloudradar.dashboard.rate.ApiRateLimitFilter;
 import com.cloudradar.dashboard.service.BboxBoostService;
+import com.cloudradar.dashboard.service.FlightPhotoQueryService;
 import com.cloudradar.dashboard.service.FlightQueryService;
 import com.cloudradar.dashboard.service.FlightUpdateStreamService;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -27,6 +33,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @WebMvcTest(controllers = DashboardController.class)
@@ -38,6 +45,7 @@ class DashboardControllerTest {
   @MockBean private FlightQueryService flightQueryService;
   @MockBean private FlightUpdateStreamService flightUpdateStreamService;
   @MockBean private BboxBoostService bboxBoostService;
+  @MockBean private FlightPhotoQueryService flightPhotoQueryService;
   @MockBean private ApiRateLimitFilter apiRateLimitFilter;
 
   @Test
@@ -79,6 +87,36 @@ class DashboardControllerTest {
         .andExpect(jsonPath("$.items[0].icao24").value("abc123"));
   }
 
+  @Test
+  void listFlights_columnarAccept_returnsColumnarJson() throws Exception {
+    when(flightQueryService.listFlightsColumnar(
+        eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null)))
+            .thenReturn(columnarPayload());
+
+    mockMvc.perform(get("/api/flights").accept(DashboardController.COLUMNAR_JSON_VALUE))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(DashboardController.COLUMNAR_JSON_VALUE))
+        .andExpect(jsonPath("$.format").value("columnar-v1"))
+        .andExpect(jsonPath("$.columns.icao24[0]").value("abc123"))
+        .andExpect(jsonPath("$.columns.lat[0]").value(4885000));
+  }
+
+  @Test
+  void listFlights_cborAccept_returnsBinaryColumnarPayload() throws Exception {
+    when(flightQueryService.listFlightsColumnar(
+        eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null)))
+            .thenReturn(columnarPayload());
+
+    MvcResult result = mockMvc.perform(get("/api/flights").accept(DashboardController.COLUMNAR_CBOR_VALUE))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(DashboardController.COLUMNAR_CBOR_VALUE))
+        .andReturn();
+
+    Map<?, ?> decoded = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), Map.class);
+    assertEquals("columnar-v1", decoded.get("format"));
+    assertEquals(List.of("abc123"), ((Map<?, ?>) decoded.get("columns")).get("icao24"));
+  }
+
   @Test
   void metrics_returns200() throws Exception {
     FlightsMetricsResponse payload = new FlightsMetricsResponse(
@@ -105,6 +143,27 @@ class DashboardControllerTest {
         .andExpect(jsonPath("$.openSkyCreditsPerRequest24h").value(0.87));
   }
 
+  @Test
+  void density_returns200() throws Exception {
+    FlightDensityResponse payload = new FlightDensityResponse(
+        3,
+        1.40625,
+        1.40625,
+        2,
+        List.of(new FlightDensityResponse.Cell("u09", 48.5, 2.1, 2, 1, Map.of("commercial", 1, "military", 1))),
+        Map.of("minLon", 0.0, "minLat", 45.0, "maxLon", 10.0, "maxLat", 55.0),
+        101L,
+        "2026-02-13T12:00:00Z");
+
+    when(flightQueryService.getFlightDensity(eq(null), eq("3"))).thenReturn(payload);
+
+    mockMvc.perform(get("/api/flights/density").param("resolution", "3"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.cells[0].geohash").value("u09"))
+        .andExpect(jsonPath("$.cells[0].fleet.military").value(1))
+        .andExpect(jsonPath("$.latestOpenSkyBatchEpoch").value(101));
+  }
+
   @Test
   void detail_returns200() throws Exception {
     FlightDetailResponse payload = new FlightDetailResponse(
@@ -149,6 +208,15 @@ class DashboardControllerTest {
         .andExpect(jsonPath("$.error").value("not_found"));
   }
 
+  @Test
+  void photo_returnsLookupStatus() throws Exception {
+    when(flightPhotoQueryService.getFlightPhoto("abc123")).thenReturn(FlightPhoto.pending());
+
+    mockMvc.perform(get("/api/flights/abc123/photo"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("pending"));
+  }
+
   @Test
   void detail_invalidIcao24Path_returns404() throws Exception {
     mockMvc.perform(get("/api/flights/ZZZZZZ"))
@@ -219,4 +287,24 @@ class DashboardControllerTest {
         .andExpect(jsonPath("$.active").value(true))
         .andExpect(jsonPath("$.factor").value(2.0));
   }
+
+  private static FlightColumnarResponse columnarPayload() {
+    Integer[] one = {1};
+    return new FlightColumnarResponse(
+        "columnar-v1",
+        1,
+        1,
+        200,
+        Map.of("minLon", 0.0, "minLat", 45.0, "maxLon", 10.0, "maxLat", 55.0),
+        1760000000L,
+        "2026-02-13T12:00:00Z",
+        new FlightColumnarResponse.Quantization(100000, 10, 10, 1, 1760000000L),
+        Map.of("fleetType", List.of("commercial")),
+        new FlightColumnarResponse.Columns(
+            new String[] {"abc123"}, new String[] {"AFR123"},
+            new Integer[] {4885000}, new Integer[] {235000}, one, new Integer[] {0},
+            one, one, new Integer[] {0}, new Integer[] {0}, new Integer[] {0}, one,
+            new Integer[] {null}, new Integer[] {null}, new Integer[] {null},
+            new Integer[] {null}, new Integer[] {null}, new Integer[] {null}));
+  }
 }
@@ -0,0 +1,85 @@
+package com.cloudradar.dashboard.api;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.cloudradar.dashboard.model.FlightTile;
+import com.cloudradar.dashboard.rate.ApiRateLimitFilter;
+import com.cloudradar.dashboard.service.FlightQueryService;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(controllers = FlightTileController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class FlightTileControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @MockBean private FlightQueryService flightQueryService;
+  @MockBean private ApiRateLimitFilter apiRateLimitFilter;
+
+  @Test
+  void tile_returnsPreEncodedBodyWithEtag() throws Exception {
+    byte[] body = "{\"items\":[]}".getBytes(StandardCharsets.UTF_8);
+    when(flightQueryService.getFlightTile(eq(8), eq(129), eq(88), eq(false)))
+        .thenReturn(new FlightTile(body, false, "\"8-129-88-101\""));
+
+    mockMvc.perform(get("/api/flights/tiles/8/129/88"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"8-129-88-101\""))
+        .andExpect(header().doesNotExist("Content-Encoding"))
+        .andExpect(content().bytes(body));
+  }
+
+  @Test
+  void tile_setsContentEncodingWhenGzipIsServed() throws Exception {
+    when(flightQueryService.getFlightTile(eq(8), eq(129), eq(88), eq(true)))
+        .thenReturn(new FlightTile(new byte[] {31, -117, 8}, true, "\"8-129-88-101-gz\""));
+
+    mockMvc.perform(get("/api/flights/tiles/8/129/88").header("Accept-Encoding", "gzip, deflate"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Encoding", "gzip"))
+        .andExpect(header().string("Vary", "Accept-Encoding"));
+  }
+
+  @Test
+  void tile_servesIdentityWhenGzipHasZeroQuality() throws Exception {
+    byte[] body = "{\"items\":[]}".getBytes(StandardCharsets.UTF_8);
+    when(flightQueryService.getFlightTile(eq(8), eq(129), eq(88), eq(false)))
+        .thenReturn(new FlightTile(body, false, "\"8-129-88-101\""));
+
+    mockMvc.perform(get("/api/flights/tiles/8/129/88").header("Accept-Encoding", "br, gzip;q=0"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("Content-Encoding"))
+        .andExpect(content().bytes(body));
+  }
+
+  @Test
+  void acceptsGzip_readsCodingsCaseInsensitivelyAndHonoursQuality() {
+    assertTrue(FlightTileController.acceptsGzip("GZIP;Q=0.5"));
+    assertTrue(FlightTileController.acceptsGzip("deflate, x-gzip"));
+    assertFalse(FlightTileController.acceptsGzip("gzip;q=0.000"));
+    assertFalse(FlightTileController.acceptsGzip("gzipped, deflate"));
+    assertFalse(FlightTileController.acceptsGzip(null));
+  }
+
+  @Test
+  void tile_returns304WhenEtagMatches() throws Exception {
+    when(flightQueryService.getFlightTile(eq(8), eq(129), eq(88), eq(false)))
+        .thenReturn(new FlightTile(new byte[] {1}, false, "\"8-129-88-101\""));
+
+    mockMvc.perform(get("/api/flights/tiles/8/129/88").header("If-None-Match", "\"8-129-88-101\""))
+        .andExpect(status().isNotModified());
+  }
+}
@@ -0,0 +1,26 @@
+package com.cloudradar.dashboard.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class RedisCommandMetricsConfigTest {
+
+  private final RedisKeyFamilies families = RedisCommandMetricsConfig.keyFamilies(new DashboardProperties());
+
+  @Test
+  void mapsDashboardKeysToFamilies() {
+    assertEquals("last", family("cloudradar:aircraft:last"));
+    assertEquals("track", family("cloudradar:aircraft:track:abc123"));
+    assertEquals("activity_bucket", family("cloudradar:activity:bucket:1700000000"));
+    assertEquals("activity_rollup", family("cloudradar:activity:hour:1700000000:aircraft_hll"));
+    assertEquals("photo", family("cloudradar:photo:v1:abc123"));
+    assertEquals("rate_limit", family("cloudradar:ratelimit:api:client"));
+    assertEquals("bbox_boost", family("cloudradar:opensky:bbox:boost:cooldown:client"));
+    assertEquals("other", family("cloudradar:unknown"));
+  }
+
+  private String family(String key) {
+    return families.names().get(families.indexOf(key));
+  }
+}
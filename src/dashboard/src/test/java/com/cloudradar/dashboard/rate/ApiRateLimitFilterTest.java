@@ -0,0 +1,66 @@
+package com.cloudradar.dashboard.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cloudradar.dashboard.config.DashboardProperties;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ApiRateLimitFilterTest {
+
+  private DashboardProperties properties;
+  private RedisGcraRateLimiter redisLimiter;
+  private ApiRateLimitFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    properties = new DashboardProperties();
+    properties.getApi().getRateLimit().setBackend("redis");
+    redisLimiter = mock(RedisGcraRateLimiter.class);
+    filter = new ApiRateLimitFilter(properties, new InMemoryRateLimiter(properties), redisLimiter);
+  }
+
+  @Test
+  void redisBackendRejectsWithRetryAfterHeader() throws Exception {
+    when(redisLimiter.tryAcquire(any(GcraLimit.class), eq(List.of("cloudradar:ratelimit:api:203.0.113.7"))))
+        .thenReturn(new RateLimitDecision(false, 1_500L));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(apiRequest(), response, chain);
+
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+    assertThat(chain.getRequest()).isNull();
+  }
+
+  @Test
+  void redisBackendFailsOpenWhenRedisIsUnavailable() throws Exception {
+    when(redisLimiter.tryAcquire(any(GcraLimit.class), any()))
+        .thenThrow(new RedisConnectionFailureException("down"));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(apiRequest(), response, chain);
+
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(chain.getRequest()).isNotNull();
+    verify(redisLimiter).tryAcquire(any(GcraLimit.class), any());
+  }
+
+  private static MockHttpServletRequest apiRequest() {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/flights");
+    request.setRemoteAddr("203.0.113.7");
+    return request;
+  }
+}
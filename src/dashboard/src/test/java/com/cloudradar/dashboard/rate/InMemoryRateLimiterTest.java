@@ -0,0 +1,76 @@
+package com.cloudradar.dashboard.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class InMemoryRateLimiterTest {
+
+  private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+  @Test
+  void allowsBurstThenRefillsAtSteadyRate() {
+    InMemoryRateLimiter limiter = new InMemoryRateLimiter(100, clock::get);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(limiter.allow("10.0.0.1", 60, 3)).isTrue();
+    }
+    assertThat(limiter.allow("10.0.0.1", 60, 3)).isFalse();
+    assertThat(limiter.allow("10.0.0.2", 60, 3)).isTrue();
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+    assertThat(limiter.allow("10.0.0.1", 60, 3)).isTrue();
+    assertThat(limiter.allow("10.0.0.1", 60, 3)).isFalse();
+  }
+
+  @Test
+  void evictsRefilledClientsOnSweep() {
+    InMemoryRateLimiter limiter = new InMemoryRateLimiter(100, clock::get);
+    limiter.allow("10.0.0.1", 1, 5);
+    limiter.allow("10.0.0.2", 1, 5);
+    assertThat(limiter.trackedClients()).isEqualTo(2);
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    limiter.allow("10.0.0.3", 1, 5);
+
+    assertThat(limiter.trackedClients()).isEqualTo(1);
+    assertThat(limiter.evictions()).isEqualTo(2);
+  }
+
+  @Test
+  void admitsUntrackedClientsOnceCapIsReachedWithoutResettingThrottledOnes() {
+    InMemoryRateLimiter limiter = new InMemoryRateLimiter(1, clock::get);
+    assertThat(limiter.allow("10.0.0.1", 60, 1)).isTrue();
+    assertThat(limiter.allow("10.0.0.1", 60, 1)).isFalse();
+
+    assertThat(limiter.allow("10.0.0.2", 60, 1)).isTrue();
+    assertThat(limiter.allow("10.0.0.2", 60, 1)).isTrue();
+
+    assertThat(limiter.trackedClients()).isEqualTo(1);
+    assertThat(limiter.untrackedAdmissions()).isEqualTo(2);
+    assertThat(limiter.allow("10.0.0.1", 60, 1)).isFalse();
+  }
+
+  @Test
+  void doesNotSweepPerRequestAtCap() {
+    InMemoryRateLimiter limiter = new InMemoryRateLimiter(1, clock::get);
+    limiter.allow("10.0.0.1", 1, 5);
+
+    // 10.0.0.1 has refilled, but the next sweep is not due yet.
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    for (int i = 0; i < 3; i++) {
+      assertThat(limiter.allow("10.0.0.2", 1, 5)).isTrue();
+    }
+    assertThat(limiter.evictions()).isZero();
+    assertThat(limiter.untrackedAdmissions()).isEqualTo(3);
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+    limiter.allow("10.0.0.3", 1, 5);
+
+    assertThat(limiter.evictions()).isEqualTo(1);
+    assertThat(limiter.trackedClients()).isEqualTo(1);
+    assertThat(limiter.untrackedAdmissions()).isEqualTo(3);
+  }
+}
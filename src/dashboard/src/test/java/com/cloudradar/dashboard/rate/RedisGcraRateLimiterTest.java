@@ -0,0 +1,63 @@
+package com.cloudradar.dashboard.rate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class RedisGcraRateLimiterTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private StringRedisTemplate redisTemplate;
+  private RedisGcraRateLimiter limiter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    Metrics.addRegistry(meterRegistry);
+    redisTemplate = mock(StringRedisTemplate.class);
+    limiter = new RedisGcraRateLimiter(redisTemplate);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Metrics.removeRegistry(meterRegistry);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void recordsEveryDecisionOnOneTimerPerLimiterAndOutcome() {
+    when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+        .thenReturn(List.of(1L, 0L), List.of(1L, 0L), List.of(0L, 250L));
+    GcraLimit limit = GcraLimit.cooldown("timer-test", Duration.ofSeconds(1));
+
+    assertThat(limiter.tryAcquire(limit, List.of("k")).allowed()).isTrue();
+    assertThat(limiter.tryAcquire(limit, List.of("k")).allowed()).isTrue();
+    assertThat(limiter.tryAcquire(limit, List.of("k")).retryAfterMs()).isEqualTo(250L);
+
+    assertThat(
+            meterRegistry
+                .find("dashboard.ratelimit.decision.duration")
+                .tag("limiter", "timer-test")
+                .timers())
+        .hasSize(2);
+    assertThat(
+            meterRegistry
+                .get("dashboard.ratelimit.decision.duration")
+                .tags("limiter", "timer-test", "outcome", "allowed")
+                .timer()
+                .count())
+        .isEqualTo(2L);
+  }
+}
@@ -0,0 +1,44 @@
+package com.cloudradar.dashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class BackgroundRefreshedValueTest {
+
+  @Test
+  void servesStaleValueOnFailureUntilMaxStaleness() {
+    AtomicLong clock = new AtomicLong(1_000L);
+    AtomicReference<Optional<Double>> next = new AtomicReference<>(Optional.of(1.5));
+    BackgroundRefreshedValue<Double> value =
+        new BackgroundRefreshedValue<>("test_stale", next::get, 10_000L, clock::get);
+
+    value.refresh();
+    next.set(Optional.empty());
+    clock.addAndGet(5_000L);
+    value.refresh();
+    assertThat(value.get()).contains(1.5);
+
+    clock.addAndGet(6_000L);
+    assertThat(value.get()).isEmpty();
+  }
+
+  @Test
+  void treatsLoaderExceptionsAsFailedRefresh() {
+    BackgroundRefreshedValue<Double> value =
+        new BackgroundRefreshedValue<>(
+            "test_throwing",
+            () -> {
+              throw new IllegalStateException("boom");
+            },
+            10_000L,
+            () -> 0L);
+
+    value.refresh();
+
+    assertThat(value.get()).isEmpty();
+  }
+}
@@ -3,6 +3,7 @@ package com.cloudradar.dashboard.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -12,6 +13,10 @@ import com.cloudradar.dashboard.api.BadRequestException;
 import com.cloudradar.dashboard.api.TooManyRequestsException;
 import com.cloudradar.dashboard.config.DashboardProperties;
 import com.cloudradar.dashboard.model.BboxBoostStatusResponse;
+import com.cloudradar.dashboard.rate.GcraLimit;
+import com.cloudradar.dashboard.rate.RateLimitDecision;
+import com.cloudradar.dashboard.rate.RedisGcraRateLimiter;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +31,7 @@ class BboxBoostServiceTest {
   private StringRedisTemplate redisTemplate;
   private ValueOperations<String, String> valueOps;
   private DashboardProperties properties;
+  private RedisGcraRateLimiter rateLimiter;
   private BboxBoostService service;
 
   @BeforeEach
@@ -34,6 +40,9 @@ class BboxBoostServiceTest {
     valueOps = mock(ValueOperations.class);
     when(redisTemplate.opsForValue()).thenReturn(valueOps);
     when(redisTemplate.getExpire(any(String.class), eq(TimeUnit.SECONDS))).thenReturn(0L);
+    rateLimiter = mock(RedisGcraRateLimiter.class);
+    when(rateLimiter.peek(any(GcraLimit.class), anyList())).thenReturn(RateLimitDecision.allow());
+    when(rateLimiter.tryAcquire(any(GcraLimit.class), anyList())).thenReturn(RateLimitDecision.allow());
 
     properties = new DashboardProperties();
     properties.getApi().getBbox().setDefaultValue("1,2,3,4");
@@ -44,7 +53,7 @@ class BboxBoostServiceTest {
     properties.getBoost().setSecureCookie(true);
     properties.getBoost().setIpHashSalt("test-salt");
 
-    service = new BboxBoostService(redisTemplate, properties);
+    service = new BboxBoostService(redisTemplate, properties, rateLimiter);
   }
 
   @Test
@@ -67,7 +76,7 @@ class BboxBoostServiceTest {
   @Test
   void triggerBoostThrowsWhenDisabled() {
     properties.getBoost().setEnabled(false);
-    service = new BboxBoostService(redisTemplate, properties);
+    service = new BboxBoostService(redisTemplate, properties, rateLimiter);
 
     assertThatThrownBy(() -> service.triggerBoost(new MockHttpServletRequest(), new MockHttpServletResponse()))
         .isInstanceOf(BadRequestException.class)
@@ -76,7 +85,8 @@ class BboxBoostServiceTest {
 
   @Test
   void triggerBoostThrowsWhenCooldownActive() {
-    when(redisTemplate.getExpire(any(String.class), eq(TimeUnit.SECONDS))).thenReturn(120L);
+    when(rateLimiter.tryAcquire(any(GcraLimit.class), anyList()))
+        .thenReturn(new RateLimitDecision(false, 120_000L));
 
     assertThatThrownBy(() -> service.triggerBoost(new MockHttpServletRequest(), new MockHttpServletResponse()))
         .isInstanceOf(TooManyRequestsException.class)
@@ -103,9 +113,12 @@ class BboxBoostServiceTest {
     assertThat(status.factor()).isEqualTo(2.0);
     verify(valueOps).set(eq(activeKey), eq("1"), any());
 
-    ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
-    verify(valueOps, org.mockito.Mockito.atLeast(3)).set(keyCaptor.capture(), eq("1"), any());
-    assertThat(keyCaptor.getAllValues())
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<String>> keyCaptor = ArgumentCaptor.forClass(List.class);
+    ArgumentCaptor<GcraLimit> limitCaptor = ArgumentCaptor.forClass(GcraLimit.class);
+    verify(rateLimiter).tryAcquire(limitCaptor.capture(), keyCaptor.capture());
+    assertThat(limitCaptor.getValue().burst()).isEqualTo(1);
+    assertThat(keyCaptor.getValue())
         .anySatisfy(key -> assertThat(key).startsWith(properties.getBoost().getCooldownPrefix() + "cookie:"))
         .anySatisfy(key -> assertThat(key).startsWith(properties.getBoost().getCooldownPrefix() + "ip:"));
   }
@@ -113,7 +126,7 @@ class BboxBoostServiceTest {
   @Test
   void statusClampsFactorBelowOneAndScalesBboxWhenActive() {
     properties.getBoost().setFactor(0.5);
-    service = new BboxBoostService(redisTemplate, properties);
+    service = new BboxBoostService(redisTemplate, properties, rateLimiter);
 
     when(redisTemplate.getExpire(any(String.class), eq(TimeUnit.SECONDS)))
         .thenAnswer(invocation -> {
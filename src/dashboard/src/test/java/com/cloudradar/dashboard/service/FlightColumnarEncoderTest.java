@@ -0,0 +1,78 @@
+package com.cloudradar.dashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.cloudradar.dashboard.model.FlightColumnarResponse;
+import com.cloudradar.dashboard.model.FlightListResponse;
+import com.cloudradar.dashboard.model.FlightMapItem;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class FlightColumnarEncoderTest {
+
+  private final FlightColumnarEncoder encoder = new FlightColumnarEncoder();
+
+  @Test
+  void encode_quantizesNumbersAndOffsetsLastSeen() {
+    FlightColumnarResponse response = encoder.encode(list(
+        item("abc123", 48.856613, 2.352222, 1760000010L, "commercial", "medium", false),
+        item("def456", 43.604652, 1.444209, 1760000000L, "military", "heavy", true)));
+
+    FlightColumnarResponse.Columns columns = response.columns();
+    assertEquals("columnar-v1", response.format());
+    assertEquals(1760000000L, response.quantization().lastSeenBase());
+    assertArrayEquals(new String[] {"abc123", "def456"}, columns.icao24());
+    assertArrayEquals(new Integer[] {4885661, 4360465}, columns.lat());
+    assertArrayEquals(new Integer[] {235222, 144421}, columns.lon());
+    assertArrayEquals(new Integer[] {10, 0}, columns.lastSeen());
+    assertArrayEquals(new Integer[] {2205, 2205}, columns.speed());
+    assertArrayEquals(new Integer[] {0, 1}, columns.militaryHint());
+  }
+
+  @Test
+  void encode_usesStableDictionariesAndAppendsUnknownLabels() {
+    FlightColumnarResponse response = encoder.encode(list(
+        item("abc123", 48.0, 2.0, 1760000000L, "military", "heavy", null),
+        item("def456", 43.0, 1.0, 1760000000L, "glider", null, null)));
+
+    List<String> fleetTypes = response.dictionaries().get("fleetType");
+    assertEquals(List.of("commercial", "military", "rescue", "private", "unknown", "glider"), fleetTypes);
+    assertArrayEquals(new Integer[] {1, 5}, response.columns().fleetType());
+    assertArrayEquals(new Integer[] {3, null}, response.columns().aircraftSize());
+    assertArrayEquals(new Integer[] {0, 0}, response.columns().airframeType());
+    assertArrayEquals(new Integer[] {null, null}, response.columns().militaryHint());
+  }
+
+  @Test
+  void encode_keepsNullsForMissingValues() {
+    FlightColumnarResponse response = encoder.encode(list(
+        new FlightMapItem("abc123", null, 48.0, 2.0, null, null, null, null, null,
+            "unknown", "unknown", "unknown", null, null, null, null, null, null)));
+
+    assertNull(response.quantization().lastSeenBase());
+    assertNull(response.columns().lastSeen()[0]);
+    assertNull(response.columns().heading()[0]);
+    assertNull(response.columns().prevLat()[0]);
+    assertEquals(1, response.count());
+  }
+
+  private static FlightListResponse list(FlightMapItem... items) {
+    return new FlightListResponse(
+        List.of(items),
+        items.length,
+        items.length,
+        200,
+        Map.of("minLon", 0.0, "minLat", 40.0, "maxLon", 10.0, "maxLat", 50.0),
+        1760000000L,
+        "2026-02-13T12:00:00Z");
+  }
+
+  private static FlightMapItem item(
+      String icao24, double lat, double lon, long lastSeen, String fleetType, String size, Boolean military) {
+    return new FlightMapItem(icao24, "CALL", lat, lon, 90.0, lastSeen, 220.46, 10500.4, military,
+        "airplane", fleetType, size, null, null, null, null, null, null);
+  }
+}
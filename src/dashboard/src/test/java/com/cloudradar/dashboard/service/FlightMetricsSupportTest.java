@@ -2,7 +2,10 @@ package com.cloudradar.dashboard.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.cloudradar.dashboard.config.DashboardProperties;
@@ -14,10 +17,13 @@ import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 @ExtendWith(MockitoExtension.class)
@@ -58,8 +64,7 @@ class FlightMetricsSupportTest {
 
   @Test
   void activitySeriesFromEventBuckets_returnsFixedBucketCountForEmptyWindow() {
-    when(redisTemplate.opsForHash()).thenReturn(hashOperations);
-    when(redisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
+    RedisPipelineStubs.replayThrough(redisTemplate, hashOperations, hyperLogLogOperations);
     when(hashOperations.entries(anyString())).thenReturn(Map.of());
     when(hyperLogLogOperations.size(anyString())).thenReturn(0L);
 
@@ -70,6 +75,52 @@ class FlightMetricsSupportTest {
     assertTrue(series.stream().allMatch(bucket -> bucket.eventsTotal() == 0));
   }
 
+  @Test
+  void activitySeriesFromEventBuckets_pipelinesMinutesAndCachesClosedOnes() {
+    RedisPipelineStubs.replayThrough(redisTemplate, hashOperations, hyperLogLogOperations);
+    when(hashOperations.entries(anyString())).thenReturn(Map.of("events_total", "2", "events_military", "1"));
+    when(hyperLogLogOperations.size(anyString())).thenReturn(1L);
+
+    List<FlightsMetricsResponse.TimeBucket> first =
+        support.activitySeriesFromEventBuckets(Duration.ofMinutes(30), 12);
+    int firstReads = Mockito.mockingDetails(hashOperations).getInvocations().size();
+    List<FlightsMetricsResponse.TimeBucket> second =
+        support.activitySeriesFromEventBuckets(Duration.ofMinutes(30), 12);
+    int secondReads = Mockito.mockingDetails(hashOperations).getInvocations().size() - firstReads;
+
+    verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+    assertTrue(firstReads >= 30);
+    assertTrue(secondReads <= 2, "only open minutes should be re-read, got " + secondReads);
+    assertEquals(
+        first.stream().mapToInt(FlightsMetricsResponse.TimeBucket::eventsTotal).sum(),
+        second.stream().mapToInt(FlightsMetricsResponse.TimeBucket::eventsTotal).sum());
+  }
+
+  @Test
+  void activitySeriesFromEventBuckets_readsHourRollupsForWideBuckets() {
+    RedisPipelineStubs.replayThrough(redisTemplate, hashOperations, hyperLogLogOperations);
+    when(hashOperations.entries(anyString())).thenReturn(Map.of("events_total", "60"));
+    when(hyperLogLogOperations.size(anyString())).thenReturn(0L);
+
+    List<FlightsMetricsResponse.TimeBucket> series =
+        support.activitySeriesFromEventBuckets(Duration.ofHours(48), 48);
+
+    ArgumentCaptor<String> hashKeys = ArgumentCaptor.forClass(String.class);
+    verify(hashOperations, Mockito.atLeastOnce()).entries(hashKeys.capture());
+    ArgumentCaptor<String> hllKeys = ArgumentCaptor.forClass(String.class);
+    verify(hyperLogLogOperations, Mockito.atLeastOnce()).size(hllKeys.capture());
+
+    assertEquals(48, series.size());
+    int hoursRead = hashKeys.getAllValues().size();
+    // 48 full hours plus the open one unless the leading hour lies mostly before the window.
+    assertTrue(hoursRead == 48 || hoursRead == 49, "hours read: " + hoursRead);
+    assertTrue(hashKeys.getAllValues().stream().allMatch(key -> key.startsWith("cloudradar:activity:hour:")));
+    assertEquals(hoursRead * 60, series.stream().mapToInt(FlightsMetricsResponse.TimeBucket::eventsTotal).sum());
+    // The open hour is not rolled up yet, so its minute HLLs are unioned with the hour HLL.
+    assertTrue(hllKeys.getAllValues().stream().anyMatch(key -> key.startsWith("cloudradar:activity:hour:")));
+    assertTrue(hllKeys.getAllValues().stream().anyMatch(key -> key.matches("cloudradar:activity:\\d+:aircraft_hll")));
+  }
+
   @Test
   void mathHelpers_roundAsExpected() {
     assertEquals(33.33, FlightMetricsSupport.round2(33.333));
@@ -100,6 +151,7 @@ class FlightMetricsSupportTest {
             null,
             null,
             null,
+            null,
             null),
         null,
         null,
@@ -69,7 +69,8 @@ class FlightQueryServiceRedisIntegrationTest {
             properties,
             Optional.empty(),
             Optional.empty(),
-            Optional.empty());
+            Optional.empty(),
+            new FlightBatchEpochTracker());
 
     Map<String, Object> latestEvent =
         Map.ofEntries(
@@ -4,23 +4,28 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.lenient;
 
 import com.cloudradar.dashboard.aircraft.AircraftMetadata;
 import com.cloudradar.dashboard.aircraft.AircraftMetadataRepository;
+import com.cloudradar.dashboard.api.BadRequestException;
 import com.cloudradar.dashboard.config.DashboardProperties;
+import com.cloudradar.dashboard.model.FlightDensityResponse;
 import com.cloudradar.dashboard.model.FlightDetailResponse;
 import com.cloudradar.dashboard.model.FlightListResponse;
 import com.cloudradar.dashboard.model.FlightMapItem;
 import com.cloudradar.dashboard.model.FlightPhoto;
+import com.cloudradar.dashboard.model.FlightTile;
 import com.cloudradar.dashboard.model.FlightsMetricsResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Duration;
@@ -30,16 +35,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.GeoOperations;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.HyperLogLogOperations;
 import org.springframework.data.redis.core.ListOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
 
 @ExtendWith(MockitoExtension.class)
 class FlightQueryServiceTest {
@@ -48,6 +58,9 @@ class FlightQueryServiceTest {
   @Mock private HashOperations<String, Object, Object> hashOperations;
   @Mock private HyperLogLogOperations<String, String> hyperLogLogOperations;
   @Mock private ListOperations<String, String> listOperations;
+  @Mock private ZSetOperations<String, String> zSetOperations;
+  @Mock private GeoOperations<String, String> geoOperations;
+  @Mock private ValueOperations<String, String> valueOperations;
   @Mock private AircraftMetadataRepository aircraftRepository;
   @Mock private PlanespottersPhotoService planespottersPhotoService;
 
@@ -73,12 +86,15 @@ class FlightQueryServiceTest {
     lenient().when(redisTemplate.opsForHash()).thenReturn(hashOperations);
     lenient().when(redisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
     lenient().when(redisTemplate.opsForList()).thenReturn(listOperations);
+    lenient().when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    lenient().when(redisTemplate.opsForGeo()).thenReturn(geoOperations);
+    lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    RedisPipelineStubs.replayThrough(redisTemplate, hashOperations, hyperLogLogOperations);
   }
 
   @Test
   void listFlights_usesRedisScanAndReturnsSortedLimitedItems() {
-    FlightQueryService service =
-        new FlightQueryService(redisTemplate, objectMapper, properties, Optional.empty(), Optional.empty(), Optional.empty());
+    FlightQueryService service = newService();
 
     List<Map.Entry<Object, Object>> entries = List.of(
         Map.entry("abc001", eventJson("abc001", 1700000001L, 120.0, 1000.0, false)),
@@ -104,8 +120,7 @@ class FlightQueryServiceTest {
 
   @Test
   void listFlights_keepsOnlyLatestEventPerNormalizedIcao24() {
-    FlightQueryService service =
-        new FlightQueryService(redisTemplate, objectMapper, properties, Optional.empty(), Optional.empty(), Optional.empty());
+    FlightQueryService service = newService();
 
     List<Map.Entry<Object, Object>> entries = List.of(
         Map.entry("abc123", eventJson("abc123", 1700000001L, 120.0, 1000.0, false)),
@@ -128,8 +143,7 @@ class FlightQueryServiceTest {
 
   @Test
   void listFlights_keepsLatestAndTwoPreviousOpenSkyBatches() {
-    FlightQueryService service =
-        new FlightQueryService(redisTemplate, objectMapper, properties, Optional.empty(), Optional.empty(), Optional.empty());
+    FlightQueryService service = newService();
 
     List<Map.Entry<Object, Object>> entries = List.of(
         Map.entry("abc001", eventJson("abc001", 1700000001L, 120.0, 1000.0, false, 101L)),
@@ -171,7 +185,8 @@ class FlightQueryServiceTest {
             properties,
             Optional.of(aircraftRepository),
             Optional.empty(),
-            Optional.empty());
+            Optional.empty(),
+            new FlightBatchEpochTracker());
 
     List<Map.Entry<Object, Object>> entries = List.of(
         Map.entry("abc123", eventJson("abc123", 1700000003L, 180.0, 2000.0, false))
@@ -215,7 +230,8 @@ class FlightQueryServiceTest {
             properties,
             Optional.of(aircraftRepository),
             Optional.empty(),
-            Optional.empty());
+            Optional.empty(),
+            new FlightBatchEpochTracker());
 
     List<Map.Entry<Object, Object>> entries = List.of(
         Map.entry("39ac17", eventJson("39ac17", 1700000003L, 133.0, 495.3, false, null, "SAMUIDF"))
@@ -256,7 +272,8 @@ class FlightQueryServiceTest {
             properties,
             Optional.of(aircraftRepository),
             Optional.empty(),
-            Optional.of(planespottersPhotoService));
+            Optional.of(planespottersPhotoService),
+            new FlightBatchEpochTracker());
 
     when(hashOperations.get("cloudradar:aircraft:last", "abc123"))
         .thenReturn(eventJson("abc123", 1700000000L, 210.0, 3200.0, false));
@@ -276,7 +293,7 @@ class FlightQueryServiceTest {
             false,
             2011,
             "Air France")));
-    when(planespottersPhotoService.resolvePhoto("abc123", "F-GKXA"))
+    when(planespottersPhotoService.lookupPhoto("abc123", "F-GKXA"))
         .thenReturn(FlightPhoto.available(
             "https://cdn.planespotters.net/test-small.jpg",
             200,
@@ -309,7 +326,8 @@ class FlightQueryServiceTest {
             properties,
             Optional.of(aircraftRepository),
             Optional.empty(),
-            Optional.empty());
+            Optional.empty(),
+            new FlightBatchEpochTracker());
 
     long now = Instant.now().getEpochSecond();
     List<Map.Entry<Object, Object>> entries = List.of(
@@ -377,10 +395,88 @@ class FlightQueryServiceTest {
     assertTrue(response.activityBucketSeconds() > 0);
   }
 
+  @Test
+  void getFlightsMetrics_defaultViewReadsProcessorFleetAggregate() {
+    FlightQueryService service = newService();
+    when(hashOperations.entries(anyString())).thenReturn(Map.of());
+    Map<Object, Object> aggregate = Map.of(
+        "bbox", "0.0,45.0,10.0,55.0",
+        "generated_at_ms", Long.toString(System.currentTimeMillis()),
+        "metadata", "true",
+        "active", "4",
+        "military", "1",
+        "fleet:military", "1",
+        "fleet:commercial", "3",
+        "size:large", "3",
+        "type:A320", "3",
+        "type:F16", "1");
+    when(hashOperations.entries("cloudradar:aircraft:fleet:86400")).thenReturn(aggregate);
+
+    FlightsMetricsResponse response = service.getFlightsMetrics(null, "24h");
+
+    assertEquals(4, response.activeAircraft());
+    assertEquals(25.0, response.militarySharePercent());
+    assertEquals("commercial", response.fleetBreakdown().get(0).key());
+    assertEquals(3, response.fleetBreakdown().get(0).count());
+    assertEquals(0, response.fleetBreakdown().get(2).count());
+    assertEquals("A320", response.aircraftTypes().get(0).key());
+    assertEquals(75.0, response.aircraftSizes().get(2).percent());
+    verify(hashOperations, never()).scan(anyString(), any());
+  }
+
+  @Test
+  void getFlightsMetrics_answersWithoutActivitySeriesWhenItsBranchMissesTheDeadline() throws Exception {
+    properties.getQuery().setBranchTimeoutMs(20L);
+    FlightQueryService service = newService();
+    CountDownLatch releaseActivity = new CountDownLatch(1);
+    when(hashOperations.entries(anyString())).thenAnswer(invocation -> {
+      String key = invocation.getArgument(0);
+      if (key.startsWith("cloudradar:activity:bucket:")) {
+        releaseActivity.await(5, TimeUnit.SECONDS);
+        return Map.of();
+      }
+      if ("cloudradar:aircraft:fleet:86400".equals(key)) {
+        return Map.of(
+            "bbox", "0.0,45.0,10.0,55.0",
+            "generated_at_ms", Long.toString(System.currentTimeMillis()),
+            "active", "4",
+            "fleet:commercial", "4");
+      }
+      return Map.of();
+    });
+
+    try {
+      FlightsMetricsResponse response = service.getFlightsMetrics(null, "24h");
+
+      assertEquals(4, response.activeAircraft());
+      assertEquals(4, response.fleetBreakdown().get(0).count());
+      assertTrue(response.activitySeries().isEmpty());
+      assertEquals(86_400 / 48, response.activityBucketSeconds());
+    } finally {
+      releaseActivity.countDown();
+    }
+  }
+
+  @Test
+  void getFlightsMetrics_aggregateForAnotherBbox_countsSnapshots() {
+    FlightQueryService service = newService();
+    when(hashOperations.entries(anyString())).thenReturn(Map.of(
+        "bbox", "1.0,45.0,10.0,55.0",
+        "generated_at_ms", Long.toString(System.currentTimeMillis()),
+        "active", "4"));
+    long now = Instant.now().getEpochSecond();
+    Cursor<Map.Entry<Object, Object>> cursor =
+        cursorOf(List.of(Map.entry("unk001", eventJson("unk001", now - 100, 160.0, 2700.0, false))));
+    when(hashOperations.scan(anyString(), any())).thenReturn(cursor);
+
+    FlightsMetricsResponse response = service.getFlightsMetrics(null, "24h");
+
+    assertEquals(1, response.activeAircraft());
+  }
+
   @Test
   void getFlightsMetrics_aggregatesMinuteBucketsIntoDisplayBuckets() {
-    FlightQueryService service =
-        new FlightQueryService(redisTemplate, objectMapper, properties, Optional.empty(), Optional.empty(), Optional.empty());
+    FlightQueryService service = newService();
     properties.getApi().setMetricsBucketCount(12);
 
     Cursor<Map.Entry<Object, Object>> cursor = cursorOf(List.of());
@@ -479,6 +575,136 @@ class FlightQueryServiceTest {
             && bucket.hasData()));
   }
 
+  @Test
+  void getFlightDensity_groupsAircraftIntoGeohashCellsAndCachesPerBatch() {
+    FlightQueryService service =
+        new FlightQueryService(
+            redisTemplate,
+            objectMapper,
+            properties,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            trackerAt(101L));
+
+    List<Map.Entry<Object, Object>> entries = List.of(
+        Map.entry("abc001", eventJson("abc001", 1700000001L, 120.0, 1000.0, false, 101L)),
+        Map.entry("abc002", eventJson("abc002", 1700000002L, 180.0, 2000.0, false, 101L)));
+    when(hashOperations.scan(anyString(), any())).thenReturn(cursorOf(entries));
+
+    FlightDensityResponse first = service.getFlightDensity(null, "3");
+    FlightDensityResponse second = service.getFlightDensity(null, "3");
+
+    assertEquals(2, first.totalAircraft());
+    assertEquals(1, first.cells().size());
+    FlightDensityResponse.Cell cell = first.cells().get(0);
+    assertEquals("u09", cell.geohash());
+    assertEquals(2, cell.count());
+    assertEquals(Map.of("unknown", 2), cell.fleet());
+    assertEquals(101L, first.latestOpenSkyBatchEpoch());
+    assertTrue(first == second);
+    verify(hashOperations, times(1)).scan(eq("cloudradar:aircraft:last"), any());
+  }
+
+  @Test
+  void getFlightDensity_acceptsBboxesBeyondTheFlightListAreaCap() {
+    properties.getApi().getBbox().setDensityMaxAreaDeg2(700.0);
+    FlightQueryService service =
+        new FlightQueryService(
+            redisTemplate,
+            objectMapper,
+            properties,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            trackerAt(101L));
+
+    List<Map.Entry<Object, Object>> entries = List.of(
+        Map.entry("abc001", eventJson("abc001", 1700000001L, 120.0, 1000.0, false, 101L)));
+    when(hashOperations.scan(anyString(), any())).thenReturn(cursorOf(entries));
+
+    // 30 x 20 = 600 deg2: above the 200 deg2 flight list cap, below the density cap.
+    FlightDensityResponse response = service.getFlightDensity("-10.0,40.0,20.0,60.0", "2");
+
+    assertEquals(1, response.totalAircraft());
+    assertThrows(
+        BadRequestException.class,
+        () -> service.listFlights("-10.0,40.0,20.0,60.0", null, null, null, null, null, null, null, null, null));
+    assertThrows(
+        BadRequestException.class, () -> service.getFlightDensity("-20.0,40.0,20.0,60.0", "2"));
+  }
+
+  @Test
+  void getFlightTile_serializesOncePerBatchAndServesGzipOnRequest() throws Exception {
+    FlightQueryService service =
+        new FlightQueryService(
+            redisTemplate,
+            objectMapper,
+            properties,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            trackerAt(101L));
+
+    List<Map.Entry<Object, Object>> entries = List.of(
+        Map.entry("abc001", eventJson("abc001", 1700000001L, 120.0, 1000.0, false, 101L)));
+    when(hashOperations.scan(anyString(), any())).thenReturn(cursorOf(entries));
+
+    // Tile 8/129/88 covers Paris (48.8566, 2.3522).
+    FlightTile plain = service.getFlightTile(8, 129, 88, false);
+    FlightTile gzip = service.getFlightTile(8, 129, 88, true);
+
+    FlightListResponse decoded = objectMapper.readValue(plain.body(), FlightListResponse.class);
+    assertEquals(1, decoded.count());
+    assertEquals("\"8-129-88-101\"", plain.etag());
+    assertTrue(gzip.gzip());
+    try (java.util.zip.GZIPInputStream in =
+        new java.util.zip.GZIPInputStream(new java.io.ByteArrayInputStream(gzip.body()))) {
+      assertTrue(java.util.Arrays.equals(plain.body(), in.readAllBytes()));
+    }
+    verify(hashOperations, times(1)).scan(eq("cloudradar:aircraft:last"), any());
+  }
+
+  @Test
+  void getFlightTile_cachesEmptyTileUnderTrackerEpoch() {
+    FlightQueryService service =
+        new FlightQueryService(
+            redisTemplate,
+            objectMapper,
+            properties,
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty(),
+            trackerAt(101L));
+
+    when(hashOperations.scan(anyString(), any())).thenReturn(cursorOf(List.of()));
+
+    FlightTile first = service.getFlightTile(8, 129, 88, false);
+    FlightTile second = service.getFlightTile(8, 129, 88, false);
+
+    assertEquals("\"8-129-88-101\"", first.etag());
+    assertEquals(first.etag(), second.etag());
+    assertTrue(first.body() == second.body());
+    verify(hashOperations, times(1)).scan(eq("cloudradar:aircraft:last"), any());
+  }
+
+  private FlightQueryService newService() {
+    return new FlightQueryService(
+        redisTemplate,
+        objectMapper,
+        properties,
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty(),
+        new FlightBatchEpochTracker());
+  }
+
+  private static FlightBatchEpochTracker trackerAt(long batchEpoch) {
+    FlightBatchEpochTracker tracker = new FlightBatchEpochTracker();
+    tracker.observe(batchEpoch);
+    return tracker;
+  }
+
   private Cursor<Map.Entry<Object, Object>> cursorOf(List<Map.Entry<Object, Object>> entries) {
     return new ListBackedCursor(entries);
   }
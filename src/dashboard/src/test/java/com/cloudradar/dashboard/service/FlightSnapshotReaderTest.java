@@ -4,32 +4,57 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.cloudradar.dashboard.aircraft.AircraftMetadataRepository;
 import com.cloudradar.dashboard.config.DashboardProperties;
 import com.cloudradar.dashboard.model.Bbox;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.connection.RedisGeoCommands.GeoLocation;
 import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.GeoOperations;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.HyperLogLogOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.domain.geo.BoundingBox;
+import org.springframework.data.redis.domain.geo.GeoReference;
 
 @ExtendWith(MockitoExtension.class)
 class FlightSnapshotReaderTest {
 
   @Mock private StringRedisTemplate redisTemplate;
   @Mock private HashOperations<String, Object, Object> hashOperations;
+  @Mock private ZSetOperations<String, String> zSetOperations;
+  @Mock private GeoOperations<String, String> geoOperations;
+  @Mock private HyperLogLogOperations<String, String> hyperLogLogOperations;
+  @Mock private ValueOperations<String, String> valueOperations;
   @Mock private AircraftMetadataRepository aircraftRepository;
 
+  private final FlightBatchEpochTracker batchEpochTracker = new FlightBatchEpochTracker();
   private FlightSnapshotReader reader;
+  private final long now = 1_700_000_100_000L;
 
   @BeforeEach
   void setUp() {
@@ -42,7 +67,8 @@ class FlightSnapshotReaderTest {
     properties.getApi().getBbox().setAllowedLatMax(60.0);
     properties.getApi().getBbox().setMaxAreaDeg2(200.0);
 
-    when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    lenient().when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+    lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
     FlightEventParser eventParser = new FlightEventParser(new ObjectMapper());
     FlightSnapshotCandidateCollector candidateCollector =
         new FlightSnapshotCandidateCollector(redisTemplate, properties, eventParser);
@@ -50,7 +76,11 @@ class FlightSnapshotReaderTest {
     FlightSnapshotEnricher snapshotEnricher =
         new FlightSnapshotEnricher(java.util.Optional.of(aircraftRepository), new FlightTaxonomy());
     FlightTrackReader trackReader = new FlightTrackReader(redisTemplate, properties, eventParser);
-    reader = new FlightSnapshotReader(candidateCollector, deduplicator, snapshotEnricher, trackReader);
+    FlightBatchSnapshotReader batchSnapshotReader = new FlightBatchSnapshotReader(
+        redisTemplate, new ObjectMapper(), properties, batchEpochTracker, () -> now);
+    FlightSnapshotLoader loader =
+        new FlightSnapshotLoader(candidateCollector, batchSnapshotReader, deduplicator, snapshotEnricher);
+    reader = new FlightSnapshotReader(loader, trackReader, batchEpochTracker);
   }
 
   @Test
@@ -68,6 +98,91 @@ class FlightSnapshotReaderTest {
     assertEquals(1, snapshots.size());
     assertEquals(100L, snapshots.get(0).event().openskyFetchEpoch());
     assertEquals(1700000020L, snapshots.get(0).event().lastContact());
+    assertEquals(100L, batchEpochTracker.latest());
+  }
+
+  @Test
+  void loadSnapshots_withSince_readsOnlyIndexedAircraft() {
+    when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    when(zSetOperations.rangeByScore("cloudradar:aircraft:last_contact", 1700000000.0, Double.POSITIVE_INFINITY))
+        .thenReturn(new LinkedHashSet<>(List.of("abc123", "def456", "swept1")));
+    when(hashOperations.multiGet("cloudradar:aircraft:last", List.of("abc123", "def456", "swept1")))
+        .thenReturn(Arrays.asList(
+            eventJson("abc123", 1700000020L, 100L), eventJson("def456", 1699999990L, 100L), null));
+    RedisPipelineStubs.replayThrough(redisTemplate, hashOperations, hyperLogLogOperations);
+
+    List<FlightSnapshot> snapshots =
+        reader.loadSnapshots(new Bbox(0.0, 45.0, 10.0, 55.0), 1700000000L, false, false);
+
+    assertEquals(1, snapshots.size());
+    assertEquals("abc123", snapshots.get(0).icao24());
+    verify(hashOperations, never()).scan(anyString(), any());
+  }
+
+  @Test
+  void loadSnapshots_withSinceAndNoIndex_scansHash() {
+    when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    when(zSetOperations.rangeByScore("cloudradar:aircraft:last_contact", 1700000000.0, Double.POSITIVE_INFINITY))
+        .thenReturn(Set.of());
+    when(redisTemplate.hasKey("cloudradar:aircraft:last_contact")).thenReturn(false);
+    when(hashOperations.scan(anyString(), any()))
+        .thenReturn(new ListBackedCursor(List.of(Map.entry("abc123", eventJson("abc123", 1700000020L, 100L)))));
+
+    List<FlightSnapshot> snapshots =
+        reader.loadSnapshots(new Bbox(0.0, 45.0, 10.0, 55.0), 1700000000L, false, false);
+
+    assertEquals(1, snapshots.size());
+  }
+
+  @Test
+  void loadSnapshots_smallBbox_readsAircraftFoundByGeoSearch() {
+    when(redisTemplate.opsForGeo()).thenReturn(geoOperations);
+    ArgumentCaptor<BoundingBox> box = ArgumentCaptor.forClass(BoundingBox.class);
+    when(geoOperations.search(eq("cloudradar:aircraft:geo"), any(GeoReference.class), box.capture()))
+        .thenReturn(new GeoResults<>(List.of(
+            new GeoResult<>(new GeoLocation<>("abc123", new Point(2.35, 48.85)), new Distance(0.0)),
+            new GeoResult<>(new GeoLocation<>("def456", new Point(2.0, 47.0)), new Distance(0.0)))));
+    when(hashOperations.multiGet("cloudradar:aircraft:last", List.of("abc123", "def456")))
+        .thenReturn(Arrays.asList(eventJson("abc123", 1700000020L, 100L), eventJson("def456", 1700000020L, 100L)));
+    RedisPipelineStubs.replayThrough(redisTemplate, hashOperations, hyperLogLogOperations);
+
+    List<FlightSnapshot> snapshots =
+        reader.loadSnapshots(new Bbox(2.0, 48.0, 3.0, 49.0), null, false, false);
+
+    // Both payloads sit at 48.8566,2.3522: the bbox is applied to the payload, not to the GEO hit.
+    assertEquals(2, snapshots.size());
+    assertTrue(box.getValue().getHeight().getValue() > 111.0);
+    assertTrue(box.getValue().getWidth().getValue() > 111.0 * Math.cos(Math.toRadians(49.0)));
+    verify(hashOperations, never()).scan(anyString(), any());
+  }
+
+  @Test
+  void loadSnapshots_recentBatchSnapshot_isFilteredInMemoryWithItsMetadata() {
+    when(valueOperations.get("cloudradar:aircraft:snapshot:v1")).thenReturn(batchSnapshotJson(now - 2_000L));
+
+    List<FlightSnapshot> snapshots =
+        reader.loadSnapshots(new Bbox(0.0, 45.0, 10.0, 55.0), null, true, false);
+
+    assertEquals(1, snapshots.size());
+    assertEquals(101L, snapshots.get(0).event().openskyFetchEpoch());
+    assertEquals("Large", snapshots.get(0).category());
+    assertEquals("A320", snapshots.get(0).typecode());
+    verify(hashOperations, never()).scan(anyString(), any());
+    verify(aircraftRepository, never()).findByIcao24(anyString());
+  }
+
+  @Test
+  void loadSnapshots_staleBatchSnapshot_scansHash() {
+    when(valueOperations.get("cloudradar:aircraft:snapshot:v1")).thenReturn(batchSnapshotJson(now - 600_000L));
+    Cursor<Map.Entry<Object, Object>> cursor =
+        new ListBackedCursor(List.of(Map.entry("abc123", eventJson("abc123", 1700000020L, 100L))));
+    when(hashOperations.scan(anyString(), any())).thenReturn(cursor);
+
+    List<FlightSnapshot> snapshots =
+        reader.loadSnapshots(new Bbox(0.0, 45.0, 10.0, 55.0), null, false, false);
+
+    assertEquals(1, snapshots.size());
+    assertEquals(100L, snapshots.get(0).event().openskyFetchEpoch());
   }
 
   @Test
@@ -78,6 +193,18 @@ class FlightSnapshotReaderTest {
     assertTrue(reader.loadLatestEvent("abc123").isPresent());
   }
 
+  /** Two batches of abc123 plus one aircraft outside the test bboxes. */
+  private static String batchSnapshotJson(long generatedAtMs) {
+    return "{\"version\":1,\"generated_at_ms\":" + generatedAtMs + ",\"metadata\":true,"
+        + "\"fields\":[\"icao24\",\"lat\",\"lon\",\"last_contact\",\"opensky_fetch_epoch\","
+        + "\"category\",\"country\",\"typecode\",\"military_hint\",\"owner_operator\"],"
+        + "\"rows\":["
+        + "[\"abc123\",48.85,2.35,1700000020,100,\"Large\",\"France\",\"a320\",false,null],"
+        + "[\"ABC123\",48.86,2.36,1700000030,101,\"Large\",\"France\",\"a320\",false,null],"
+        + "[\"def456\",30.0,2.35,1700000030,101,null,null,null,null,null]],"
+        + "\"batch_epoch\":101}";
+  }
+
   private String eventJson(String icao24, long lastContact, Long openskyFetchEpoch) {
     String fetchEpochField =
         openskyFetchEpoch == null ? "" : ",\"opensky_fetch_epoch\":" + openskyFetchEpoch;
@@ -7,6 +7,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.cloudradar.dashboard.model.FlightMapItem;
 import com.cloudradar.dashboard.model.PositionEvent;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
 
 class FlightTaxonomyTest {
 
@@ -33,6 +35,25 @@ class FlightTaxonomyTest {
     assertEquals("medium", taxonomy.aircraftSize(snapshot("med", "TEST", null, "A220", false, null)));
   }
 
+  /** Same cases as the processor's {@code FleetTaxonomyTest}, so both classifications agree. */
+  @ParameterizedTest
+  @CsvFileSource(files = "../../tests/fixtures/fleet-taxonomy.csv")
+  void classification_matchesSharedProcessorFixtures(
+      String category,
+      String typecode,
+      Boolean militaryHint,
+      String ownerOperator,
+      String callsign,
+      String fleetType,
+      String aircraftSize,
+      String typeLabel) {
+    FlightSnapshot snapshot = snapshot("abc123", callsign, category, typecode, militaryHint, ownerOperator);
+
+    assertEquals(fleetType, taxonomy.fleetType(snapshot));
+    assertEquals(aircraftSize, taxonomy.aircraftSize(snapshot));
+    assertEquals(typeLabel, taxonomy.aircraftTypeLabel(snapshot));
+  }
+
   @Test
   void toMapItem_mapsUnknownAirframeWhenMissing() {
     FlightSnapshot snapshot = snapshot("abc123", "CALL  ", null, null, null, null);
@@ -67,7 +88,8 @@ class FlightTaxonomyTest {
             88.0,
             118.0,
             980.0,
-            1L);
+            1L,
+            null);
     FlightSnapshot snapshot =
         new FlightSnapshot("abc123", event, "Commercial", "France", "A320", false, "airplane", null);
 
@@ -109,6 +131,7 @@ class FlightTaxonomyTest {
             null,
             null,
             null,
+            null,
             null);
 
     return new FlightSnapshot(
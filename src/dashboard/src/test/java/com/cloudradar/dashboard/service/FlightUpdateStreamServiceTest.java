@@ -2,6 +2,7 @@ package com.cloudradar.dashboard.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -13,10 +14,14 @@ import com.cloudradar.dashboard.config.DashboardProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -78,6 +83,112 @@ class FlightUpdateStreamServiceTest {
     assertFalse(emitterSet(service).contains(emitter));
   }
 
+  @Test
+  void openStream_sendsPreEncodedSseFrames() throws Exception {
+    ScriptedEmitter emitter = ScriptedEmitter.healthy();
+    TestFlightUpdateStreamService service =
+        new TestFlightUpdateStreamService(redisTemplate, objectMapper, properties, emitter);
+    markStarted(service);
+    mockLatestBatchEpochScan(1760000000L);
+
+    service.openStream();
+
+    assertEquals(2, emitter.sendCalls);
+    String connected = frameText(emitter.sentItems.get(0));
+    String batchUpdate = frameText(emitter.sentItems.get(1));
+    assertTrue(connected.startsWith("event:connected\ndata:{"));
+    assertTrue(batchUpdate.startsWith("event:batch-update\ndata:{\"latestOpenSkyBatchEpoch\":1760000000"));
+    assertTrue(batchUpdate.endsWith("}\n\n"));
+    assertTrue(emitterSet(service).contains(emitter));
+  }
+
+  @Test
+  void outbox_dropsClientWhenCapacityExceeded() {
+    FlightStreamMetrics metrics = new FlightStreamMetrics();
+    ScriptedEmitter emitter = ScriptedEmitter.healthy();
+    SseClientOutbox outbox =
+        new SseClientOutbox(emitter, 2, Runnable::run, metrics, (box, event, ex) -> { });
+    SseFrame frame = new SseFrame("heartbeat", new byte[] {1}, System.nanoTime());
+
+    assertTrue(outbox.offer(frame));
+    assertTrue(outbox.offer(frame));
+    assertFalse(outbox.offer(frame));
+    assertEquals(2, outbox.depth());
+
+    outbox.abandon();
+
+    assertEquals(0, outbox.depth());
+    assertEquals(0, emitter.sendCalls);
+    assertTrue(emitter.completeCalled);
+    assertFalse(outbox.offer(frame));
+  }
+
+  @Test
+  void outbox_sharesOneFrameAcrossClients() {
+    FlightStreamMetrics metrics = new FlightStreamMetrics();
+    ScriptedEmitter first = ScriptedEmitter.healthy();
+    ScriptedEmitter second = ScriptedEmitter.healthy();
+    SseClientOutbox firstOutbox =
+        new SseClientOutbox(first, 4, Runnable::run, metrics, (box, event, ex) -> { });
+    SseClientOutbox secondOutbox =
+        new SseClientOutbox(second, 4, Runnable::run, metrics, (box, event, ex) -> { });
+    SseFrame frame = new SseFrame("heartbeat", "event:heartbeat\ndata:{}\n\n".getBytes(StandardCharsets.UTF_8), 0L);
+
+    firstOutbox.offer(frame);
+    secondOutbox.offer(frame);
+    firstOutbox.scheduleDrain();
+    secondOutbox.scheduleDrain();
+
+    assertSame(payloadBytes(first.sentItems.get(0)), payloadBytes(second.sentItems.get(0)));
+    assertEquals(0, firstOutbox.depth());
+    assertEquals(0, secondOutbox.depth());
+  }
+
+  @Test
+  void outbox_blockedSendIsAbortedWhileThePoolKeepsServingOtherClients() throws Exception {
+    FlightStreamMetrics metrics = new FlightStreamMetrics();
+    SseFanoutPool pool =
+        new SseFanoutPool(
+            1,
+            runnable -> {
+              Thread thread = new Thread(runnable);
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      LatchEmitter slow = new LatchEmitter(true);
+      LatchEmitter healthy = new LatchEmitter(false);
+      List<Exception> failures = new ArrayList<>();
+      SseClientOutbox slowOutbox =
+          new SseClientOutbox(slow, 4, pool, metrics, (box, event, ex) -> failures.add(ex));
+      SseClientOutbox healthyOutbox =
+          new SseClientOutbox(healthy, 4, pool, metrics, (box, event, ex) -> failures.add(ex));
+      SseFrame frame = new SseFrame("heartbeat", new byte[] {1}, System.nanoTime());
+
+      slowOutbox.offer(frame);
+      slowOutbox.scheduleDrain();
+      assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+      healthyOutbox.offer(frame);
+      healthyOutbox.scheduleDrain();
+
+      assertTrue(pool.abortBlockedSends(List.of(slowOutbox, healthyOutbox), TimeUnit.MINUTES.toNanos(1)).isEmpty());
+      Thread.sleep(5);
+      assertEquals(
+          List.of(slowOutbox), pool.abortBlockedSends(List.of(slowOutbox, healthyOutbox), TimeUnit.MILLISECONDS.toNanos(1)));
+
+      assertTrue(healthy.delivered.await(5, TimeUnit.SECONDS));
+      assertFalse(slowOutbox.offer(frame));
+      assertEquals(1, pool.replacements());
+
+      slow.release.countDown();
+      assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+      assertEquals(0, pool.replacements());
+      assertTrue(failures.isEmpty());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
   @Test
   void isExpectedClientDisconnect_matchesCommonNestedMessages() {
     IOException io = new IOException("Connection reset by peer");
@@ -87,6 +198,17 @@ class FlightUpdateStreamServiceTest {
     assertFalse(FlightUpdateStreamService.isExpectedClientDisconnect(new IllegalStateException("boom")));
   }
 
+  private static byte[] payloadBytes(Set<SseEmitter.DataWithMediaType> items) {
+    assertEquals(1, items.size());
+    Object data = items.iterator().next().getData();
+    assertNotNull(data);
+    return (byte[]) data;
+  }
+
+  private static String frameText(Set<SseEmitter.DataWithMediaType> items) {
+    return new String(payloadBytes(items), StandardCharsets.UTF_8);
+  }
+
   private void mockLatestBatchEpochScan(long epoch) {
     String payload = "{\"icao24\":\"abc123\",\"opensky_fetch_epoch\":" + epoch + "}";
     Cursor<Map.Entry<Object, Object>> cursor =
@@ -102,9 +224,9 @@ class FlightUpdateStreamServiceTest {
 
   @SuppressWarnings("unchecked")
   private static Set<SseEmitter> emitterSet(FlightUpdateStreamService service) throws Exception {
-    Field emittersField = FlightUpdateStreamService.class.getDeclaredField("emitters");
-    emittersField.setAccessible(true);
-    return (Set<SseEmitter>) emittersField.get(service);
+    Field clientsField = FlightUpdateStreamService.class.getDeclaredField("clients");
+    clientsField.setAccessible(true);
+    return ((Map<SseEmitter, SseClientOutbox>) clientsField.get(service)).keySet();
   }
 
   private static final class TestFlightUpdateStreamService extends FlightUpdateStreamService {
@@ -115,7 +237,7 @@ class FlightUpdateStreamServiceTest {
         ObjectMapper objectMapper,
         DashboardProperties properties,
         SseEmitter emitter) {
-      super(redisTemplate, objectMapper, properties);
+      super(redisTemplate, objectMapper, properties, new FlightBatchEpochTracker());
       this.emitter = emitter;
     }
 
@@ -129,6 +251,7 @@ class FlightUpdateStreamServiceTest {
     private final int failOnSend;
     private final IOException ioFailure;
     private final RuntimeException runtimeFailure;
+    private final List<Set<DataWithMediaType>> sentItems = new ArrayList<>();
     private int sendCalls;
     private boolean completeCalled;
     private boolean completeWithErrorCalled;
@@ -141,6 +264,10 @@ class FlightUpdateStreamServiceTest {
       this.runtimeFailure = runtimeFailure;
     }
 
+    private static ScriptedEmitter healthy() {
+      return new ScriptedEmitter(-1, null, null);
+    }
+
     private static ScriptedEmitter failOnSend(int sendNumber, IOException failure) {
       return new ScriptedEmitter(sendNumber, failure, null);
     }
@@ -150,8 +277,9 @@ class FlightUpdateStreamServiceTest {
     }
 
     @Override
-    public synchronized void send(SseEventBuilder builder) throws IOException {
+    public void send(Set<DataWithMediaType> items) throws IOException {
       sendCalls++;
+      sentItems.add(items);
       if (sendCalls != failOnSend) {
         return;
       }
@@ -175,6 +303,40 @@ class FlightUpdateStreamServiceTest {
     }
   }
 
+  /** Emitter whose send can block like a socket write that ignores interrupts. */
+  private static final class LatchEmitter extends SseEmitter {
+    private final boolean blockOnSend;
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch delivered = new CountDownLatch(1);
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    private LatchEmitter(boolean blockOnSend) {
+      super(0L);
+      this.blockOnSend = blockOnSend;
+    }
+
+    @Override
+    public void send(Set<DataWithMediaType> items) {
+      sending.countDown();
+      while (blockOnSend) {
+        try {
+          if (release.await(5, TimeUnit.SECONDS)) {
+            break;
+          }
+        } catch (InterruptedException ex) {
+          // Keep blocking: the write only returns once the peer reads or the socket times out.
+        }
+      }
+      delivered.countDown();
+    }
+
+    @Override
+    public void complete() {
+      completed.countDown();
+    }
+  }
+
   private static final class ListBackedCursor implements Cursor<Map.Entry<Object, Object>> {
     private final List<Map.Entry<Object, Object>> entries;
     private int index;
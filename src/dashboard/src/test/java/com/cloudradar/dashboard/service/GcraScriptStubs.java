@@ -0,0 +1,30 @@
+package com.cloudradar.dashboard.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+
+import java.util.List;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/** Stubs the single-call GCRA limiter script on a mocked {@link StringRedisTemplate}. */
+final class GcraScriptStubs {
+
+  private GcraScriptStubs() {}
+
+  static void allow(StringRedisTemplate redisTemplate) {
+    stub(redisTemplate, List.of(1L, 0L));
+  }
+
+  static void reject(StringRedisTemplate redisTemplate, long retryAfterMs) {
+    stub(redisTemplate, List.of(0L, retryAfterMs));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void stub(StringRedisTemplate redisTemplate, List<Long> result) {
+    lenient()
+        .when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+        .thenReturn(result);
+  }
+}
@@ -0,0 +1,33 @@
+package com.cloudradar.dashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class GeohashGridTest {
+
+  @Test
+  void encodesKnownLocations() {
+    assertThat(GeohashGrid.encode(48.8566, 2.3522, 5)).isEqualTo("u09tv");
+    assertThat(GeohashGrid.encode(57.64911, 10.40744, 6)).isEqualTo("u4pruy");
+    assertThat(GeohashGrid.encode(-90.0, -180.0, 2)).isEqualTo("00");
+  }
+
+  @Test
+  void cellSizesFollowAlternatingBits() {
+    assertThat(GeohashGrid.cellLonDegrees(1)).isEqualTo(45.0);
+    assertThat(GeohashGrid.cellLatDegrees(1)).isEqualTo(45.0);
+    assertThat(GeohashGrid.cellLonDegrees(3)).isEqualTo(360.0 / 256);
+    assertThat(GeohashGrid.cellLatDegrees(3)).isEqualTo(180.0 / 128);
+  }
+
+  @Test
+  void cellCenterLiesInsideTheEncodedCell() {
+    double[] center = GeohashGrid.cellCenter(48.8566, 2.3522, 3);
+
+    assertThat(GeohashGrid.encode(center[0], center[1], 3)).isEqualTo("u09");
+    assertThat(center[0]).isCloseTo(48.8566, within(GeohashGrid.cellLatDegrees(3) / 2));
+    assertThat(center[1]).isCloseTo(2.3522, within(GeohashGrid.cellLonDegrees(3) / 2));
+  }
+}
@@ -0,0 +1,51 @@
+package com.cloudradar.dashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.cloudradar.dashboard.model.PositionEvent;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PipelineLatencyRecorderTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void setUp() {
+    Metrics.addRegistry(registry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    Metrics.removeRegistry(registry);
+    registry.close();
+  }
+
+  @Test
+  void recordsWriteAndSourceHopsAndSkipsMissingStamps() {
+    PipelineLatencyRecorder recorder = new PipelineLatencyRecorder();
+    long readAtMs = 1_700_000_010_000L;
+
+    recorder.record(
+        List.of(event(1_700_000_004L, 1_700_000_009_500L), event(null, null)), readAtMs);
+
+    Timer writeToRead = registry.get("dashboard.pipeline.latency").tag("hop", "write_to_read").timer();
+    Timer sourceToRead = registry.get("dashboard.pipeline.latency").tag("hop", "source_to_read").timer();
+    assertEquals(1L, writeToRead.count());
+    assertEquals(500.0, writeToRead.totalTime(TimeUnit.MILLISECONDS));
+    assertEquals(1L, sourceToRead.count());
+    assertEquals(6_000.0, sourceToRead.totalTime(TimeUnit.MILLISECONDS));
+  }
+
+  private static PositionEvent event(Long lastContact, Long writtenAtMs) {
+    return new PositionEvent(
+        "abc123", "CALL", 48.0, 2.0, 90.0, 100.0, 1000.0, 1000.0, 0.0, false,
+        lastContact, lastContact, null, 10L, null, null, null, null, null, null, writtenAtMs);
+  }
+}
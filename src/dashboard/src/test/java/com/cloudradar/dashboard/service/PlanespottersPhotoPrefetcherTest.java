@@ -0,0 +1,94 @@
+package com.cloudradar.dashboard.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cloudradar.dashboard.config.DashboardProperties;
+import com.cloudradar.dashboard.model.FlightListResponse;
+import com.cloudradar.dashboard.model.FlightMapItem;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PlanespottersPhotoPrefetcherTest {
+  @Mock private FlightQueryService flightQueryService;
+  @Mock private PlanespottersPhotoService photoService;
+
+  private PlanespottersPhotoPrefetcher prefetcher;
+
+  @BeforeEach
+  void setUp() {
+    DashboardProperties properties = new DashboardProperties();
+    properties.getPlanespotters().setGlobalRps(3);
+    properties.getPlanespotters().setPrefetchReservedRps(1);
+    prefetcher = new PlanespottersPhotoPrefetcher(flightQueryService, photoService, Optional.empty(), properties);
+  }
+
+  @Test
+  void runCycle_skipsWhileUsersNeedTheBudget() {
+    when(photoService.userDemandWithin(5000L)).thenReturn(true);
+
+    prefetcher.runCycle(0L);
+
+    verify(flightQueryService, never())
+        .listFlights(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+    verify(photoService, never()).prefetch(any(), any(), anyInt());
+  }
+
+  @Test
+  void runCycle_fetchesUpToSpareBudgetAndSkipsCachedAircraft() {
+    stubInView("aaaaaa", "bbbbbb", "cccccc", "dddddd");
+    when(photoService.prefetch(eq("aaaaaa"), any(), eq(1)))
+        .thenReturn(PlanespottersPhotoService.PrefetchOutcome.CACHED);
+    when(photoService.prefetch(eq("bbbbbb"), any(), eq(1)))
+        .thenReturn(PlanespottersPhotoService.PrefetchOutcome.FETCHED);
+    when(photoService.prefetch(eq("cccccc"), any(), eq(1)))
+        .thenReturn(PlanespottersPhotoService.PrefetchOutcome.FETCHED);
+
+    prefetcher.runCycle(0L);
+
+    verify(photoService, never()).prefetch(eq("dddddd"), any(), anyInt());
+  }
+
+  @Test
+  void runCycle_retriesSameAircraftAfterLimiterRejection() {
+    stubInView("aaaaaa", "bbbbbb");
+    when(photoService.prefetch(eq("aaaaaa"), any(), eq(1)))
+        .thenReturn(
+            PlanespottersPhotoService.PrefetchOutcome.NO_BUDGET,
+            PlanespottersPhotoService.PrefetchOutcome.FETCHED);
+    when(photoService.prefetch(eq("bbbbbb"), any(), eq(1)))
+        .thenReturn(PlanespottersPhotoService.PrefetchOutcome.FETCHED);
+
+    prefetcher.runCycle(0L);
+    verify(photoService, never()).prefetch(eq("bbbbbb"), any(), anyInt());
+
+    prefetcher.runCycle(1000L);
+    verify(photoService, times(2)).prefetch(eq("aaaaaa"), any(), eq(1));
+    verify(photoService).prefetch(eq("bbbbbb"), any(), eq(1));
+  }
+
+  private void stubInView(String... icao24s) {
+    when(photoService.prefetchInterest()).thenReturn(new PlanespottersPrefetchInterest());
+    List<FlightMapItem> items =
+        Arrays.stream(icao24s)
+            .map(icao24 -> new FlightMapItem(
+                icao24, null, 48.0, 2.0, null, 0L, null, null, null, null, null, null,
+                null, null, null, null, null, null))
+            .toList();
+    when(flightQueryService.listFlights(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(new FlightListResponse(items, items.size(), items.size(), 200, Map.of(), null, null));
+  }
+}
@@ -18,6 +18,9 @@ import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +28,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 
 @ExtendWith(MockitoExtension.class)
 class PlanespottersPhotoServiceTest {
@@ -48,7 +52,7 @@ class PlanespottersPhotoServiceTest {
   }
 
   @Test
-  void resolvePhoto_returnsCachedPayload() throws Exception {
+  void lookupPhoto_returnsCachedPayload() throws Exception {
     String cacheKey = "cloudradar:photo:v1:icao24:abc123";
     String cachedJson = objectMapper.writeValueAsString(FlightPhoto.available(
         "https://cdn.planespotters.net/small.jpg",
@@ -61,8 +65,8 @@ class PlanespottersPhotoServiceTest {
         "https://www.planespotters.net/photo/1"));
     when(valueOperations.get(cacheKey)).thenReturn(cachedJson);
 
-    PlanespottersPhotoService service = new PlanespottersPhotoService(redisTemplate, objectMapper, properties, httpClient);
-    FlightPhoto photo = service.resolvePhoto("abc123", "F-GKXA");
+    PlanespottersPhotoService service = directService();
+    FlightPhoto photo = service.lookupPhoto("abc123", "F-GKXA");
 
     assertNotNull(photo);
     assertEquals("available", photo.status());
@@ -71,12 +75,12 @@ class PlanespottersPhotoServiceTest {
   }
 
   @Test
-  void resolvePhoto_returnsRateLimitedWhenGlobalLimiterRejects() throws Exception {
+  void lookupPhoto_returnsRateLimitedWhenGlobalLimiterRejects() throws Exception {
     when(valueOperations.get("cloudradar:photo:v1:icao24:abc123")).thenReturn(null);
-    when(valueOperations.increment(any(String.class))).thenReturn(3L);
+    GcraScriptStubs.reject(redisTemplate, 400L);
 
-    PlanespottersPhotoService service = new PlanespottersPhotoService(redisTemplate, objectMapper, properties, httpClient);
-    FlightPhoto photo = service.resolvePhoto("abc123", null);
+    PlanespottersPhotoService service = directService();
+    FlightPhoto photo = service.lookupPhoto("abc123", null);
 
     assertNotNull(photo);
     assertEquals("rate_limited", photo.status());
@@ -85,10 +89,10 @@ class PlanespottersPhotoServiceTest {
 
   @Test
   @SuppressWarnings("unchecked")
-  void resolvePhoto_fetchesAndCachesAvailablePhoto() throws Exception {
+  void lookupPhoto_fetchesAndCachesAvailablePhoto() throws Exception {
     String cacheKey = "cloudradar:photo:v1:icao24:abc123";
     when(valueOperations.get(cacheKey)).thenReturn(null);
-    when(valueOperations.increment(any(String.class))).thenReturn(1L);
+    GcraScriptStubs.allow(redisTemplate);
     when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
         .thenReturn((HttpResponse<String>) httpResponse);
     when(httpResponse.statusCode()).thenReturn(200);
@@ -111,8 +115,8 @@ class PlanespottersPhotoServiceTest {
         }
         """);
 
-    PlanespottersPhotoService service = new PlanespottersPhotoService(redisTemplate, objectMapper, properties, httpClient);
-    FlightPhoto photo = service.resolvePhoto("abc123", null);
+    PlanespottersPhotoService service = directService();
+    FlightPhoto photo = service.lookupPhoto("abc123", null);
 
     assertNotNull(photo);
     assertEquals("available", photo.status());
@@ -122,10 +126,10 @@ class PlanespottersPhotoServiceTest {
 
   @Test
   @SuppressWarnings("unchecked")
-  void resolvePhoto_acceptsTrustedShortCdnHost() throws Exception {
+  void lookupPhoto_acceptsTrustedShortCdnHost() throws Exception {
     String cacheKey = "cloudradar:photo:v1:icao24:abc123";
     when(valueOperations.get(cacheKey)).thenReturn(null);
-    when(valueOperations.increment(any(String.class))).thenReturn(1L);
+    GcraScriptStubs.allow(redisTemplate);
     when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
         .thenReturn((HttpResponse<String>) httpResponse);
     when(httpResponse.statusCode()).thenReturn(200);
@@ -148,8 +152,8 @@ class PlanespottersPhotoServiceTest {
         }
         """);
 
-    PlanespottersPhotoService service = new PlanespottersPhotoService(redisTemplate, objectMapper, properties, httpClient);
-    FlightPhoto photo = service.resolvePhoto("abc123", null);
+    PlanespottersPhotoService service = directService();
+    FlightPhoto photo = service.lookupPhoto("abc123", null);
 
     assertNotNull(photo);
     assertEquals("available", photo.status());
@@ -158,16 +162,16 @@ class PlanespottersPhotoServiceTest {
 
   @Test
   @SuppressWarnings("unchecked")
-  void resolvePhoto_returnsRateLimitedOnUpstream429() throws Exception {
+  void lookupPhoto_returnsRateLimitedOnUpstream429() throws Exception {
     String cacheKey = "cloudradar:photo:v1:icao24:abc123";
     when(valueOperations.get(cacheKey)).thenReturn(null);
-    when(valueOperations.increment(any(String.class))).thenReturn(1L);
+    GcraScriptStubs.allow(redisTemplate);
     when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
         .thenReturn((HttpResponse<String>) httpResponse);
     when(httpResponse.statusCode()).thenReturn(429);
 
-    PlanespottersPhotoService service = new PlanespottersPhotoService(redisTemplate, objectMapper, properties, httpClient);
-    FlightPhoto photo = service.resolvePhoto("abc123", null);
+    PlanespottersPhotoService service = directService();
+    FlightPhoto photo = service.lookupPhoto("abc123", null);
 
     assertNotNull(photo);
     assertEquals("rate_limited", photo.status());
@@ -175,33 +179,32 @@ class PlanespottersPhotoServiceTest {
 
   @Test
   @SuppressWarnings("unchecked")
-  void resolvePhoto_returnsErrorOnMalformedJson() throws Exception {
+  void lookupPhoto_returnsErrorOnMalformedJson() throws Exception {
     String cacheKey = "cloudradar:photo:v1:icao24:abc123";
     when(valueOperations.get(cacheKey)).thenReturn(null);
-    when(valueOperations.increment(any(String.class))).thenReturn(1L);
+    GcraScriptStubs.allow(redisTemplate);
     when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
         .thenReturn((HttpResponse<String>) httpResponse);
     when(httpResponse.statusCode()).thenReturn(200);
     when(httpResponse.body()).thenReturn("{not-json");
 
-    PlanespottersPhotoService service = new PlanespottersPhotoService(redisTemplate, objectMapper, properties, httpClient);
-    FlightPhoto photo = service.resolvePhoto("abc123", null);
+    PlanespottersPhotoService service = directService();
+    FlightPhoto photo = service.lookupPhoto("abc123", null);
 
     assertNotNull(photo);
     assertEquals("error", photo.status());
   }
 
   @Test
-  void resolvePhoto_returnsErrorWhenUpstreamRequestThrowsIOException() throws Exception {
+  void lookupPhoto_returnsErrorWhenUpstreamRequestThrowsIOException() throws Exception {
     String cacheKey = "cloudradar:photo:v1:icao24:abc123";
     when(valueOperations.get(cacheKey)).thenReturn(null);
-    when(valueOperations.increment(any(String.class))).thenReturn(1L);
+    GcraScriptStubs.allow(redisTemplate);
     when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
         .thenThrow(new IOException("network down"));
 
-    PlanespottersPhotoService service =
-        new PlanespottersPhotoService(redisTemplate, objectMapper, properties, httpClient);
-    FlightPhoto photo = service.resolvePhoto("abc123", null);
+    PlanespottersPhotoService service = directService();
+    FlightPhoto photo = service.lookupPhoto("abc123", null);
 
     assertNotNull(photo);
     assertEquals("error", photo.status());
@@ -209,10 +212,10 @@ class PlanespottersPhotoServiceTest {
 
   @Test
   @SuppressWarnings("unchecked")
-  void resolvePhoto_usesRegistrationFallbackWhenHexNotFound() throws Exception {
+  void lookupPhoto_usesRegistrationFallbackWhenHexNotFound() throws Exception {
     String cacheKey = "cloudradar:photo:v1:icao24:abc123";
     when(valueOperations.get(cacheKey)).thenReturn(null);
-    when(valueOperations.increment(any(String.class))).thenReturn(1L, 1L);
+    GcraScriptStubs.allow(redisTemplate);
     when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
         .thenReturn((HttpResponse<String>) httpResponse, (HttpResponse<String>) httpResponse);
     when(httpResponse.statusCode()).thenReturn(200, 200);
@@ -237,8 +240,8 @@ class PlanespottersPhotoServiceTest {
         }
         """);
 
-    PlanespottersPhotoService service = new PlanespottersPhotoService(redisTemplate, objectMapper, properties, httpClient);
-    FlightPhoto photo = service.resolvePhoto("abc123", "f-gkxa");
+    PlanespottersPhotoService service = directService();
+    FlightPhoto photo = service.lookupPhoto("abc123", "f-gkxa");
 
     assertNotNull(photo);
     assertEquals("available", photo.status());
@@ -247,13 +250,76 @@ class PlanespottersPhotoServiceTest {
   }
 
   @Test
-  void resolvePhoto_returnsNullWhenDisabled() {
+  void lookupPhoto_returnsNullWhenDisabled() {
     properties.getPlanespotters().setEnabled(false);
-    PlanespottersPhotoService service = new PlanespottersPhotoService(redisTemplate, objectMapper, properties, httpClient);
-    FlightPhoto photo = service.resolvePhoto("abc123", null);
+    PlanespottersPhotoService service = directService();
+    FlightPhoto photo = service.lookupPhoto("abc123", null);
     assertNull(photo);
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void lookupPhoto_returnsPendingOnceAndServesResultFromL1() throws Exception {
+    String cacheKey = "cloudradar:photo:v1:icao24:abc123";
+    when(valueOperations.get(cacheKey)).thenReturn(null);
+    GcraScriptStubs.allow(redisTemplate);
+    when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenReturn((HttpResponse<String>) httpResponse);
+    when(httpResponse.statusCode()).thenReturn(404);
+    List<Runnable> queued = new ArrayList<>();
+
+    PlanespottersPhotoService service =
+        new PlanespottersPhotoService(redisTemplate, objectMapper, properties, httpClient, queued::add);
+
+    assertEquals("pending", service.lookupPhoto("abc123", null).status());
+    assertEquals("pending", service.lookupPhoto("abc123", null).status());
+    assertEquals(1, queued.size());
+
+    queued.get(0).run();
+
+    assertEquals("not_found", service.lookupPhoto("abc123", null).status());
+    verify(valueOperations, times(2)).get(cacheKey);
+    verify(httpClient, times(1)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+  }
+
+  @Test
+  void lookupPhoto_returnsRateLimitedWhenLookupQueueIsFull() {
+    when(valueOperations.get("cloudradar:photo:v1:icao24:abc123")).thenReturn(null);
+
+    PlanespottersPhotoService service =
+        new PlanespottersPhotoService(
+            redisTemplate,
+            objectMapper,
+            properties,
+            httpClient,
+            runnable -> {
+              throw new RejectedExecutionException("full");
+            });
+
+    assertEquals("rate_limited", service.lookupPhoto("abc123", null).status());
+  }
+
+  @Test
+  void prefetch_usesOnlySpareBudgetAndNeverCachesRejection() throws Exception {
+    String cacheKey = "cloudradar:photo:v1:icao24:abc123";
+    when(valueOperations.get(cacheKey)).thenReturn(null);
+    GcraScriptStubs.reject(redisTemplate, 250L);
+
+    PlanespottersPhotoService service =
+        new PlanespottersPhotoService(redisTemplate, objectMapper, properties, httpClient, Runnable::run);
+
+    assertEquals(PlanespottersPhotoService.PrefetchOutcome.NO_BUDGET, service.prefetch("abc123", null, 1));
+    verify(redisTemplate)
+        .execute(any(RedisScript.class), eq(List.of("cloudradar:photo:v1:ratelimit:gcra")), eq("500"), eq("1"), eq("1"), eq("0"));
+    verify(valueOperations, never()).set(any(String.class), any(String.class), any(Long.class), any());
+    verify(httpClient, never()).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+  }
+
+  /** Runs background lookups on the caller thread, so {@code lookupPhoto} returns the outcome. */
+  private PlanespottersPhotoService directService() {
+    return new PlanespottersPhotoService(redisTemplate, objectMapper, properties, httpClient, Runnable::run);
+  }
+
   @Test
   void stripTrailingSlashes_handlesNullEmptyAndTrailingSeparators() {
     assertEquals("", PlanespottersEndpointBuilder.trimTrailingSlashes(null));
@@ -0,0 +1,42 @@
+package com.cloudradar.dashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PlanespottersPrefetchInterestTest {
+
+  private static final long MINUTE_MS = 60_000L;
+
+  private final PlanespottersPrefetchInterest interest = new PlanespottersPrefetchInterest();
+
+  @Test
+  void rank_prefersLongerTimeInView() {
+    interest.rank(List.of("aaaaaa"), 0L);
+
+    List<String> ranked = interest.rank(List.of("bbbbbb", "aaaaaa"), 10 * MINUTE_MS);
+
+    assertEquals(List.of("aaaaaa", "bbbbbb"), ranked);
+  }
+
+  @Test
+  void rank_detailViewsOutweighTimeInView() {
+    interest.rank(List.of("aaaaaa"), 0L);
+    interest.recordDetailView("bbbbbb", 10 * MINUTE_MS);
+
+    List<String> ranked = interest.rank(List.of("aaaaaa", "bbbbbb"), 10 * MINUTE_MS);
+
+    assertEquals(List.of("bbbbbb", "aaaaaa"), ranked);
+  }
+
+  @Test
+  void rank_resetsTimeInViewOnceAircraftLeaves() {
+    interest.rank(List.of("aaaaaa", "bbbbbb"), 0L);
+    interest.rank(List.of("bbbbbb"), 5 * MINUTE_MS);
+
+    List<String> ranked = interest.rank(List.of("aaaaaa", "bbbbbb"), 10 * MINUTE_MS);
+
+    assertEquals(List.of("bbbbbb", "aaaaaa"), ranked);
+  }
+}
@@ -58,6 +58,29 @@ class PrometheusMetricsServiceTest {
     Thread.interrupted();
   }
 
+  @Test
+  void cachedOpenSkyCreditsPerRequest24hKeepsLastValueWhenRefreshFails() throws Exception {
+    DashboardProperties properties = buildProperties("http://prometheus.test");
+    HttpClient httpClient = org.mockito.Mockito.mock(HttpClient.class);
+
+    @SuppressWarnings("unchecked")
+    HttpResponse<String> response = (HttpResponse<String>) org.mockito.Mockito.mock(HttpResponse.class);
+    when(response.statusCode()).thenReturn(200, 503);
+    when(response.body())
+        .thenReturn("{\"status\":\"success\",\"data\":{\"result\":[{\"value\":[1700000000,\"2.25\"]}]}}");
+    when(httpClient.send(any(HttpRequest.class), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any()))
+        .thenReturn(response);
+
+    PrometheusMetricsService service =
+        new PrometheusMetricsService(properties, new ObjectMapper(), httpClient);
+    assertThat(service.cachedOpenSkyCreditsPerRequest24h()).isEmpty();
+
+    service.refreshNow();
+    service.refreshNow();
+
+    assertThat(service.cachedOpenSkyCreditsPerRequest24h()).contains(2.25);
+  }
+
   private DashboardProperties buildProperties(String baseUrl) {
     DashboardProperties properties = new DashboardProperties();
     properties.getPrometheus().setEnabled(true);
@@ -0,0 +1,64 @@
+package com.cloudradar.dashboard.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.cloudradar.dashboard.api.NotFoundException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class QueryFanOutTest {
+
+  private final QueryFanOut fanOut = QueryFanOut.create(4, 8, 100L);
+
+  @Test
+  void branchesRunInParallelSoLatencyFollowsTheSlowestBranch() {
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    long deadline = fanOut.deadline();
+
+    CompletableFuture<String> first = fanOut.fork(() -> awaitPeer(bothStarted, "a"));
+    CompletableFuture<String> second = fanOut.fork(() -> awaitPeer(bothStarted, "b"));
+
+    assertThat(fanOut.optional("test.first", first, "fallback", deadline)).isEqualTo("a");
+    assertThat(fanOut.optional("test.second", second, "fallback", deadline)).isEqualTo("b");
+  }
+
+  @Test
+  void optionalBranchFallsBackOnTimeoutAndFailure() {
+    long deadline = fanOut.deadline();
+    CompletableFuture<String> slow = new CompletableFuture<>();
+    CompletableFuture<String> failing =
+        fanOut.fork(
+            () -> {
+              throw new IllegalStateException("redis down");
+            });
+
+    assertThat(fanOut.optional("test.slow", slow, "fallback", deadline)).isEqualTo("fallback");
+    assertThat(fanOut.optional("test.failing", failing, "fallback", deadline)).isEqualTo("fallback");
+  }
+
+  @Test
+  void requiredBranchRethrowsOriginalException() {
+    CompletableFuture<String> missing =
+        fanOut.fork(
+            () -> {
+              throw new NotFoundException("flight not found");
+            });
+
+    assertThatThrownBy(() -> fanOut.required(missing))
+        .isInstanceOf(NotFoundException.class)
+        .hasMessage("flight not found");
+  }
+
+  private static String awaitPeer(CountDownLatch latch, String value) {
+    latch.countDown();
+    try {
+      return latch.await(1, TimeUnit.SECONDS) ? value : "sequential";
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return "interrupted";
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package com.cloudradar.dashboard.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Emulates {@code executePipelined} on a mocked template: queued commands are answered by the
+ * given operation mocks and their results are returned in queue order, as Redis would.
+ *
+ * <p>A multi-key PFCOUNT is answered with the sum of the single-key sizes, i.e. tests treat the
+ * aircraft of different keys as distinct.
+ */
+final class RedisPipelineStubs {
+
+  private RedisPipelineStubs() {}
+
+  @SuppressWarnings("unchecked")
+  static void replayThrough(
+      StringRedisTemplate redisTemplate,
+      HashOperations<String, Object, Object> hashOperations,
+      HyperLogLogOperations<String, String> hyperLogLogOperations) {
+    List<Object> results = new ArrayList<>();
+    RedisOperations<String, String> pipeline = mock(RedisOperations.class);
+    HashOperations<String, Object, Object> pipelinedHash = mock(HashOperations.class);
+    HyperLogLogOperations<String, String> pipelinedHll = mock(HyperLogLogOperations.class);
+    lenient().when(pipeline.opsForHash()).thenReturn(pipelinedHash);
+    lenient().when(pipeline.opsForHyperLogLog()).thenReturn(pipelinedHll);
+    lenient().when(pipelinedHash.entries(anyString())).thenAnswer(invocation -> {
+      results.add(hashOperations.entries(invocation.getArgument(0)));
+      return null;
+    });
+    lenient().when(pipelinedHash.multiGet(anyString(), anyCollection())).thenAnswer(invocation -> {
+      results.add(hashOperations.multiGet(invocation.getArgument(0), invocation.getArgument(1)));
+      return null;
+    });
+    lenient().when(pipelinedHll.size(any(String[].class))).thenAnswer(invocation -> {
+      long size = 0L;
+      for (Object key : invocation.getArguments()) {
+        Long keySize = hyperLogLogOperations.size((String) key);
+        size += keySize == null ? 0L : keySize;
+      }
+      results.add(size);
+      return null;
+    });
+
+    lenient().when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+      results.clear();
+      SessionCallback<?> callback = invocation.getArgument(0);
+      callback.execute(pipeline);
+      return new ArrayList<>(results);
+    });
+  }
+}
@@ -0,0 +1,96 @@
+package com.cloudradar.dashboard.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private final SingleFlight<String, List<String>> singleFlight = new SingleFlight<>();
+
+  @Test
+  void execute_concurrentIdenticalCallsShareOneComputation() throws Exception {
+    int callers = 8;
+    AtomicInteger computations = new AtomicInteger();
+    AtomicInteger coalesced = new AtomicInteger();
+    CountDownLatch leaderStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    List<String> result = List.of("abc123");
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+    try {
+      List<Future<List<String>>> futures = new ArrayList<>();
+      futures.add(executor.submit(() -> singleFlight.execute("q", () -> {
+        computations.incrementAndGet();
+        leaderStarted.countDown();
+        await(release);
+        return result;
+      }, coalesced::incrementAndGet)));
+      assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+      for (int i = 1; i < callers; i++) {
+        futures.add(executor.submit(() -> singleFlight.execute("q", () -> {
+          computations.incrementAndGet();
+          return List.of();
+        }, coalesced::incrementAndGet)));
+      }
+      waitForWaiters(callers - 1);
+      release.countDown();
+
+      for (Future<List<String>> future : futures) {
+        assertSame(result, future.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(1, computations.get());
+    assertEquals(callers - 1, coalesced.get());
+    assertEquals(0, singleFlight.waiting());
+  }
+
+  @Test
+  void execute_doesNotCacheCompletedResults() {
+    AtomicInteger computations = new AtomicInteger();
+
+    singleFlight.execute("q", () -> List.of(String.valueOf(computations.incrementAndGet())), () -> { });
+    List<String> second =
+        singleFlight.execute("q", () -> List.of(String.valueOf(computations.incrementAndGet())), () -> { });
+
+    assertEquals(List.of("2"), second);
+  }
+
+  @Test
+  void execute_propagatesLeaderFailureAndClearsKey() {
+    assertThrows(IllegalStateException.class, () -> singleFlight.execute("q", () -> {
+      throw new IllegalStateException("redis down");
+    }, () -> { }));
+
+    assertEquals(List.of("ok"), singleFlight.execute("q", () -> List.of("ok"), () -> { }));
+  }
+
+  private void waitForWaiters(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (singleFlight.waiting() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(expected, singleFlight.waiting());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -5,6 +5,7 @@ import type { Marker as LeafletMarker } from 'leaflet';
 import {
   fetchBboxBoostStatus,
   fetchFlightDetail,
+  fetchFlightPhoto,
   fetchFlights,
   fetchIngesterScale,
   fetchIngesterScalePublic,
@@ -13,7 +14,14 @@ import {
   subscribeFlightUpdates,
   triggerBboxBoost
 } from './api';
-import { IDF_BBOX, MAP_MAX_BOUNDS, REFRESH_INTERVAL_MS, STALE_AFTER_SECONDS } from './constants';
+import {
+  IDF_BBOX,
+  MAP_MAX_BOUNDS,
+  PHOTO_POLL_INTERVAL_MS,
+  PHOTO_POLL_MAX_ATTEMPTS,
+  REFRESH_INTERVAL_MS,
+  STALE_AFTER_SECONDS
+} from './constants';
 import { DetailPanel } from './components/DetailPanel';
 import { Header } from './components/Header';
 import { KpiStrip } from './components/KpiStrip';
@@ -396,6 +404,7 @@ export default function App(): JSX.Element {
   const refreshQueuedRef = useRef(false);
   const refreshDataRef = useRef<() => Promise<void>>(async () => {});
   const isMountedRef = useRef(true);
+  const photoPollIcaoRef = useRef<string | null>(null);
   const resolveMarkerIcon = useMemo(() => createMarkerIconResolver(), []);
   const debugHitbox = useMemo(() => hitboxDebugEnabled(), []);
 
@@ -467,6 +476,36 @@ export default function App(): JSX.Element {
     }
   }, []);
 
+  const pollPendingPhoto = useCallback(async (icao24: string) => {
+    // Photo lookups run in background on the API; poll the follow-up endpoint once per selection.
+    if (photoPollIcaoRef.current === icao24) {
+      return;
+    }
+    photoPollIcaoRef.current = icao24;
+    try {
+      for (let attempt = 0; attempt < PHOTO_POLL_MAX_ATTEMPTS; attempt += 1) {
+        await new Promise((resolve) => window.setTimeout(resolve, PHOTO_POLL_INTERVAL_MS));
+        if (!isMountedRef.current || selectedIcao24Ref.current !== icao24) {
+          return;
+        }
+        const photo = await fetchFlightPhoto(icao24);
+        if (!isMountedRef.current || selectedIcao24Ref.current !== icao24) {
+          return;
+        }
+        if (photo.status !== 'pending') {
+          setSelectedDetail((current) => (current && current.icao24 === icao24 ? { ...current, photo } : current));
+          return;
+        }
+      }
+    } catch {
+      // Photo is optional; the next detail refresh will pick it up from cache.
+    } finally {
+      if (photoPollIcaoRef.current === icao24) {
+        photoPollIcaoRef.current = null;
+      }
+    }
+  }, []);
+
   const loadDetail = useCallback(async (icao24: string) => {
     try {
       if (!isMountedRef.current) {
@@ -479,6 +518,9 @@ export default function App(): JSX.Element {
         return;
       }
       setSelectedDetail(detail);
+      if (detail.photo?.status === 'pending') {
+        void pollPendingPhoto(icao24);
+      }
     } catch (error) {
       if (!isMountedRef.current) {
         return;
@@ -490,7 +532,7 @@ export default function App(): JSX.Element {
         setDetailLoading(false);
       }
     }
-  }, []);
+  }, [pollPendingPhoto]);
 
   const computeStaticByIcao = useCallback((nextFlights: FlightMapItem[]): Record<string, true> => {
     // Static/grayed markers are based on displacement between two distinct OpenSky snapshots.
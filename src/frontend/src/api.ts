@@ -4,6 +4,7 @@ import type {
   Bbox,
   FlightDetailResponse,
   FlightListResponse,
+  FlightPhoto,
   FlightsMetricsResponse,
   IngesterScaleResponse
 } from './types';
@@ -152,6 +153,10 @@ export async function fetchFlightDetail(icao24: string): Promise<FlightDetailRes
   return apiGet<FlightDetailResponse>(`${API_FLIGHTS_BASE}/${icao24}?include=track,enrichment`);
 }
 
+export async function fetchFlightPhoto(icao24: string): Promise<FlightPhoto> {
+  return apiGet<FlightPhoto>(`${API_FLIGHTS_BASE}/${icao24}/photo`);
+}
+
 export async function fetchMetrics(bbox: Bbox): Promise<FlightsMetricsResponse> {
   const params = new URLSearchParams({
     bbox: toBboxQuery(bbox),
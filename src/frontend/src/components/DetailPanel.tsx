@@ -61,6 +61,9 @@ function photoStatusMessage(status: string | null | undefined): string {
   if (status === 'error') {
     return 'photo temporarily unavailable';
   }
+  if (status === 'pending') {
+    return 'loading photo...';
+  }
   return 'n/a';
 }
 
@@ -17,6 +17,8 @@ export const MAP_MAX_BOUNDS = {
 const REFRESH_MS_ENV = Number(import.meta.env.VITE_UI_REFRESH_MS ?? 10_000);
 export const REFRESH_INTERVAL_MS = Number.isFinite(REFRESH_MS_ENV) && REFRESH_MS_ENV > 0 ? REFRESH_MS_ENV : 10_000;
 export const STALE_AFTER_SECONDS = 120;
+export const PHOTO_POLL_INTERVAL_MS = 750;
+export const PHOTO_POLL_MAX_ATTEMPTS = 8;
 
 export const API_FLIGHTS_BASE = import.meta.env.VITE_API_FLIGHTS_BASE || '/api/flights';
 export const ADMIN_SCALE_PATH = import.meta.env.VITE_ADMIN_SCALE_PATH || '/admin/ingester/scale';
@@ -47,7 +47,7 @@ export interface FlightTrackPoint {
 }
 
 export interface FlightPhoto {
-  status: 'available' | 'not_found' | 'rate_limited' | 'error';
+  status: 'available' | 'not_found' | 'rate_limited' | 'error' | 'pending';
   thumbnailSrc: string | null;
   thumbnailWidth: number | null;
   thumbnailHeight: number | null;
@@ -0,0 +1,102 @@
+package com.cloudradar.ingester;
+
+import com.cloudradar.ingester.config.IngesterProperties;
+import com.cloudradar.ingester.opensky.FlightState;
+import com.cloudradar.ingester.opensky.OpenSkyStatesFixture;
+import com.cloudradar.ingester.redis.RedisPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Cost of the mapping and publishing half of an ingest cycle, and of the whole cycle.
+ *
+ * <p>Redis pushes go to a template that only counts payload bytes, so {@code pushEvents} measures
+ * the per-event copy, timestamp and JSON serialization. One operation is one fetch cycle; divide
+ * time and {@code gc.alloc.rate.norm} by {@code states} for per-state figures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngestCycleBenchmark {
+  private static final long FETCH_EPOCH = 1_760_000_000L;
+
+  @Param({"1000", "5000", "20000"})
+  public int states;
+
+  private final FlightEventMapper mapper = new FlightEventMapper();
+  private final DiscardingRedisTemplate redisTemplate = new DiscardingRedisTemplate();
+  private final RedisPublisher publisher =
+      new RedisPublisher(
+          redisTemplate,
+          new ObjectMapper(),
+          new IngesterProperties(10_000L, new IngesterProperties.Redis("cloudradar:ingest:queue"), null, null, null));
+  private String body;
+  private List<FlightState> flightStates;
+  private List<Map<String, Object>> events;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    body = OpenSkyStatesFixture.body(states);
+    flightStates = OpenSkyStatesFixture.states(body);
+    events = mapper.toEvents(flightStates, FETCH_EPOCH);
+  }
+
+  @Benchmark
+  public List<Map<String, Object>> toEvents() {
+    return mapper.toEvents(flightStates, FETCH_EPOCH);
+  }
+
+  @Benchmark
+  public int pushEvents() {
+    return publisher.pushEvents(events);
+  }
+
+  /** Parse, map and publish one {@code /states/all} body. */
+  @Benchmark
+  public int fullCycle() {
+    return publisher.pushEvents(mapper.toEvents(OpenSkyStatesFixture.states(body), FETCH_EPOCH));
+  }
+
+  /** Accepts {@code RPUSH} only and keeps a byte count so serialization cannot be elided. */
+  private static final class DiscardingRedisTemplate extends StringRedisTemplate {
+    private long pushedBytes;
+
+    @SuppressWarnings("unchecked")
+    private final ListOperations<String, String> listOps =
+        (ListOperations<String, String>) Proxy.newProxyInstance(
+            ListOperations.class.getClassLoader(),
+            new Class<?>[] {ListOperations.class},
+            (target, method, args) -> {
+              if (!"rightPush".equals(method.getName()) || args.length != 2) {
+                throw new UnsupportedOperationException(method.getName());
+              }
+              pushedBytes += ((String) args[1]).length();
+              return pushedBytes;
+            });
+
+    @Override
+    public ListOperations<String, String> opsForList() {
+      return listOps;
+    }
+  }
+}
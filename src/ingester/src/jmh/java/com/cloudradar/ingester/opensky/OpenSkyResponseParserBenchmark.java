@@ -0,0 +1,48 @@
+package com.cloudradar.ingester.opensky;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of turning one {@code /states/all} body into {@link FlightState}s.
+ *
+ * <p>One operation is one fetch cycle; divide time and {@code gc.alloc.rate.norm} by
+ * {@code states} for per-state figures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OpenSkyResponseParserBenchmark {
+
+  @Param({"1000", "5000", "20000"})
+  public int states;
+
+  private final OpenSkyResponseParser parser = new OpenSkyResponseParser(new ObjectMapper());
+  private final OpenSkyRateLimitHeaders headers = OpenSkyStatesFixture.headers();
+  private String body;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    body = OpenSkyStatesFixture.body(states);
+  }
+
+  @Benchmark
+  public FetchResult parseStatesResponse() throws Exception {
+    return parser.parseStatesResponse(body, headers);
+  }
+}
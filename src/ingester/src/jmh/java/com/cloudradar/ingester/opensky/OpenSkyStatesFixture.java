@@ -0,0 +1,79 @@
+package com.cloudradar.ingester.opensky;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@code /states/all} bodies of a given size, expanded from a recorded sample.
+ *
+ * <p>{@code opensky/states-all-sample.json} keeps the wire format of a real response (17-column
+ * rows, padded callsigns, null positions, ground traffic). Larger bodies repeat its rows with
+ * unique ICAO24s and slightly shifted positions, so parse cost scales like a real bbox.
+ */
+public final class OpenSkyStatesFixture {
+  private static final String SAMPLE = "/opensky/states-all-sample.json";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private OpenSkyStatesFixture() {}
+
+  /** Response body holding {@code states} rows. */
+  public static String body(int states) {
+    ObjectNode sample = readSample();
+    ArrayNode recorded = (ArrayNode) sample.get("states");
+    ArrayNode expanded = MAPPER.createArrayNode();
+    for (int i = 0; i < states; i++) {
+      ArrayNode row = ((ArrayNode) recorded.get(i % recorded.size())).deepCopy();
+      row.set(0, row.textNode(String.format(Locale.ROOT, "%06x", 0x380000 + i)));
+      double shift = (i / recorded.size()) * 0.0007;
+      shiftIfNumber(row, 5, shift);
+      shiftIfNumber(row, 6, shift);
+      expanded.add(row);
+    }
+    sample.set("states", expanded);
+    try {
+      return MAPPER.writeValueAsString(sample);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /** Parsed states for {@code body}, as handed to the mapper by the ingest job. */
+  public static List<FlightState> states(String body) {
+    try {
+      return new OpenSkyResponseParser(MAPPER)
+          .parseStatesResponse(body, headers())
+          .states();
+    } catch (Exception ex) {
+      throw new IllegalStateException("Fixture is not a valid states response", ex);
+    }
+  }
+
+  static OpenSkyRateLimitHeaders headers() {
+    return new OpenSkyRateLimitHeaders(3_200, 4_000, 1_760_003_600L);
+  }
+
+  private static ObjectNode readSample() {
+    try (InputStream in = OpenSkyStatesFixture.class.getResourceAsStream(SAMPLE)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing benchmark fixture " + SAMPLE);
+      }
+      return (ObjectNode) MAPPER.readTree(in);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private static void shiftIfNumber(ArrayNode row, int index, double shift) {
+    JsonNode value = row.get(index);
+    if (value != null && value.isNumber()) {
+      row.set(index, row.numberNode(Math.round((value.doubleValue() + shift) * 10_000d) / 10_000d));
+    }
+  }
+}
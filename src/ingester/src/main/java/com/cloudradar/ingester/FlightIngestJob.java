@@ -85,11 +85,14 @@ public class FlightIngestJob {
       rateLimitTracker.recordFetch(states.size());
       metrics.recordFetch(states.size());
 
-      long openskyFetchEpoch = System.currentTimeMillis() / 1000;
+      long fetchedAtMs = System.currentTimeMillis();
+      long openskyFetchEpoch = fetchedAtMs / 1000;
+      metrics.recordSourceAge(states, fetchedAtMs);
       List<Map<String, Object>> payloads = eventMapper.toEvents(states, openskyFetchEpoch);
 
       int pushed = redisPublisher.pushEvents(payloads);
       metrics.recordPush(pushed);
+      metrics.recordPublishLatency(fetchedAtMs, System.currentTimeMillis());
       log.info("Fetched {} states, pushed {} events", states.size(), pushed);
 
       rateLimitTracker.recordSuccessfulCycle(
@@ -1,14 +1,20 @@
 package com.cloudradar.ingester;
 
 import com.cloudradar.ingester.config.IngesterProperties;
+import com.cloudradar.ingester.opensky.FlightState;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 class IngesterMetrics {
   private final Counter fetchCounter;
   private final Counter requestCounter;
   private final Counter pushCounter;
   private final Counter errorCounter;
+  private final Timer sourceToFetchTimer;
+  private final Timer fetchToPublishTimer;
   private final IngesterProperties properties;
 
   IngesterMetrics(
@@ -20,6 +26,8 @@ class IngesterMetrics {
     this.requestCounter = meterRegistry.counter("ingester.fetch.requests.total");
     this.pushCounter = meterRegistry.counter("ingester.push.total");
     this.errorCounter = meterRegistry.counter("ingester.errors.total");
+    this.sourceToFetchTimer = pipelineLatencyTimer(meterRegistry, "source_to_fetch");
+    this.fetchToPublishTimer = pipelineLatencyTimer(meterRegistry, "fetch_to_publish");
     this.properties = properties;
 
     meterRegistry.gauge(
@@ -103,6 +111,34 @@ class IngesterMetrics {
     errorCounter.increment();
   }
 
+  /** Records, per state, how old the OpenSky {@code last_contact} was when the batch was fetched. */
+  void recordSourceAge(List<FlightState> states, long fetchedAtMs) {
+    for (FlightState state : states) {
+      Long lastContact = state.lastContact();
+      if (lastContact != null) {
+        recordLatency(sourceToFetchTimer, fetchedAtMs - lastContact * 1000L);
+      }
+    }
+  }
+
+  /** Records the delay between the fetch and the last event of its batch reaching the queue. */
+  void recordPublishLatency(long fetchedAtMs, long publishedAtMs) {
+    recordLatency(fetchToPublishTimer, publishedAtMs - fetchedAtMs);
+  }
+
+  private static void recordLatency(Timer timer, long millis) {
+    // Clock skew between OpenSky and this host can yield small negative ages.
+    timer.record(Math.max(0L, millis), TimeUnit.MILLISECONDS);
+  }
+
+  private static Timer pipelineLatencyTimer(MeterRegistry meterRegistry, String hop) {
+    return Timer.builder("ingester.pipeline.latency")
+        .description("Event latency per pipeline hop up to the ingest queue (seconds)")
+        .tag("hop", hop)
+        .publishPercentileHistogram(true)
+        .register(meterRegistry);
+  }
+
   private double bboxAreaSquareDegrees() {
     IngesterProperties.Bbox bbox = properties.bbox();
     return Math.max(0.0, (bbox.latMax() - bbox.latMin()) * (bbox.lonMax() - bbox.lonMin()));
@@ -0,0 +1,79 @@
+package com.cloudradar.ingester.config;
+
+import io.lettuce.core.event.command.CommandBaseEvent;
+import io.lettuce.core.event.command.CommandFailedEvent;
+import io.lettuce.core.event.command.CommandListener;
+import io.lettuce.core.event.command.CommandStartedEvent;
+import io.lettuce.core.event.command.CommandSucceededEvent;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lettuce command listener that records every Redis command into a Micrometer timer tagged by
+ * command and key family (see {@link RedisKeyFamilies}).
+ *
+ * <p>Durations are measured with {@link System#nanoTime()} between write and completion on the
+ * Lettuce I/O path; the timer of each (command, family) pair is created once and then looked up
+ * without allocating.
+ */
+final class RedisCommandLatencyRecorder implements CommandListener {
+  private static final String STARTED_NANOS = RedisCommandLatencyRecorder.class.getName() + ".started";
+
+  private final MeterRegistry meterRegistry;
+  private final String metricName;
+  private final RedisKeyFamilies keyFamilies;
+  private final ConcurrentHashMap<ProtocolKeyword, Timer[]> timers = new ConcurrentHashMap<>();
+
+  RedisCommandLatencyRecorder(MeterRegistry meterRegistry, String metricName, RedisKeyFamilies keyFamilies) {
+    this.meterRegistry = meterRegistry;
+    this.metricName = metricName;
+    this.keyFamilies = keyFamilies;
+  }
+
+  @Override
+  public void commandStarted(CommandStartedEvent event) {
+    event.getContext().put(STARTED_NANOS, System.nanoTime());
+  }
+
+  @Override
+  public void commandSucceeded(CommandSucceededEvent event) {
+    record(event, false);
+  }
+
+  @Override
+  public void commandFailed(CommandFailedEvent event) {
+    record(event, true);
+  }
+
+  private void record(CommandBaseEvent event, boolean failed) {
+    if (!(event.getContext().get(STARTED_NANOS) instanceof Long startedNanos)) {
+      return;
+    }
+    long elapsed = System.nanoTime() - startedNanos;
+    CommandArgs<Object, Object> args = event.getCommand().getArgs();
+    int family = keyFamilies.indexOf(args == null ? null : args.getFirstEncodedKey());
+    ProtocolKeyword command = event.getCommand().getType();
+    Timer[] byFamily = timers.computeIfAbsent(command, ignored -> new Timer[keyFamilies.names().size() * 2]);
+    int slot = family * 2 + (failed ? 1 : 0);
+    Timer timer = byFamily[slot];
+    if (timer == null) {
+      timer = register(command, keyFamilies.names().get(family), failed ? "error" : "success");
+      byFamily[slot] = timer;
+    }
+    timer.record(elapsed, TimeUnit.NANOSECONDS);
+  }
+
+  private Timer register(ProtocolKeyword command, String family, String outcome) {
+    return Timer.builder(metricName)
+        .description("Redis command latency by command and key family")
+        .tag("command", command.toString())
+        .tag("key_family", family)
+        .tag("outcome", outcome)
+        .publishPercentileHistogram(true)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,49 @@
+package com.cloudradar.ingester.config;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+/**
+ * Registers {@link RedisCommandLatencyRecorder} on the Lettuce client behind the Redis connection
+ * factory, with the ingester's key families (ingest queue and bbox boost flag).
+ *
+ * <p>The listener is attached right after the factory is initialized (the client exists by then,
+ * connections do not), so every connection opened afterwards is instrumented.
+ */
+@Configuration
+public class RedisCommandMetricsConfig {
+
+  @Bean
+  static BeanPostProcessor redisCommandLatencyPostProcessor(
+      ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<IngesterProperties> properties) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof LettuceConnectionFactory factory) {
+          AbstractRedisClient client = factory.getNativeClient();
+          if (client != null) {
+            client.addListener(new RedisCommandLatencyRecorder(
+                meterRegistry.getObject(), "ingester.redis.command.duration", keyFamilies(properties.getObject())));
+          }
+        }
+        return bean;
+      }
+    };
+  }
+
+  static RedisKeyFamilies keyFamilies(IngesterProperties properties) {
+    RedisKeyFamilies.Builder builder = RedisKeyFamilies.builder();
+    if (properties.redis() != null) {
+      builder.key("queue", properties.redis().key());
+    }
+    if (properties.bboxBoost() != null) {
+      builder.key("bbox_boost", properties.bboxBoost().redisKey());
+    }
+    return builder.build();
+  }
+}
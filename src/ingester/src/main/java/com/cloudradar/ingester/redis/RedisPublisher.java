@@ -14,6 +14,9 @@ import org.springframework.stereotype.Component;
 
 @Component
 public class RedisPublisher {
+  /** Epoch millis at which the event entered the ingest queue; first hop of the latency trace. */
+  public static final String PUBLISHED_AT_FIELD = "ingester_published_at_ms";
+
   private static final Logger log = LoggerFactory.getLogger(RedisPublisher.class);
 
   private final StringRedisTemplate redisTemplate;
@@ -33,9 +36,11 @@ public class RedisPublisher {
     int pushed = 0;
     for (Map<String, Object> event : events) {
       try {
-        // Add ingest timestamp and push JSON payload into the Redis List.
+        // Add ingest timestamps and push JSON payload into the Redis List.
+        long publishedAtMs = System.currentTimeMillis();
         Map<String, Object> payload = new HashMap<>(event);
-        payload.put("ingested_at", Instant.now().toString());
+        payload.put("ingested_at", Instant.ofEpochMilli(publishedAtMs).toString());
+        payload.put(PUBLISHED_AT_FIELD, publishedAtMs);
         redisTemplate.opsForList().rightPush(properties.redis().key(), objectMapper.writeValueAsString(payload));
         pushed++;
       } catch (JsonProcessingException ex) {
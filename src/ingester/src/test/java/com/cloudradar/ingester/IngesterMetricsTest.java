@@ -3,7 +3,11 @@ package com.cloudradar.ingester;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.cloudradar.ingester.config.IngesterProperties;
+import com.cloudradar.ingester.opensky.FlightState;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 
 class IngesterMetricsTest {
@@ -31,6 +35,32 @@ class IngesterMetricsTest {
     assertThat(registry.get("ingester.opensky.bbox.area.km2").gauge().value()).isGreaterThan(0.0);
   }
 
+  @Test
+  void recordsPipelineLatencyPerHop() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    IngesterMetrics metrics =
+        new IngesterMetrics(
+            registry,
+            buildProperties(),
+            new OpenSkyRateLimitTracker(buildProperties()),
+            new IngestionBackoffController());
+    long fetchedAtMs = 1_706_000_010_000L;
+
+    metrics.recordSourceAge(
+        List.of(state(1_706_000_004L), state(1_706_000_008L), state(null)), fetchedAtMs);
+    metrics.recordPublishLatency(fetchedAtMs, fetchedAtMs + 250L);
+
+    Timer sourceToFetch = registry.get("ingester.pipeline.latency").tag("hop", "source_to_fetch").timer();
+    assertThat(sourceToFetch.count()).isEqualTo(2);
+    assertThat(sourceToFetch.max(TimeUnit.MILLISECONDS)).isEqualTo(6_000.0);
+    Timer fetchToPublish = registry.get("ingester.pipeline.latency").tag("hop", "fetch_to_publish").timer();
+    assertThat(fetchToPublish.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(250.0);
+  }
+
+  private static FlightState state(Long lastContact) {
+    return new FlightState("abc123", "AFR123", 48.0, 2.0, 200.0, 90.0, 10_000.0, 9_950.0, false, lastContact, lastContact);
+  }
+
   private IngesterProperties buildProperties() {
     return new IngesterProperties(
         10_000L,
@@ -0,0 +1,31 @@
+package com.cloudradar.ingester.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RedisCommandMetricsConfigTest {
+
+  @Test
+  void mapsIngestQueueAndBoostKeys() {
+    RedisKeyFamilies families = RedisCommandMetricsConfig.keyFamilies(new IngesterProperties(
+        10_000L,
+        new IngesterProperties.Redis("cloudradar:ingest:queue"),
+        null,
+        null,
+        new IngesterProperties.BboxBoost("cloudradar:opensky:bbox:boost:active", 2.0)));
+
+    assertThat(families.names()).containsExactly("queue", "bbox_boost", "other");
+    assertThat(families.indexOf("cloudradar:ingest:queue")).isZero();
+    assertThat(families.indexOf("cloudradar:opensky:bbox:boost:active")).isEqualTo(1);
+    assertThat(families.indexOf("cloudradar:aircraft:last")).isEqualTo(2);
+  }
+
+  @Test
+  void toleratesMissingSections() {
+    RedisKeyFamilies families =
+        RedisCommandMetricsConfig.keyFamilies(new IngesterProperties(10_000L, null, null, null, null));
+
+    assertThat(families.names()).containsExactly("other");
+  }
+}
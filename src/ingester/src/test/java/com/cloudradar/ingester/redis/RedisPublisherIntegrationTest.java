@@ -95,5 +95,7 @@ class RedisPublisherIntegrationTest {
     Object ingestedAt = asMap.get("ingested_at");
     assertNotNull(ingestedAt, "ingested_at must be added by ingester before Redis publish");
     assertTrue(Instant.parse(ingestedAt.toString()).isBefore(Instant.now().plusSeconds(5)));
+    long publishedAtMs = ((Number) asMap.get(RedisPublisher.PUBLISHED_AT_FIELD)).longValue();
+    assertEquals(Instant.parse(ingestedAt.toString()).toEpochMilli(), publishedAtMs);
   }
 }
@@ -0,0 +1,153 @@
+package com.cloudradar.processor.service;
+
+import com.cloudradar.processor.aircraft.AircraftMetadata;
+import com.cloudradar.processor.aircraft.SqliteAircraftMetadataRepository;
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.cloudradar.processor.service.ActivityBucketKeyResolver.BucketKey;
+import com.cloudradar.processor.service.BboxClassifier.BboxResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-event cost of each {@link EventProcessor#process} stage and of the whole pipeline.
+ *
+ * <p>Each operation handles one ingest payload, cycling through consecutive OpenSky batches so the
+ * merge stage always finds a previous snapshot. Redis is replaced by
+ * {@link InMemoryStringRedisTemplate}; the aircraft DB is a temporary SQLite file read through the
+ * production repository, with and without its LRU cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventProcessorBenchmark {
+  private static final int BATCHES = 3;
+
+  @Param({"1000", "10000"})
+  public int aircraft;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final ProcessorProperties properties = new ProcessorProperties();
+  private final BboxClassifier bboxClassifier = new BboxClassifier();
+  private final ActivityBucketKeyResolver bucketKeyResolver = new ActivityBucketKeyResolver();
+  private List<String> payloads;
+  private List<String> icao24s;
+  private PositionEvent[] events;
+  private LastPositionSnapshotWriter snapshotWriter;
+  private SqliteAircraftMetadataRepository cachedRepository;
+  private SqliteAircraftMetadataRepository uncachedRepository;
+  private EventProcessor eventProcessor;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() throws JsonProcessingException {
+    payloads = SyntheticTraffic.payloads(aircraft, BATCHES);
+    events = new PositionEvent[payloads.size()];
+    for (int i = 0; i < events.length; i++) {
+      events[i] = objectMapper.readValue(payloads.get(i), PositionEvent.class);
+    }
+    icao24s = Arrays.stream(events).map(PositionEvent::icao24).toList();
+
+    Path aircraftDb = SyntheticTraffic.aircraftDb(aircraft);
+    cachedRepository =
+        new SqliteAircraftMetadataRepository(aircraftDb, properties.getAircraftDb().getCacheSize());
+    uncachedRepository = new SqliteAircraftMetadataRepository(aircraftDb, 0);
+
+    InMemoryStringRedisTemplate mergeRedis = new InMemoryStringRedisTemplate();
+    snapshotWriter = new LastPositionSnapshotWriter(mergeRedis, objectMapper, properties);
+
+    InMemoryStringRedisTemplate pipelineRedis = new InMemoryStringRedisTemplate();
+    eventProcessor = new EventProcessor(
+        pipelineRedis,
+        objectMapper,
+        properties,
+        new ProcessorMetrics(new SimpleMeterRegistry(), properties),
+        bboxClassifier,
+        bucketKeyResolver,
+        Optional.of(cachedRepository),
+        new LastPositionSnapshotWriter(pipelineRedis, objectMapper, properties),
+        () -> { });
+
+    for (int i = 0; i < payloads.size(); i++) {
+      snapshotWriter.writeLatest(icao24s.get(i), payloads.get(i), events[i]);
+      eventProcessor.process(payloads.get(i));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cachedRepository.close();
+    uncachedRepository.close();
+  }
+
+  @Benchmark
+  public PositionEvent parse() throws JsonProcessingException {
+    return objectMapper.readValue(payloads.get(advance()), PositionEvent.class);
+  }
+
+  /** Previous-snapshot merge, then the pipelined hash, index and track writes. */
+  @Benchmark
+  public void merge() {
+    int index = advance();
+    snapshotWriter.writeLatest(icao24s.get(index), payloads.get(index), events[index]);
+  }
+
+  @Benchmark
+  public BboxResult classify() {
+    PositionEvent event = events[advance()];
+    return bboxClassifier.classify(event.lat(), event.lon(), properties.getBbox());
+  }
+
+  @Benchmark
+  public BucketKey resolveBucketKey() {
+    return bucketKeyResolver.resolve(
+        events[advance()].lastContact(),
+        properties.getActivityBucketSeconds(),
+        properties.getActivityBucketRetentionSeconds(),
+        properties.getRedis().getActivityBucketKeyPrefix());
+  }
+
+  /** Steady state: every ICAO24 of the fleet fits the default LRU. */
+  @Benchmark
+  public Optional<AircraftMetadata> metadataLookup() {
+    return cachedRepository.findByIcao24(icao24s.get(advance()));
+  }
+
+  /** Cold lookups: one prepared SQLite query per event. */
+  @Benchmark
+  public Optional<AircraftMetadata> metadataLookupUncached() {
+    return uncachedRepository.findByIcao24(icao24s.get(advance()));
+  }
+
+  @Benchmark
+  public void pipeline() {
+    eventProcessor.process(payloads.get(advance()));
+  }
+
+  private int advance() {
+    int index = next;
+    next = index + 1 == payloads.size() ? 0 : index + 1;
+    return index;
+  }
+}
@@ -0,0 +1,197 @@
+package com.cloudradar.processor.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.core.GeoOperations;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+/**
+ * Single-threaded, map-backed {@link StringRedisTemplate} for benchmarks.
+ *
+ * <p>Implements only the commands issued by {@link EventProcessor} and its writers, so a benchmark
+ * measures processor CPU and allocation without network or serialization of a real client. Any
+ * other command fails fast with {@link UnsupportedOperationException}. HyperLogLogs are plain sets.
+ */
+final class InMemoryStringRedisTemplate extends StringRedisTemplate {
+  private final Map<String, Map<Object, Object>> hashes = new HashMap<>();
+  private final Map<String, Deque<String>> lists = new HashMap<>();
+  private final Map<String, Set<String>> sets = new HashMap<>();
+  private final Map<String, Map<String, Double>> zsets = new HashMap<>();
+  private final Map<String, Map<String, Point>> geoSets = new HashMap<>();
+  private final Map<String, String> strings = new HashMap<>();
+  private final HashOperations<String, Object, Object> hashOps = proxy(HashOperations.class, this::hashCommand);
+  private final ListOperations<String, String> listOps = proxy(ListOperations.class, this::listCommand);
+  private final SetOperations<String, String> setOps = proxy(SetOperations.class, this::setCommand);
+  private final HyperLogLogOperations<String, String> hllOps =
+      proxy(HyperLogLogOperations.class, this::hllCommand);
+  private final ZSetOperations<String, String> zSetOps = proxy(ZSetOperations.class, this::zSetCommand);
+  private final GeoOperations<String, String> geoOps = proxy(GeoOperations.class, this::geoCommand);
+  private final ValueOperations<String, String> valueOps = proxy(ValueOperations.class, this::valueCommand);
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <HK, HV> HashOperations<String, HK, HV> opsForHash() {
+    return (HashOperations<String, HK, HV>) (HashOperations<String, ?, ?>) hashOps;
+  }
+
+  @Override
+  public ListOperations<String, String> opsForList() {
+    return listOps;
+  }
+
+  @Override
+  public SetOperations<String, String> opsForSet() {
+    return setOps;
+  }
+
+  @Override
+  public HyperLogLogOperations<String, String> opsForHyperLogLog() {
+    return hllOps;
+  }
+
+  @Override
+  public ZSetOperations<String, String> opsForZSet() {
+    return zSetOps;
+  }
+
+  @Override
+  public GeoOperations<String, String> opsForGeo() {
+    return geoOps;
+  }
+
+  @Override
+  public ValueOperations<String, String> opsForValue() {
+    return valueOps;
+  }
+
+  @Override
+  public Boolean expire(String key, long timeout, TimeUnit unit) {
+    return Boolean.TRUE;
+  }
+
+  /** Runs the callback's commands in place; replies are not collected. */
+  @Override
+  public List<Object> executePipelined(SessionCallback<?> session) {
+    session.execute(this);
+    return List.of();
+  }
+
+  private Object hashCommand(String command, Object[] args) {
+    Map<Object, Object> hash = hashes.computeIfAbsent((String) args[0], ignored -> new HashMap<>());
+    return switch (command) {
+      case "get" -> hash.get(args[1]);
+      case "put" -> {
+        hash.put(args[1], args[2]);
+        yield null;
+      }
+      case "increment" -> hash.merge(args[1], args[2], (old, delta) -> (Long) old + (Long) delta);
+      default -> throw unsupported("hash", command);
+    };
+  }
+
+  private Object listCommand(String command, Object[] args) {
+    Deque<String> list = lists.computeIfAbsent((String) args[0], ignored -> new ArrayDeque<>());
+    return switch (command) {
+      case "leftPush" -> {
+        list.addFirst((String) args[1]);
+        yield (long) list.size();
+      }
+      case "trim" -> {
+        long keep = (Long) args[2] + 1L;
+        while (list.size() > keep) {
+          list.removeLast();
+        }
+        yield null;
+      }
+      case "leftPop" -> list.pollFirst();
+      case "size" -> (long) list.size();
+      default -> throw unsupported("list", command);
+    };
+  }
+
+  private Object setCommand(String command, Object[] args) {
+    Set<String> set = sets.computeIfAbsent((String) args[0], ignored -> new HashSet<>());
+    return switch (command) {
+      case "add" -> Arrays.stream((Object[]) args[1]).filter(value -> set.add((String) value)).count();
+      case "remove" -> Arrays.stream((Object[]) args[1]).filter(set::remove).count();
+      case "size" -> (long) set.size();
+      default -> throw unsupported("set", command);
+    };
+  }
+
+  private Object hllCommand(String command, Object[] args) {
+    Set<String> hll = sets.computeIfAbsent((String) args[0], ignored -> new HashSet<>());
+    return switch (command) {
+      case "add" -> Arrays.stream((Object[]) args[1]).filter(value -> hll.add((String) value)).count() > 0 ? 1L : 0L;
+      case "union" -> {
+        for (Object source : (Object[]) args[1]) {
+          hll.addAll(sets.getOrDefault((String) source, Set.of()));
+        }
+        yield (long) hll.size();
+      }
+      default -> throw unsupported("hyperloglog", command);
+    };
+  }
+
+  private Object zSetCommand(String command, Object[] args) {
+    Map<String, Double> zset = zsets.computeIfAbsent((String) args[0], ignored -> new HashMap<>());
+    if ("add".equals(command) && args.length == 3) {
+      return zset.put((String) args[1], (Double) args[2]) == null;
+    }
+    throw unsupported("zset", command);
+  }
+
+  private Object geoCommand(String command, Object[] args) {
+    Map<String, Point> geo = geoSets.computeIfAbsent((String) args[0], ignored -> new HashMap<>());
+    if ("add".equals(command) && args.length == 3 && args[1] instanceof Point point) {
+      return geo.put((String) args[2], point) == null ? 1L : 0L;
+    }
+    if ("remove".equals(command) && args.length == 2) {
+      return Arrays.stream((Object[]) args[1]).filter(member -> geo.remove(member) != null).count();
+    }
+    throw unsupported("geo", command);
+  }
+
+  private Object valueCommand(String command, Object[] args) {
+    return switch (command) {
+      case "get" -> strings.get(args[0]);
+      case "set" -> {
+        strings.put((String) args[0], (String) args[1]);
+        yield null;
+      }
+      default -> throw unsupported("value", command);
+    };
+  }
+
+  private static UnsupportedOperationException unsupported(String type, String command) {
+    return new UnsupportedOperationException("In-memory " + type + " command not implemented: " + command);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<?> type, Command command) {
+    InvocationHandler handler = (target, method, args) -> command.apply(method.getName(), args);
+    return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+  }
+
+  @FunctionalInterface
+  private interface Command {
+    Object apply(String name, Object[] args);
+  }
+}
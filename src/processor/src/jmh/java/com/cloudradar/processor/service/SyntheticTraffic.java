@@ -0,0 +1,139 @@
+package com.cloudradar.processor.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic ingest payloads and aircraft reference DB for benchmarks.
+ *
+ * <p>Payloads match what the ingester pushes: one event per aircraft and OpenSky batch, about 60%
+ * inside the default processor bbox. The reference DB is a temporary SQLite file in the production
+ * schema covering 85% of the fleet, so lookups run through the real repository.
+ */
+final class SyntheticTraffic {
+  private static final long FIRST_BATCH_EPOCH = 1_760_000_000L;
+  private static final long BATCH_INTERVAL_SECONDS = 10L;
+  private static final String[][] AIRFRAMES = {
+    {"A320", "Large (75000 to 300000 lbs)", "L2J"},
+    {"B738", "Large (75000 to 300000 lbs)", "L2J"},
+    {"B77W", "Heavy (> 300000 lbs)", "L2J"},
+    {"C172", "Light (< 15500 lbs)", "L1P"},
+    {"H145", "Rotorcraft", "H2T"},
+    {"A400", "Heavy (> 300000 lbs)", "L4T"},
+  };
+
+  private SyntheticTraffic() {}
+
+  static String icao24(int index) {
+    return String.format(Locale.ROOT, "%06x", 0x390000 + index);
+  }
+
+  /** {@code batches} consecutive OpenSky batches of {@code aircraft} events, batch-major. */
+  static List<String> payloads(int aircraft, int batches) {
+    SplittableRandom random = new SplittableRandom(aircraft);
+    double[][] positions = new double[aircraft][];
+    for (int i = 0; i < aircraft; i++) {
+      boolean inside = random.nextInt(100) < 60;
+      positions[i] = new double[] {
+        inside ? 46.9 + random.nextDouble() * 3.9 : 40.0 + random.nextDouble() * 6.0,
+        -0.7 + random.nextDouble() * 6.1,
+        random.nextDouble() * 360.0,
+        60.0 + random.nextDouble() * 200.0,
+        300.0 + random.nextDouble() * 12_000.0,
+      };
+    }
+
+    List<String> payloads = new ArrayList<>(aircraft * batches);
+    for (int batch = 0; batch < batches; batch++) {
+      long batchEpoch = FIRST_BATCH_EPOCH + batch * BATCH_INTERVAL_SECONDS;
+      for (int i = 0; i < aircraft; i++) {
+        double[] position = positions[i];
+        position[0] += 0.01;
+        position[1] += 0.01;
+        long lastContact = batchEpoch - random.nextInt(15);
+        payloads.add(String.format(
+            Locale.ROOT,
+            "{\"icao24\":\"%s\",\"callsign\":\"CRD%04d\",\"lat\":%.5f,\"lon\":%.5f,\"heading\":%.1f,"
+                + "\"velocity\":%.2f,\"baro_altitude\":%.1f,\"geo_altitude\":%.1f,\"on_ground\":false,"
+                + "\"time_position\":%d,\"last_contact\":%d,\"ingested_at\":\"2025-10-09T08:53:20Z\","
+                + "\"opensky_fetch_epoch\":%d}",
+            icao24(i),
+            i % 10_000,
+            position[0],
+            position[1],
+            position[2],
+            position[3],
+            position[4] - 50.0,
+            position[4],
+            lastContact,
+            lastContact,
+            batchEpoch));
+      }
+    }
+    return payloads;
+  }
+
+  /** Writes a reference DB for {@code aircraft} ICAO24s into a new temporary file. */
+  static Path aircraftDb(int aircraft) {
+    try {
+      Path db = Files.createTempFile("cloudradar-bench-aircraft", ".db");
+      db.toFile().deleteOnExit();
+      try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + db.toAbsolutePath());
+           Statement st = conn.createStatement()) {
+        st.execute(
+            "CREATE TABLE aircraft ("
+                + "icao24 TEXT PRIMARY KEY, country TEXT, category_description TEXT,"
+                + " icao_aircraft_class TEXT, manufacturer_icao TEXT, manufacturer_name TEXT,"
+                + " model TEXT, registration TEXT, typecode TEXT, military_hint INTEGER,"
+                + " year_built INTEGER, owner_operator TEXT)");
+        insertRows(conn, aircraft);
+      }
+      return db;
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    } catch (SQLException ex) {
+      throw new IllegalStateException("Failed to build benchmark aircraft DB", ex);
+    }
+  }
+
+  private static void insertRows(Connection conn, int aircraft) throws SQLException {
+    SplittableRandom random = new SplittableRandom(aircraft);
+    conn.setAutoCommit(false);
+    try (PreparedStatement insert =
+        conn.prepareStatement("INSERT INTO aircraft VALUES (?,?,?,?,?,?,?,?,?,?,?,?)")) {
+      for (int i = 0; i < aircraft; i++) {
+        if (random.nextInt(100) >= 85) {
+          continue;
+        }
+        String[] airframe = AIRFRAMES[random.nextInt(AIRFRAMES.length)];
+        boolean military = "A400".equals(airframe[0]) || random.nextInt(100) < 2;
+        insert.setString(1, icao24(i));
+        insert.setString(2, random.nextBoolean() ? "France" : "Germany");
+        insert.setString(3, airframe[1]);
+        insert.setString(4, airframe[2]);
+        insert.setString(5, null);
+        insert.setString(6, null);
+        insert.setString(7, null);
+        insert.setString(8, "F-" + i);
+        insert.setString(9, airframe[0]);
+        insert.setInt(10, military ? 1 : 0);
+        insert.setInt(11, 1990 + random.nextInt(35));
+        insert.setString(12, military ? "Air Force" : "Operator " + random.nextInt(200));
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+    conn.commit();
+  }
+}
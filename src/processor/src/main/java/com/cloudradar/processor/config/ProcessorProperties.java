@@ -1,5 +1,8 @@
 package com.cloudradar.processor.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,10 +16,17 @@ public class ProcessorProperties {
   private final Redis redis = new Redis();
   private final Bbox bbox = new Bbox();
   private final AircraftDb aircraftDb = new AircraftDb();
+  private final Profiling profiling = new Profiling();
+  private final KeyspaceSampling keyspaceSampling = new KeyspaceSampling();
+  private final Lifecycle lifecycle = new Lifecycle();
+  private final BatchSnapshot batchSnapshot = new BatchSnapshot();
+  private final FleetMetrics fleetMetrics = new FleetMetrics();
   private int trackLength = 180;
   private long pollTimeoutSeconds = 2;
   private long activityBucketSeconds = 60;
   private long activityBucketRetentionSeconds = 172800;
+  private long activityHourRetentionSeconds = 691200;
+  private long activityDayRetentionSeconds = 2851200;
 
   public Redis getRedis() {
     return redis;
@@ -30,6 +40,26 @@ public class ProcessorProperties {
     return aircraftDb;
   }
 
+  public Profiling getProfiling() {
+    return profiling;
+  }
+
+  public KeyspaceSampling getKeyspaceSampling() {
+    return keyspaceSampling;
+  }
+
+  public Lifecycle getLifecycle() {
+    return lifecycle;
+  }
+
+  public BatchSnapshot getBatchSnapshot() {
+    return batchSnapshot;
+  }
+
+  public FleetMetrics getFleetMetrics() {
+    return fleetMetrics;
+  }
+
   public int getTrackLength() {
     return trackLength;
   }
@@ -62,13 +92,37 @@ public class ProcessorProperties {
     this.activityBucketRetentionSeconds = activityBucketRetentionSeconds;
   }
 
+  public long getActivityHourRetentionSeconds() {
+    return activityHourRetentionSeconds;
+  }
+
+  public void setActivityHourRetentionSeconds(long activityHourRetentionSeconds) {
+    this.activityHourRetentionSeconds = activityHourRetentionSeconds;
+  }
+
+  public long getActivityDayRetentionSeconds() {
+    return activityDayRetentionSeconds;
+  }
+
+  public void setActivityDayRetentionSeconds(long activityDayRetentionSeconds) {
+    this.activityDayRetentionSeconds = activityDayRetentionSeconds;
+  }
+
   /** Redis key names used by the processor read/write path. */
   public static class Redis {
     private String inputKey = "cloudradar:ingest:queue";
     private String lastPositionsKey = "cloudradar:aircraft:last";
+    private String lastSeenKey = "cloudradar:aircraft:last_seen";
+    private String lastContactKey = "cloudradar:aircraft:last_contact";
+    private String geoKey = "cloudradar:aircraft:geo";
+    private String batchSnapshotKey = "cloudradar:aircraft:snapshot:v1";
+    private String fleetMetricsKeyPrefix = "cloudradar:aircraft:fleet:";
     private String trackKeyPrefix = "cloudradar:aircraft:track:";
     private String bboxSetKey = "cloudradar:aircraft:in_bbox";
     private String activityBucketKeyPrefix = "cloudradar:activity:bucket:";
+    private String activityHourKeyPrefix = "cloudradar:activity:hour:";
+    private String activityDayKeyPrefix = "cloudradar:activity:day:";
+    private String activityRollupCursorKey = "cloudradar:activity:rollup:last_minute";
 
     public String getInputKey() {
       return inputKey;
@@ -86,6 +140,46 @@ public class ProcessorProperties {
       this.lastPositionsKey = lastPositionsKey;
     }
 
+    public String getLastSeenKey() {
+      return lastSeenKey;
+    }
+
+    public void setLastSeenKey(String lastSeenKey) {
+      this.lastSeenKey = lastSeenKey;
+    }
+
+    public String getLastContactKey() {
+      return lastContactKey;
+    }
+
+    public void setLastContactKey(String lastContactKey) {
+      this.lastContactKey = lastContactKey;
+    }
+
+    public String getGeoKey() {
+      return geoKey;
+    }
+
+    public void setGeoKey(String geoKey) {
+      this.geoKey = geoKey;
+    }
+
+    public String getBatchSnapshotKey() {
+      return batchSnapshotKey;
+    }
+
+    public void setBatchSnapshotKey(String batchSnapshotKey) {
+      this.batchSnapshotKey = batchSnapshotKey;
+    }
+
+    public String getFleetMetricsKeyPrefix() {
+      return fleetMetricsKeyPrefix;
+    }
+
+    public void setFleetMetricsKeyPrefix(String fleetMetricsKeyPrefix) {
+      this.fleetMetricsKeyPrefix = fleetMetricsKeyPrefix;
+    }
+
     public String getTrackKeyPrefix() {
       return trackKeyPrefix;
     }
@@ -109,6 +203,30 @@ public class ProcessorProperties {
     public void setActivityBucketKeyPrefix(String activityBucketKeyPrefix) {
       this.activityBucketKeyPrefix = activityBucketKeyPrefix;
     }
+
+    public String getActivityHourKeyPrefix() {
+      return activityHourKeyPrefix;
+    }
+
+    public void setActivityHourKeyPrefix(String activityHourKeyPrefix) {
+      this.activityHourKeyPrefix = activityHourKeyPrefix;
+    }
+
+    public String getActivityDayKeyPrefix() {
+      return activityDayKeyPrefix;
+    }
+
+    public void setActivityDayKeyPrefix(String activityDayKeyPrefix) {
+      this.activityDayKeyPrefix = activityDayKeyPrefix;
+    }
+
+    public String getActivityRollupCursorKey() {
+      return activityRollupCursorKey;
+    }
+
+    public void setActivityRollupCursorKey(String activityRollupCursorKey) {
+      this.activityRollupCursorKey = activityRollupCursorKey;
+    }
   }
 
   /** Geographic bounding box used to maintain the in-bbox aircraft set. */
@@ -181,4 +299,180 @@ public class ProcessorProperties {
       this.cacheSize = cacheSize;
     }
   }
+
+  /** Per-stage timing and allocation sampling of the event pipeline. */
+  public static class Profiling {
+    private boolean enabled = false;
+    private int allocationSampleEvery = 100;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public int getAllocationSampleEvery() {
+      return allocationSampleEvery;
+    }
+
+    public void setAllocationSampleEvery(int allocationSampleEvery) {
+      this.allocationSampleEvery = allocationSampleEvery;
+    }
+  }
+
+  /** Periodic key-count and memory sampling of the Redis key families. */
+  public static class KeyspaceSampling {
+    private boolean enabled = true;
+    private long intervalMs = 300000;
+    private int memorySamples = 20;
+    private int scanCount = 1000;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public long getIntervalMs() {
+      return intervalMs;
+    }
+
+    public void setIntervalMs(long intervalMs) {
+      this.intervalMs = intervalMs;
+    }
+
+    public int getMemorySamples() {
+      return memorySamples;
+    }
+
+    public void setMemorySamples(int memorySamples) {
+      this.memorySamples = memorySamples;
+    }
+
+    public int getScanCount() {
+      return scanCount;
+    }
+
+    public void setScanCount(int scanCount) {
+      this.scanCount = scanCount;
+    }
+  }
+
+  /** Expiry of idle aircraft from the last-position hash, tracks and bbox set. */
+  public static class Lifecycle {
+    private boolean enabled = true;
+    private long idleHorizonSeconds = 604800;
+    private long trackIdleTtlSeconds = 3600;
+    private long sweepIntervalMs = 60000;
+    private int sweepBatchSize = 500;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public long getIdleHorizonSeconds() {
+      return idleHorizonSeconds;
+    }
+
+    public void setIdleHorizonSeconds(long idleHorizonSeconds) {
+      this.idleHorizonSeconds = idleHorizonSeconds;
+    }
+
+    public long getTrackIdleTtlSeconds() {
+      return trackIdleTtlSeconds;
+    }
+
+    public void setTrackIdleTtlSeconds(long trackIdleTtlSeconds) {
+      this.trackIdleTtlSeconds = trackIdleTtlSeconds;
+    }
+
+    public long getSweepIntervalMs() {
+      return sweepIntervalMs;
+    }
+
+    public void setSweepIntervalMs(long sweepIntervalMs) {
+      this.sweepIntervalMs = sweepIntervalMs;
+    }
+
+    public int getSweepBatchSize() {
+      return sweepBatchSize;
+    }
+
+    public void setSweepBatchSize(int sweepBatchSize) {
+      this.sweepBatchSize = sweepBatchSize;
+    }
+  }
+
+  /** Pre-enriched snapshot of all live aircraft, written once per completed OpenSky batch. */
+  public static class BatchSnapshot {
+    private boolean enabled = true;
+    private long minIntervalMs = 1000;
+    private long ttlSeconds = 300;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public long getMinIntervalMs() {
+      return minIntervalMs;
+    }
+
+    public void setMinIntervalMs(long minIntervalMs) {
+      this.minIntervalMs = minIntervalMs;
+    }
+
+    public long getTtlSeconds() {
+      return ttlSeconds;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+      this.ttlSeconds = ttlSeconds;
+    }
+  }
+
+  /**
+   * Fleet breakdowns (fleet type, size, top type codes) computed on each batch snapshot for the
+   * dashboard's default bbox ({@code minLon,minLat,maxLon,maxLat}) and each window.
+   */
+  public static class FleetMetrics {
+    private boolean enabled = true;
+    private String bbox = "0.9823,47.9557,3.7221,49.7575";
+    private List<Duration> windows = new ArrayList<>(List.of(Duration.ofHours(6), Duration.ofHours(24)));
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public String getBbox() {
+      return bbox;
+    }
+
+    public void setBbox(String bbox) {
+      this.bbox = bbox;
+    }
+
+    public List<Duration> getWindows() {
+      return windows;
+    }
+
+    public void setWindows(List<Duration> windows) {
+      this.windows = windows;
+    }
+  }
 }
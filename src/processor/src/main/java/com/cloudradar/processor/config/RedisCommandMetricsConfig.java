@@ -0,0 +1,58 @@
+package com.cloudradar.processor.config;
+
+import io.lettuce.core.AbstractRedisClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+/**
+ * Registers {@link RedisCommandLatencyRecorder} on the Lettuce client behind the Redis connection
+ * factory, and exposes the processor's key families.
+ *
+ * <p>The listener is attached right after the factory is initialized (the client exists by then,
+ * connections do not), so every connection opened afterwards is instrumented.
+ */
+@Configuration
+public class RedisCommandMetricsConfig {
+
+  @Bean
+  RedisKeyFamilies redisKeyFamilies(ProcessorProperties properties) {
+    ProcessorProperties.Redis redis = properties.getRedis();
+    return RedisKeyFamilies.builder()
+        .key("queue", redis.getInputKey())
+        .key("last", redis.getLastPositionsKey())
+        .key("last_seen", redis.getLastSeenKey())
+        .key("last_contact", redis.getLastContactKey())
+        .key("geo", redis.getGeoKey())
+        .key("batch_snapshot", redis.getBatchSnapshotKey())
+        .prefix("fleet_metrics", redis.getFleetMetricsKeyPrefix())
+        .key("bbox", redis.getBboxSetKey())
+        .prefix("track", redis.getTrackKeyPrefix())
+        .prefix("activity_bucket", redis.getActivityBucketKeyPrefix())
+        .prefix("activity_rollup", redis.getActivityHourKeyPrefix())
+        .prefix("activity_rollup", redis.getActivityDayKeyPrefix())
+        .key("activity_rollup", redis.getActivityRollupCursorKey())
+        .build();
+  }
+
+  @Bean
+  static BeanPostProcessor redisCommandLatencyPostProcessor(
+      ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<RedisKeyFamilies> keyFamilies) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof LettuceConnectionFactory factory) {
+          AbstractRedisClient client = factory.getNativeClient();
+          if (client != null) {
+            client.addListener(new RedisCommandLatencyRecorder(
+                meterRegistry.getObject(), "processor.redis.command.duration", keyFamilies.getObject()));
+          }
+        }
+        return bean;
+      }
+    };
+  }
+}
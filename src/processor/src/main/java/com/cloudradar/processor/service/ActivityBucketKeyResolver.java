@@ -17,6 +17,11 @@ public class ActivityBucketKeyResolver {
       long bucketEpoch,
       long ttlSeconds) {}
 
+  /** Width of hourly rollup buckets. */
+  public static final long HOUR_SECONDS = 3600L;
+  /** Width of daily rollup buckets. */
+  public static final long DAY_SECONDS = 86400L;
+
   private static final String AIRCRAFT_HLL_SUFFIX = ":aircraft_hll";
   private static final String AIRCRAFT_MILITARY_HLL_SUFFIX = ":aircraft_military_hll";
 
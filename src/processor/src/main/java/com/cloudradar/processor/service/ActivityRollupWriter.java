@@ -0,0 +1,148 @@
+package com.cloudradar.processor.service;
+
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.cloudradar.processor.service.ActivityBucketKeyResolver.BucketKey;
+import java.time.Duration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Maintains hourly and daily activity rollups next to the per-minute buckets.
+ *
+ * <p>Event counters are incremented write-through on every event. Unique-aircraft HyperLogLogs are
+ * unioned with {@code PFMERGE} when processing moves to a new minute (previous minute → its hour)
+ * and to a new hour (previous hour → its day). The minute being written is persisted in Redis, so
+ * after a restart the minute (and hour) interrupted by the crash is still rolled up. When the queue
+ * stays idle, the last minute is rolled up on the wall clock instead of waiting for the next event.
+ * Merges are idempotent, so a restart or a second replica replaying a rollup is harmless. Rollover
+ * state is confined to the processing thread.
+ */
+final class ActivityRollupWriter {
+
+  private final StringRedisTemplate redisTemplate;
+  private final ProcessorProperties properties;
+  private final ActivityBucketKeyResolver resolver;
+  private final ProcessorMetrics metrics;
+  private long lastMinuteEpoch = Long.MIN_VALUE;
+  private boolean lastMinuteRolledUp;
+
+  ActivityRollupWriter(
+      StringRedisTemplate redisTemplate,
+      ProcessorProperties properties,
+      ActivityBucketKeyResolver resolver,
+      ProcessorMetrics metrics) {
+    this.redisTemplate = redisTemplate;
+    this.properties = properties;
+    this.resolver = resolver;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Adds one event to the hour/day counters and rolls up the previous minute on rollover.
+   *
+   * @param minute resolved minute bucket of the event
+   * @param military whether the aircraft is flagged military
+   */
+  void record(BucketKey minute, boolean military) {
+    long epoch = minute.bucketEpoch();
+    increment(hour(epoch).hashKey(), military);
+    increment(day(epoch).hashKey(), military);
+
+    if (epoch != lastMinuteEpoch) {
+      long previous = lastMinuteEpoch == Long.MIN_VALUE ? restoredMinute(epoch) : lastMinuteEpoch;
+      if (previous != epoch) {
+        rollUp(previous, epoch);
+      }
+      lastMinuteEpoch = epoch;
+      lastMinuteRolledUp = false;
+      redisTemplate.opsForValue().set(
+          properties.getRedis().getActivityRollupCursorKey(),
+          Long.toString(epoch),
+          Duration.ofSeconds(Math.max(1L, properties.getActivityBucketRetentionSeconds())));
+    }
+  }
+
+  /**
+   * Rolls up the last written minute once a full bucket has passed on the wall clock without a
+   * newer one, so an idle queue does not hold back the hour and day rollups.
+   *
+   * @param nowEpochSeconds current wall-clock time
+   */
+  void rollUpIdle(long nowEpochSeconds) {
+    long bucketSeconds = Math.max(1L, properties.getActivityBucketSeconds());
+    if (lastMinuteEpoch == Long.MIN_VALUE
+        || lastMinuteRolledUp
+        || nowEpochSeconds < lastMinuteEpoch + 2 * bucketSeconds) {
+      return;
+    }
+    rollUp(lastMinuteEpoch, nowEpochSeconds);
+    lastMinuteRolledUp = true;
+  }
+
+  /** Minute persisted by the previous run, or the minute before {@code epoch} when unknown. */
+  private long restoredMinute(long epoch) {
+    long fallback = epoch - Math.max(1L, properties.getActivityBucketSeconds());
+    String stored = redisTemplate.opsForValue().get(properties.getRedis().getActivityRollupCursorKey());
+    if (stored == null) {
+      return fallback;
+    }
+    try {
+      long minute = Long.parseLong(stored.trim());
+      return minute <= epoch ? minute : fallback;
+    } catch (NumberFormatException ex) {
+      return fallback;
+    }
+  }
+
+  private void rollUp(long previousMinuteEpoch, long currentEpoch) {
+    BucketKey previousMinute = resolver.resolve(
+        previousMinuteEpoch,
+        properties.getActivityBucketSeconds(),
+        properties.getActivityBucketRetentionSeconds(),
+        properties.getRedis().getActivityBucketKeyPrefix());
+    BucketKey hour = hour(previousMinuteEpoch);
+    merge(previousMinute, hour);
+    metrics.incrementHourRollup();
+
+    if (hour.bucketEpoch() != hour(currentEpoch).bucketEpoch()) {
+      merge(hour, day(hour.bucketEpoch()));
+      metrics.incrementDayRollup();
+    }
+    expire(hour);
+    expire(day(previousMinuteEpoch));
+  }
+
+  private void increment(String hashKey, boolean military) {
+    redisTemplate.opsForHash().increment(hashKey, "events_total", 1L);
+    if (military) {
+      redisTemplate.opsForHash().increment(hashKey, "events_military", 1L);
+    }
+  }
+
+  private void merge(BucketKey source, BucketKey destination) {
+    redisTemplate.opsForHyperLogLog().union(destination.hllKey(), source.hllKey());
+    redisTemplate.opsForHyperLogLog().union(destination.militaryHllKey(), source.militaryHllKey());
+  }
+
+  private void expire(BucketKey key) {
+    Duration ttl = Duration.ofSeconds(key.ttlSeconds());
+    redisTemplate.expire(key.hashKey(), ttl);
+    redisTemplate.expire(key.hllKey(), ttl);
+    redisTemplate.expire(key.militaryHllKey(), ttl);
+  }
+
+  private BucketKey hour(long epochSeconds) {
+    return resolver.resolve(
+        epochSeconds,
+        ActivityBucketKeyResolver.HOUR_SECONDS,
+        properties.getActivityHourRetentionSeconds(),
+        properties.getRedis().getActivityHourKeyPrefix());
+  }
+
+  private BucketKey day(long epochSeconds) {
+    return resolver.resolve(
+        epochSeconds,
+        ActivityBucketKeyResolver.DAY_SECONDS,
+        properties.getActivityDayRetentionSeconds(),
+        properties.getRedis().getActivityDayKeyPrefix());
+  }
+}
@@ -0,0 +1,89 @@
+package com.cloudradar.processor.service;
+
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+/**
+ * Indexes last-position hash entries written before the last-seen, last-contact and GEO indexes
+ * existed: last-seen with the given time, the others from the payload. Existing sorted set scores
+ * are kept ({@code ZADD NX}); a GEO position overwritten by a concurrent write is corrected by the
+ * aircraft's next write.
+ */
+final class AircraftIndexBackfill {
+  private static final int BATCH_SIZE = 1000;
+
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final ProcessorProperties.Redis keys;
+
+  AircraftIndexBackfill(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, ProcessorProperties.Redis keys) {
+    this.redisTemplate = redisTemplate;
+    this.objectMapper = objectMapper;
+    this.keys = keys;
+  }
+
+  void run(long nowEpochSeconds) {
+    Batch batch = new Batch();
+    ScanOptions options = ScanOptions.scanOptions().count(BATCH_SIZE).build();
+    try (Cursor<Map.Entry<Object, Object>> cursor =
+        redisTemplate.opsForHash().scan(keys.getLastPositionsKey(), options)) {
+      while (cursor.hasNext()) {
+        Map.Entry<Object, Object> entry = cursor.next();
+        String icao24 = entry.getKey().toString();
+        batch.lastSeen.add(new DefaultTypedTuple<>(icao24, (double) nowEpochSeconds));
+        PositionEvent event = parse(entry.getValue());
+        if (event != null && event.lastContact() != null) {
+          batch.lastContact.add(new DefaultTypedTuple<>(icao24, event.lastContact().doubleValue()));
+        }
+        if (event != null && LastPositionSnapshotWriter.isGeoIndexable(event.lat(), event.lon())) {
+          batch.positions.put(icao24, new Point(event.lon(), event.lat()));
+        }
+        if (batch.lastSeen.size() == BATCH_SIZE) {
+          flush(batch);
+          batch = new Batch();
+        }
+      }
+    }
+    flush(batch);
+  }
+
+  private void flush(Batch batch) {
+    if (!batch.lastSeen.isEmpty()) {
+      redisTemplate.opsForZSet().addIfAbsent(keys.getLastSeenKey(), batch.lastSeen);
+    }
+    if (!batch.lastContact.isEmpty()) {
+      redisTemplate.opsForZSet().addIfAbsent(keys.getLastContactKey(), batch.lastContact);
+    }
+    if (!batch.positions.isEmpty()) {
+      redisTemplate.opsForGeo().add(keys.getGeoKey(), batch.positions);
+    }
+  }
+
+  private PositionEvent parse(Object payload) {
+    if (payload == null) {
+      return null;
+    }
+    try {
+      return objectMapper.readValue(payload.toString(), PositionEvent.class);
+    } catch (Exception ex) {
+      return null;
+    }
+  }
+
+  /** Index entries of one scan page. */
+  private static final class Batch {
+    private final Set<TypedTuple<String>> lastSeen = new HashSet<>();
+    private final Set<TypedTuple<String>> lastContact = new HashSet<>();
+    private final Map<String, Point> positions = new HashMap<>();
+  }
+}
@@ -0,0 +1,140 @@
+package com.cloudradar.processor.service;
+
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Removes aircraft that have not been seen for {@code idle-horizon-seconds} from the
+ * last-position hash, their track list, the bbox set and the last-contact and GEO indexes.
+ *
+ * <p>Idle aircraft are found through the last-seen sorted set maintained by
+ * {@link LastPositionSnapshotWriter}. Each batch is removed by one Lua script, so an aircraft
+ * seen again while the sweep runs is never half-deleted. The first run also indexes hash entries
+ * written before the sorted sets existed (see {@link AircraftIndexBackfill}).
+ *
+ * <p>The dashboard metrics windows and {@code since} queries only see aircraft still in the hash,
+ * so the horizon must cover the dashboard {@code metrics-window-max}. It is never shorter than the
+ * longest fleet-metrics window.
+ */
+@Component
+@ConditionalOnProperty(prefix = "processor.lifecycle", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AircraftLifecycleSweeper {
+  private static final Logger LOGGER = LoggerFactory.getLogger(AircraftLifecycleSweeper.class);
+
+  /**
+   * KEYS: last-seen zset, last-position hash, bbox set, last-contact zset, geo index. ARGV: cutoff
+   * epoch seconds, track key prefix, batch size. Returns the number of aircraft removed. Track keys are derived inside the
+   * script, which is fine on a standalone Redis.
+   */
+  static final RedisScript<Long> SWEEP_SCRIPT = new DefaultRedisScript<>(
+      "local stale = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[3])) "
+          + "for _, icao in ipairs(stale) do "
+          + "redis.call('HDEL', KEYS[2], icao) "
+          + "redis.call('DEL', ARGV[2] .. icao) "
+          + "redis.call('SREM', KEYS[3], icao) "
+          + "end "
+          + "if #stale > 0 then "
+          + "redis.call('ZREM', KEYS[1], unpack(stale)) "
+          + "redis.call('ZREM', KEYS[4], unpack(stale)) "
+          + "redis.call('ZREM', KEYS[5], unpack(stale)) "
+          + "end "
+          + "return #stale",
+      Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final ProcessorProperties.Redis keys;
+  private final ProcessorProperties.Lifecycle settings;
+  private final long idleHorizonSeconds;
+  private final Counter sweptCounter;
+  private final AtomicLong liveAircraft;
+  private AircraftIndexBackfill pendingBackfill;
+
+  public AircraftLifecycleSweeper(
+      StringRedisTemplate redisTemplate,
+      ObjectMapper objectMapper,
+      ProcessorProperties properties,
+      MeterRegistry meterRegistry) {
+    this.redisTemplate = redisTemplate;
+    this.keys = properties.getRedis();
+    this.pendingBackfill = new AircraftIndexBackfill(redisTemplate, objectMapper, keys);
+    this.settings = properties.getLifecycle();
+    this.idleHorizonSeconds = idleHorizonSeconds(properties);
+    this.sweptCounter = Counter.builder("processor.aircraft.swept")
+        .description("Idle aircraft removed from the last-position hash, tracks and bbox set")
+        .register(meterRegistry);
+    this.liveAircraft = meterRegistry.gauge("processor.aircraft.live", new AtomicLong(0));
+  }
+
+  private static long idleHorizonSeconds(ProcessorProperties properties) {
+    long configured = properties.getLifecycle().getIdleHorizonSeconds();
+    long longestWindow = properties.getFleetMetrics().isEnabled()
+        ? properties.getFleetMetrics().getWindows().stream().mapToLong(Duration::getSeconds).max().orElse(0L)
+        : 0L;
+    if (configured < longestWindow) {
+      LOGGER.warn(
+          "idle-horizon-seconds={} is shorter than the longest fleet-metrics window; using {}",
+          configured,
+          longestWindow);
+      return longestWindow;
+    }
+    return configured;
+  }
+
+  @Scheduled(fixedDelayString = "${processor.lifecycle.sweep-interval-ms:60000}")
+  public void sweep() {
+    try {
+      sweepOnce(System.currentTimeMillis() / 1000);
+    } catch (Exception ex) {
+      LOGGER.warn("Aircraft lifecycle sweep failed", ex);
+    }
+  }
+
+  /** Runs one sweep for the given time and returns the number of aircraft removed. */
+  long sweepOnce(long nowEpochSeconds) {
+    if (pendingBackfill != null) {
+      pendingBackfill.run(nowEpochSeconds);
+      pendingBackfill = null;
+    }
+
+    List<String> scriptKeys = List.of(
+        keys.getLastSeenKey(),
+        keys.getLastPositionsKey(),
+        keys.getBboxSetKey(),
+        keys.getLastContactKey(),
+        keys.getGeoKey());
+    String cutoff = Long.toString(nowEpochSeconds - idleHorizonSeconds);
+    String batchSize = Integer.toString(settings.getSweepBatchSize());
+    long swept = 0;
+    while (true) {
+      Long removed = redisTemplate.execute(SWEEP_SCRIPT, scriptKeys, cutoff, keys.getTrackKeyPrefix(), batchSize);
+      if (removed == null || removed == 0) {
+        break;
+      }
+      swept += removed;
+      if (removed < settings.getSweepBatchSize()) {
+        break;
+      }
+    }
+
+    sweptCounter.increment(swept);
+    Long live = redisTemplate.opsForZSet().zCard(keys.getLastSeenKey());
+    liveAircraft.set(live == null ? 0L : live);
+    if (swept > 0) {
+      LOGGER.info("Swept {} idle aircraft, {} live", swept, live);
+    }
+    return swept;
+  }
+}
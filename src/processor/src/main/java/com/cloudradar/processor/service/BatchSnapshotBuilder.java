@@ -0,0 +1,166 @@
+package com.cloudradar.processor.service;
+
+import com.cloudradar.processor.aircraft.AircraftMetadata;
+import com.cloudradar.processor.aircraft.AircraftMetadataRepository;
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Encodes every entry of the last-position hash, with its aircraft metadata, into one compact
+ * JSON document: a header naming the columns, then one positional array per aircraft.
+ *
+ * <p>Rows are not deduplicated or filtered: readers apply their own bbox, cutoff and batch
+ * continuity rules exactly as they do on the hash. Metadata columns are only present when the
+ * aircraft DB is enabled ({@code "metadata": true}). The same pass feeds the optional
+ * {@link FleetMetricsAggregator}.
+ */
+final class BatchSnapshotBuilder {
+  static final int FORMAT_VERSION = 1;
+  static final List<String> EVENT_FIELDS = List.of(
+      "icao24", "callsign", "lat", "lon", "heading", "velocity", "geo_altitude", "baro_altitude",
+      "vertical_rate", "on_ground", "time_position", "last_contact", "ingested_at", "opensky_fetch_epoch",
+      "prev_lat", "prev_lon", "prev_heading", "prev_velocity", "prev_altitude", "prev_last_contact",
+      "processor_written_at_ms");
+  static final List<String> METADATA_FIELDS =
+      List.of("category", "country", "typecode", "military_hint", "owner_operator");
+  private static final long SCAN_COUNT = 1000L;
+
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final ProcessorProperties.Redis keys;
+  private final Optional<AircraftMetadataRepository> aircraftRepo;
+
+  BatchSnapshotBuilder(
+      StringRedisTemplate redisTemplate,
+      ObjectMapper objectMapper,
+      ProcessorProperties properties,
+      Optional<AircraftMetadataRepository> aircraftRepo) {
+    this.redisTemplate = redisTemplate;
+    this.objectMapper = objectMapper;
+    this.keys = properties.getRedis();
+    this.aircraftRepo = aircraftRepo;
+  }
+
+  /** Encoded document, its most recent {@code opensky_fetch_epoch} and its row count. */
+  record Snapshot(String json, Long batchEpoch, int aircraft) {}
+
+  boolean resolvesMetadata() {
+    return aircraftRepo.isPresent();
+  }
+
+  /**
+   * Scans the last-position hash once.
+   *
+   * @param generatedAtMs publish time written in the document
+   * @param fleetMetrics aggregator fed with every entry, or null
+   */
+  Snapshot build(long generatedAtMs, FleetMetricsAggregator fleetMetrics) throws IOException {
+    StringWriter out = new StringWriter();
+    Long batchEpoch = null;
+    int aircraft = 0;
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      writeHeader(generator, generatedAtMs);
+      generator.writeArrayFieldStart("rows");
+      ScanOptions options = ScanOptions.scanOptions().count(SCAN_COUNT).build();
+      try (Cursor<Map.Entry<Object, Object>> cursor =
+          redisTemplate.opsForHash().scan(keys.getLastPositionsKey(), options)) {
+        while (cursor.hasNext()) {
+          Map.Entry<Object, Object> entry = cursor.next();
+          JsonNode event = parse(entry.getValue());
+          if (event == null) {
+            continue;
+          }
+          Optional<AircraftMetadata> metadata =
+              aircraftRepo.flatMap(repo -> repo.findByIcao24(entry.getKey().toString()));
+          writeRow(generator, event, metadata);
+          if (fleetMetrics != null) {
+            fleetMetrics.add(event, metadata);
+          }
+          aircraft++;
+          batchEpoch = latestFetchEpoch(batchEpoch, event);
+        }
+      }
+      generator.writeEndArray();
+      if (batchEpoch == null) {
+        generator.writeNullField("batch_epoch");
+      } else {
+        generator.writeNumberField("batch_epoch", batchEpoch);
+      }
+      generator.writeEndObject();
+    }
+    return new Snapshot(out.toString(), batchEpoch, aircraft);
+  }
+
+  private void writeHeader(JsonGenerator generator, long generatedAtMs) throws IOException {
+    generator.writeStartObject();
+    generator.writeNumberField("version", FORMAT_VERSION);
+    generator.writeNumberField("generated_at_ms", generatedAtMs);
+    generator.writeBooleanField("metadata", aircraftRepo.isPresent());
+    generator.writeArrayFieldStart("fields");
+    for (String field : EVENT_FIELDS) {
+      generator.writeString(field);
+    }
+    if (aircraftRepo.isPresent()) {
+      for (String field : METADATA_FIELDS) {
+        generator.writeString(field);
+      }
+    }
+    generator.writeEndArray();
+  }
+
+  private static Long latestFetchEpoch(Long current, JsonNode event) {
+    JsonNode fetchEpoch = event.get("opensky_fetch_epoch");
+    if (fetchEpoch == null || !fetchEpoch.isNumber()) {
+      return current;
+    }
+    return current == null ? fetchEpoch.longValue() : Math.max(current, fetchEpoch.longValue());
+  }
+
+  private void writeRow(JsonGenerator generator, JsonNode event, Optional<AircraftMetadata> metadata)
+      throws IOException {
+    generator.writeStartArray();
+    for (String field : EVENT_FIELDS) {
+      JsonNode value = event.get(field);
+      if (value == null) {
+        generator.writeNull();
+      } else {
+        generator.writeTree(value);
+      }
+    }
+    if (aircraftRepo.isPresent()) {
+      generator.writeString(metadata.map(AircraftMetadata::categoryOrFallback).orElse(null));
+      generator.writeString(metadata.map(AircraftMetadata::country).orElse(null));
+      generator.writeString(metadata.map(AircraftMetadata::typecode).orElse(null));
+      Boolean militaryHint = metadata.map(AircraftMetadata::militaryHint).orElse(null);
+      if (militaryHint == null) {
+        generator.writeNull();
+      } else {
+        generator.writeBoolean(militaryHint);
+      }
+      generator.writeString(metadata.map(AircraftMetadata::ownerOperator).orElse(null));
+    }
+    generator.writeEndArray();
+  }
+
+  private JsonNode parse(Object payload) {
+    if (payload == null) {
+      return null;
+    }
+    try {
+      JsonNode node = objectMapper.readTree(payload.toString());
+      return node != null && node.isObject() ? node : null;
+    } catch (IOException ex) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.cloudradar.processor.service;
+
+import com.cloudradar.processor.config.ProcessorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Writes the {@link BatchSnapshotBuilder} document once per completed OpenSky batch.
+ *
+ * <p>The ingester pushes a whole batch at once and {@link EventProcessor} drains the queue in push
+ * order, so a batch is complete when the queue is drained, or, under backlog, when
+ * {@link EventProcessor} is about to write the first event of a newer
+ * {@code opensky_fetch_epoch}: the document is then built before that event lands, so it holds the
+ * whole previous batch and carries its epoch. Writes are at least {@code min-interval-ms} apart and expire after
+ * {@code ttl-seconds}, so readers stop using the document if the processor stops. The fleet
+ * metrics hashes ({@link FleetMetricsWriter}) are computed during the same scan and written after it.
+ */
+final class BatchSnapshotPublisher {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchSnapshotPublisher.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final BatchSnapshotBuilder builder;
+  private final FleetMetricsWriter fleetMetricsWriter;
+  private final String key;
+  private final ProcessorProperties.BatchSnapshot settings;
+  private final Timer buildTimer;
+  private final AtomicLong aircraftGauge;
+  private final AtomicLong bytesGauge;
+  private boolean dirty;
+  private long lastPublishMs;
+
+  BatchSnapshotPublisher(
+      StringRedisTemplate redisTemplate,
+      BatchSnapshotBuilder builder,
+      FleetMetricsWriter fleetMetricsWriter,
+      ProcessorProperties properties,
+      MeterRegistry meterRegistry) {
+    this.redisTemplate = redisTemplate;
+    this.builder = builder;
+    this.fleetMetricsWriter = fleetMetricsWriter;
+    this.key = properties.getRedis().getBatchSnapshotKey();
+    this.settings = properties.getBatchSnapshot();
+    this.buildTimer = Timer.builder("processor.batch.snapshot.duration")
+        .description("Time to build and write the per-batch aircraft snapshot")
+        .register(meterRegistry);
+    this.aircraftGauge = meterRegistry.gauge("processor.batch.snapshot.aircraft", new AtomicLong(0));
+    this.bytesGauge = meterRegistry.gauge("processor.batch.snapshot.bytes", new AtomicLong(0));
+  }
+
+  /**
+   * Called after each poll of the ingest queue.
+   *
+   * @param processed whether the poll processed an event
+   * @param queueDepth queue length observed after the poll
+   * @param nowMs current wall-clock time
+   */
+  void afterPoll(boolean processed, long queueDepth, long nowMs) {
+    if (!settings.isEnabled()) {
+      return;
+    }
+    dirty |= processed;
+    if (queueDepth == 0) {
+      publishIfDue(nowMs);
+    }
+  }
+
+  /**
+   * Called before the first event of a newer OpenSky batch is written.
+   *
+   * @param nowMs current wall-clock time
+   */
+  void beforeNewerBatch(long nowMs) {
+    if (settings.isEnabled()) {
+      publishIfDue(nowMs);
+    }
+  }
+
+  private void publishIfDue(long nowMs) {
+    if (dirty && nowMs - lastPublishMs >= settings.getMinIntervalMs()) {
+      publish(nowMs);
+    }
+  }
+
+  private void publish(long nowMs) {
+    lastPublishMs = nowMs;
+    long started = System.nanoTime();
+    try {
+      FleetMetricsAggregator fleetMetrics = fleetMetricsWriter.newAggregator();
+      BatchSnapshotBuilder.Snapshot snapshot = builder.build(nowMs, fleetMetrics);
+      redisTemplate.opsForValue().set(key, snapshot.json(), Duration.ofSeconds(settings.getTtlSeconds()));
+      if (fleetMetrics != null) {
+        fleetMetricsWriter.write(fleetMetrics, nowMs, snapshot.batchEpoch(), builder.resolvesMetadata());
+      }
+      dirty = false;
+      aircraftGauge.set(snapshot.aircraft());
+      bytesGauge.set(snapshot.json().length());
+    } catch (Exception ex) {
+      LOGGER.warn("Failed to publish batch snapshot", ex);
+    } finally {
+      buildTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+  }
+}
@@ -4,7 +4,8 @@ import com.cloudradar.processor.aircraft.AircraftMetadata;
 import com.cloudradar.processor.aircraft.AircraftMetadataRepository;
 import com.cloudradar.processor.config.ProcessorProperties;
 import com.cloudradar.processor.service.ActivityBucketKeyResolver.BucketKey;
-import com.cloudradar.processor.service.BboxClassifier.BboxResult;
+import com.cloudradar.processor.service.StageProfiler.Stage;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Duration;
 import java.util.Optional;
@@ -16,11 +17,13 @@ import org.springframework.data.redis.core.StringRedisTemplate;
  * Core event-processing pipeline.
  *
  * <p>Orchestrates: validation, Redis writes, geo-fence classification,
- * activity bucket recording, metadata enrichment, and metric recording.
+ * activity bucket recording (minute buckets plus hour/day rollups), metadata enrichment,
+ * and metric recording.
  */
 class EventProcessor {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(EventProcessor.class);
+  private static final long QUEUE_AGE_SAMPLE_INTERVAL_MS = 1_000L;
 
   private final StringRedisTemplate redisTemplate;
   private final ObjectMapper objectMapper;
@@ -30,6 +33,11 @@ class EventProcessor {
   private final ActivityBucketKeyResolver bucketKeyResolver;
   private final Optional<AircraftMetadataRepository> aircraftRepo;
   private final LastPositionSnapshotWriter snapshotWriter;
+  private final ActivityRollupWriter rollupWriter;
+  private final Runnable beforeNewerBatch;
+  private long lastQueueAgeSampleMs;
+  private long queueDepth;
+  private Long latestFetchEpoch;
 
   EventProcessor(
       StringRedisTemplate redisTemplate,
@@ -39,7 +47,8 @@ class EventProcessor {
       BboxClassifier bboxClassifier,
       ActivityBucketKeyResolver bucketKeyResolver,
       Optional<AircraftMetadataRepository> aircraftRepo,
-      LastPositionSnapshotWriter snapshotWriter) {
+      LastPositionSnapshotWriter snapshotWriter,
+      Runnable beforeNewerBatch) {
     this.redisTemplate = redisTemplate;
     this.objectMapper = objectMapper;
     this.properties = properties;
@@ -48,15 +57,32 @@ class EventProcessor {
     this.bucketKeyResolver = bucketKeyResolver;
     this.aircraftRepo = aircraftRepo;
     this.snapshotWriter = snapshotWriter;
+    this.rollupWriter = new ActivityRollupWriter(redisTemplate, properties, bucketKeyResolver, metrics);
+    this.beforeNewerBatch = beforeNewerBatch;
   }
 
-  /** Polls Redis for a payload and processes it if present. Also refreshes queue depth. */
-  void pollAndProcess(String inputKey, Duration timeout) {
-    String payload = redisTemplate.opsForList().rightPop(inputKey, timeout);
+  /**
+   * Pops the oldest queued payload and processes it if present. Also refreshes queue depth and age.
+   *
+   * <p>The ingester pushes right and this pops left, so events are processed in publish order and a
+   * batch is fully written before the first event of the next one.
+   *
+   * @return whether a payload was dequeued
+   */
+  boolean pollAndProcess(String inputKey, Duration timeout) {
+    String payload = redisTemplate.opsForList().leftPop(inputKey, timeout);
     if (payload != null) {
-      process(payload);
+      process(payload, System.currentTimeMillis());
+    } else {
+      rollUpIdleActivity();
     }
     refreshQueueDepth(inputKey);
+    return payload != null;
+  }
+
+  /** Queue length observed by the last poll. */
+  long queueDepth() {
+    return queueDepth;
   }
 
   /** Handles uncaught exceptions from the main loop. */
@@ -66,11 +92,22 @@ class EventProcessor {
   }
 
   /**
-   * Processes a single JSON payload through the full pipeline:
-   * parse → validate icao24 → write last-position hash → append track →
+   * parse → validate icao24 → write last-position hash, indexes and track (one pipeline) →
    * classify bbox → enrich from aircraft DB → record activity bucket → update metrics.
+   * Each stage is timed by {@link StageProfiler} when profiling is enabled.
    */
   void process(String payload) {
+    process(payload, System.currentTimeMillis());
+  }
+
+  /**
+   * Same as {@link #process(String)} for a payload dequeued at {@code dequeuedAtMs}; the stored
+   * snapshot and track entry carry the dequeue and write stamps used for latency tracing.
+   */
+  void process(String payload, long dequeuedAtMs) {
+    StageProfiler profiler = metrics.stageProfiler();
+    long allocatedAtStart = profiler.beginEvent();
+    long stageStart = profiler.start();
     PositionEvent event;
     try {
       event = objectMapper.readValue(payload, PositionEvent.class);
@@ -84,40 +121,50 @@ class EventProcessor {
       metrics.incrementError();
       return;
     }
+    stageStart = profiler.lap(Stage.PARSE, stageStart);
 
     String redisIcao = event.icao24().trim();
-    snapshotWriter.writeLatest(redisIcao, payload);
-
-    if (properties.getTrackLength() > 0) {
-      String trackKey = properties.getRedis().getTrackKeyPrefix() + redisIcao;
-      long trackEndIndex = (long) properties.getTrackLength() - 1L;
-      redisTemplate.opsForList().leftPush(trackKey, payload);
-      redisTemplate.opsForList().trim(trackKey, 0L, trackEndIndex);
+    if (event.openskyFetchEpoch() != null
+        && (latestFetchEpoch == null || event.openskyFetchEpoch() > latestFetchEpoch)) {
+      if (latestFetchEpoch != null) {
+        // Nothing of the newer batch is stored yet, so what is stored is the completed previous one.
+        beforeNewerBatch.run();
+        stageStart = profiler.start();
+      }
+      latestFetchEpoch = event.openskyFetchEpoch();
     }
+    long writtenAtMs = System.currentTimeMillis();
+    String stampedPayload = PipelineStamps.stamp(payload, dequeuedAtMs, writtenAtMs);
+    snapshotWriter.writeLatest(redisIcao, stampedPayload, event);
+    stageStart = profiler.lap(Stage.SNAPSHOT_WRITE, stageStart);
 
     updateBboxState(event, redisIcao);
+    stageStart = profiler.lap(Stage.BBOX_UPDATE, stageStart);
 
     Optional<AircraftMetadata> metadata = Optional.empty();
     if (aircraftRepo.isPresent()) {
       metadata = aircraftRepo.get().findByIcao24(redisIcao);
       recordAircraftMetrics(metadata);
+      stageStart = profiler.lap(Stage.METADATA_LOOKUP, stageStart);
     }
 
-    long nowEpoch = System.currentTimeMillis() / 1000;
+    long processedAtMs = System.currentTimeMillis();
+    long nowEpoch = processedAtMs / 1000;
     recordActivityBucket(nowEpoch, redisIcao, metadata);
+    profiler.lap(Stage.ACTIVITY_BUCKET, stageStart);
     metrics.incrementProcessed();
     metrics.updateLastProcessedEpoch(nowEpoch);
+    metrics.pipelineLatency().record(event, dequeuedAtMs, writtenAtMs, processedAtMs);
+    profiler.endEvent(allocatedAtStart);
   }
 
   private void updateBboxState(PositionEvent event, String redisIcao) {
-    BboxResult result = bboxClassifier.classify(event.lat(), event.lon(), properties.getBbox());
-    if (result == BboxResult.UNKNOWN) {
-      return;
-    }
-    if (result == BboxResult.INSIDE) {
-      redisTemplate.opsForSet().add(properties.getRedis().getBboxSetKey(), redisIcao);
-    } else {
-      redisTemplate.opsForSet().remove(properties.getRedis().getBboxSetKey(), redisIcao);
+    switch (bboxClassifier.classify(event.lat(), event.lon(), properties.getBbox())) {
+      case UNKNOWN -> {
+        return;
+      }
+      case INSIDE -> redisTemplate.opsForSet().add(properties.getRedis().getBboxSetKey(), redisIcao);
+      default -> redisTemplate.opsForSet().remove(properties.getRedis().getBboxSetKey(), redisIcao);
     }
     Long count = redisTemplate.opsForSet().size(properties.getRedis().getBboxSetKey());
     if (count != null) {
@@ -154,7 +201,8 @@ class EventProcessor {
       redisTemplate.opsForHash().increment(key.hashKey(), "events_total", 1L);
       redisTemplate.opsForHyperLogLog().add(key.hllKey(), icao24);
 
-      if (metadata.map(AircraftMetadata::militaryHint).orElse(false)) {
+      boolean military = metadata.map(AircraftMetadata::militaryHint).orElse(false);
+      if (military) {
         redisTemplate.opsForHash().increment(key.hashKey(), "events_military", 1L);
         redisTemplate.opsForHyperLogLog().add(key.militaryHllKey(), icao24);
       }
@@ -163,19 +211,48 @@ class EventProcessor {
       redisTemplate.expire(key.hashKey(), ttl);
       redisTemplate.expire(key.hllKey(), ttl);
       redisTemplate.expire(key.militaryHllKey(), ttl);
+
+      rollupWriter.record(key, military);
     } catch (Exception ex) {
       LOGGER.debug("Failed to update activity bucket", ex);
     }
   }
 
+  private void rollUpIdleActivity() {
+    try {
+      rollupWriter.rollUpIdle(System.currentTimeMillis() / 1000);
+    } catch (Exception ex) {
+      LOGGER.debug("Failed to roll up idle activity", ex);
+    }
+  }
+
   private void refreshQueueDepth(String inputKey) {
     try {
       Long size = redisTemplate.opsForList().size(inputKey);
       if (size != null) {
+        queueDepth = size;
         metrics.updateQueueDepth(size);
       }
+      refreshQueueAge(inputKey, size);
     } catch (Exception ignored) {
       // ignore errors to avoid impacting the processing loop
     }
   }
+
+  /**
+   * Samples the publish stamp of the oldest queued event (list head, which is also the next one
+   * popped) at most once per second.
+   */
+  private void refreshQueueAge(String inputKey, Long size) throws JsonProcessingException {
+    long nowMs = System.currentTimeMillis();
+    if (nowMs - lastQueueAgeSampleMs < QUEUE_AGE_SAMPLE_INTERVAL_MS) {
+      return;
+    }
+    lastQueueAgeSampleMs = nowMs;
+    String oldest = size == null || size == 0 ? null : redisTemplate.opsForList().index(inputKey, 0);
+    Long publishedAtMs = oldest == null
+        ? null
+        : objectMapper.readValue(oldest, PositionEvent.class).ingesterPublishedAtMs();
+    metrics.pipelineLatency().updateQueueOldestAge(publishedAtMs == null ? 0L : (nowMs - publishedAtMs) / 1000);
+  }
 }
@@ -0,0 +1,175 @@
+package com.cloudradar.processor.service;
+
+import com.cloudradar.processor.aircraft.AircraftMetadata;
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Counts the aircraft of one batch snapshot inside the fleet-metrics bbox, per window.
+ *
+ * <p>Fed with every last-position entry while {@link BatchSnapshotBuilder} scans the hash. Each
+ * window keeps the entries whose {@code last_contact} is within the window, restricted to the three
+ * most recent OpenSky batches, and one entry per aircraft (newest batch first, then newest
+ * contact), like the dashboard's snapshot deduplication. The result is one small hash per window:
+ * {@code active}, {@code military}, {@code fleet:<type>}, {@code size:<class>} and the top
+ * {@code type:<label>} counts, plus the bbox and batch it describes.
+ */
+final class FleetMetricsAggregator {
+  static final int TOP_TYPES = 8;
+  private static final int CONTINUITY_BATCHES = 3;
+
+  private final String bbox;
+  private final double[] bounds;
+  private final List<Duration> windows;
+  private final List<Row> rows = new ArrayList<>();
+
+  FleetMetricsAggregator(ProcessorProperties.FleetMetrics settings) {
+    this.bbox = settings.getBbox();
+    this.bounds = parseBbox(settings.getBbox());
+    this.windows = settings.getWindows();
+  }
+
+  /** Records one last-position payload; entries outside the bbox or without identity are ignored. */
+  void add(JsonNode event, Optional<AircraftMetadata> metadata) {
+    String icao24 = text(event, "icao24");
+    Double lat = number(event, "lat");
+    Double lon = number(event, "lon");
+    if (icao24 == null || lat == null || lon == null
+        || lon < bounds[0] || lat < bounds[1] || lon > bounds[2] || lat > bounds[3]) {
+      return;
+    }
+    String category = metadata.map(AircraftMetadata::categoryOrFallback).orElse(null);
+    String typecode = metadata.map(AircraftMetadata::typecode).orElse(null);
+    Boolean militaryHint = metadata.map(AircraftMetadata::militaryHint).orElse(null);
+    String ownerOperator = metadata.map(AircraftMetadata::ownerOperator).orElse(null);
+    Double fetchEpoch = number(event, "opensky_fetch_epoch");
+    Double lastContact = number(event, "last_contact");
+    rows.add(new Row(
+        icao24.toLowerCase(Locale.ROOT),
+        fetchEpoch == null ? null : fetchEpoch.longValue(),
+        lastContact == null ? null : lastContact.longValue(),
+        Boolean.TRUE.equals(militaryHint),
+        FleetTaxonomy.fleetType(militaryHint, category, ownerOperator, text(event, "callsign")),
+        FleetTaxonomy.aircraftSize(category, typecode),
+        FleetTaxonomy.typeLabel(category, typecode)));
+  }
+
+  /** One hash per window, keyed by window length in seconds. */
+  Map<Long, Map<String, String>> hashes(long generatedAtMs, Long batchEpoch, boolean metadata) {
+    Map<Long, Map<String, String>> hashes = new LinkedHashMap<>();
+    for (Duration window : windows) {
+      long cutoff = generatedAtMs / 1000L - window.getSeconds();
+      Map<String, String> hash = counts(latestPerAircraft(cutoff));
+      hash.put("bbox", bbox);
+      hash.put("window_seconds", Long.toString(window.getSeconds()));
+      hash.put("generated_at_ms", Long.toString(generatedAtMs));
+      hash.put("metadata", Boolean.toString(metadata));
+      if (batchEpoch != null) {
+        hash.put("batch_epoch", Long.toString(batchEpoch));
+      }
+      hashes.put(window.getSeconds(), hash);
+    }
+    return hashes;
+  }
+
+  private Map<String, Row> latestPerAircraft(long cutoff) {
+    List<Row> inWindow = new ArrayList<>();
+    TreeSet<Long> batchEpochs = new TreeSet<>();
+    for (Row row : rows) {
+      if (row.lastContact() != null && row.lastContact() >= cutoff) {
+        inWindow.add(row);
+        if (row.fetchEpoch() != null) {
+          batchEpochs.add(row.fetchEpoch());
+        }
+      }
+    }
+    while (batchEpochs.size() > CONTINUITY_BATCHES) {
+      batchEpochs.pollFirst();
+    }
+    Map<String, Row> latest = new HashMap<>();
+    for (Row row : inWindow) {
+      if (!batchEpochs.isEmpty() && (row.fetchEpoch() == null || !batchEpochs.contains(row.fetchEpoch()))) {
+        continue;
+      }
+      latest.merge(row.icao24(), row, (current, candidate) -> candidate.isPreferredOver(current) ? candidate : current);
+    }
+    return latest;
+  }
+
+  private static Map<String, String> counts(Map<String, Row> latest) {
+    Map<String, Integer> counts = new HashMap<>();
+    Map<String, Integer> types = new HashMap<>();
+    int military = 0;
+    for (Row row : latest.values()) {
+      counts.merge("fleet:" + row.fleetType(), 1, Integer::sum);
+      counts.merge("size:" + row.size(), 1, Integer::sum);
+      types.merge(row.typeLabel(), 1, Integer::sum);
+      if (row.military()) {
+        military++;
+      }
+    }
+    Map<String, String> hash = new LinkedHashMap<>();
+    hash.put("active", Integer.toString(latest.size()));
+    hash.put("military", Integer.toString(military));
+    counts.forEach((field, count) -> hash.put(field, Integer.toString(count)));
+    types.entrySet().stream()
+        .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+        .limit(TOP_TYPES)
+        .forEach(entry -> hash.put("type:" + entry.getKey(), Integer.toString(entry.getValue())));
+    return hash;
+  }
+
+  private static double[] parseBbox(String raw) {
+    String[] parts = raw.split(",");
+    if (parts.length != 4) {
+      throw new IllegalArgumentException("fleet-metrics bbox must be minLon,minLat,maxLon,maxLat: " + raw);
+    }
+    double[] bounds = new double[4];
+    for (int i = 0; i < 4; i++) {
+      bounds[i] = Double.parseDouble(parts[i].trim());
+    }
+    return bounds;
+  }
+
+  private static String text(JsonNode event, String field) {
+    JsonNode value = event.get(field);
+    return value == null || !value.isTextual() || value.asText().isBlank() ? null : value.asText().trim();
+  }
+
+  private static Double number(JsonNode event, String field) {
+    JsonNode value = event.get(field);
+    return value != null && value.isNumber() ? value.doubleValue() : null;
+  }
+
+  private record Row(
+      String icao24,
+      Long fetchEpoch,
+      Long lastContact,
+      boolean military,
+      String fleetType,
+      String size,
+      String typeLabel) {
+
+    boolean isPreferredOver(Row current) {
+      if (fetchEpoch != null && current.fetchEpoch() != null && !fetchEpoch.equals(current.fetchEpoch())) {
+        return fetchEpoch > current.fetchEpoch();
+      }
+      if (fetchEpoch != null && current.fetchEpoch() == null) {
+        return true;
+      }
+      if (fetchEpoch == null && current.fetchEpoch() != null) {
+        return false;
+      }
+      return lastContact != null && (current.lastContact() == null || lastContact >= current.lastContact());
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.cloudradar.processor.service;
+
+import com.cloudradar.processor.config.ProcessorProperties;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Stores the {@link FleetMetricsAggregator} hashes under {@code <fleet-metrics-key-prefix><window
+ * seconds>}.
+ *
+ * <p>Each hash is written to a staging key and renamed over the previous one, so readers never see
+ * a partially written or mixed-batch hash. It expires with the batch snapshot.
+ */
+final class FleetMetricsWriter {
+  private final StringRedisTemplate redisTemplate;
+  private final ProcessorProperties.FleetMetrics settings;
+  private final String keyPrefix;
+  private final Duration ttl;
+
+  FleetMetricsWriter(StringRedisTemplate redisTemplate, ProcessorProperties properties) {
+    this.redisTemplate = redisTemplate;
+    this.settings = properties.getFleetMetrics();
+    this.keyPrefix = properties.getRedis().getFleetMetricsKeyPrefix();
+    this.ttl = Duration.ofSeconds(properties.getBatchSnapshot().getTtlSeconds());
+  }
+
+  /** Aggregator for the next snapshot build, or null when fleet metrics are disabled. */
+  FleetMetricsAggregator newAggregator() {
+    return settings.isEnabled() && !settings.getWindows().isEmpty() ? new FleetMetricsAggregator(settings) : null;
+  }
+
+  void write(FleetMetricsAggregator aggregator, long generatedAtMs, Long batchEpoch, boolean metadata) {
+    for (Map.Entry<Long, Map<String, String>> window : aggregator.hashes(generatedAtMs, batchEpoch, metadata).entrySet()) {
+      String key = keyPrefix + window.getKey();
+      String stagingKey = key + ":staging";
+      redisTemplate.opsForHash().putAll(stagingKey, window.getValue());
+      redisTemplate.expire(stagingKey, ttl);
+      redisTemplate.rename(stagingKey, key);
+    }
+  }
+}
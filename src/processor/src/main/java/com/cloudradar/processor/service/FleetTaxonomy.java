@@ -0,0 +1,124 @@
+package com.cloudradar.processor.service;
+
+import java.util.Locale;
+
+/**
+ * Fleet type, size class and type label of an aircraft, as shown by the dashboard metrics.
+ *
+ * <p>Same rules as the dashboard's {@code FlightTaxonomy}; both must change together, otherwise
+ * the precomputed fleet breakdowns and the ones computed from snapshots disagree. Both run the
+ * cases of {@code tests/fixtures/fleet-taxonomy.csv}.
+ */
+final class FleetTaxonomy {
+  static final String UNKNOWN = "unknown";
+
+  private FleetTaxonomy() {}
+
+  static String fleetType(Boolean militaryHint, String category, String ownerOperator, String callsign) {
+    if (Boolean.TRUE.equals(militaryHint)) {
+      return "military";
+    }
+    String owner = normalize(ownerOperator, true);
+    String normalizedCategory = normalize(category, true);
+    if (isRescue(owner, normalizedCategory, normalize(callsign, true))) {
+      return "rescue";
+    }
+    if ((owner != null && (owner.contains("private") || owner.contains("charter")))
+        || (normalizedCategory != null
+            && (normalizedCategory.contains("private")
+                || normalizedCategory.contains("business")
+                || normalizedCategory.contains("general")))) {
+      return "private";
+    }
+    return normalizedCategory == null ? UNKNOWN : "commercial";
+  }
+
+  static String aircraftSize(String category, String typecode) {
+    String fromCategory = sizeFromCategory(normalize(category, true));
+    if (fromCategory != null) {
+      return fromCategory;
+    }
+    String fromTypecode = sizeFromTypecode(normalize(typecode, false));
+    return fromTypecode == null ? UNKNOWN : fromTypecode;
+  }
+
+  static String typeLabel(String category, String typecode) {
+    String normalizedTypecode = normalize(typecode, false);
+    if (normalizedTypecode != null) {
+      return normalizedTypecode;
+    }
+    if (category != null && !category.isBlank()) {
+      return category.trim();
+    }
+    return UNKNOWN;
+  }
+
+  private static boolean isRescue(String owner, String category, String callsign) {
+    return containsAny(
+            owner, "samu", "secours", "rescue", "hems", "medevac", "civil security", "civil protection")
+        || containsAny(category, "rescue", "secours", "hems", "medevac", "medical", "ambulance")
+        || containsAny(callsign, "samu", "rescue", "dragon", "hems", "lifeguard", "secours");
+  }
+
+  private static String sizeFromCategory(String category) {
+    if (category == null) {
+      return null;
+    }
+    if (category.contains("heavy")) {
+      return "heavy";
+    }
+    if (category.contains("large") || category.contains("wide")) {
+      return "large";
+    }
+    if (category.contains("light") || category.contains("small") || category.contains("ultra")) {
+      return "small";
+    }
+    return null;
+  }
+
+  private static String sizeFromTypecode(String typecode) {
+    if (typecode == null) {
+      return null;
+    }
+    if (startsWithAny(typecode, "B74", "B77", "A38")) {
+      return "heavy";
+    }
+    if (startsWithAny(typecode, "A3", "B7", "B8")) {
+      return "large";
+    }
+    if (startsWithAny(typecode, "C1", "P", "E", "H")) {
+      return "small";
+    }
+    return "medium";
+  }
+
+  /** Trimmed value, lower case for free text and upper case for type codes; null when blank. */
+  private static String normalize(String raw, boolean lower) {
+    if (raw == null || raw.isBlank()) {
+      return null;
+    }
+    String trimmed = raw.trim();
+    return lower ? trimmed.toLowerCase(Locale.ROOT) : trimmed.toUpperCase(Locale.ROOT);
+  }
+
+  private static boolean containsAny(String value, String... needles) {
+    if (value == null) {
+      return false;
+    }
+    for (String needle : needles) {
+      if (value.contains(needle)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean startsWithAny(String value, String... prefixes) {
+    for (String prefix : prefixes) {
+      if (value.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
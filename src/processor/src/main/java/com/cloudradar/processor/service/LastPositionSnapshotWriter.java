@@ -8,8 +8,19 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 
 /**
  * Writes the latest per-aircraft payload and injects previous snapshot fields when available.
+ *
+ * <p>The previous payload is read first (the merge needs it); every other write of the event goes
+ * out in one pipelined round trip ({@link LatestPositionWritePipeline}), including the track push.
+ * Each write also refreshes the aircraft's score (epoch seconds) in the last-seen sorted set,
+ * which {@link AircraftLifecycleSweeper} uses to drop idle aircraft, in the last-contact sorted
+ * set, which lets the dashboard read only the aircraft matching a {@code since} cutoff, and in the
+ * GEO index used for viewport searches. Both indexes mirror the stored payload: an aircraft
+ * without {@code last_contact} or without a valid position is removed from the matching index.
  */
 final class LastPositionSnapshotWriter {
+  private static final double MAX_GEO_LATITUDE = 85.05112878;
+  private static final double MAX_GEO_LONGITUDE = 180.0;
+
   private final StringRedisTemplate redisTemplate;
   private final ObjectMapper objectMapper;
   private final ProcessorProperties properties;
@@ -23,16 +34,24 @@ final class LastPositionSnapshotWriter {
     this.properties = properties;
   }
 
-  void writeLatest(String icao24, String payload) {
-    String lastPositionsKey = properties.getRedis().getLastPositionsKey();
-    Object previousPayloadRaw = redisTemplate.opsForHash().get(lastPositionsKey, icao24);
-    if (!(previousPayloadRaw instanceof String previousPayload) || previousPayload.isBlank()) {
-      redisTemplate.opsForHash().put(lastPositionsKey, icao24, payload);
-      return;
-    }
+  /**
+   * Stores {@code payload} as the aircraft's latest position, merged with the previous one, pushes
+   * it unmerged to the aircraft track and refreshes the indexes.
+   */
+  void writeLatest(String icao24, String payload, PositionEvent event) {
+    Object previousPayloadRaw = redisTemplate.opsForHash().get(properties.getRedis().getLastPositionsKey(), icao24);
+    String storedPayload =
+        previousPayloadRaw instanceof String previousPayload && !previousPayload.isBlank()
+            ? mergePreviousSnapshot(payload, previousPayload)
+            : payload;
+    redisTemplate.executePipelined(new LatestPositionWritePipeline(
+        properties, icao24, storedPayload, payload, event, System.currentTimeMillis() / 1000));
+  }
 
-    String payloadWithPrevious = mergePreviousSnapshot(payload, previousPayload);
-    redisTemplate.opsForHash().put(lastPositionsKey, icao24, payloadWithPrevious);
+  /** GEOADD rejects latitudes beyond the Web Mercator limit, so polar positions are not indexed. */
+  static boolean isGeoIndexable(Double lat, Double lon) {
+    return lat != null && lon != null
+        && Math.abs(lat) <= MAX_GEO_LATITUDE && Math.abs(lon) <= MAX_GEO_LONGITUDE;
   }
 
   private String mergePreviousSnapshot(String currentPayload, String previousPayload) {
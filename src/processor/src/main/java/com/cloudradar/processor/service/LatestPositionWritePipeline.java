@@ -0,0 +1,71 @@
+package com.cloudradar.processor.service;
+
+import com.cloudradar.processor.config.ProcessorProperties;
+import java.time.Duration;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+
+/**
+ * Queues every write of one event on its aircraft: the last-position hash field, the last-seen,
+ * last-contact and GEO index entries, and the bounded track list with its idle TTL.
+ *
+ * <p>None of these writes depends on another's reply, so they share a single round trip.
+ */
+final class LatestPositionWritePipeline implements SessionCallback<Object> {
+  private final ProcessorProperties properties;
+  private final String icao24;
+  private final String storedPayload;
+  private final String trackPayload;
+  private final PositionEvent event;
+  private final long lastSeenEpochSeconds;
+
+  LatestPositionWritePipeline(
+      ProcessorProperties properties,
+      String icao24,
+      String storedPayload,
+      String trackPayload,
+      PositionEvent event,
+      long lastSeenEpochSeconds) {
+    this.properties = properties;
+    this.icao24 = icao24;
+    this.storedPayload = storedPayload;
+    this.trackPayload = trackPayload;
+    this.event = event;
+    this.lastSeenEpochSeconds = lastSeenEpochSeconds;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <K, V> Object execute(RedisOperations<K, V> operations) {
+    RedisOperations<String, String> redis = (RedisOperations<String, String>) operations;
+    ProcessorProperties.Redis keys = properties.getRedis();
+    redis.opsForHash().put(keys.getLastPositionsKey(), icao24, storedPayload);
+    redis.opsForZSet().add(keys.getLastSeenKey(), icao24, lastSeenEpochSeconds);
+    if (event.lastContact() == null) {
+      redis.opsForZSet().remove(keys.getLastContactKey(), icao24);
+    } else {
+      redis.opsForZSet().add(keys.getLastContactKey(), icao24, event.lastContact());
+    }
+    if (LastPositionSnapshotWriter.isGeoIndexable(event.lat(), event.lon())) {
+      redis.opsForGeo().add(keys.getGeoKey(), new Point(event.lon(), event.lat()), icao24);
+    } else {
+      redis.opsForGeo().remove(keys.getGeoKey(), icao24);
+    }
+    appendTrack(redis, keys);
+    return null;
+  }
+
+  private void appendTrack(RedisOperations<String, String> redis, ProcessorProperties.Redis keys) {
+    if (properties.getTrackLength() <= 0) {
+      return;
+    }
+    String trackKey = keys.getTrackKeyPrefix() + icao24;
+    redis.opsForList().leftPush(trackKey, trackPayload);
+    redis.opsForList().trim(trackKey, 0L, (long) properties.getTrackLength() - 1L);
+    long trackTtlSeconds = properties.getLifecycle().getTrackIdleTtlSeconds();
+    if (trackTtlSeconds > 0) {
+      redis.expire(trackKey, Duration.ofSeconds(trackTtlSeconds));
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.cloudradar.processor.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-hop latency histograms for the processor side of the pipeline, plus the age of the
+ * oldest queued event.
+ *
+ * <p>Hops are derived from the wall-clock stamps carried by each payload
+ * ({@code last_contact}, {@code ingester_published_at_ms}) and the processor's own
+ * dequeue/write times.
+ */
+final class PipelineLatencyMetrics {
+  private final Timer queueTimer;
+  private final Timer processTimer;
+  private final Timer sourceToWriteTimer;
+  private final AtomicLong queueOldestAgeSeconds;
+
+  PipelineLatencyMetrics(MeterRegistry meterRegistry) {
+    this.queueTimer = hopTimer(meterRegistry, "queue");
+    this.processTimer = hopTimer(meterRegistry, "process");
+    this.sourceToWriteTimer = hopTimer(meterRegistry, "source_to_write");
+    this.queueOldestAgeSeconds =
+        meterRegistry.gauge("processor.queue.oldest_age_seconds", new AtomicLong(0));
+  }
+
+  /**
+   * Records the processor hops of one event: time spent in the queue, time spent processing,
+   * and OpenSky {@code last_contact} to snapshot write. Hops with a missing upstream stamp are skipped.
+   */
+  void record(PositionEvent event, long dequeuedAtMs, long writtenAtMs, long processedAtMs) {
+    if (event.ingesterPublishedAtMs() != null) {
+      recordMillis(queueTimer, dequeuedAtMs - event.ingesterPublishedAtMs());
+    }
+    recordMillis(processTimer, processedAtMs - dequeuedAtMs);
+    if (event.lastContact() != null) {
+      recordMillis(sourceToWriteTimer, writtenAtMs - event.lastContact() * 1000L);
+    }
+  }
+
+  void updateQueueOldestAge(long seconds) {
+    queueOldestAgeSeconds.set(Math.max(0L, seconds));
+  }
+
+  private static void recordMillis(Timer timer, long millis) {
+    // Clock skew between hosts can yield small negative hop durations.
+    timer.record(Math.max(0L, millis), TimeUnit.MILLISECONDS);
+  }
+
+  private static Timer hopTimer(MeterRegistry meterRegistry, String hop) {
+    return Timer.builder("processor.pipeline.latency")
+        .description("Event latency per pipeline hop through the processor (seconds)")
+        .tag("hop", hop)
+        .publishPercentileHistogram(true)
+        .register(meterRegistry);
+  }
+}
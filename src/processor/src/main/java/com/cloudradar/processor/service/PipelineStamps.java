@@ -0,0 +1,35 @@
+package com.cloudradar.processor.service;
+
+/**
+ * Adds the processor's hop timestamps to a queue payload before it is stored.
+ *
+ * <p>Timestamps are wall-clock epoch millis so that hops recorded on different hosts
+ * (ingester, processor, dashboard) can be subtracted from each other.
+ */
+final class PipelineStamps {
+  static final String DEQUEUED_AT_FIELD = "processor_dequeued_at_ms";
+  static final String WRITTEN_AT_FIELD = "processor_written_at_ms";
+
+  private PipelineStamps() {
+  }
+
+  /**
+   * Appends the dequeue and write stamps to a JSON object payload without re-serializing it.
+   * Payloads that are not a JSON object are returned unchanged.
+   */
+  static String stamp(String payload, long dequeuedAtMs, long writtenAtMs) {
+    int end = payload.lastIndexOf('}');
+    if (end < 0) {
+      return payload;
+    }
+    StringBuilder stamped = new StringBuilder(payload.length() + 80).append(payload, 0, end);
+    if (!payload.substring(0, end).trim().endsWith("{")) {
+      stamped.append(',');
+    }
+    return stamped
+        .append('"').append(DEQUEUED_AT_FIELD).append("\":").append(dequeuedAtMs)
+        .append(",\"").append(WRITTEN_AT_FIELD).append("\":").append(writtenAtMs)
+        .append(payload, end, payload.length())
+        .toString();
+  }
+}
@@ -22,5 +22,6 @@ public record PositionEvent(
   @JsonProperty("time_position") Long timePosition,
   @JsonProperty("last_contact") Long lastContact,
   @JsonProperty("ingested_at") String ingestedAt,
-  @JsonProperty("opensky_fetch_epoch") Long openskyFetchEpoch
+  @JsonProperty("opensky_fetch_epoch") Long openskyFetchEpoch,
+  @JsonProperty("ingester_published_at_ms") Long ingesterPublishedAtMs
 ) {}
@@ -20,6 +20,8 @@ class ProcessorMetrics {
   private final MeterRegistry meterRegistry;
   private final Counter processedCounter;
   private final Counter errorCounter;
+  private final Counter hourRollupCounter;
+  private final Counter dayRollupCounter;
   private final ConcurrentHashMap<String, Counter> categoryCounters = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<String, Counter> militaryCounters = new ConcurrentHashMap<>();
   private final ConcurrentHashMap<String, Counter> countryCounters = new ConcurrentHashMap<>();
@@ -28,14 +30,20 @@ class ProcessorMetrics {
   private final AtomicInteger bboxCount;
   private final AtomicLong lastProcessedEpoch;
   private final AtomicLong queueDepth;
+  private final PipelineLatencyMetrics pipelineLatency;
+  private final StageProfiler stageProfiler;
 
   ProcessorMetrics(MeterRegistry meterRegistry, ProcessorProperties properties) {
     this.meterRegistry = meterRegistry;
     this.processedCounter = meterRegistry.counter("processor.events.processed");
     this.errorCounter = meterRegistry.counter("processor.events.errors");
+    this.hourRollupCounter = meterRegistry.counter("processor.activity.rollups", "level", "hour");
+    this.dayRollupCounter = meterRegistry.counter("processor.activity.rollups", "level", "day");
     this.bboxCount = meterRegistry.gauge("processor.bbox.count", new AtomicInteger(0));
     this.lastProcessedEpoch = meterRegistry.gauge("processor.last_processed_epoch", new AtomicLong(0));
     this.queueDepth = meterRegistry.gauge("processor.queue.depth", new AtomicLong(0));
+    this.pipelineLatency = new PipelineLatencyMetrics(meterRegistry);
+    this.stageProfiler = new StageProfiler(meterRegistry, properties.getProfiling());
     meterRegistry.gauge(
         "processor.aircraft_db.enabled",
         properties.getAircraftDb(),
@@ -50,6 +58,14 @@ class ProcessorMetrics {
     errorCounter.increment();
   }
 
+  void incrementHourRollup() {
+    hourRollupCounter.increment();
+  }
+
+  void incrementDayRollup() {
+    dayRollupCounter.increment();
+  }
+
   void updateLastProcessedEpoch(long epochSeconds) {
     lastProcessedEpoch.set(epochSeconds);
   }
@@ -58,6 +74,14 @@ class ProcessorMetrics {
     queueDepth.set(depth);
   }
 
+  PipelineLatencyMetrics pipelineLatency() {
+    return pipelineLatency;
+  }
+
+  StageProfiler stageProfiler() {
+    return stageProfiler;
+  }
+
   void updateBboxCount(int count) {
     bboxCount.set(count);
   }
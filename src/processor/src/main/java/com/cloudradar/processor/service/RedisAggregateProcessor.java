@@ -22,6 +22,7 @@ public class RedisAggregateProcessor {
   private final ProcessorProperties properties;
   private final ExecutorService executor;
   private final EventProcessor eventProcessor;
+  private final BatchSnapshotPublisher batchSnapshotPublisher;
 
   public RedisAggregateProcessor(
       StringRedisTemplate redisTemplate,
@@ -36,12 +37,19 @@ public class RedisAggregateProcessor {
       return thread;
     });
     ProcessorMetrics metrics = new ProcessorMetrics(meterRegistry, properties);
+    this.batchSnapshotPublisher = new BatchSnapshotPublisher(
+        redisTemplate,
+        new BatchSnapshotBuilder(redisTemplate, objectMapper, properties, aircraftRepo),
+        new FleetMetricsWriter(redisTemplate, properties),
+        properties,
+        meterRegistry);
     this.eventProcessor = new EventProcessor(
         redisTemplate, objectMapper, properties, metrics,
         new BboxClassifier(),
         new ActivityBucketKeyResolver(),
         aircraftRepo,
-        new LastPositionSnapshotWriter(redisTemplate, objectMapper, properties));
+        new LastPositionSnapshotWriter(redisTemplate, objectMapper, properties),
+        () -> batchSnapshotPublisher.beforeNewerBatch(System.currentTimeMillis()));
   }
 
   @jakarta.annotation.PostConstruct
@@ -63,7 +71,8 @@ public class RedisAggregateProcessor {
     Duration timeout = Duration.ofSeconds(properties.getPollTimeoutSeconds());
     while (!Thread.currentThread().isInterrupted()) {
       try {
-        eventProcessor.pollAndProcess(properties.getRedis().getInputKey(), timeout);
+        boolean processed = eventProcessor.pollAndProcess(properties.getRedis().getInputKey(), timeout);
+        batchSnapshotPublisher.afterPoll(processed, eventProcessor.queueDepth(), System.currentTimeMillis());
       } catch (Exception ex) {
         if (isInterruptedShutdown(ex)) {
           Thread.currentThread().interrupt();
@@ -0,0 +1,122 @@
+package com.cloudradar.processor.service;
+
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.cloudradar.processor.config.RedisKeyFamilies;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically counts keys and estimates memory per Redis key family.
+ *
+ * <p>One {@code SCAN} pass classifies every key; {@code MEMORY USAGE} is then read for the first
+ * {@code memory-samples} keys of each family and extrapolated to the family's key count. The
+ * pass runs on the scheduler thread, away from the event loop, every {@code interval-ms}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "processor.keyspace-sampling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RedisKeyspaceSampler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(RedisKeyspaceSampler.class);
+
+  /** Sums {@code MEMORY USAGE} over KEYS; keys deleted since the scan count as 0. */
+  static final RedisScript<Long> MEMORY_USAGE_SCRIPT = new DefaultRedisScript<>(
+      "local total = 0 "
+          + "for _, key in ipairs(KEYS) do "
+          + "local bytes = redis.call('MEMORY', 'USAGE', key) "
+          + "if bytes then total = total + bytes end "
+          + "end "
+          + "return total",
+      Long.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final ProcessorProperties.KeyspaceSampling settings;
+  private final RedisKeyFamilies keyFamilies;
+  private final AtomicLong[] keyCounts;
+  private final AtomicLong[] memoryBytes;
+
+  public RedisKeyspaceSampler(
+      StringRedisTemplate redisTemplate,
+      ProcessorProperties properties,
+      RedisKeyFamilies keyFamilies,
+      MeterRegistry meterRegistry) {
+    this.redisTemplate = redisTemplate;
+    this.settings = properties.getKeyspaceSampling();
+    this.keyFamilies = keyFamilies;
+    List<String> families = keyFamilies.names();
+    this.keyCounts = new AtomicLong[families.size()];
+    this.memoryBytes = new AtomicLong[families.size()];
+    for (int i = 0; i < families.size(); i++) {
+      keyCounts[i] = new AtomicLong();
+      memoryBytes[i] = new AtomicLong();
+      Gauge.builder("processor.redis.keyspace.keys", keyCounts[i], AtomicLong::get)
+          .description("Redis keys per key family (sampled)")
+          .tag("key_family", families.get(i))
+          .register(meterRegistry);
+      Gauge.builder("processor.redis.keyspace.memory", memoryBytes[i], AtomicLong::get)
+          .description("Estimated Redis memory per key family (sampled MEMORY USAGE x key count)")
+          .tag("key_family", families.get(i))
+          .baseUnit("bytes")
+          .register(meterRegistry);
+    }
+  }
+
+  @Scheduled(
+      initialDelayString = "${processor.keyspace-sampling.interval-ms:300000}",
+      fixedDelayString = "${processor.keyspace-sampling.interval-ms:300000}")
+  public void sample() {
+    try {
+      sampleOnce();
+    } catch (Exception ex) {
+      LOGGER.warn("Redis keyspace sampling failed", ex);
+    }
+  }
+
+  void sampleOnce() {
+    int familyCount = keyFamilies.names().size();
+    long[] counts = new long[familyCount];
+    List<List<String>> samples = new ArrayList<>(familyCount);
+    for (int i = 0; i < familyCount; i++) {
+      samples.add(new ArrayList<>());
+    }
+
+    ScanOptions options = ScanOptions.scanOptions().count(settings.getScanCount()).build();
+    try (Cursor<String> cursor = redisTemplate.scan(options)) {
+      while (cursor.hasNext()) {
+        String key = cursor.next();
+        int family = keyFamilies.indexOf(key);
+        counts[family]++;
+        if (samples.get(family).size() < settings.getMemorySamples()) {
+          samples.get(family).add(key);
+        }
+      }
+    }
+
+    for (int i = 0; i < familyCount; i++) {
+      keyCounts[i].set(counts[i]);
+      memoryBytes[i].set(estimateMemory(samples.get(i), counts[i]));
+    }
+  }
+
+  private long estimateMemory(List<String> sampledKeys, long keyCount) {
+    if (sampledKeys.isEmpty()) {
+      return 0L;
+    }
+    Long sampledBytes = redisTemplate.execute(MEMORY_USAGE_SCRIPT, sampledKeys);
+    if (sampledBytes == null) {
+      return 0L;
+    }
+    return Math.round((double) sampledBytes / sampledKeys.size() * keyCount);
+  }
+}
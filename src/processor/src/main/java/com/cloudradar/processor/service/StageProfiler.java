@@ -0,0 +1,108 @@
+package com.cloudradar.processor.service;
+
+import com.cloudradar.processor.config.ProcessorProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional per-stage timers and per-event allocation sampling for {@link EventProcessor}.
+ *
+ * <p>When disabled, every call returns immediately without reading the clock. When enabled, each
+ * stage costs one {@code System.nanoTime()} and a timer update (no percentile histograms), and
+ * allocated bytes are read from the thread MX bean for one event out of
+ * {@code allocation-sample-every}. Must be used from the single processor loop thread.
+ */
+final class StageProfiler {
+
+  /** Pipeline stages timed in {@link EventProcessor#process(String, long)}. */
+  enum Stage {
+    PARSE,
+    SNAPSHOT_WRITE,
+    BBOX_UPDATE,
+    METADATA_LOOKUP,
+    ACTIVITY_BUCKET;
+
+    String tag() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  static final long NOT_SAMPLED = -1L;
+
+  private final boolean enabled;
+  private final int allocationSampleEvery;
+  private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+  private final DistributionSummary allocatedBytes;
+  private final com.sun.management.ThreadMXBean threadBean;
+  private long eventsSinceSample;
+
+  StageProfiler(MeterRegistry meterRegistry, ProcessorProperties.Profiling profiling) {
+    this.enabled = profiling.isEnabled();
+    this.threadBean = allocationBean();
+    this.allocationSampleEvery =
+        enabled && threadBean != null ? Math.max(0, profiling.getAllocationSampleEvery()) : 0;
+    if (enabled) {
+      for (Stage stage : Stage.values()) {
+        stageTimers.put(stage, Timer.builder("processor.stage.duration")
+            .description("Time spent per event in each processing stage")
+            .tag("stage", stage.tag())
+            .register(meterRegistry));
+      }
+    }
+    this.allocatedBytes = allocationSampleEvery > 0
+        ? DistributionSummary.builder("processor.event.allocated")
+            .description("Heap bytes allocated by the processor thread for one sampled event")
+            .baseUnit("bytes")
+            .register(meterRegistry)
+        : null;
+  }
+
+  /** Returns the stage start time, or {@code 0} when profiling is disabled. */
+  long start() {
+    return enabled ? System.nanoTime() : 0L;
+  }
+
+  /** Records {@code stage} as ending now and returns the start time of the next stage. */
+  long lap(Stage stage, long startNanos) {
+    if (!enabled) {
+      return 0L;
+    }
+    long now = System.nanoTime();
+    stageTimers.get(stage).record(now - startNanos, TimeUnit.NANOSECONDS);
+    return now;
+  }
+
+  /**
+   * Starts allocation sampling for one event if it is due.
+   *
+   * @return allocated bytes so far on this thread, or {@link #NOT_SAMPLED}
+   */
+  long beginEvent() {
+    if (allocationSampleEvery == 0 || ++eventsSinceSample < allocationSampleEvery) {
+      return NOT_SAMPLED;
+    }
+    eventsSinceSample = 0;
+    return threadBean.getCurrentThreadAllocatedBytes();
+  }
+
+  void endEvent(long allocatedAtStart) {
+    if (allocatedAtStart != NOT_SAMPLED) {
+      allocatedBytes.record(threadBean.getCurrentThreadAllocatedBytes() - allocatedAtStart);
+    }
+  }
+
+  private static com.sun.management.ThreadMXBean allocationBean() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+        && bean.isThreadAllocatedMemorySupported()
+        && bean.isThreadAllocatedMemoryEnabled()) {
+      return bean;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,77 @@
+package com.cloudradar.processor.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.event.command.CommandFailedEvent;
+import io.lettuce.core.event.command.CommandStartedEvent;
+import io.lettuce.core.event.command.CommandSucceededEvent;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.RedisCommand;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class RedisCommandLatencyRecorderTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final RedisCommandLatencyRecorder recorder = new RedisCommandLatencyRecorder(
+      registry,
+      "processor.redis.command.duration",
+      RedisKeyFamilies.builder()
+          .key("last", "cloudradar:aircraft:last")
+          .prefix("track", "cloudradar:aircraft:track:")
+          .build());
+
+  @Test
+  void recordsByCommandKeyFamilyAndOutcome() {
+    execute(CommandType.HSET, "cloudradar:aircraft:last", true);
+    execute(CommandType.LPUSH, "cloudradar:aircraft:track:abc123", true);
+    execute(CommandType.LPUSH, "cloudradar:aircraft:track:def456", true);
+    execute(CommandType.GET, "unrelated", false);
+
+    assertEquals(1L, timerCount("HSET", "last", "success"));
+    assertEquals(2L, timerCount("LPUSH", "track", "success"));
+    assertEquals(1L, timerCount("GET", "other", "error"));
+  }
+
+  @Test
+  void ignoresCompletionWithoutStart() {
+    RedisCommand<Object, Object, Object> command = command(CommandType.PING, null);
+    recorder.commandSucceeded(new CommandSucceededEvent(command, new java.util.HashMap<>(), 0L, 0L));
+
+    assertEquals(0, registry.getMeters().size());
+  }
+
+  private void execute(CommandType type, String key, boolean succeeded) {
+    RedisCommand<Object, Object, Object> command = command(type, key);
+    CommandStartedEvent started = new CommandStartedEvent(command, System.currentTimeMillis());
+    recorder.commandStarted(started);
+    if (succeeded) {
+      recorder.commandSucceeded(new CommandSucceededEvent(command, started.getContext(), 0L, 0L));
+    } else {
+      recorder.commandFailed(new CommandFailedEvent(command, started.getContext(), new IllegalStateException()));
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static RedisCommand<Object, Object, Object> command(CommandType type, String key) {
+    CommandArgs<byte[], byte[]> args = new CommandArgs<>(ByteArrayCodec.INSTANCE);
+    if (key != null) {
+      args.addKey(key.getBytes(StandardCharsets.UTF_8));
+    }
+    return (RedisCommand) new Command<>(type, new StatusOutput<>(ByteArrayCodec.INSTANCE), args);
+  }
+
+  private long timerCount(String command, String family, String outcome) {
+    return registry.get("processor.redis.command.duration")
+        .tag("command", command)
+        .tag("key_family", family)
+        .tag("outcome", outcome)
+        .timer()
+        .count();
+  }
+}
@@ -0,0 +1,46 @@
+package com.cloudradar.processor.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RedisKeyFamiliesTest {
+
+  private final RedisKeyFamilies families = RedisKeyFamilies.builder()
+      .key("last", "cloudradar:aircraft:last")
+      .prefix("track", "cloudradar:aircraft:track:")
+      .prefix("activity_rollup", "cloudradar:activity:hour:")
+      .prefix("activity_rollup", "cloudradar:activity:day:")
+      .prefix("ignored", "")
+      .build();
+
+  @Test
+  void namesAreDistinctWithOtherLast() {
+    assertEquals(List.of("last", "track", "activity_rollup", "other"), families.names());
+  }
+
+  @Test
+  void classifiesExactKeysAndPrefixes() {
+    assertEquals("last", family("cloudradar:aircraft:last"));
+    assertEquals("other", family("cloudradar:aircraft:last:extra"));
+    assertEquals("track", family("cloudradar:aircraft:track:abc123"));
+    assertEquals("activity_rollup", family("cloudradar:activity:day:1700000000"));
+    assertEquals("other", family("cloudradar:aircraft:trac"));
+    assertEquals("other", family(null));
+  }
+
+  @Test
+  void classifiesEncodedKeysFromTheirPosition() {
+    ByteBuffer buffer = ByteBuffer.wrap("xxcloudradar:aircraft:track:abc".getBytes(StandardCharsets.UTF_8));
+    buffer.position(2);
+
+    assertEquals("track", families.names().get(families.indexOf(buffer)));
+  }
+
+  private String family(String key) {
+    return families.names().get(families.indexOf(key));
+  }
+}
@@ -0,0 +1,145 @@
+package com.cloudradar.processor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.cloudradar.processor.service.ActivityBucketKeyResolver.BucketKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+@SuppressWarnings("unchecked")
+class ActivityRollupWriterTest {
+
+  private static final long HOUR = 1_700_002_800L;
+  private static final String MINUTE_PREFIX = "cloudradar:activity:bucket:";
+  private static final String CURSOR_KEY = "cloudradar:activity:rollup:last_minute";
+
+  private StringRedisTemplate redisTemplate;
+  private HashOperations<String, Object, Object> hashOps;
+  private HyperLogLogOperations<String, String> hllOps;
+  private ValueOperations<String, String> valueOps;
+  private ProcessorProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private ActivityBucketKeyResolver resolver;
+  private ActivityRollupWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate = mock(StringRedisTemplate.class);
+    hashOps = mock(HashOperations.class);
+    hllOps = mock(HyperLogLogOperations.class);
+    valueOps = mock(ValueOperations.class);
+    when(redisTemplate.opsForHash()).thenReturn(hashOps);
+    when(redisTemplate.opsForHyperLogLog()).thenReturn(hllOps);
+    when(redisTemplate.opsForValue()).thenReturn(valueOps);
+
+    properties = new ProcessorProperties();
+    meterRegistry = new SimpleMeterRegistry();
+    resolver = new ActivityBucketKeyResolver();
+    writer = new ActivityRollupWriter(
+        redisTemplate, properties, resolver, new ProcessorMetrics(meterRegistry, properties));
+  }
+
+  @Test
+  void record_incrementsHourAndDayCountersWriteThrough() {
+    writer.record(minute(HOUR + 120), true);
+
+    verify(hashOps).increment("cloudradar:activity:hour:" + HOUR, "events_total", 1L);
+    verify(hashOps).increment("cloudradar:activity:hour:" + HOUR, "events_military", 1L);
+    verify(hashOps).increment("cloudradar:activity:day:1699920000", "events_total", 1L);
+    verify(hashOps).increment("cloudradar:activity:day:1699920000", "events_military", 1L);
+  }
+
+  @Test
+  void record_mergesPreviousMinuteIntoHourOnlyOnRollover() {
+    writer.record(minute(HOUR + 60), false);
+    writer.record(minute(HOUR + 70), false);
+    writer.record(minute(HOUR + 120), false);
+
+    // First event merges the minute before startup, third event merges the finished minute.
+    verify(hllOps).union("cloudradar:activity:hour:" + HOUR + ":aircraft_hll",
+        MINUTE_PREFIX + HOUR + ":aircraft_hll");
+    verify(hllOps).union("cloudradar:activity:hour:" + HOUR + ":aircraft_hll",
+        MINUTE_PREFIX + (HOUR + 60) + ":aircraft_hll");
+    verify(hllOps, times(4)).union(anyString(), anyString());
+    assertEquals(2.0, meterRegistry.counter("processor.activity.rollups", "level", "hour").count());
+  }
+
+  @Test
+  void record_mergesFinishedHourIntoDayOnHourRollover() {
+    long lastMinute = HOUR + 3540;
+    writer.record(minute(lastMinute), false);
+    writer.record(minute(HOUR + 3600), false);
+
+    verify(hllOps).union("cloudradar:activity:hour:" + HOUR + ":aircraft_hll",
+        MINUTE_PREFIX + lastMinute + ":aircraft_hll");
+    verify(hllOps).union("cloudradar:activity:day:1699920000:aircraft_hll",
+        "cloudradar:activity:hour:" + HOUR + ":aircraft_hll");
+    verify(hllOps).union("cloudradar:activity:day:1699920000:aircraft_military_hll",
+        "cloudradar:activity:hour:" + HOUR + ":aircraft_military_hll");
+    assertEquals(1.0, meterRegistry.counter("processor.activity.rollups", "level", "day").count());
+  }
+
+  @Test
+  void record_afterRestartAcrossHour_rollsUpTheInterruptedMinuteAndHour() {
+    long lastMinute = HOUR + 3540;
+    long restartMinute = HOUR + 3600 + 600;
+    when(valueOps.get(CURSOR_KEY)).thenReturn(Long.toString(lastMinute));
+
+    writer.record(minute(restartMinute), false);
+
+    verify(hllOps).union("cloudradar:activity:hour:" + HOUR + ":aircraft_hll",
+        MINUTE_PREFIX + lastMinute + ":aircraft_hll");
+    verify(hllOps).union("cloudradar:activity:day:1699920000:aircraft_hll",
+        "cloudradar:activity:hour:" + HOUR + ":aircraft_hll");
+    verify(valueOps).set(CURSOR_KEY, Long.toString(restartMinute), Duration.ofSeconds(172_800L));
+  }
+
+  @Test
+  void record_afterRestartInSameMinute_doesNotRollUp() {
+    when(valueOps.get(CURSOR_KEY)).thenReturn(Long.toString(HOUR + 60));
+
+    writer.record(minute(HOUR + 90), false);
+
+    verify(hllOps, never()).union(anyString(), anyString());
+  }
+
+  @Test
+  void rollUpIdle_mergesLastMinuteOnceAFullBucketHasPassed() {
+    writer.record(minute(HOUR + 60), false);
+    verify(hllOps, times(2)).union(anyString(), anyString());
+
+    writer.rollUpIdle(HOUR + 150);
+    verify(hllOps, times(2)).union(anyString(), anyString());
+
+    writer.rollUpIdle(HOUR + 180);
+    writer.rollUpIdle(HOUR + 240);
+    verify(hllOps).union("cloudradar:activity:hour:" + HOUR + ":aircraft_hll",
+        MINUTE_PREFIX + (HOUR + 60) + ":aircraft_hll");
+    verify(hllOps, times(4)).union(anyString(), anyString());
+  }
+
+  @Test
+  void record_nonMilitaryEventDoesNotTouchMilitaryCounters() {
+    writer.record(minute(HOUR), false);
+
+    verify(hashOps, never()).increment(anyString(), eq("events_military"), eq(1L));
+  }
+
+  private BucketKey minute(long epoch) {
+    return resolver.resolve(epoch, 60L, 172_800L, MINUTE_PREFIX);
+  }
+}
@@ -0,0 +1,158 @@
+package com.cloudradar.processor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.GeoOperations;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+@SuppressWarnings("unchecked")
+class AircraftLifecycleSweeperTest {
+
+  private static final List<String> SCRIPT_KEYS =
+      List.of(
+          "cloudradar:aircraft:last_seen",
+          "cloudradar:aircraft:last",
+          "cloudradar:aircraft:in_bbox",
+          "cloudradar:aircraft:last_contact",
+          "cloudradar:aircraft:geo");
+
+  private StringRedisTemplate redisTemplate;
+  private HashOperations<String, Object, Object> hashOps;
+  private ZSetOperations<String, String> zSetOps;
+  private GeoOperations<String, String> geoOps;
+  private ProcessorProperties properties;
+  private SimpleMeterRegistry registry;
+  private AircraftLifecycleSweeper sweeper;
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate = mock(StringRedisTemplate.class);
+    hashOps = mock(HashOperations.class);
+    zSetOps = mock(ZSetOperations.class);
+    geoOps = mock(GeoOperations.class);
+    when(redisTemplate.opsForHash()).thenReturn(hashOps);
+    when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+    when(redisTemplate.opsForGeo()).thenReturn(geoOps);
+    Cursor<Map.Entry<Object, Object>> entries =
+        cursor(List.of(Map.entry("abc123", "{\"last_contact\":1699999990,\"lat\":48.5,\"lon\":2.5}"), Map.entry("def456", "{}")));
+    when(hashOps.scan(eq("cloudradar:aircraft:last"), any(ScanOptions.class))).thenReturn(entries);
+
+    properties = new ProcessorProperties();
+    properties.getLifecycle().setIdleHorizonSeconds(600);
+    properties.getLifecycle().setSweepBatchSize(2);
+    properties.getFleetMetrics().setEnabled(false);
+    registry = new SimpleMeterRegistry();
+    sweeper = new AircraftLifecycleSweeper(redisTemplate, new ObjectMapper(), properties, registry);
+  }
+
+  @Test
+  void sweepsIdleAircraftInBatchesAndExportsCounts() {
+    when(redisTemplate.execute(
+            eq(AircraftLifecycleSweeper.SWEEP_SCRIPT),
+            eq(SCRIPT_KEYS),
+            eq("1699999400"),
+            eq("cloudradar:aircraft:track:"),
+            eq("2")))
+        .thenReturn(2L, 1L);
+    when(zSetOps.zCard("cloudradar:aircraft:last_seen")).thenReturn(40L);
+
+    long swept = sweeper.sweepOnce(1_700_000_000L);
+
+    assertEquals(3L, swept);
+    assertEquals(3.0, registry.get("processor.aircraft.swept").counter().count());
+    assertEquals(40.0, registry.get("processor.aircraft.live").gauge().value());
+  }
+
+  @Test
+  void defaultHorizon_keepsAircraftIdleForTwoHoursInA24hWindow() {
+    ProcessorProperties defaults = new ProcessorProperties();
+    AircraftLifecycleSweeper defaultSweeper =
+        new AircraftLifecycleSweeper(redisTemplate, new ObjectMapper(), defaults, registry);
+    long now = 1_700_000_000L;
+    ArgumentCaptor<String> cutoff = ArgumentCaptor.forClass(String.class);
+    when(redisTemplate.execute(eq(AircraftLifecycleSweeper.SWEEP_SCRIPT), eq(SCRIPT_KEYS), cutoff.capture(), any(), any()))
+        .thenReturn(0L);
+
+    defaultSweeper.sweepOnce(now);
+
+    // ZRANGEBYSCORE -inf..cutoff: an aircraft last seen 2h ago scores above the cutoff.
+    long sweptBefore = Long.parseLong(cutoff.getValue());
+    assertTrue(now - 2 * 3600 > sweptBefore);
+    assertTrue(sweptBefore <= now - Duration.ofHours(168).getSeconds());
+  }
+
+  @Test
+  void horizonShorterThanFleetMetricsWindow_isRaisedToIt() {
+    properties.getLifecycle().setIdleHorizonSeconds(3600);
+    properties.getFleetMetrics().setEnabled(true);
+    properties.getFleetMetrics().setWindows(List.of(Duration.ofHours(24)));
+    AircraftLifecycleSweeper raised = new AircraftLifecycleSweeper(redisTemplate, new ObjectMapper(), properties, registry);
+    when(redisTemplate.execute(
+            eq(AircraftLifecycleSweeper.SWEEP_SCRIPT), eq(SCRIPT_KEYS), eq("1699913600"), any(), any()))
+        .thenReturn(0L);
+
+    assertEquals(0L, raised.sweepOnce(1_700_000_000L));
+  }
+
+  @Test
+  void backfillsUnindexedHashEntriesOnlyOnFirstSweep() {
+    when(redisTemplate.execute(eq(AircraftLifecycleSweeper.SWEEP_SCRIPT), eq(SCRIPT_KEYS), any(), any(), any()))
+        .thenReturn(0L);
+
+    sweeper.sweepOnce(1_700_000_000L);
+    sweeper.sweepOnce(1_700_000_060L);
+
+    ArgumentCaptor<Set<TypedTuple<String>>> tuples = ArgumentCaptor.forClass(Set.class);
+    verify(zSetOps, times(1)).addIfAbsent(eq("cloudradar:aircraft:last_seen"), tuples.capture());
+    assertEquals(2, tuples.getValue().size());
+    assertEquals(1_700_000_000.0, tuples.getValue().iterator().next().getScore());
+    verify(zSetOps, times(1)).addIfAbsent(
+        "cloudradar:aircraft:last_contact", Set.of(new DefaultTypedTuple<>("abc123", 1_699_999_990.0)));
+    verify(geoOps, times(1)).add("cloudradar:aircraft:geo", Map.of("abc123", new Point(2.5, 48.5)));
+  }
+
+  @Test
+  void emptyHash_skipsBackfillWrite() {
+    Cursor<Map.Entry<Object, Object>> empty = cursor(List.of());
+    when(hashOps.scan(eq("cloudradar:aircraft:last"), any(ScanOptions.class))).thenReturn(empty);
+
+    sweeper.sweepOnce(1_700_000_000L);
+
+    verify(zSetOps, never()).addIfAbsent(eq("cloudradar:aircraft:last_seen"), anySet());
+  }
+
+  private static <T> Cursor<T> cursor(List<T> values) {
+    Iterator<T> iterator = values.iterator();
+    Cursor<T> cursor = mock(Cursor.class);
+    when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+    when(cursor.next()).thenAnswer(invocation -> iterator.next());
+    return cursor;
+  }
+}
@@ -0,0 +1,250 @@
+package com.cloudradar.processor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cloudradar.processor.aircraft.AircraftMetadata;
+import com.cloudradar.processor.aircraft.AircraftMetadataRepository;
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.GeoOperations;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+@SuppressWarnings("unchecked")
+class BatchSnapshotPublisherTest {
+  private static final String SNAPSHOT_KEY = "cloudradar:aircraft:snapshot:v1";
+  private static final String INPUT_KEY = "cloudradar:ingest:queue";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private StringRedisTemplate redisTemplate;
+  private HashOperations<String, Object, Object> hashOps;
+  private ValueOperations<String, String> valueOps;
+  private ProcessorProperties properties;
+  private SimpleMeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    redisTemplate = mock(StringRedisTemplate.class);
+    hashOps = mock(HashOperations.class);
+    valueOps = mock(ValueOperations.class);
+    when(redisTemplate.opsForHash()).thenReturn(hashOps);
+    when(redisTemplate.opsForValue()).thenReturn(valueOps);
+    properties = new ProcessorProperties();
+    registry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void writesPositionalRowsWithResolvedMetadata() throws Exception {
+    stubScan(
+        Map.entry("abc123", "{\"icao24\":\"abc123\",\"lat\":48.5,\"lon\":2.5,\"opensky_fetch_epoch\":1700000000}"),
+        Map.entry("def456", "{\"icao24\":\"def456\",\"lat\":49.0,\"lon\":3.0,\"opensky_fetch_epoch\":1700000010}"),
+        Map.entry("bad000", "not-json"));
+    AircraftMetadataRepository repo = mock(AircraftMetadataRepository.class);
+    when(repo.findByIcao24(anyString())).thenReturn(Optional.empty());
+    when(repo.findByIcao24("abc123")).thenReturn(Optional.of(new AircraftMetadata(
+        "abc123", "France", "Large", "L2J", null, null, "A320", "F-ABCD", "A320", false, 2015, "Air France")));
+
+    publisher(Optional.of(repo)).afterPoll(true, 0, 10_000L);
+
+    ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+    verify(valueOps).set(eq(SNAPSHOT_KEY), json.capture(), eq(Duration.ofSeconds(300)));
+    JsonNode snapshot = objectMapper.readTree(json.getValue());
+    assertEquals(1, snapshot.get("version").asInt());
+    assertEquals(1_700_000_010L, snapshot.get("batch_epoch").asLong());
+    assertTrue(snapshot.get("metadata").asBoolean());
+    List<String> fields = objectMapper.convertValue(snapshot.get("fields"), List.class);
+    assertEquals(2, snapshot.get("rows").size());
+    JsonNode first = snapshot.get("rows").get(0);
+    assertEquals("abc123", first.get(fields.indexOf("icao24")).asText());
+    assertEquals(48.5, first.get(fields.indexOf("lat")).asDouble());
+    assertEquals("Large", first.get(fields.indexOf("category")).asText());
+    assertEquals("Air France", first.get(fields.indexOf("owner_operator")).asText());
+    assertTrue(first.get(fields.indexOf("callsign")).isNull());
+    assertTrue(snapshot.get("rows").get(1).get(fields.indexOf("typecode")).isNull());
+    assertEquals(2.0, registry.get("processor.batch.snapshot.aircraft").gauge().value());
+  }
+
+  @Test
+  void replacesFleetMetricsHashPerWindowAfterTheSnapshot() {
+    properties.getFleetMetrics().setWindows(List.of(Duration.ofHours(6)));
+    stubScan(Map.entry(
+        "abc123",
+        "{\"icao24\":\"abc123\",\"lat\":48.5,\"lon\":2.5,\"last_contact\":9,\"opensky_fetch_epoch\":9}"));
+
+    publisher(Optional.empty()).afterPoll(true, 0, 10_000L);
+
+    ArgumentCaptor<Map<String, String>> hash = ArgumentCaptor.forClass(Map.class);
+    verify(hashOps).putAll(eq("cloudradar:aircraft:fleet:21600:staging"), hash.capture());
+    verify(redisTemplate).expire("cloudradar:aircraft:fleet:21600:staging", Duration.ofSeconds(300));
+    verify(redisTemplate).rename("cloudradar:aircraft:fleet:21600:staging", "cloudradar:aircraft:fleet:21600");
+    assertEquals("1", hash.getValue().get("active"));
+    assertEquals("false", hash.getValue().get("metadata"));
+  }
+
+  @Test
+  void omitsMetadataColumnsWithoutAircraftDb() throws Exception {
+    stubScan(Map.entry("abc123", "{\"icao24\":\"abc123\",\"opensky_fetch_epoch\":1700000000}"));
+
+    publisher(Optional.empty()).afterPoll(true, 0, 10_000L);
+
+    ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+    verify(valueOps).set(eq(SNAPSHOT_KEY), json.capture(), any(Duration.class));
+    JsonNode snapshot = objectMapper.readTree(json.getValue());
+    assertFalse(snapshot.get("metadata").asBoolean());
+    assertEquals(BatchSnapshotBuilder.EVENT_FIELDS.size(), snapshot.get("fields").size());
+  }
+
+  @Test
+  void waitsForDrainedQueueOrNewerBatchAndMinInterval() {
+    stubScan(Map.entry("abc123", "{\"icao24\":\"abc123\",\"opensky_fetch_epoch\":1700000000}"));
+    BatchSnapshotPublisher publisher = publisher(Optional.empty());
+
+    publisher.afterPoll(false, 0, 10_000L);
+    publisher.beforeNewerBatch(10_000L);
+    publisher.afterPoll(true, 5, 10_000L);
+    verify(valueOps, never()).set(anyString(), anyString(), any(Duration.class));
+
+    publisher.afterPoll(true, 0, 10_000L);
+    verify(valueOps, times(1)).set(anyString(), anyString(), any(Duration.class));
+
+    publisher.afterPoll(true, 5, 10_500L);
+    publisher.beforeNewerBatch(10_500L);
+    verify(valueOps, times(1)).set(anyString(), anyString(), any(Duration.class));
+
+    publisher.beforeNewerBatch(11_000L);
+    verify(valueOps, times(2)).set(anyString(), anyString(), any(Duration.class));
+
+    publisher.afterPoll(true, 4, 12_000L);
+    verify(valueOps, times(2)).set(anyString(), anyString(), any(Duration.class));
+  }
+
+  @Test
+  void publishesCompletedBatchBeforeTheNextOneIsWrittenUnderBacklog() throws Exception {
+    Map<Object, Object> stored = new LinkedHashMap<>();
+    when(hashOps.scan(eq("cloudradar:aircraft:last"), any(ScanOptions.class)))
+        .thenAnswer(invocation -> cursor(List.copyOf(stored.entrySet())));
+    BatchSnapshotPublisher publisher = publisher(Optional.empty());
+    Deque<String> queue = new ArrayDeque<>();
+    EventProcessor processor = eventProcessor(stored, queue, () -> publisher.beforeNewerBatch(10_000L));
+
+    // Batch 100 (two aircraft) then batch 110 (one aircraft), all queued before the first poll.
+    ListOperations<String, String> ingest = redisTemplate.opsForList();
+    ingest.rightPush(INPUT_KEY, positionJson("abc123", 100));
+    ingest.rightPush(INPUT_KEY, positionJson("def456", 100));
+    ingest.rightPush(INPUT_KEY, positionJson("abc123", 110));
+    while (!queue.isEmpty()) {
+      boolean processed = processor.pollAndProcess(INPUT_KEY, Duration.ZERO);
+      publisher.afterPoll(processed, processor.queueDepth(), 20_000L);
+    }
+
+    ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+    verify(valueOps, times(2)).set(eq(SNAPSHOT_KEY), json.capture(), any(Duration.class));
+    JsonNode completed = objectMapper.readTree(json.getAllValues().get(0));
+    List<String> fields = objectMapper.convertValue(completed.get("fields"), List.class);
+    int epochColumn = fields.indexOf("opensky_fetch_epoch");
+    assertEquals(100L, completed.get("batch_epoch").asLong());
+    assertEquals(2, completed.get("rows").size());
+    completed.get("rows").forEach(row -> assertEquals(100L, row.get(epochColumn).asLong()));
+
+    JsonNode drained = objectMapper.readTree(json.getAllValues().get(1));
+    assertEquals(110L, drained.get("batch_epoch").asLong());
+    assertEquals(2, drained.get("rows").size());
+  }
+
+  @Test
+  void doesNothingWhenDisabled() {
+    properties.getBatchSnapshot().setEnabled(false);
+
+    publisher(Optional.empty()).afterPoll(true, 0, 10_000L);
+
+    verify(hashOps, never()).scan(anyString(), any(ScanOptions.class));
+  }
+
+  private BatchSnapshotPublisher publisher(Optional<AircraftMetadataRepository> repo) {
+    BatchSnapshotBuilder builder = new BatchSnapshotBuilder(redisTemplate, objectMapper, properties, repo);
+    return new BatchSnapshotPublisher(
+        redisTemplate, builder, new FleetMetricsWriter(redisTemplate, properties), properties, registry);
+  }
+
+  private EventProcessor eventProcessor(Map<Object, Object> stored, Deque<String> queue, Runnable beforeNewerBatch) {
+    doAnswer(invocation -> stored.put(invocation.getArgument(1), invocation.getArgument(2)))
+        .when(hashOps).put(eq("cloudradar:aircraft:last"), any(), any());
+    // Redis list semantics for the ingest queue: the ingester appends on the right.
+    ListOperations<String, String> listOps = mock(ListOperations.class);
+    when(listOps.rightPush(eq(INPUT_KEY), anyString())).thenAnswer(invocation -> {
+      queue.addLast(invocation.getArgument(1));
+      return (long) queue.size();
+    });
+    when(listOps.leftPop(eq(INPUT_KEY), any(Duration.class))).thenAnswer(invocation -> queue.pollFirst());
+    when(listOps.rightPop(eq(INPUT_KEY), any(Duration.class))).thenAnswer(invocation -> queue.pollLast());
+    when(listOps.size(INPUT_KEY)).thenAnswer(invocation -> (long) queue.size());
+    when(listOps.index(INPUT_KEY, 0L)).thenAnswer(invocation -> queue.peekFirst());
+    when(redisTemplate.opsForList()).thenReturn(listOps);
+    when(redisTemplate.opsForSet()).thenReturn(mock(SetOperations.class));
+    when(redisTemplate.opsForHyperLogLog()).thenReturn(mock(HyperLogLogOperations.class));
+    when(redisTemplate.opsForZSet()).thenReturn(mock(ZSetOperations.class));
+    when(redisTemplate.opsForGeo()).thenReturn(mock(GeoOperations.class));
+    RedisPipelineStubs.runInline(redisTemplate);
+    return new EventProcessor(
+        redisTemplate,
+        objectMapper,
+        properties,
+        new ProcessorMetrics(registry, properties),
+        new BboxClassifier(),
+        new ActivityBucketKeyResolver(),
+        Optional.empty(),
+        new LastPositionSnapshotWriter(redisTemplate, objectMapper, properties),
+        beforeNewerBatch);
+  }
+
+  private static String positionJson(String icao24, long fetchEpoch) {
+    return String.format(
+        "{\"icao24\":\"%s\",\"lat\":48.5,\"lon\":2.5,\"last_contact\":%d,\"opensky_fetch_epoch\":%d}",
+        icao24, fetchEpoch, fetchEpoch);
+  }
+
+  @SafeVarargs
+  private void stubScan(Map.Entry<Object, Object>... entries) {
+    Cursor<Map.Entry<Object, Object>> cursor = cursor(List.of(entries));
+    when(hashOps.scan(eq("cloudradar:aircraft:last"), any(ScanOptions.class))).thenReturn(cursor);
+  }
+
+  private static <T> Cursor<T> cursor(List<T> values) {
+    Iterator<T> iterator = values.iterator();
+    Cursor<T> cursor = mock(Cursor.class);
+    when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+    when(cursor.next()).thenAnswer(invocation -> iterator.next());
+    return cursor;
+  }
+}
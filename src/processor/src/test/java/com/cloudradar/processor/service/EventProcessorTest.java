@@ -1,9 +1,11 @@
 package com.cloudradar.processor.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -16,16 +18,24 @@ import java.time.Duration;
 import com.cloudradar.processor.aircraft.AircraftMetadata;
 import com.cloudradar.processor.aircraft.AircraftMetadataRepository;
 import com.cloudradar.processor.config.ProcessorProperties;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
+import org.springframework.data.redis.core.GeoOperations;
 import org.springframework.data.redis.core.HashOperations;
 import org.springframework.data.redis.core.HyperLogLogOperations;
 import org.springframework.data.redis.core.ListOperations;
 import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
 
 @SuppressWarnings("unchecked")
 class EventProcessorTest {
@@ -51,7 +61,11 @@ class EventProcessorTest {
     when(redisTemplate.opsForList()).thenReturn(listOps);
     when(redisTemplate.opsForSet()).thenReturn(setOps);
     when(redisTemplate.opsForHyperLogLog()).thenReturn(hllOps);
+    when(redisTemplate.opsForZSet()).thenReturn(mock(ZSetOperations.class));
+    when(redisTemplate.opsForGeo()).thenReturn(mock(GeoOperations.class));
+    when(redisTemplate.opsForValue()).thenReturn(mock(ValueOperations.class));
     when(setOps.size(anyString())).thenReturn(1L);
+    RedisPipelineStubs.runInline(redisTemplate);
 
     properties = new ProcessorProperties();
     properties.setTrackLength(5);
@@ -67,17 +81,19 @@ class EventProcessorTest {
         new BboxClassifier(),
         new ActivityBucketKeyResolver(),
         Optional.empty(),
-        new LastPositionSnapshotWriter(redisTemplate, new ObjectMapper(), properties));
+        new LastPositionSnapshotWriter(redisTemplate, new ObjectMapper(), properties),
+        () -> { });
   }
 
   @Test
   void validEvent_writesHashAndTrack() {
     String payload = validPayload("abc123", 48.0, 2.0);
-    processor.process(payload);
+    processor.process(payload, 1_706_000_002_000L);
 
-    verify(hashOps).put(eq("cloudradar:aircraft:last"), eq("abc123"), eq(payload));
-    verify(listOps).leftPush(eq("cloudradar:aircraft:track:abc123"), eq(payload));
+    verify(hashOps).put(eq("cloudradar:aircraft:last"), eq("abc123"), argThat(stampedFrom(payload)));
+    verify(listOps).leftPush(eq("cloudradar:aircraft:track:abc123"), argThat(stampedFrom(payload)));
     verify(listOps).trim(eq("cloudradar:aircraft:track:abc123"), eq(0L), eq(4L));
+    verify(redisTemplate).expire("cloudradar:aircraft:track:abc123", Duration.ofSeconds(3600));
     assertEquals(1.0, meterRegistry.get("processor.events.processed").counter().count());
   }
 
@@ -153,7 +169,8 @@ class EventProcessorTest {
         new BboxClassifier(),
         new ActivityBucketKeyResolver(),
         Optional.of(repo),
-        new LastPositionSnapshotWriter(redisTemplate, new ObjectMapper(), properties));
+        new LastPositionSnapshotWriter(redisTemplate, new ObjectMapper(), properties),
+        () -> { });
 
     processorWithRepo.process(validPayload("abc123", 48.0, 2.0));
 
@@ -192,7 +209,7 @@ class EventProcessorTest {
   @Test
   void pollAndProcess_nullPayload_doesNotCallProcess() {
     String inputKey = "cloudradar:ingest:queue";
-    when(listOps.rightPop(eq(inputKey), any(Duration.class))).thenReturn(null);
+    when(listOps.leftPop(eq(inputKey), any(Duration.class))).thenReturn(null);
     when(listOps.size(inputKey)).thenReturn(0L);
 
     processor.pollAndProcess(inputKey, Duration.ofSeconds(2));
@@ -207,15 +224,75 @@ class EventProcessorTest {
   void pollAndProcess_withPayload_delegatesToProcess() {
     String inputKey = "cloudradar:ingest:queue";
     String payload = validPayload("abc123", 48.0, 2.0);
-    when(listOps.rightPop(eq(inputKey), any(Duration.class))).thenReturn(payload);
+    when(listOps.leftPop(eq(inputKey), any(Duration.class))).thenReturn(payload);
     when(listOps.size(inputKey)).thenReturn(5L);
 
     processor.pollAndProcess(inputKey, Duration.ofSeconds(2));
 
-    verify(hashOps).put(eq("cloudradar:aircraft:last"), eq("abc123"), eq(payload));
+    verify(hashOps).put(eq("cloudradar:aircraft:last"), eq("abc123"), argThat(stampedFrom(payload)));
     assertEquals(1.0, meterRegistry.get("processor.events.processed").counter().count());
   }
 
+  @Test
+  void validEvent_stampsPayloadAndRecordsHopLatency() throws Exception {
+    long publishedAtMs = System.currentTimeMillis() - 3_000L;
+    long dequeuedAtMs = publishedAtMs + 2_000L;
+    String payload = validPayload("abc123", 48.0, 2.0)
+        .replace("}", ",\"ingester_published_at_ms\":" + publishedAtMs + "}");
+
+    processor.process(payload, dequeuedAtMs);
+
+    ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+    verify(listOps).leftPush(eq("cloudradar:aircraft:track:abc123"), stored.capture());
+    JsonNode json = new ObjectMapper().readTree(stored.getValue());
+    assertEquals(publishedAtMs, json.get("ingester_published_at_ms").asLong());
+    assertEquals(dequeuedAtMs, json.get("processor_dequeued_at_ms").asLong());
+    assertTrue(json.get("processor_written_at_ms").asLong() >= dequeuedAtMs);
+
+    Timer queue = meterRegistry.get("processor.pipeline.latency").tag("hop", "queue").timer();
+    assertEquals(2_000.0, queue.totalTime(TimeUnit.MILLISECONDS));
+    assertEquals(1L, meterRegistry.get("processor.pipeline.latency").tag("hop", "process").timer().count());
+    assertEquals(1L, meterRegistry.get("processor.pipeline.latency").tag("hop", "source_to_write").timer().count());
+  }
+
+  @Test
+  void profilingEnabled_timesEachStage() {
+    properties.getProfiling().setEnabled(true);
+    EventProcessor profiledProcessor = new EventProcessor(
+        redisTemplate,
+        new ObjectMapper(),
+        properties,
+        new ProcessorMetrics(meterRegistry, properties),
+        new BboxClassifier(),
+        new ActivityBucketKeyResolver(),
+        Optional.empty(),
+        new LastPositionSnapshotWriter(redisTemplate, new ObjectMapper(), properties),
+        () -> { });
+
+    profiledProcessor.process(validPayload("abc123", 48.0, 2.0));
+
+    for (String stage : new String[] {"parse", "snapshot_write", "bbox_update", "activity_bucket"}) {
+      assertEquals(1L, meterRegistry.get("processor.stage.duration").tag("stage", stage).timer().count(), stage);
+    }
+    // No aircraft DB: the metadata stage is not entered.
+    assertEquals(0L, meterRegistry.get("processor.stage.duration").tag("stage", "metadata_lookup").timer().count());
+  }
+
+  @Test
+  void pollAndProcess_reportsAgeOfOldestQueuedEvent() {
+    String inputKey = "cloudradar:ingest:queue";
+    long publishedAtMs = System.currentTimeMillis() - 42_000L;
+    when(listOps.leftPop(eq(inputKey), any(Duration.class))).thenReturn(null);
+    when(listOps.size(inputKey)).thenReturn(3L);
+    when(listOps.index(inputKey, 0)).thenReturn(
+        "{\"icao24\":\"abc123\",\"ingester_published_at_ms\":" + publishedAtMs + "}");
+
+    processor.pollAndProcess(inputKey, Duration.ofSeconds(2));
+
+    double age = meterRegistry.get("processor.queue.oldest_age_seconds").gauge().value();
+    assertTrue(age >= 42.0 && age < 45.0, "unexpected queue age " + age);
+  }
+
   @Test
   void handleLoopError_incrementsErrorCounter() {
     processor.handleLoopError(new RuntimeException("test"));
@@ -229,6 +306,14 @@ class EventProcessorTest {
         icao24, lat, lon);
   }
 
+  private static <T> ArgumentMatcher<T> stampedFrom(String payload) {
+    String original = payload.substring(0, payload.length() - 1);
+    return value -> value instanceof String stamped
+        && stamped.startsWith(original)
+        && stamped.contains("\"processor_dequeued_at_ms\":")
+        && stamped.contains("\"processor_written_at_ms\":");
+  }
+
   private double counterValue(String name, String tagKey, String tagValue) {
     try {
       return meterRegistry.get(name).tag(tagKey, tagValue).counter().count();
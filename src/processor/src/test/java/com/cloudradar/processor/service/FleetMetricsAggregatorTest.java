@@ -0,0 +1,87 @@
+package com.cloudradar.processor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.cloudradar.processor.aircraft.AircraftMetadata;
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FleetMetricsAggregatorTest {
+  private static final long NOW_MS = 1_700_010_000_000L;
+  private static final long NOW = NOW_MS / 1000L;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private FleetMetricsAggregator aggregator;
+
+  @BeforeEach
+  void setUp() {
+    ProcessorProperties.FleetMetrics settings = new ProcessorProperties.FleetMetrics();
+    settings.setBbox("0.0,45.0,10.0,55.0");
+    settings.setWindows(List.of(Duration.ofHours(1), Duration.ofHours(6)));
+    aggregator = new FleetMetricsAggregator(settings);
+  }
+
+  @Test
+  void countsLatestEntryPerAircraftInsideBboxPerWindow() throws Exception {
+    aggregator.add(event("abc123", 48.0, 2.0, NOW - 60, NOW - 30), metadata("Large", "A320", false, null));
+    // Older batch of the same aircraft under a differently-cased key.
+    aggregator.add(event("ABC123", 48.0, 2.0, NOW - 90, NOW - 40), metadata("Large", "A320", false, null));
+    aggregator.add(event("mil001", 50.0, 3.0, NOW - 3 * 3600, NOW - 30), metadata(null, "C130", true, null));
+    aggregator.add(event("out001", 30.0, 2.0, NOW - 60, NOW - 30), metadata("Large", "A320", false, null));
+    aggregator.add(event("unk001", 49.0, 4.0, NOW - 60, NOW - 30), Optional.empty());
+
+    Map<Long, Map<String, String>> hashes = aggregator.hashes(NOW_MS, NOW - 30, true);
+
+    Map<String, String> oneHour = hashes.get(3600L);
+    assertEquals("2", oneHour.get("active"));
+    assertEquals("0", oneHour.get("military"));
+    assertEquals("1", oneHour.get("fleet:commercial"));
+    assertEquals("1", oneHour.get("fleet:unknown"));
+    assertEquals("1", oneHour.get("size:large"));
+    assertEquals("1", oneHour.get("type:A320"));
+    assertEquals("0.0,45.0,10.0,55.0", oneHour.get("bbox"));
+    assertEquals(Long.toString(NOW - 30), oneHour.get("batch_epoch"));
+
+    Map<String, String> sixHours = hashes.get(21600L);
+    assertEquals("3", sixHours.get("active"));
+    assertEquals("1", sixHours.get("military"));
+    assertEquals("1", sixHours.get("fleet:military"));
+    assertEquals("1", sixHours.get("size:small"));
+  }
+
+  @Test
+  void keepsOnlyTheThreeMostRecentBatches() throws Exception {
+    aggregator.add(event("old001", 48.0, 2.0, NOW - 60, NOW - 400), Optional.empty());
+    aggregator.add(event("a00001", 48.0, 2.0, NOW - 60, NOW - 30), Optional.empty());
+    aggregator.add(event("a00002", 48.0, 2.0, NOW - 60, NOW - 40), Optional.empty());
+    aggregator.add(event("a00003", 48.0, 2.0, NOW - 60, NOW - 50), Optional.empty());
+
+    Map<String, String> hash = aggregator.hashes(NOW_MS, null, false).get(3600L);
+
+    assertEquals("3", hash.get("active"));
+    assertEquals("3", hash.get("type:unknown"));
+    assertFalse(hash.containsKey("fleet:commercial"));
+    assertNull(hash.get("batch_epoch"));
+  }
+
+  private JsonNode event(String icao24, double lat, double lon, long lastContact, long fetchEpoch) throws Exception {
+    return objectMapper.readTree(
+        "{\"icao24\":\"" + icao24 + "\",\"callsign\":\"TST1\",\"lat\":" + lat + ",\"lon\":" + lon
+            + ",\"last_contact\":" + lastContact + ",\"opensky_fetch_epoch\":" + fetchEpoch + "}");
+  }
+
+  private static Optional<AircraftMetadata> metadata(
+      String category, String typecode, boolean military, String ownerOperator) {
+    return Optional.of(new AircraftMetadata(
+        "x", "France", category, null, null, null, null, null, typecode, military, null, ownerOperator));
+  }
+}
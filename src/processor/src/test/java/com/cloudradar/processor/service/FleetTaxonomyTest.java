@@ -0,0 +1,26 @@
+package com.cloudradar.processor.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
+
+class FleetTaxonomyTest {
+
+  /** Same cases as the dashboard's {@code FlightTaxonomyTest}, so both classifications agree. */
+  @ParameterizedTest
+  @CsvFileSource(files = "../../tests/fixtures/fleet-taxonomy.csv")
+  void matchesSharedDashboardFixtures(
+      String category,
+      String typecode,
+      Boolean militaryHint,
+      String ownerOperator,
+      String callsign,
+      String fleetType,
+      String aircraftSize,
+      String typeLabel) {
+    assertThat(FleetTaxonomy.fleetType(militaryHint, category, ownerOperator, callsign)).isEqualTo(fleetType);
+    assertThat(FleetTaxonomy.aircraftSize(category, typecode)).isEqualTo(aircraftSize);
+    assertThat(FleetTaxonomy.typeLabel(category, typecode)).isEqualTo(typeLabel);
+  }
+}
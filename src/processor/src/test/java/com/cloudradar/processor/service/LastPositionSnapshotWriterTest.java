@@ -4,19 +4,28 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.doubleThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.cloudradar.processor.config.ProcessorProperties;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.core.GeoOperations;
 import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
 
 @SuppressWarnings("unchecked")
 class LastPositionSnapshotWriterTest {
@@ -25,6 +34,9 @@ class LastPositionSnapshotWriterTest {
 
   private StringRedisTemplate redisTemplate;
   private HashOperations<String, Object, Object> hashOps;
+  private ZSetOperations<String, String> zSetOps;
+  private GeoOperations<String, String> geoOps;
+  private ListOperations<String, String> listOps;
   private ProcessorProperties properties;
   private LastPositionSnapshotWriter writer;
 
@@ -32,7 +44,14 @@ class LastPositionSnapshotWriterTest {
   void setUp() {
     redisTemplate = mock(StringRedisTemplate.class);
     hashOps = mock(HashOperations.class);
+    zSetOps = mock(ZSetOperations.class);
+    geoOps = mock(GeoOperations.class);
+    listOps = mock(ListOperations.class);
     when(redisTemplate.opsForHash()).thenReturn(hashOps);
+    when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+    when(redisTemplate.opsForGeo()).thenReturn(geoOps);
+    when(redisTemplate.opsForList()).thenReturn(listOps);
+    RedisPipelineStubs.runInline(redisTemplate);
 
     properties = new ProcessorProperties();
     writer = new LastPositionSnapshotWriter(redisTemplate, objectMapper, properties);
@@ -43,18 +62,62 @@ class LastPositionSnapshotWriterTest {
     String payload = payload(48.0, 2.0, 100.0, 5000.0, 1_700_000_000L);
     when(hashOps.get("cloudradar:aircraft:last", "abc123")).thenReturn(null);
 
-    writer.writeLatest("abc123", payload);
+    writer.writeLatest("abc123", payload, event(payload));
 
     verify(hashOps).put(eq("cloudradar:aircraft:last"), eq("abc123"), eq(payload));
   }
 
+  @Test
+  void writeLatest_refreshesIndexes() {
+    long before = System.currentTimeMillis() / 1000;
+    String payload = payload(48.0, 2.0, 100.0, 5000.0, 1_700_000_000L);
+
+    writer.writeLatest("abc123", payload, event(payload));
+
+    verify(zSetOps).add(
+        eq("cloudradar:aircraft:last_seen"),
+        eq("abc123"),
+        doubleThat(score -> score >= before && score <= before + 5));
+    verify(zSetOps).add("cloudradar:aircraft:last_contact", "abc123", 1_700_000_000L);
+    verify(geoOps).add("cloudradar:aircraft:geo", new Point(2.0, 48.0), "abc123");
+  }
+
+  @Test
+  void writeLatest_queuesAllWritesOfTheEventInOnePipeline() {
+    String payload = payload(48.0, 2.0, 100.0, 5000.0, 1_700_000_000L);
+
+    writer.writeLatest("abc123", payload, event(payload));
+
+    verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+    verify(listOps).leftPush("cloudradar:aircraft:track:abc123", payload);
+    verify(listOps).trim("cloudradar:aircraft:track:abc123", 0L, 179L);
+    verify(redisTemplate).expire("cloudradar:aircraft:track:abc123", Duration.ofSeconds(3600));
+  }
+
+  @Test
+  void writeLatest_withoutLastContactOrPosition_dropsIndexEntries() {
+    String payload = "{\"icao24\":\"abc123\"}";
+
+    writer.writeLatest("abc123", payload, event(payload));
+
+    verify(zSetOps).remove("cloudradar:aircraft:last_contact", "abc123");
+    verify(geoOps).remove("cloudradar:aircraft:geo", "abc123");
+  }
+
+  @Test
+  void isGeoIndexable_rejectsPolarAndMissingPositions() {
+    assertTrue(LastPositionSnapshotWriter.isGeoIndexable(85.0, -179.9));
+    assertFalse(LastPositionSnapshotWriter.isGeoIndexable(86.0, 10.0));
+    assertFalse(LastPositionSnapshotWriter.isGeoIndexable(null, 10.0));
+  }
+
   @Test
   void writeLatest_withExistingPayload_injectsPreviousSnapshotFields() throws Exception {
     String previousPayload = payload(48.0, 2.0, 90.0, 4900.0, 1_700_000_000L);
     String currentPayload = payload(48.1, 2.1, 95.0, 4950.0, 1_700_000_010L);
     when(hashOps.get("cloudradar:aircraft:last", "abc123")).thenReturn(previousPayload);
 
-    writer.writeLatest("abc123", currentPayload);
+    writer.writeLatest("abc123", currentPayload, event(currentPayload));
 
     String storedPayload = extractStoredPayload();
     Map<String, Object> saved = objectMapper.readValue(storedPayload, new TypeReference<>() {});
@@ -73,7 +136,7 @@ class LastPositionSnapshotWriterTest {
     String currentPayload = payload(48.1, 2.1, 95.0, 4950.0, 1_700_000_010L);
     when(hashOps.get("cloudradar:aircraft:last", "abc123")).thenReturn("{not-json");
 
-    writer.writeLatest("abc123", currentPayload);
+    writer.writeLatest("abc123", currentPayload, event(currentPayload));
 
     String storedPayload = extractStoredPayload();
     assertEquals(currentPayload, storedPayload);
@@ -88,7 +151,7 @@ class LastPositionSnapshotWriterTest {
     String currentPayload = payload(48.1, 2.1, 95.0, 4950.0, 1_700_000_010L);
     when(hashOps.get("cloudradar:aircraft:last", "abc123")).thenReturn(previousPayload);
 
-    writer.writeLatest("abc123", currentPayload);
+    writer.writeLatest("abc123", currentPayload, event(currentPayload));
 
     String storedPayload = extractStoredPayload();
     Map<String, Object> saved = objectMapper.readValue(storedPayload, new TypeReference<>() {});
@@ -104,6 +167,14 @@ class LastPositionSnapshotWriterTest {
     return payloadCaptor.getValue();
   }
 
+  private PositionEvent event(String payload) {
+    try {
+      return objectMapper.readValue(payload, PositionEvent.class);
+    } catch (Exception ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
   private static String payload(
       double lat, double lon, double heading, double geoAltitude, long lastContact) {
     return String.format(
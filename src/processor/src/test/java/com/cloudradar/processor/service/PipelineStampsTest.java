@@ -0,0 +1,27 @@
+package com.cloudradar.processor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class PipelineStampsTest {
+
+  @Test
+  void appendsStampsBeforeClosingBrace() {
+    assertEquals(
+        "{\"icao24\":\"abc123\",\"processor_dequeued_at_ms\":10,\"processor_written_at_ms\":12}",
+        PipelineStamps.stamp("{\"icao24\":\"abc123\"}", 10L, 12L));
+  }
+
+  @Test
+  void emptyObjectGetsNoLeadingComma() {
+    assertEquals(
+        "{\"processor_dequeued_at_ms\":1,\"processor_written_at_ms\":2}",
+        PipelineStamps.stamp("{}", 1L, 2L));
+  }
+
+  @Test
+  void nonObjectPayloadIsUnchanged() {
+    assertEquals("not json", PipelineStamps.stamp("not json", 1L, 2L));
+  }
+}
@@ -62,7 +62,8 @@ class PositionEventTest {
         1700000001L,
         1700000002L,
         "2026-02-24T12:00:00Z",
-        1700000000L);
+        1700000000L,
+        1700000003000L);
 
     JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(event));
 
@@ -70,6 +71,7 @@ class PositionEventTest {
     assertThat(json.has("geo_altitude")).isTrue();
     assertThat(json.has("time_position")).isTrue();
     assertThat(json.has("opensky_fetch_epoch")).isTrue();
+    assertThat(json.has("ingester_published_at_ms")).isTrue();
     assertThat(json.has("baroAltitude")).isFalse();
     assertThat(json.has("openskyFetchEpoch")).isFalse();
   }
@@ -0,0 +1,68 @@
+package com.cloudradar.processor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.cloudradar.processor.config.RedisKeyFamilies;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class RedisKeyspaceSamplerTest {
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void countsKeysAndExtrapolatesSampledMemoryPerFamily() {
+    StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    Iterator<String> keys = List.of(
+        "cloudradar:aircraft:last",
+        "cloudradar:aircraft:track:a",
+        "cloudradar:aircraft:track:b",
+        "cloudradar:aircraft:track:c",
+        "unrelated").iterator();
+    Cursor<String> cursor = mock(Cursor.class);
+    when(cursor.hasNext()).thenAnswer(invocation -> keys.hasNext());
+    when(cursor.next()).thenAnswer(invocation -> keys.next());
+    when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+    when(redisTemplate.execute(eq(RedisKeyspaceSampler.MEMORY_USAGE_SCRIPT), eq(List.of("cloudradar:aircraft:last"))))
+        .thenReturn(5_000L);
+    when(redisTemplate.execute(
+            eq(RedisKeyspaceSampler.MEMORY_USAGE_SCRIPT),
+            eq(List.of("cloudradar:aircraft:track:a", "cloudradar:aircraft:track:b"))))
+        .thenReturn(300L);
+    when(redisTemplate.execute(eq(RedisKeyspaceSampler.MEMORY_USAGE_SCRIPT), eq(List.of("unrelated"))))
+        .thenReturn(50L);
+
+    ProcessorProperties properties = new ProcessorProperties();
+    properties.getKeyspaceSampling().setMemorySamples(2);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    RedisKeyspaceSampler sampler = new RedisKeyspaceSampler(
+        redisTemplate,
+        properties,
+        RedisKeyFamilies.builder()
+            .key("last", "cloudradar:aircraft:last")
+            .prefix("track", "cloudradar:aircraft:track:")
+            .build(),
+        registry);
+
+    sampler.sampleOnce();
+
+    assertEquals(1.0, gauge(registry, "processor.redis.keyspace.keys", "last"));
+    assertEquals(3.0, gauge(registry, "processor.redis.keyspace.keys", "track"));
+    assertEquals(1.0, gauge(registry, "processor.redis.keyspace.keys", "other"));
+    assertEquals(5_000.0, gauge(registry, "processor.redis.keyspace.memory", "last"));
+    assertEquals(450.0, gauge(registry, "processor.redis.keyspace.memory", "track"));
+  }
+
+  private static double gauge(SimpleMeterRegistry registry, String name, String family) {
+    return registry.get(name).tag("key_family", family).gauge().value();
+  }
+}
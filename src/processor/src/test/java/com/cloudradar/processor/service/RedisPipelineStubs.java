@@ -0,0 +1,26 @@
+package com.cloudradar.processor.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+import java.util.List;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Emulates {@code executePipelined} on a mocked template by running the queued commands directly
+ * against the template's operation mocks, so tests verify pipelined writes like plain ones.
+ */
+final class RedisPipelineStubs {
+
+  private RedisPipelineStubs() {}
+
+  @SuppressWarnings("unchecked")
+  static void runInline(StringRedisTemplate redisTemplate) {
+    lenient().when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+      SessionCallback<?> callback = invocation.getArgument(0);
+      callback.execute(redisTemplate);
+      return List.of();
+    });
+  }
+}
@@ -0,0 +1,62 @@
+package com.cloudradar.processor.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.cloudradar.processor.config.ProcessorProperties;
+import com.cloudradar.processor.service.StageProfiler.Stage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class StageProfilerTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void disabled_registersAndRecordsNothing() {
+    StageProfiler profiler = new StageProfiler(registry, new ProcessorProperties.Profiling());
+
+    long start = profiler.start();
+    assertEquals(0L, start);
+    assertEquals(0L, profiler.lap(Stage.PARSE, start));
+    assertEquals(StageProfiler.NOT_SAMPLED, profiler.beginEvent());
+    assertNull(registry.find("processor.stage.duration").timer());
+    assertNull(registry.find("processor.event.allocated").summary());
+  }
+
+  @Test
+  void enabled_recordsStageDurations() {
+    StageProfiler profiler = new StageProfiler(registry, profiling(0));
+
+    long start = profiler.start();
+    long next = profiler.lap(Stage.PARSE, start);
+    profiler.lap(Stage.SNAPSHOT_WRITE, next);
+
+    assertTrue(next >= start);
+    assertEquals(1L, registry.get("processor.stage.duration").tag("stage", "parse").timer().count());
+    assertEquals(1L, registry.get("processor.stage.duration").tag("stage", "snapshot_write").timer().count());
+    assertEquals(0L, registry.get("processor.stage.duration").tag("stage", "activity_bucket").timer().count());
+  }
+
+  @Test
+  void enabled_samplesAllocationEveryNthEvent() {
+    StageProfiler profiler = new StageProfiler(registry, profiling(2));
+
+    assertEquals(StageProfiler.NOT_SAMPLED, profiler.beginEvent());
+    long allocatedAtStart = profiler.beginEvent();
+    byte[] garbage = new byte[64 * 1024];
+    profiler.endEvent(allocatedAtStart);
+
+    assertTrue(garbage.length > 0);
+    assertEquals(1L, registry.get("processor.event.allocated").summary().count());
+    assertTrue(registry.get("processor.event.allocated").summary().totalAmount() >= 64 * 1024);
+  }
+
+  private static ProcessorProperties.Profiling profiling(int allocationSampleEvery) {
+    ProcessorProperties.Profiling profiling = new ProcessorProperties.Profiling();
+    profiling.setEnabled(true);
+    profiling.setAllocationSampleEvery(allocationSampleEvery);
+    return profiling;
+  }
+}
@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+#
+# End-to-end throughput probe (ingester -> Redis -> processor)
+#
+# Samples the ingester and processor Prometheus counters twice and prints events/s pushed,
+# events/s processed and the ingest queue depth. Intended for local load tests driven by
+# tests/perf/opensky-sim/OpenSkySimulator.java.
+#
+
+usage() {
+  cat <<'EOF'
+Usage:
+  tests/perf/e2e-throughput.sh [options]
+
+Options:
+  --ingester URL     Ingester base URL (default: http://localhost:8081)
+  --processor URL    Processor base URL (default: http://localhost:8082)
+  --interval SEC     Seconds between the two samples (default: 60)
+  -h, --help         Show help
+EOF
+}
+
+INGESTER_URL="http://localhost:8081"
+PROCESSOR_URL="http://localhost:8082"
+INTERVAL=60
+
+while [[ $# -gt 0 ]]; do
+  case "$1" in
+    --ingester) INGESTER_URL="$2"; shift 2 ;;
+    --processor) PROCESSOR_URL="$2"; shift 2 ;;
+    --interval) INTERVAL="$2"; shift 2 ;;
+    -h|--help) usage; exit 0 ;;
+    *) echo "Unknown option: $1" >&2; usage >&2; exit 2 ;;
+  esac
+done
+
+# Prints the sum of all series of a metric (0 when absent).
+metric() {
+  local url="$1" name="$2"
+  curl -fsS "${url}/metrics/prometheus" \
+    | awk -v name="$name" '$1 == name || index($1, name "{") == 1 { sum += $NF } END { printf "%.0f\n", sum }'
+}
+
+pushed_start="$(metric "$INGESTER_URL" ingester_push_total)"
+processed_start="$(metric "$PROCESSOR_URL" processor_events_processed_total)"
+sleep "$INTERVAL"
+pushed_end="$(metric "$INGESTER_URL" ingester_push_total)"
+processed_end="$(metric "$PROCESSOR_URL" processor_events_processed_total)"
+queue_depth="$(metric "$PROCESSOR_URL" processor_queue_depth)"
+
+awk -v ps="$pushed_start" -v pe="$pushed_end" -v cs="$processed_start" -v ce="$processed_end" \
+    -v q="$queue_depth" -v t="$INTERVAL" 'BEGIN {
+  printf "window_seconds=%d\n", t
+  printf "ingester_pushed_per_second=%.1f\n", (pe - ps) / t
+  printf "processor_processed_per_second=%.1f\n", (ce - cs) / t
+  printf "queue_depth=%d\n", q
+}'
@@ -0,0 +1,430 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Standalone stub of the OpenSky {@code /states/all} and OAuth token endpoints for load tests.
+ *
+ * <p>Run with the JDK source launcher (Java 17+, no build or dependencies):
+ *
+ * <pre>
+ * java tests/perf/opensky-sim/OpenSkySimulator.java --aircraft 50000 --port 8089
+ * </pre>
+ *
+ * <p>Then point the ingester at it with {@code OPENSKY_BASE_URL=http://localhost:8089/api} and
+ * {@code OPENSKY_TOKEN_URL=http://localhost:8089/auth/token} (any client id/secret is accepted).
+ *
+ * <p>Each aircraft flies great-circle legs between random airports-like points around the
+ * configured center, climbing, cruising and descending, then turns around for a new leg. Positions
+ * are a pure function of wall-clock time, so every request sees a consistent moving fleet.
+ * Responses carry the {@code X-Rate-Limit-*} headers the ingester reads; credits are charged by
+ * bbox area like the real API and exhausted budgets answer 429.
+ */
+public final class OpenSkySimulator {
+  private static final double EARTH_RADIUS_M = 6_371_000d;
+  private static final int MIN_AIRCRAFT = 1_000;
+  private static final int MAX_AIRCRAFT = 200_000;
+  private static final int TOKEN_TTL_SECONDS = 1800;
+
+  private final Aircraft[] fleet;
+  private final long creditLimit;
+  private final long creditWindowSeconds;
+  private final AtomicLong creditsUsed = new AtomicLong();
+  private final AtomicLong windowStartEpoch = new AtomicLong(nowEpoch());
+  private final AtomicLong tokensIssued = new AtomicLong();
+  private final AtomicLong statesRequests = new AtomicLong();
+  private final AtomicLong statesServed = new AtomicLong();
+  private final AtomicLong rateLimited = new AtomicLong();
+  private final long startedAtMs = System.currentTimeMillis();
+
+  private OpenSkySimulator(Aircraft[] fleet, long creditLimit, long creditWindowSeconds) {
+    this.fleet = fleet;
+    this.creditLimit = creditLimit;
+    this.creditWindowSeconds = creditWindowSeconds;
+  }
+
+  public static void main(String[] args) throws IOException {
+    Map<String, String> options = parseArgs(args);
+    int port = Integer.parseInt(option(options, "port", "SIM_PORT", "8089"));
+    int aircraft = Integer.parseInt(option(options, "aircraft", "SIM_AIRCRAFT", "10000"));
+    if (aircraft < MIN_AIRCRAFT || aircraft > MAX_AIRCRAFT) {
+      throw new IllegalArgumentException(
+          "--aircraft must be between " + MIN_AIRCRAFT + " and " + MAX_AIRCRAFT + ": " + aircraft);
+    }
+    String[] center = option(options, "center", "SIM_CENTER", "48.86,2.35").split(",");
+    double radiusKm = Double.parseDouble(option(options, "radius-km", "SIM_RADIUS_KM", "600"));
+    long seed = Long.parseLong(option(options, "seed", "SIM_SEED", "42"));
+    long credits = Long.parseLong(option(options, "credits", "SIM_CREDITS", "1000000"));
+    long creditWindow = Long.parseLong(option(options, "credit-window-seconds", "SIM_CREDIT_WINDOW_SECONDS", "86400"));
+    int threads = Integer.parseInt(option(options, "threads", "SIM_THREADS", "4"));
+
+    Aircraft[] fleet = generateFleet(
+        aircraft, Double.parseDouble(center[0]), Double.parseDouble(center[1]), radiusKm * 1000d, seed);
+    OpenSkySimulator simulator = new OpenSkySimulator(fleet, credits, creditWindow);
+
+    HttpServer server = HttpServer.create(new InetSocketAddress(port), 128);
+    server.createContext("/auth/token", simulator::handleToken);
+    server.createContext("/api/states/all", simulator::handleStates);
+    server.createContext("/stats", simulator::handleStats);
+    server.setExecutor(Executors.newFixedThreadPool(Math.max(1, threads)));
+    server.start();
+    System.out.printf(
+        Locale.ROOT,
+        "OpenSky simulator listening on :%d with %d aircraft (center %s,%s radius %.0f km, %d credits/%ds)%n",
+        port, aircraft, center[0], center[1], radiusKm, credits, creditWindow);
+  }
+
+  private void handleToken(HttpExchange exchange) throws IOException {
+    if (!"POST".equals(exchange.getRequestMethod())) {
+      send(exchange, 405, "{\"error\":\"method_not_allowed\"}");
+      return;
+    }
+    exchange.getRequestBody().readAllBytes();
+    long token = tokensIssued.incrementAndGet();
+    send(exchange, 200, String.format(
+        Locale.ROOT,
+        "{\"access_token\":\"sim-token-%d\",\"expires_in\":%d,\"token_type\":\"Bearer\"}",
+        token, TOKEN_TTL_SECONDS));
+  }
+
+  private void handleStates(HttpExchange exchange) throws IOException {
+    String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+    if (authorization == null || !authorization.startsWith("Bearer sim-token-")) {
+      send(exchange, 401, "{\"error\":\"unauthorized\"}");
+      return;
+    }
+    statesRequests.incrementAndGet();
+    Map<String, String> query = parseQuery(exchange.getRequestURI());
+    double latMin = doubleParam(query, "lamin", -90d);
+    double latMax = doubleParam(query, "lamax", 90d);
+    double lonMin = doubleParam(query, "lomin", -180d);
+    double lonMax = doubleParam(query, "lomax", 180d);
+
+    long remaining = charge(creditCost((latMax - latMin) * (lonMax - lonMin)));
+    long resetInSeconds = Math.max(0L, windowStartEpoch.get() + creditWindowSeconds - nowEpoch());
+    exchange.getResponseHeaders().set("X-Rate-Limit-Limit", Long.toString(creditLimit));
+    if (remaining < 0) {
+      rateLimited.incrementAndGet();
+      exchange.getResponseHeaders().set("X-Rate-Limit-Remaining", "0");
+      exchange.getResponseHeaders().set("X-Rate-Limit-Retry-After-Seconds", Long.toString(resetInSeconds));
+      exchange.getResponseHeaders().set("X-Rate-Limit-Reset", Long.toString(resetInSeconds));
+      send(exchange, 429, "{\"error\":\"too_many_requests\"}");
+      return;
+    }
+    exchange.getResponseHeaders().set("X-Rate-Limit-Remaining", Long.toString(remaining));
+    exchange.getResponseHeaders().set("X-Rate-Limit-Reset", Long.toString(resetInSeconds));
+
+    long nowMs = System.currentTimeMillis();
+    long nowEpoch = nowMs / 1000L;
+    StringBuilder body = new StringBuilder(256 + fleet.length * 32);
+    body.append("{\"time\":").append(nowEpoch).append(",\"states\":[");
+    int count = 0;
+    double[] state = new double[6];
+    for (Aircraft aircraft : fleet) {
+      aircraft.stateAt(nowMs, state);
+      double lat = state[0];
+      double lon = state[1];
+      if (lat < latMin || lat > latMax || lon < lonMin || lon > lonMax) {
+        continue;
+      }
+      if (count++ > 0) {
+        body.append(',');
+      }
+      appendState(body, aircraft, state, nowEpoch);
+    }
+    body.append("]}");
+    statesServed.addAndGet(count);
+    send(exchange, 200, body.toString());
+  }
+
+  private void handleStats(HttpExchange exchange) throws IOException {
+    double uptimeSeconds = Math.max(1d, (System.currentTimeMillis() - startedAtMs) / 1000d);
+    send(exchange, 200, String.format(
+        Locale.ROOT,
+        "{\"aircraft\":%d,\"tokensIssued\":%d,\"statesRequests\":%d,\"statesServed\":%d,"
+            + "\"statesServedPerSecond\":%.1f,\"rateLimited\":%d,\"creditsUsed\":%d,\"creditLimit\":%d}",
+        fleet.length,
+        tokensIssued.get(),
+        statesRequests.get(),
+        statesServed.get(),
+        statesServed.get() / uptimeSeconds,
+        rateLimited.get(),
+        creditsUsed.get(),
+        creditLimit));
+  }
+
+  /** OpenSky charges by queried area: up to 25, 100 and 400 square degrees, then the maximum. */
+  static int creditCost(double areaSquareDegrees) {
+    if (areaSquareDegrees <= 25d) {
+      return 1;
+    }
+    if (areaSquareDegrees <= 100d) {
+      return 2;
+    }
+    if (areaSquareDegrees <= 400d) {
+      return 3;
+    }
+    return 4;
+  }
+
+  /** Charges {@code cost} credits; returns the remaining budget, negative when exhausted. */
+  private long charge(int cost) {
+    long now = nowEpoch();
+    long windowStart = windowStartEpoch.get();
+    if (now - windowStart >= creditWindowSeconds && windowStartEpoch.compareAndSet(windowStart, now)) {
+      creditsUsed.set(0L);
+    }
+    long used = creditsUsed.addAndGet(cost);
+    if (used > creditLimit) {
+      creditsUsed.addAndGet(-cost);
+      return -1L;
+    }
+    return creditLimit - used;
+  }
+
+  private static void appendState(StringBuilder body, Aircraft aircraft, double[] state, long nowEpoch) {
+    boolean onGround = state[4] > 0d;
+    long lastContact = nowEpoch - (aircraft.icao24.charAt(5) & 3);
+    body.append("[\"").append(aircraft.icao24).append("\",\"").append(aircraft.callsign).append("\",\"")
+        .append(aircraft.country).append("\",").append(lastContact).append(',').append(lastContact).append(',')
+        .append(round(state[1], 4)).append(',').append(round(state[0], 4)).append(',');
+    if (onGround) {
+      body.append("null");
+    } else {
+      body.append(round(state[2] - 40d, 2));
+    }
+    body.append(',').append(onGround).append(',').append(round(onGround ? 8d : aircraft.cruiseSpeedMs, 2))
+        .append(',').append(round(state[3], 2)).append(',').append(state[5]).append(",null,");
+    if (onGround) {
+      body.append("null");
+    } else {
+      body.append(round(state[2], 2));
+    }
+    body.append(",\"").append(aircraft.squawk).append("\",false,0]");
+  }
+
+  private static Aircraft[] generateFleet(
+      int count, double centerLat, double centerLon, double radiusM, long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    String[][] operators = {
+      {"AFR", "France"}, {"EZY", "United Kingdom"}, {"DLH", "Germany"}, {"RYR", "Ireland"},
+      {"IBE", "Spain"}, {"KLM", "Kingdom of the Netherlands"}, {"SWR", "Switzerland"}, {"TAP", "Portugal"},
+    };
+    Aircraft[] fleet = new Aircraft[count];
+    for (int i = 0; i < count; i++) {
+      double[] origin = randomPoint(random, centerLat, centerLon, radiusM);
+      double[] destination = randomPoint(random, centerLat, centerLon, radiusM);
+      String[] operator = operators[random.nextInt(operators.length)];
+      fleet[i] = new Aircraft(
+          String.format(Locale.ROOT, "%06x", 0x380000 + i),
+          String.format(Locale.ROOT, "%-8s", operator[0] + (100 + random.nextInt(9900))),
+          operator[1],
+          String.format(Locale.ROOT, "%04d", 1000 + random.nextInt(6777)),
+          origin,
+          destination,
+          180d + random.nextDouble() * 80d,
+          9_000d + random.nextDouble() * 3_000d,
+          random.nextDouble());
+    }
+    return fleet;
+  }
+
+  /** Uniform point within {@code radiusM} of the center, as radians {lat, lon}. */
+  private static double[] randomPoint(SplittableRandom random, double centerLat, double centerLon, double radiusM) {
+    double distance = radiusM * Math.sqrt(random.nextDouble()) / EARTH_RADIUS_M;
+    double bearing = random.nextDouble() * 2d * Math.PI;
+    return destinationPoint(Math.toRadians(centerLat), Math.toRadians(centerLon), bearing, distance);
+  }
+
+  private static double[] destinationPoint(double lat, double lon, double bearing, double angularDistance) {
+    double destLat = Math.asin(Math.sin(lat) * Math.cos(angularDistance)
+        + Math.cos(lat) * Math.sin(angularDistance) * Math.cos(bearing));
+    double destLon = lon + Math.atan2(
+        Math.sin(bearing) * Math.sin(angularDistance) * Math.cos(lat),
+        Math.cos(angularDistance) - Math.sin(lat) * Math.sin(destLat));
+    return new double[] {destLat, destLon};
+  }
+
+  private static double round(double value, int decimals) {
+    double scale = Math.pow(10, decimals);
+    return Math.round(value * scale) / scale;
+  }
+
+  private static long nowEpoch() {
+    return System.currentTimeMillis() / 1000L;
+  }
+
+  private static void send(HttpExchange exchange, int status, String json) throws IOException {
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static Map<String, String> parseQuery(URI uri) {
+    Map<String, String> params = new HashMap<>();
+    String query = uri.getRawQuery();
+    if (query == null) {
+      return params;
+    }
+    for (String pair : query.split("&")) {
+      int eq = pair.indexOf('=');
+      if (eq > 0) {
+        params.put(pair.substring(0, eq), pair.substring(eq + 1));
+      }
+    }
+    return params;
+  }
+
+  private static double doubleParam(Map<String, String> query, String name, double fallback) {
+    String value = query.get(name);
+    if (value == null) {
+      return fallback;
+    }
+    try {
+      return Double.parseDouble(value);
+    } catch (NumberFormatException ex) {
+      return fallback;
+    }
+  }
+
+  private static Map<String, String> parseArgs(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      if (!args[i].startsWith("--")) {
+        throw new IllegalArgumentException("Expected --option value pairs, got: " + args[i]);
+      }
+      options.put(args[i].substring(2), args[i + 1]);
+    }
+    return options;
+  }
+
+  private static String option(Map<String, String> options, String name, String env, String fallback) {
+    String value = options.get(name);
+    if (value == null) {
+      value = System.getenv(env);
+    }
+    return value == null || value.isBlank() ? fallback : value.trim();
+  }
+
+  /** One aircraft shuttling on a great-circle leg between two points. */
+  private static final class Aircraft {
+    private static final double GROUND_SECONDS = 120d;
+    private static final double CLIMB_RATE_MS = 12d;
+
+    final String icao24;
+    final String callsign;
+    final String country;
+    final String squawk;
+    final double cruiseSpeedMs;
+    private final double[] origin;
+    private final double[] destination;
+    private final double cruiseAltitudeM;
+    private final double legAngle;
+    private final double initialBearing;
+    private final double returnBearing;
+    private final double cycleSeconds;
+    private final double phaseSeconds;
+
+    Aircraft(
+        String icao24,
+        String callsign,
+        String country,
+        String squawk,
+        double[] origin,
+        double[] destination,
+        double cruiseSpeedMs,
+        double cruiseAltitudeM,
+        double phase) {
+      this.icao24 = icao24;
+      this.callsign = callsign;
+      this.country = country;
+      this.squawk = squawk;
+      this.origin = origin;
+      this.destination = destination;
+      this.cruiseSpeedMs = cruiseSpeedMs;
+      this.cruiseAltitudeM = cruiseAltitudeM;
+      this.legAngle = Math.max(1e-4, centralAngle(origin, destination));
+      this.initialBearing = bearing(origin, destination);
+      this.returnBearing = bearing(destination, origin);
+      double legSeconds = legAngle * EARTH_RADIUS_M / cruiseSpeedMs;
+      this.cycleSeconds = 2d * (legSeconds + GROUND_SECONDS);
+      this.phaseSeconds = phase * cycleSeconds;
+    }
+
+    /** Writes {lat, lon, altitude m, track deg, onGround 0/1, vertical rate m/s} at {@code epochMs}. */
+    void stateAt(long epochMs, double[] out) {
+      double t = (epochMs / 1000d + phaseSeconds) % cycleSeconds;
+      double half = cycleSeconds / 2d;
+      boolean outbound = t < half;
+      double inLeg = outbound ? t : t - half;
+      double[] from = outbound ? origin : destination;
+      double[] to = outbound ? destination : origin;
+      double legSeconds = half - GROUND_SECONDS;
+
+      if (inLeg >= legSeconds) {
+        out[0] = Math.toDegrees(to[0]);
+        out[1] = Math.toDegrees(to[1]);
+        out[2] = 0d;
+        out[3] = Math.toDegrees(outbound ? returnBearing : initialBearing);
+        out[4] = 1d;
+        out[5] = 0d;
+        return;
+      }
+
+      double fraction = inLeg / legSeconds;
+      double[] position = interpolate(from, to, fraction);
+      double remainingSeconds = legSeconds - inLeg;
+      double climbAltitude = CLIMB_RATE_MS * Math.min(inLeg, remainingSeconds);
+      double altitude = Math.min(cruiseAltitudeM, climbAltitude);
+      out[0] = Math.toDegrees(position[0]);
+      out[1] = Math.toDegrees(position[1]);
+      out[2] = Math.max(150d, altitude);
+      out[3] = (Math.toDegrees(bearing(position, to)) + 360d) % 360d;
+      out[4] = 0d;
+      if (climbAltitude >= cruiseAltitudeM) {
+        out[5] = 0d;
+      } else {
+        out[5] = inLeg < remainingSeconds ? CLIMB_RATE_MS : -CLIMB_RATE_MS;
+      }
+    }
+
+    /** Spherical linear interpolation along the great circle between {@code a} and {@code b}. */
+    private double[] interpolate(double[] a, double[] b, double fraction) {
+      double sinAngle = Math.sin(legAngle);
+      double wa = Math.sin((1d - fraction) * legAngle) / sinAngle;
+      double wb = Math.sin(fraction * legAngle) / sinAngle;
+      double x = wa * Math.cos(a[0]) * Math.cos(a[1]) + wb * Math.cos(b[0]) * Math.cos(b[1]);
+      double y = wa * Math.cos(a[0]) * Math.sin(a[1]) + wb * Math.cos(b[0]) * Math.sin(b[1]);
+      double z = wa * Math.sin(a[0]) + wb * Math.sin(b[0]);
+      return new double[] {Math.atan2(z, Math.sqrt(x * x + y * y)), Math.atan2(y, x)};
+    }
+
+    private static double centralAngle(double[] a, double[] b) {
+      double dLat = b[0] - a[0];
+      double dLon = b[1] - a[1];
+      double h = Math.sin(dLat / 2d) * Math.sin(dLat / 2d)
+          + Math.cos(a[0]) * Math.cos(b[0]) * Math.sin(dLon / 2d) * Math.sin(dLon / 2d);
+      return 2d * Math.asin(Math.min(1d, Math.sqrt(h)));
+    }
+
+    private static double bearing(double[] from, double[] to) {
+      double dLon = to[1] - from[1];
+      double y = Math.sin(dLon) * Math.cos(to[0]);
+      double x = Math.cos(from[0]) * Math.sin(to[0]) - Math.sin(from[0]) * Math.cos(to[0]) * Math.cos(dLon);
+      return Math.atan2(y, x);
+    }
+  }
+}